@@ -0,0 +1,132 @@
+package com.wit.calculator.benchmarks;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.history.CalculationHistory;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventDeduplicator;
+import com.wit.calculator.kafka.CalculationEventProcessor;
+import com.wit.calculator.kafka.CalculatorBatchConsumer;
+import com.wit.calculator.kafka.CalculatorConsumer;
+import com.wit.calculator.kafka.EventIdGenerator;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumer throughput of the single record listener against the batch listener, for one poll of events.
+ * Measures the listener methods only: polling, deserialization and offset commits are left out.
+ * Events get new ids before each poll, or with {@code redelivered=true} the poll is made of events already
+ * processed, as after a rebalance, which the deduplication stage skips. With {@code history=true} every processed
+ * event is also queued for the {@link CalculationHistory}, written to a temporary directory by its own thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculatorConsumerBenchmark {
+    /** Default {@code max.poll.records}. */
+    private static final int POLL_SIZE = 500;
+    private static final String[] OPERATIONS = {"SUM", "SUB", "MULT", "DIV"};
+
+    @Param({"false", "true"})
+    public boolean redelivered;
+
+    @Param({"false", "true"})
+    public boolean history;
+
+    private final EventIdGenerator eventIds = new EventIdGenerator(0);
+    private ForkJoinPool consumerExecutor;
+    private AuditLog auditLog;
+    private Path historyDirectory;
+    private CalculationHistory calculationHistory;
+    private CalculatorConsumer calculatorConsumer;
+    private CalculatorBatchConsumer calculatorBatchConsumer;
+    private List<CalculationEvent> poll;
+
+    @Setup
+    public void setUp() throws IOException {
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final CalculationEventProcessor processor =
+                new CalculationEventProcessor(new CalculatorServiceImpl(), meterRegistry);
+        consumerExecutor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        auditLog = new AuditLog(0.01, "", "", 8192, false, meterRegistry);
+        auditLog.start();
+        final CalculationEventDeduplicator deduplicator =
+                new CalculationEventDeduplicator(true, 100_000, 0.01, meterRegistry);
+        historyDirectory = Files.createTempDirectory("calculator-history");
+        calculationHistory = new CalculationHistory(history, historyDirectory, DataSize.ofMegabytes(64),
+                DataSize.ofKilobytes(4), Duration.ofMinutes(1), Duration.ofSeconds(1), 65536, false, meterRegistry);
+        calculationHistory.start();
+        calculatorConsumer = new CalculatorConsumer(processor, deduplicator, auditLog, calculationHistory);
+        calculatorBatchConsumer = new CalculatorBatchConsumer(
+                processor, deduplicator, auditLog, calculationHistory, consumerExecutor, 64);
+
+        poll = new ArrayList<>(POLL_SIZE);
+        for (int i = 0; i < POLL_SIZE; i++) {
+            poll.add(new CalculationEvent(
+                    OPERATIONS[i % OPERATIONS.length], new BigDecimal("1234567.891" + i), new BigDecimal("3.5"), null));
+        }
+        if (redelivered) {
+            poll.replaceAll(eventIds::assign);
+            poll.forEach(deduplicator::markProcessed);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void assignIds() {
+        if (!redelivered) {
+            poll.replaceAll(calculationEvent -> calculationEvent.withId(eventIds.next()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        consumerExecutor.shutdown();
+        auditLog.stop();
+        calculationHistory.stop();
+        FileSystemUtils.deleteRecursively(historyDirectory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POLL_SIZE)
+    public void singleRecord() {
+        for (final CalculationEvent calculationEvent : poll) {
+            calculatorConsumer.processEvent(calculationEvent);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POLL_SIZE)
+    public void batch() {
+        calculatorBatchConsumer.processEvents(poll);
+    }
+}
@@ -0,0 +1,208 @@
+package com.wit.calculator.benchmarks;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.expression.ExpressionCache;
+import com.wit.calculator.history.CalculationHistory;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.EventKeyStrategy;
+import com.wit.calculator.rest.dto.CalculatorBatchRequest;
+import com.wit.calculator.rest.dto.CalculatorBatchResponse;
+import com.wit.calculator.rest.dto.CalculatorExpressionRequest;
+import com.wit.calculator.rest.dto.CalculatorRequest;
+import com.wit.calculator.rest.dto.CalculatorResponse;
+import com.wit.calculator.rest.kafka.BackpressurePolicy;
+import com.wit.calculator.rest.kafka.CalculatorProducer;
+import com.wit.calculator.rest.stream.CalculatorStreamService;
+import com.wit.calculator.rest.web.CalculatorController;
+import com.wit.calculator.rest.web.exception.CalculationFailureMapper;
+import com.wit.calculator.rest.web.exception.CalculatorGlobalExceptionHandler;
+import com.wit.calculator.service.CachingCalculatorService;
+import com.wit.calculator.service.CalculatorBatchServiceImpl;
+import com.wit.calculator.service.CalculatorColumnServiceImpl;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct calls into {@link CalculatorController}, without MockMvc nor an HTTP server.
+ * The controller runs with the real service and producer; the Kafka producer serializes each record
+ * and acknowledges it immediately instead of talking to a broker. Events are published by the producer's
+ * sender thread, so the request threads only pay for queueing, as long as the sender keeps up.
+ * Service and producer record their timers in a {@link SimpleMeterRegistry}, as they would in the application,
+ * and calculations are sampled into the audit log at the default 1% rate.
+ * The {@code Thrown} variants of the error paths answer invalid input as before the service returned its failures,
+ * with an exception handed to the exception handler. The request is bound to the benchmark thread, so that error
+ * responses carry its path as they would in the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CalculatorControllerBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    private ForkJoinPool batchExecutor;
+    private CalculatorProducer calculatorProducer;
+    private AuditLog auditLog;
+    private CalculatorServiceImpl calculatorService;
+    private CalculatorGlobalExceptionHandler exceptionHandler;
+    private MockHttpServletRequest httpServletRequest;
+    private CalculatorController calculatorController;
+    private CalculatorRequest request;
+    private CalculatorExpressionRequest expressionRequest;
+    private CalculatorRequest divisionByZeroRequest;
+    private CalculatorExpressionRequest invalidExpressionRequest;
+    private CalculatorBatchRequest batchRequest;
+
+    @Setup
+    public void setUp() {
+        final DiscardingProducer producer = new DiscardingProducer();
+        final ProducerFactory<String, CalculationEvent> producerFactory = () -> producer;
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        calculatorProducer = new CalculatorProducer(new KafkaTemplate<>(producerFactory), "calculator.events",
+                10_000, 500, BackpressurePolicy.BLOCK, Duration.ofSeconds(10), Duration.ofSeconds(10), false,
+                0, 1, EventKeyStrategy.NONE, meterRegistry);
+        calculatorProducer.start();
+        auditLog = new AuditLog(0.01, "", "", 8192, false, meterRegistry);
+        auditLog.start();
+
+        final ExpressionCache expressionCache = new ExpressionCache(ExpressionCache.DEFAULT_CAPACITY);
+        calculatorService = new CalculatorServiceImpl(expressionCache, meterRegistry);
+        exceptionHandler = new CalculatorGlobalExceptionHandler(meterRegistry);
+        httpServletRequest = new MockHttpServletRequest("POST", "/api/v1/calculator/div");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpServletRequest));
+        batchExecutor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        final ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        final CalculationFailureMapper calculationFailureMapper = new CalculationFailureMapper(meterRegistry);
+        calculatorController = new CalculatorController(
+                calculatorService,
+                calculatorProducer,
+                new CalculatorBatchServiceImpl(calculatorService, batchExecutor, 256, messageSource),
+                expressionCache,
+                new StaticListableBeanFactory().getBeanProvider(CachingCalculatorService.class),
+                auditLog,
+                new CalculatorColumnServiceImpl(calculatorService),
+                new CalculatorStreamService(calculatorService, calculatorProducer, auditLog,
+                        exceptionHandler, calculationFailureMapper, Jackson2ObjectMapperBuilder.json().build(), 4096),
+                Optional.empty(),
+                new CalculationHistory(false, Path.of("history"), DataSize.ofMegabytes(64), DataSize.ofKilobytes(4),
+                        Duration.ofDays(7), Duration.ofSeconds(1), 65536, false, meterRegistry),
+                calculationFailureMapper
+        );
+
+        request = new CalculatorRequest(new BigDecimal("1234567.891"), new BigDecimal("3.5"));
+        expressionRequest = new CalculatorExpressionRequest("(1234567.891 + 3.5) * 2 / 7");
+        divisionByZeroRequest = new CalculatorRequest(new BigDecimal("1234567.891"), BigDecimal.ZERO);
+        invalidExpressionRequest = new CalculatorExpressionRequest("(1234567.891 + 3.5) * 2 /");
+        final List<CalculatorBatchRequest.Item> items = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            items.add(new CalculatorBatchRequest.Item(
+                    CalculatorOperation.values()[i % CalculatorOperation.values().length],
+                    BigDecimal.valueOf(i + 1, 2),
+                    new BigDecimal("3.5")
+            ));
+        }
+        batchRequest = new CalculatorBatchRequest(items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchExecutor.shutdown();
+        calculatorProducer.stop();
+        auditLog.stop();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public ResponseEntity<CalculatorResponse> sum() {
+        return calculatorController.sum(request);
+    }
+
+    @Benchmark
+    public ResponseEntity<CalculatorResponse> division() {
+        return calculatorController.division(request);
+    }
+
+    @Benchmark
+    public ResponseEntity<CalculatorResponse> evaluate() {
+        return calculatorController.evaluate(expressionRequest);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ResponseEntity<CalculatorBatchResponse> batchOf100() {
+        return calculatorController.batch(batchRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<CalculatorResponse> divisionByZero() {
+        return calculatorController.division(divisionByZeroRequest);
+    }
+
+    /**
+     * The error path before failures were returned: the service throws, the exception handler answers.
+     * Spring's own lookup of the handler, which adds to it, is left out.
+     */
+    @Benchmark
+    public ResponseEntity<?> divisionByZeroThrown() {
+        try {
+            return ResponseEntity.ok(new CalculatorResponse(calculatorService.division(new CalculatorBinaryOperands(
+                    divisionByZeroRequest.firstNumber(), divisionByZeroRequest.secondNumber()))));
+        } catch (ArithmeticException arithmeticException) {
+            return exceptionHandler.handleGeneric(arithmeticException, httpServletRequest);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<CalculatorResponse> invalidExpression() {
+        return calculatorController.evaluate(invalidExpressionRequest);
+    }
+
+    /**
+     * The error path of an invalid expression before failures were returned, as {@link #divisionByZeroThrown}.
+     */
+    @Benchmark
+    public ResponseEntity<?> invalidExpressionThrown() {
+        try {
+            return ResponseEntity.ok(new CalculatorResponse(
+                    calculatorService.evaluate(invalidExpressionRequest.expression())));
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return exceptionHandler.handleIllegalArgument(illegalArgumentException, httpServletRequest);
+        }
+    }
+}
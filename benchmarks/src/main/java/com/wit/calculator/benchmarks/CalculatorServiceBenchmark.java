@@ -0,0 +1,92 @@
+package com.wit.calculator.benchmarks;
+
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.service.CachingCalculatorService;
+import com.wit.calculator.service.CalculatorService;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import com.wit.calculator.service.Decimal128CalculatorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link CalculatorService} operation across engines, operand sizes and scales.
+ * Operands are drawn from a fixed seed pool so that every engine sees the same inputs.
+ * The {@code cached} engine memoizes the {@code bigdecimal} engine, so after warmup it measures cache hits.
+ * The {@code precision} tiers below the default are computed by the same shared arithmetic on every engine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CalculatorServiceBenchmark {
+    private static final int POOL_SIZE = 1024;
+
+    @Param({"bigdecimal", "decimal128", "cached"})
+    public String engine;
+    @Param({"SUM", "SUB", "MULT", "DIV"})
+    public CalculatorOperation operation;
+    /** Number of significant digits of each operand. */
+    @Param({"4", "18", "34"})
+    public int digits;
+    /** Scale of each operand. */
+    @Param({"0", "8"})
+    public int scale;
+    /** Precision tier of the operations, with the default rounding mode. */
+    @Param({"DECIMAL128", "DECIMAL64", "DOUBLE"})
+    public CalculatorPrecision precision;
+
+    private CalculatorService calculatorService;
+    private CalculatorBinaryOperands[] operands;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        calculatorService = switch (engine) {
+            case "decimal128" -> new Decimal128CalculatorServiceImpl();
+            case "cached" -> new CachingCalculatorService(
+                    new CalculatorServiceImpl(), 4 * POOL_SIZE, EnumSet.allOf(CalculatorOperation.class));
+            default -> new CalculatorServiceImpl();
+        };
+
+        final Random random = new Random(42);
+        operands = new CalculatorBinaryOperands[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            operands[i] = new CalculatorBinaryOperands(
+                    randomDecimal(random), randomDecimal(random), precision, CalculatorPrecision.DEFAULT_ROUNDING_MODE);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculate() {
+        final CalculatorBinaryOperands calculatorBinaryOperands = operands[next++ & (POOL_SIZE - 1)];
+        return operation.apply(calculatorService, calculatorBinaryOperands);
+    }
+
+    private BigDecimal randomDecimal(final Random random) {
+        final StringBuilder number = new StringBuilder().append(1 + random.nextInt(9));
+        for (int i = 1; i < digits; i++) {
+            number.append(random.nextInt(10));
+        }
+        final BigInteger unscaled = new BigInteger(number.toString());
+        return new BigDecimal(random.nextBoolean() ? unscaled : unscaled.negate(), scale);
+    }
+}
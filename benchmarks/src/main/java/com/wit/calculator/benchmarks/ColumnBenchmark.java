@@ -0,0 +1,87 @@
+package com.wit.calculator.benchmarks;
+
+import com.wit.calculator.column.ColumnKernels;
+import com.wit.calculator.column.ScalarColumnKernels;
+import com.wit.calculator.column.VectorColumnKernels;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.service.CalculatorColumnService;
+import com.wit.calculator.service.CalculatorColumnServiceImpl;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Element-wise operations over a pair of columns, per column: SIMD and scalar kernels on doubles and longs,
+ * and the exact {@code bigdecimal} engine on the same values for reference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", ColumnKernels.VECTOR_MODULE})
+@State(Scope.Thread)
+public class ColumnBenchmark {
+    @Param({"vector", "scalar"})
+    public String kernels;
+    @Param({"SUM", "MULT"})
+    public CalculatorOperation operation;
+    /** 4096 rows stay in the L1/L2 caches; a million rows are bound by memory bandwidth. */
+    @Param({"4096", "1000000"})
+    public int rows;
+
+    private CalculatorColumnService calculatorColumnService;
+    private double[] firstDoubles;
+    private double[] secondDoubles;
+    private long[] firstLongs;
+    private long[] secondLongs;
+    private BigDecimal[] firstDecimals;
+    private BigDecimal[] secondDecimals;
+
+    @Setup
+    public void setUp() {
+        final ColumnKernels columnKernels = "vector".equals(kernels)
+                ? new VectorColumnKernels()
+                : ScalarColumnKernels.INSTANCE;
+        calculatorColumnService = new CalculatorColumnServiceImpl(new CalculatorServiceImpl(), columnKernels);
+
+        final Random random = new Random(42);
+        firstDoubles = random.doubles(rows, -1e6, 1e6).toArray();
+        secondDoubles = random.doubles(rows, -1e6, 1e6).toArray();
+        firstLongs = random.longs(rows, -1L << 24, 1L << 24).toArray();
+        secondLongs = random.longs(rows, -1L << 24, 1L << 24).toArray();
+        firstDecimals = new BigDecimal[rows];
+        secondDecimals = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            firstDecimals[i] = BigDecimal.valueOf(firstDoubles[i]);
+            secondDecimals[i] = BigDecimal.valueOf(secondDoubles[i]);
+        }
+    }
+
+    @Benchmark
+    public double[] doubles() {
+        return calculatorColumnService.evaluate(operation, firstDoubles, secondDoubles);
+    }
+
+    @Benchmark
+    public long[] longs() {
+        return calculatorColumnService.evaluate(operation, firstLongs, secondLongs);
+    }
+
+    @Benchmark
+    public BigDecimal[] decimals() {
+        return calculatorColumnService.evaluate(operation, firstDecimals, secondDecimals);
+    }
+}
@@ -0,0 +1,198 @@
+package com.wit.calculator.benchmarks;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.history.CalculationHistory;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventDeduplicator;
+import com.wit.calculator.kafka.CalculationEventDeserializer;
+import com.wit.calculator.kafka.CalculationEventProcessor;
+import com.wit.calculator.kafka.CalculationEventSerializer;
+import com.wit.calculator.kafka.CalculatorConsumer;
+import com.wit.calculator.kafka.EventIdGenerator;
+import com.wit.calculator.kafka.EventKeyStrategy;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Consumer throughput against the number of partitions of the topic and of consumer instances, through an
+ * embedded Kafka broker. Each invocation publishes {@value #EVENTS} events keyed by
+ * {@link EventKeyStrategy#OPERANDS} to a new topic, then times their consumption by {@code instances} listener
+ * containers of the same group, each running {@code partitions / instances} consumers as
+ * {@code calculator.consumer.concurrency} would. The instances share this JVM, standing for separate
+ * applications. {@code blockingMicros} adds a wait to each event, as a listener calling a remote store would;
+ * without it, the listeners are bound by the cores of the machine rather than by the partitions.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsumerScalingBenchmark {
+    private static final int EVENTS = 20_000;
+    private static final String[] OPERATIONS = {"SUM", "SUB", "MULT", "DIV"};
+
+    @Param({"1", "2", "4", "8"})
+    public int partitions;
+
+    @Param({"1", "2"})
+    public int instances;
+
+    @Param({"0", "100"})
+    public long blockingMicros;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaProducer<String, CalculationEvent> producer;
+    private AuditLog auditLog;
+    private CalculatorConsumer calculatorConsumer;
+    private final EventIdGenerator eventIds = new EventIdGenerator(0);
+    private final List<ConcurrentMessageListenerContainer<String, CalculationEvent>> containers = new ArrayList<>();
+    private int topics;
+    private volatile CountDownLatch consumed;
+
+    @Setup
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1);
+        broker.afterPropertiesSet();
+        producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.LINGER_MS_CONFIG, 5,
+                // Retries the first sends while the partitions of a new topic elect their leader
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false
+        ), new StringSerializer(), new CalculationEventSerializer());
+
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        auditLog = new AuditLog(0.01, "", "", 8192, false, meterRegistry);
+        auditLog.start();
+        calculatorConsumer = new CalculatorConsumer(
+                new CalculationEventProcessor(new CalculatorServiceImpl(), meterRegistry),
+                new CalculationEventDeduplicator(true, 100_000, 0.01, meterRegistry),
+                auditLog,
+                new CalculationHistory(false, Path.of("history"), DataSize.ofMegabytes(64), DataSize.ofKilobytes(4),
+                        Duration.ofDays(7), Duration.ofSeconds(1), 65536, false, meterRegistry)
+        );
+    }
+
+    /**
+     * Publishes the events to a new topic, then starts the paused containers and waits until every partition is
+     * assigned, so that the measurement starts with all the consumers of the group ready.
+     */
+    @Setup(Level.Invocation)
+    public void publishAndAssign() throws InterruptedException, TimeoutException {
+        final String topic = "calculator.scaling." + topics++;
+        broker.addTopics(new NewTopic(topic, partitions, (short) 1));
+        for (int i = 0; i < EVENTS; i++) {
+            final CalculationEvent calculationEvent = eventIds.assign(new CalculationEvent(
+                    OPERATIONS[i % OPERATIONS.length], new BigDecimal("1234567.891" + i), new BigDecimal("3.5"), null));
+            producer.send(new ProducerRecord<>(topic, EventKeyStrategy.OPERANDS.key(calculationEvent, null), calculationEvent));
+        }
+        producer.flush();
+
+        consumed = new CountDownLatch(EVENTS);
+        final DefaultKafkaConsumerFactory<String, CalculationEvent> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                Map.of(
+                        ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                        ConsumerConfig.GROUP_ID_CONFIG, topic,
+                        ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"
+                ),
+                new StringDeserializer(), new CalculationEventDeserializer());
+        for (int i = 0; i < instances; i++) {
+            final ContainerProperties containerProperties = new ContainerProperties(topic);
+            containerProperties.setMessageListener((MessageListener<String, CalculationEvent>) consumerRecord -> {
+                if (blockingMicros > 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(blockingMicros));
+                }
+                calculatorConsumer.processEvent(consumerRecord.value());
+                consumed.countDown();
+            });
+            final var container = new ConcurrentMessageListenerContainer<>(consumerFactory, containerProperties);
+            container.setConcurrency(Math.max(1, partitions / instances));
+            container.setBeanName("instance-" + i);
+            container.pause();
+            container.start();
+            containers.add(container);
+        }
+
+        // Consumers join one after the other, each join moving partitions, until every consumer has its share
+        final int consumers = Math.min(partitions, instances * Math.max(1, partitions / instances));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (assignedPartitions() < partitions || assignedConsumers() < consumers) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Partitions of " + topic + " not assigned");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopContainers() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        containers.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        producer.close();
+        auditLog.stop();
+        broker.destroy();
+    }
+
+    private int assignedPartitions() {
+        return containers.stream().mapToInt(container -> container.getAssignedPartitions().size()).sum();
+    }
+
+    private long assignedConsumers() {
+        return containers.stream()
+                .flatMap(container -> container.getAssignmentsByClientId().values().stream())
+                .filter(assignment -> assignment != null && !assignment.isEmpty())
+                .count();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void consume() throws InterruptedException, TimeoutException {
+        containers.forEach(ConcurrentMessageListenerContainer::resume);
+        if (!consumed.await(2, TimeUnit.MINUTES)) {
+            throw new TimeoutException(consumed.getCount() + " events not consumed");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.wit.calculator.benchmarks;
+
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventSerializer;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Producer serializing each record like the real client does, then acknowledging it without keeping history.
+ */
+final class DiscardingProducer extends MockProducer<String, CalculationEvent> {
+    private final CalculationEventSerializer valueSerializer = new CalculationEventSerializer();
+
+    DiscardingProducer() {
+        super(true, new StringSerializer(), new CalculationEventSerializer());
+    }
+
+    @Override
+    public Future<RecordMetadata> send(final ProducerRecord<String, CalculationEvent> record, final Callback callback) {
+        final byte[] value = valueSerializer.serialize(record.topic(), record.headers(), record.value());
+        final RecordMetadata metadata = new RecordMetadata(
+                new TopicPartition(record.topic(), 0), 0L, 0, System.currentTimeMillis(), 0, value.length);
+        if (callback != null) {
+            callback.onCompletion(metadata, null);
+        }
+        return CompletableFuture.completedFuture(metadata);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void close(final Duration timeout) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.wit.calculator.benchmarks;
+
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.reactive.ReactiveApplication;
+import com.wit.calculator.rest.RestApplication;
+import org.apache.kafka.clients.producer.Producer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.ProducerFactory;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end HTTP load on the running application with more concurrent clients than Tomcat platform threads
+ * (200 by default): the servlet stack with the default platform threads and with the {@code virtual-threads}
+ * profile, against the reactive stack of the rest-reactive module on Netty.
+ * Throughput mode reports requests per second, sample time mode the latency percentiles (p0.99).
+ * Kafka is replaced by a producer acknowledging immediately and the listeners are not started.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class HttpConcurrencyBenchmark {
+    @Param({"platform", "virtual", "reactive"})
+    public String stack;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final SpringApplicationBuilder application = "reactive".equals(stack)
+                ? new SpringApplicationBuilder(ReactiveApplication.class, DiscardingSenderConfiguration.class)
+                        .web(WebApplicationType.REACTIVE)
+                : new SpringApplicationBuilder(RestApplication.class, DiscardingKafkaConfiguration.class)
+                        .profiles("virtual".equals(stack) ? "virtual-threads" : "default");
+        context = application
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=10000",
+                        "spring.kafka.listener.auto-startup=false",
+                        "spring.kafka.admin.auto-create=false",
+                        // Measures how the stacks queue 400 clients, which admission control would shed
+                        "calculator.admission.enabled=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        final String port = context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/calculator/div"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"firstNumber\": 1234567.891, \"secondNumber\": 3.5}"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int division() throws IOException, InterruptedException {
+        final HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * Replaces the Kafka producer factory of the application by one acknowledging every record immediately.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class DiscardingKafkaConfiguration {
+        @Bean
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ProducerFactory<Object, Object> producerFactory() {
+            final DiscardingProducer producer = new DiscardingProducer();
+            return () -> (Producer) producer;
+        }
+    }
+
+    /**
+     * Replaces the reactor-kafka sender of the reactive application by one over a producer acknowledging every
+     * record immediately, and serves on Netty although Tomcat is on the classpath of the benchmarks.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class DiscardingSenderConfiguration {
+        @Bean
+        @Primary
+        KafkaSender<String, CalculationEvent> discardingEventSender() {
+            final DiscardingProducer producer = new DiscardingProducer();
+            return KafkaSender.create(new reactor.kafka.sender.internals.ProducerFactory() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Producer<K, V> createProducer(final SenderOptions<K, V> senderOptions) {
+                    return (Producer<K, V>) producer;
+                }
+            }, SenderOptions.<String, CalculationEvent>create().stopOnError(false));
+        }
+
+        @Bean
+        NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+            return new NettyReactiveWebServerFactory();
+        }
+    }
+}
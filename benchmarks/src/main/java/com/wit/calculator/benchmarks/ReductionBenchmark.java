@@ -0,0 +1,82 @@
+package com.wit.calculator.benchmarks;
+
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.service.CalculatorService;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N-ary reductions of line-item like amounts (two decimals), against the same total computed with one binary
+ * call per operand as before {@link CalculatorService#sumAll}. Products use factors close to 1, such as
+ * compounded rates, so that their exact intermediate results grow with the number of operands.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReductionBenchmark {
+    @Param({"100000", "1000000"})
+    public int operands;
+
+    private CalculatorService calculatorService;
+    private List<BigDecimal> amounts;
+    private List<BigDecimal> rates;
+
+    @Setup
+    public void setUp() {
+        calculatorService = new CalculatorServiceImpl();
+        final Random random = new Random(42);
+        amounts = new ArrayList<>(operands);
+        rates = new ArrayList<>(operands);
+        for (int i = 0; i < operands; i++) {
+            amounts.add(BigDecimal.valueOf(random.nextLong(1, 10_000_000), 2));
+            rates.add(BigDecimal.valueOf(10_000 + random.nextInt(100), 4));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sumAll() {
+        return calculatorService.sumAll(amounts);
+    }
+
+    @Benchmark
+    public BigDecimal binarySums() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (final BigDecimal amount : amounts) {
+            total = calculatorService.sum(new CalculatorBinaryOperands(total, amount));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal productAll() {
+        return calculatorService.productAll(rates);
+    }
+
+    @Benchmark
+    public BigDecimal binaryProducts() {
+        BigDecimal product = BigDecimal.ONE;
+        for (final BigDecimal rate : rates) {
+            product = calculatorService.mult(new CalculatorBinaryOperands(product, rate));
+        }
+        return product;
+    }
+}
@@ -0,0 +1,194 @@
+package com.wit.calculator.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventDeserializer;
+import com.wit.calculator.kafka.CalculationEventSerializer;
+import com.wit.calculator.rest.dto.CalculatorRequest;
+import com.wit.calculator.rest.dto.CalculatorResponse;
+import com.wit.calculator.rest.web.CalculatorJsonMessageConverter;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serde of the payloads on the hot path: {@link CalculationEvent} through the JSON and binary Kafka serializers,
+ * {@link CalculatorRequest} and {@link CalculatorResponse} through the Spring MVC object mapper, and through the HTTP
+ * message converters of Spring MVC: the Jackson converter and the {@link CalculatorJsonMessageConverter} ahead of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+    private static final String TOPIC = "calculator.events";
+
+    private ObjectMapper objectMapper;
+    private JsonSerializer<CalculationEvent> eventSerializer;
+    private JsonDeserializer<CalculationEvent> eventDeserializer;
+    private CalculationEventSerializer binaryEventSerializer;
+    private CalculationEventDeserializer binaryEventDeserializer;
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+    private CalculatorJsonMessageConverter calculatorConverter;
+    private RequestMessage requestMessage;
+    private final ResponseMessage responseMessage = new ResponseMessage();
+
+    private CalculationEvent event;
+    private byte[] eventBytes;
+    private byte[] binaryEventBytes;
+    private Headers binaryEventHeaders;
+    private byte[] requestBytes;
+    private CalculatorResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        eventSerializer = new JsonSerializer<>();
+        eventDeserializer = new JsonDeserializer<>(CalculationEvent.class, false);
+
+        binaryEventSerializer = new CalculationEventSerializer();
+        binaryEventDeserializer = new CalculationEventDeserializer();
+        jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        calculatorConverter = new CalculatorJsonMessageConverter(objectMapper);
+
+        event = new CalculationEvent("DIV", new BigDecimal("1234567.891"), new BigDecimal("3.5"),
+                new BigDecimal("352733.6831428571428571428571428571"));
+        eventBytes = eventSerializer.serialize(TOPIC, event);
+        binaryEventHeaders = new RecordHeaders();
+        binaryEventBytes = binaryEventSerializer.serialize(TOPIC, binaryEventHeaders, event);
+        requestBytes = objectMapper.writeValueAsBytes(
+                new CalculatorRequest(new BigDecimal("1234567.891"), new BigDecimal("3.5")));
+        response = new CalculatorResponse(new BigDecimal("352733.6831428571428571428571428571"));
+        requestMessage = new RequestMessage(requestBytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventSerializer.close();
+        eventDeserializer.close();
+        binaryEventDeserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serializeEvent() {
+        return eventSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public CalculationEvent deserializeEvent() {
+        return eventDeserializer.deserialize(TOPIC, eventBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeEventBinary() {
+        return binaryEventSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public CalculationEvent deserializeEventBinary() {
+        return binaryEventDeserializer.deserialize(TOPIC, binaryEventHeaders, binaryEventBytes);
+    }
+
+    @Benchmark
+    public CalculatorRequest readRequest() throws IOException {
+        return objectMapper.readValue(requestBytes, CalculatorRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object readRequestJacksonConverter() throws IOException {
+        return jacksonConverter.read(CalculatorRequest.class, requestMessage);
+    }
+
+    @Benchmark
+    public Object readRequestCalculatorConverter() throws IOException {
+        return calculatorConverter.read(CalculatorRequest.class, requestMessage);
+    }
+
+    @Benchmark
+    public int writeResponseJacksonConverter() throws IOException {
+        jacksonConverter.write(response, MediaType.APPLICATION_JSON, responseMessage.reset());
+        return responseMessage.body.size();
+    }
+
+    @Benchmark
+    public int writeResponseCalculatorConverter() throws IOException {
+        calculatorConverter.write(response, MediaType.APPLICATION_JSON, responseMessage.reset());
+        return responseMessage.body.size();
+    }
+
+    /**
+     * Request body with its headers, as the servlet request gives it to the converters.
+     */
+    private record RequestMessage(byte[] body, HttpHeaders headers) implements HttpInputMessage {
+        private RequestMessage(final byte[] body) {
+            this(body, new HttpHeaders());
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    /**
+     * Response buffer reused across invocations, as the servlet response buffer is.
+     */
+    private static final class ResponseMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        private ResponseMessage reset() {
+            headers.clear();
+            body.reset();
+            return this;
+        }
+
+        @Override
+        public ByteArrayOutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
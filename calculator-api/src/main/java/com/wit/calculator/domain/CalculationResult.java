@@ -0,0 +1,139 @@
+package com.wit.calculator.domain;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+/**
+ * Outcome of a calculation returned as a value: either a result or a failure, never both.
+ * Invalid input is answered without throwing, so that the callers mapping it to a response or a skip pay neither
+ * the stack trace nor the unwinding of an exception. The failures of fixed messages are shared instances.
+ *
+ * @param value the result of the calculation, {@code null} on failure.
+ * @param failure the kind of failure, {@code null} on success.
+ * @param message the detailed failure message, {@code null} on success.
+ */
+public record CalculationResult(
+        BigDecimal value,
+        Failure failure,
+        String message
+) {
+    /** Failure of a missing operand or expression. */
+    public static final CalculationResult NULL_OPERAND = invalid("{validation.notNull}");
+    /** Failure of a division by zero. */
+    public static final CalculationResult DIVISION_BY_ZERO = arithmetic("Division by 0 is not allowed");
+
+    /**
+     * Kinds of failure, thrown by the calculator API as the exception of the same name.
+     */
+    public enum Failure {
+        /** Invalid input, such as a missing operand or a malformed expression: {@link IllegalArgumentException}. */
+        INVALID,
+        /** Operation undefined for its operands, such as a division by zero: {@link ArithmeticException}. */
+        ARITHMETIC
+    }
+
+    /**
+     * Creates a successful outcome.
+     *
+     * @param value the result of the calculation.
+     *
+     * @return the outcome.
+     */
+    public static CalculationResult success(final BigDecimal value) {
+        return new CalculationResult(value, null, null);
+    }
+
+    /**
+     * Creates the outcome of invalid input.
+     *
+     * @param message the detailed failure message.
+     *
+     * @return the outcome.
+     */
+    public static CalculationResult invalid(final String message) {
+        return new CalculationResult(null, Failure.INVALID, message);
+    }
+
+    /**
+     * Creates the outcome of an operation undefined for its operands.
+     *
+     * @param message the detailed failure message.
+     *
+     * @return the outcome.
+     */
+    public static CalculationResult arithmetic(final String message) {
+        return new CalculationResult(null, Failure.ARITHMETIC, message);
+    }
+
+    /**
+     * Runs a calculation of the throwing API, converting its {@link IllegalArgumentException} and
+     * {@link ArithmeticException} into failures; any other exception is thrown.
+     *
+     * @param calculation the calculation.
+     *
+     * @return the outcome of the calculation.
+     */
+    public static CalculationResult of(final Supplier<BigDecimal> calculation) {
+        try {
+            return success(calculation.get());
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return invalid(illegalArgumentException.getMessage());
+        } catch (ArithmeticException arithmeticException) {
+            return arithmetic(arithmeticException.getMessage());
+        }
+    }
+
+    /**
+     * Checks that the operands are present, without allocating.
+     *
+     * @param calculatorBinaryOperands the operands.
+     *
+     * @return {@link #NULL_OPERAND} if an operand is missing, {@code null} if they are valid.
+     */
+    public static CalculationResult validate(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculatorBinaryOperands == null
+                || calculatorBinaryOperands.firstNumber() == null
+                || calculatorBinaryOperands.secondNumber() == null
+                ? NULL_OPERAND
+                : null;
+    }
+
+    /**
+     * Checks that the operands are present and the divisor is not zero, without allocating.
+     *
+     * @param calculatorBinaryOperands the dividend and divisor.
+     *
+     * @return the failure of the operands, {@code null} if they are valid.
+     */
+    public static CalculationResult validateDivision(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        final CalculationResult invalid = validate(calculatorBinaryOperands);
+        if (invalid != null) {
+            return invalid;
+        }
+        return calculatorBinaryOperands.secondNumber().signum() == 0 ? DIVISION_BY_ZERO : null;
+    }
+
+    /**
+     * @return {@code true} if the calculation produced a result.
+     */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * Returns the result, or throws the failure as the calculator API does.
+     *
+     * @return the result of the calculation.
+     *
+     * @throws IllegalArgumentException if the input is invalid.
+     * @throws ArithmeticException if the operation is undefined for its operands.
+     */
+    public BigDecimal orElseThrow() {
+        if (failure == null) {
+            return value;
+        }
+        throw failure == Failure.ARITHMETIC
+                ? new ArithmeticException(message)
+                : new IllegalArgumentException(message);
+    }
+}
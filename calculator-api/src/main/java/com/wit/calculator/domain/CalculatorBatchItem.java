@@ -0,0 +1,12 @@
+package com.wit.calculator.domain;
+
+/**
+ * A single operation of a calculation batch.
+ *
+ * @param operation the operation to be performed.
+ * @param operands the operands of the operation.
+ */
+public record CalculatorBatchItem(
+        CalculatorOperation operation,
+        CalculatorBinaryOperands operands
+) {}
@@ -0,0 +1,46 @@
+package com.wit.calculator.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of a single batch item: either a result or an error, never both.
+ *
+ * @param result the result of the operation, {@code null} on failure.
+ * @param error the short error message, {@code null} on success.
+ * @param message the detailed error message, {@code null} on success.
+ */
+public record CalculatorBatchResult(
+        BigDecimal result,
+        String error,
+        String message
+) {
+    /**
+     * Creates a successful outcome.
+     *
+     * @param result the result of the operation.
+     *
+     * @return the outcome.
+     */
+    public static CalculatorBatchResult success(final BigDecimal result) {
+        return new CalculatorBatchResult(result, null, null);
+    }
+
+    /**
+     * Creates a failed outcome.
+     *
+     * @param error the short error message.
+     * @param message the detailed error message.
+     *
+     * @return the outcome.
+     */
+    public static CalculatorBatchResult failure(final String error, final String message) {
+        return new CalculatorBatchResult(null, error, message);
+    }
+
+    /**
+     * @return {@code true} if the operation produced a result.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.wit.calculator.domain;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Operands of a binary operation, with the precision tier and rounding mode of its result.
+ *
+ * @param firstNumber the first operand.
+ * @param secondNumber the second operand.
+ * @param precision the precision tier, {@link CalculatorPrecision#DECIMAL128} when {@code null}.
+ * @param roundingMode the rounding mode, {@link CalculatorPrecision#DEFAULT_ROUNDING_MODE} when {@code null}.
+ *
+ * @throws IllegalArgumentException if another rounding mode is requested for {@link CalculatorPrecision#DOUBLE}.
+ */
+public record CalculatorBinaryOperands(
+        @NotNull(message = "{validation.notNull}")
+        BigDecimal firstNumber,
+        @NotNull(message = "{validation.notNull}")
+        BigDecimal secondNumber,
+        CalculatorPrecision precision,
+        RoundingMode roundingMode
+) {
+    public CalculatorBinaryOperands {
+        precision = precision == null ? CalculatorPrecision.DECIMAL128 : precision;
+        roundingMode = roundingMode == null ? CalculatorPrecision.DEFAULT_ROUNDING_MODE : roundingMode;
+        if (precision == CalculatorPrecision.DOUBLE && roundingMode != CalculatorPrecision.DEFAULT_ROUNDING_MODE) {
+            throw new IllegalArgumentException("DOUBLE precision always rounds " + CalculatorPrecision.DEFAULT_ROUNDING_MODE);
+        }
+    }
+
+    /**
+     * Operands computed with 34 significant digits, rounded half even.
+     *
+     * @param firstNumber the first operand.
+     * @param secondNumber the second operand.
+     */
+    public CalculatorBinaryOperands(final BigDecimal firstNumber, final BigDecimal secondNumber) {
+        this(firstNumber, secondNumber, CalculatorPrecision.DECIMAL128, CalculatorPrecision.DEFAULT_ROUNDING_MODE);
+    }
+
+    /**
+     * @return {@code true} for the default 34 digits rounded half even.
+     */
+    public boolean isDefaultPrecision() {
+        return precision == CalculatorPrecision.DECIMAL128 && roundingMode == CalculatorPrecision.DEFAULT_ROUNDING_MODE;
+    }
+
+    /**
+     * @return the shared math context of the precision tier and rounding mode.
+     */
+    public MathContext mathContext() {
+        return precision.mathContext(roundingMode);
+    }
+}
@@ -0,0 +1,81 @@
+package com.wit.calculator.domain;
+
+import com.wit.calculator.service.CalculatorService;
+
+import java.math.BigDecimal;
+
+/**
+ * Binary operations supported by the calculator.
+ * The constant names are the operation codes carried by the {@code CalculationEvent} of the calculator module.
+ */
+public enum CalculatorOperation {
+    SUM {
+        @Override
+        public BigDecimal apply(final CalculatorService calculatorService, final CalculatorBinaryOperands operands) {
+            return calculatorService.sum(operands);
+        }
+
+        @Override
+        public CalculationResult tryApply(final CalculatorService calculatorService,
+                                          final CalculatorBinaryOperands operands) {
+            return calculatorService.trySum(operands);
+        }
+    },
+    SUB {
+        @Override
+        public BigDecimal apply(final CalculatorService calculatorService, final CalculatorBinaryOperands operands) {
+            return calculatorService.sub(operands);
+        }
+
+        @Override
+        public CalculationResult tryApply(final CalculatorService calculatorService,
+                                          final CalculatorBinaryOperands operands) {
+            return calculatorService.trySub(operands);
+        }
+    },
+    MULT {
+        @Override
+        public BigDecimal apply(final CalculatorService calculatorService, final CalculatorBinaryOperands operands) {
+            return calculatorService.mult(operands);
+        }
+
+        @Override
+        public CalculationResult tryApply(final CalculatorService calculatorService,
+                                          final CalculatorBinaryOperands operands) {
+            return calculatorService.tryMult(operands);
+        }
+    },
+    DIV {
+        @Override
+        public BigDecimal apply(final CalculatorService calculatorService, final CalculatorBinaryOperands operands) {
+            return calculatorService.division(operands);
+        }
+
+        @Override
+        public CalculationResult tryApply(final CalculatorService calculatorService,
+                                          final CalculatorBinaryOperands operands) {
+            return calculatorService.tryDivision(operands);
+        }
+    };
+
+    /**
+     * Evaluates this operation through the given service.
+     *
+     * @param calculatorService the service performing the calculation.
+     * @param operands the operands of the calculation.
+     *
+     * @return the result of the operation.
+     */
+    public abstract BigDecimal apply(final CalculatorService calculatorService, final CalculatorBinaryOperands operands);
+
+    /**
+     * Evaluates this operation through the given service, returning invalid input as a failure.
+     *
+     * @param calculatorService the service performing the calculation.
+     * @param operands the operands of the calculation.
+     *
+     * @return the result of the operation, or its failure.
+     */
+    public abstract CalculationResult tryApply(final CalculatorService calculatorService,
+                                               final CalculatorBinaryOperands operands);
+}
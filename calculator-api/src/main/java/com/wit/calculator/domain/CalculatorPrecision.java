@@ -0,0 +1,53 @@
+package com.wit.calculator.domain;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Precision tiers of the binary operations, from the exact-looking 34 digits of the default tier down to
+ * the binary floating point of {@code double}. Lower tiers are computed with cheaper arithmetic.
+ */
+public enum CalculatorPrecision {
+    /** 34 significant digits, the default. */
+    DECIMAL128(MathContext.DECIMAL128.getPrecision()),
+    /** 16 significant digits, computed on {@code long} when operands and result fit. */
+    DECIMAL64(MathContext.DECIMAL64.getPrecision()),
+    /**
+     * IEEE 754 binary64, about 16 significant digits computed on {@code double}: lossy, {@code 0.1 + 0.2} gives
+     * {@code 0.30000000000000004}. Always rounds to nearest, so only {@link RoundingMode#HALF_EVEN} is accepted.
+     */
+    DOUBLE(MathContext.DECIMAL64.getPrecision());
+
+    /** Rounding mode of requests that do not specify one. */
+    public static final RoundingMode DEFAULT_ROUNDING_MODE = RoundingMode.HALF_EVEN;
+
+    private final int digits;
+    private final MathContext[] mathContexts;
+
+    CalculatorPrecision(final int digits) {
+        this.digits = digits;
+        final RoundingMode[] roundingModes = RoundingMode.values();
+        this.mathContexts = new MathContext[roundingModes.length];
+        for (final RoundingMode roundingMode : roundingModes) {
+            mathContexts[roundingMode.ordinal()] = new MathContext(digits, roundingMode);
+        }
+    }
+
+    /**
+     * @return the number of significant digits of the results.
+     */
+    public int digits() {
+        return digits;
+    }
+
+    /**
+     * Returns the shared {@link MathContext} of this tier, so that no context is allocated per operation.
+     *
+     * @param roundingMode the rounding mode.
+     *
+     * @return the math context of this tier with the given rounding mode.
+     */
+    public MathContext mathContext(final RoundingMode roundingMode) {
+        return mathContexts[roundingMode.ordinal()];
+    }
+}
@@ -0,0 +1,144 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Calculator core API service.
+ * Each binary operation and {@link #evaluate} has a {@code try} variant returning its failures as a
+ * {@link CalculationResult} instead of throwing them, for the callers answering invalid input directly.
+ */
+public interface CalculatorService {
+    /** Qualifier of the engine implementations, as opposed to decorators such as {@code CachingCalculatorService}. */
+    String ENGINE = "calculatorEngine";
+
+    /**
+     * Calculates the sum of two numbers.
+     *
+     * @param calculatorBinaryOperands the validated operands to be added.
+     *
+     * @return sum result.
+     */
+    BigDecimal sum(final CalculatorBinaryOperands calculatorBinaryOperands);
+
+    /**
+     * Calculates the subtraction of two numbers.
+     *
+     * @param calculatorBinaryOperands the validated operands to be added.
+     *
+     * @return sub result.
+     */
+    BigDecimal sub(final CalculatorBinaryOperands calculatorBinaryOperands);
+
+    /**
+     * Calculates the multiplication of two numbers.
+     *
+     * @param calculatorBinaryOperands the validated operands to be added.
+     *
+     * @return multiplication result.
+     */
+    BigDecimal mult(final CalculatorBinaryOperands calculatorBinaryOperands);
+
+    /**
+     * Calculates the division of two numbers.
+     *
+     * @param calculatorBinaryOperands the validated operands to be added.
+     *
+     * @return division result.
+     */
+    BigDecimal division(final CalculatorBinaryOperands calculatorBinaryOperands);
+
+    /**
+     * Evaluates an arithmetic expression such as {@code (a + b) * c / d}.
+     * Every operation of the expression has the same semantics as the corresponding binary operation.
+     *
+     * @param expression the expression to be evaluated.
+     *
+     * @return the value of the expression.
+     */
+    BigDecimal evaluate(final String expression);
+
+    /**
+     * Calculates the sum of two numbers, returning invalid input as a failure.
+     *
+     * @param calculatorBinaryOperands the operands to be added.
+     *
+     * @return sum result, or the failure of the operands.
+     */
+    default CalculationResult trySum(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        final CalculationResult invalid = CalculationResult.validate(calculatorBinaryOperands);
+        return invalid != null ? invalid : CalculationResult.of(() -> sum(calculatorBinaryOperands));
+    }
+
+    /**
+     * Calculates the subtraction of two numbers, returning invalid input as a failure.
+     *
+     * @param calculatorBinaryOperands the operands to be subtracted.
+     *
+     * @return sub result, or the failure of the operands.
+     */
+    default CalculationResult trySub(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        final CalculationResult invalid = CalculationResult.validate(calculatorBinaryOperands);
+        return invalid != null ? invalid : CalculationResult.of(() -> sub(calculatorBinaryOperands));
+    }
+
+    /**
+     * Calculates the multiplication of two numbers, returning invalid input as a failure.
+     *
+     * @param calculatorBinaryOperands the operands to be multiplied.
+     *
+     * @return multiplication result, or the failure of the operands.
+     */
+    default CalculationResult tryMult(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        final CalculationResult invalid = CalculationResult.validate(calculatorBinaryOperands);
+        return invalid != null ? invalid : CalculationResult.of(() -> mult(calculatorBinaryOperands));
+    }
+
+    /**
+     * Calculates the division of two numbers, returning invalid input and division by zero as failures.
+     *
+     * @param calculatorBinaryOperands the dividend and divisor.
+     *
+     * @return division result, or the failure of the operands.
+     */
+    default CalculationResult tryDivision(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        final CalculationResult invalid = CalculationResult.validateDivision(calculatorBinaryOperands);
+        return invalid != null ? invalid : CalculationResult.of(() -> division(calculatorBinaryOperands));
+    }
+
+    /**
+     * Evaluates an arithmetic expression, returning a malformed expression or an undefined operation as a failure.
+     *
+     * @param expression the expression to be evaluated.
+     *
+     * @return the value of the expression, or its failure.
+     */
+    default CalculationResult tryEvaluate(final String expression) {
+        return expression == null ? CalculationResult.NULL_OPERAND : CalculationResult.of(() -> evaluate(expression));
+    }
+
+    /**
+     * Calculates the sum of any number of operands, such as the total of a list of line items.
+     * The sum is computed exactly, in parallel for large lists, and rounded once to 34 significant digits,
+     * so the result does not depend on the order of the computation.
+     *
+     * @param operands the operands to be added, with a scale within the decimal128 range.
+     *
+     * @return sum result, {@code 0} when there are no operands.
+     */
+    BigDecimal sumAll(final List<BigDecimal> operands);
+
+    /**
+     * Calculates the product of any number of operands.
+     * The product is computed exactly, in parallel for large lists, and rounded once to 34 significant digits,
+     * so the result does not depend on the order of the computation.
+     *
+     * @param operands the operands to be multiplied, with a scale within the decimal128 range.
+     *
+     * @return product result, {@code 1} when there are no operands.
+     */
+    BigDecimal productAll(final List<BigDecimal> operands);
+}
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.wit.calculator.audit;
+
+import com.wit.calculator.kafka.CalculationEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Sampled audit log of the calculations, replacing the per-call INFO lines of the hot path.
+ * <p>
+ * A calculation is kept with the sampling rate of its operation, or always when the client id of the
+ * request ({@link #CLIENT} in the MDC) is one of the forced clients. Sampled calculations are queued in a
+ * lock-free {@link AuditRingBuffer} and formatted as one JSON line each by a dedicated writer thread, on the
+ * {@value #LOGGER} logger. The request thread only draws a random number and, when sampled, queues a reference
+ * to the event; when the buffer is full the record is dropped and counted.
+ */
+@Slf4j
+@Component
+public class AuditLog implements SmartLifecycle {
+    /** Source of the calculations made by the REST API. */
+    public static final String REST = "rest";
+    /** Source of the calculations recomputed by the Kafka consumers. */
+    public static final String CONSUMER = "consumer";
+    /** MDC key of the client id of the current request. */
+    public static final String CLIENT = "clientId";
+    /** Name of the logger the records are written to. */
+    public static final String LOGGER = "calculator.audit";
+
+    private static final Logger auditLogger = LoggerFactory.getLogger(LOGGER);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final double sampleRate;
+    private final Map<String, Double> sampleRates;
+    private final Set<String> forcedClients;
+    private final AuditRingBuffer buffer;
+    private final boolean virtualThreads;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * @param sampleRate the fraction of the calculations kept, from 0 to 1, for the operations without a rate.
+     * @param sampleRates rates per operation, as {@code OPERATION:rate} pairs separated by commas.
+     * @param forceClients the client ids whose calculations are always kept, separated by commas.
+     * @param bufferSize the number of records waiting to be written.
+     * @param virtualThreads whether the writer runs on a virtual thread.
+     * @param meterRegistry the registry of the audit metrics.
+     */
+    public AuditLog(
+            @Value("${calculator.audit.sample-rate:0.01}") final double sampleRate,
+            @Value("${calculator.audit.sample-rates:}") final String sampleRates,
+            @Value("${calculator.audit.force-clients:}") final String forceClients,
+            @Value("${calculator.audit.buffer-size:8192}") final int bufferSize,
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads,
+            final MeterRegistry meterRegistry
+    ) {
+        this.sampleRate = rate(sampleRate);
+        this.sampleRates = parseRates(sampleRates);
+        this.forcedClients = Arrays.stream(forceClients.split(","))
+                .map(String::trim)
+                .filter(client -> !client.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.virtualThreads = virtualThreads;
+
+        FunctionCounter.builder("calculator.audit.written", written, LongAdder::sum)
+                .description("Audit records written")
+                .register(meterRegistry);
+        FunctionCounter.builder("calculator.audit.dropped", dropped, LongAdder::sum)
+                .description("Sampled audit records dropped because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("calculator.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Samples a calculation and queues it for writing.
+     *
+     * @param source where the calculation was made, e.g. {@link #REST}.
+     * @param calculationEvent the operation, operands and result.
+     */
+    public void record(final String source, final CalculationEvent calculationEvent) {
+        record(source, MDC.get(CLIENT), calculationEvent);
+    }
+
+    /**
+     * Samples a calculation of the given client and queues it for writing, for callers without an MDC
+     * such as reactive handlers.
+     *
+     * @param source where the calculation was made, e.g. {@link #REST}.
+     * @param client the client id of the request, null if unknown.
+     * @param calculationEvent the operation, operands and result.
+     */
+    public void record(final String source, final String client, final CalculationEvent calculationEvent) {
+        final boolean forced = client != null && forcedClients.contains(client);
+        if (!forced && !sampled(calculationEvent.operation())) {
+            return;
+        }
+        if (!buffer.offer(new AuditRecord(System.currentTimeMillis(), source, client, calculationEvent, forced))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * @return the number of records written so far.
+     */
+    public long written() {
+        return written.sum();
+    }
+
+    /**
+     * @return the number of sampled records dropped because the buffer was full.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        final Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        writer = builder.name("calculator-audit-writer").start(this::drain);
+        log.info("Audit log started with sample rate {}, rates {} and {} forced clients",
+                sampleRate, sampleRates, forcedClients.size());
+    }
+
+    /**
+     * Stops the writer thread once the queued records are written.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server and the consumers, so that their last records are written.
+     *
+     * @return the lifecycle phase.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    private boolean sampled(final String operation) {
+        final Double operationRate = sampleRates.get(operation);
+        final double rate = operationRate == null ? sampleRate : operationRate;
+        return rate >= 1 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Writer loop: formats and writes the queued records, parking briefly when the buffer is empty.
+     * Keeps writing after {@link #stop()} until the buffer is empty.
+     */
+    private void drain() {
+        while (running || buffer.size() > 0) {
+            final AuditRecord auditRecord = buffer.poll();
+            if (auditRecord == null) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                if (auditLogger.isInfoEnabled()) {
+                    auditLogger.info(format(auditRecord));
+                }
+                written.increment();
+            } catch (RuntimeException e) {
+                log.warn("Failed to write audit record {}", auditRecord, e);
+            }
+        }
+    }
+
+    /**
+     * Formats a record as a JSON line. Called by the writer thread, off the request path.
+     *
+     * @param auditRecord the record to format.
+     *
+     * @return the JSON line.
+     */
+    public static String format(final AuditRecord auditRecord) {
+        final CalculationEvent event = auditRecord.calculationEvent();
+        final StringBuilder line = new StringBuilder(192);
+        line.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(auditRecord.timestamp())).append('"');
+        field(line, "source", auditRecord.source());
+        if (event.id() != null) {
+            line.append(",\"eventId\":").append(event.id().longValue());
+        }
+        field(line, "client", auditRecord.client());
+        field(line, "operation", event.operation());
+        field(line, "firstOperand", event.firstOperand());
+        field(line, "secondOperand", event.secondOperand());
+        field(line, "expression", event.expression());
+        field(line, "result", event.result());
+        if (event.precision() != null) {
+            field(line, "precision", event.precision().name());
+        }
+        if (event.roundingMode() != null) {
+            field(line, "roundingMode", event.roundingMode().name());
+        }
+        line.append(",\"forced\":").append(auditRecord.forced()).append('}');
+        return line.toString();
+    }
+
+    private static void field(final StringBuilder line, final String name, final BigDecimal value) {
+        if (value != null) {
+            line.append(",\"").append(name).append("\":").append(value);
+        }
+    }
+
+    private static void field(final StringBuilder line, final String name, final String value) {
+        if (value == null) {
+            return;
+        }
+        line.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"', '\\' -> line.append('\\').append(c);
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private static Map<String, Double> parseRates(final String sampleRates) {
+        final Map<String, Double> rates = new HashMap<>();
+        for (final String pair : sampleRates.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            final int separator = pair.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("calculator.audit.sample-rates expects OPERATION:rate, got " + pair);
+            }
+            rates.put(
+                    pair.substring(0, separator).trim(),
+                    rate(Double.parseDouble(pair.substring(separator + 1).trim()))
+            );
+        }
+        return Collections.unmodifiableMap(rates);
+    }
+
+    private static double rate(final double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Audit sample rates must be between 0 and 1, got " + rate);
+        }
+        return rate;
+    }
+}
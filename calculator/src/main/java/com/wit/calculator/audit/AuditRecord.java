@@ -0,0 +1,21 @@
+package com.wit.calculator.audit;
+
+import com.wit.calculator.kafka.CalculationEvent;
+
+/**
+ * Sampled calculation waiting in the {@link AuditRingBuffer} to be written, or calculation read back from the
+ * calculation history. Holds references only: operands and result are formatted by the writer thread.
+ *
+ * @param timestamp the {@link System#currentTimeMillis()} of the calculation.
+ * @param source where the calculation was made, e.g. {@link AuditLog#REST}.
+ * @param client the client id of the request, or {@code null}.
+ * @param calculationEvent the operation, operands and result.
+ * @param forced whether the client is sampled at 100% instead of the operation rate.
+ */
+public record AuditRecord(
+        long timestamp,
+        String source,
+        String client,
+        CalculationEvent calculationEvent,
+        boolean forced
+) {}
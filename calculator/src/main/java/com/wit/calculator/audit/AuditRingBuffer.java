@@ -0,0 +1,81 @@
+package com.wit.calculator.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer of {@link AuditRecord}, with many producers and a single consumer.
+ * <p>
+ * Producers claim a sequence with a CAS on the tail and publish the record into its slot; the consumer
+ * takes the slot at the head, clears it and advances the head. A full buffer rejects the record instead
+ * of blocking, so a slow writer never slows down the request threads.
+ */
+public final class AuditRingBuffer {
+    private final AtomicReferenceArray<AuditRecord> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity the minimum number of records, rounded up to a power of two.
+     */
+    public AuditRingBuffer(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("calculator.audit.buffer-size must be between 1 and 2^30");
+        }
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.mask = slots.length() - 1;
+    }
+
+    /**
+     * Adds a record, from any thread.
+     *
+     * @param auditRecord the record to add.
+     *
+     * @return {@code false} if the buffer is full.
+     */
+    public boolean offer(final AuditRecord auditRecord) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.setRelease((int) sequence & mask, auditRecord);
+        return true;
+    }
+
+    /**
+     * Takes the oldest record, from the consumer thread only.
+     *
+     * @return the record, or {@code null} if the buffer is empty or the next record is not published yet.
+     */
+    public AuditRecord poll() {
+        final long sequence = head.get();
+        final int index = (int) sequence & mask;
+        final AuditRecord auditRecord = slots.getAcquire(index);
+        if (auditRecord == null) {
+            return null;
+        }
+        slots.setRelease(index, null);
+        head.setRelease(sequence + 1);
+        return auditRecord;
+    }
+
+    /**
+     * @return the number of claimed slots, including records still being published.
+     */
+    public int size() {
+        final long consumed = head.get();
+        return (int) (tail.get() - consumed);
+    }
+
+    /**
+     * @return the number of slots.
+     */
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,28 @@
+package com.wit.calculator.column;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lazy holder of {@link ColumnKernels#best()}.
+ */
+@Slf4j
+final class BestColumnKernels {
+    static final ColumnKernels BEST = select();
+
+    private BestColumnKernels() {}
+
+    private static ColumnKernels select() {
+        if (ModuleLayer.boot().findModule(ColumnKernels.VECTOR_MODULE).isPresent()) {
+            try {
+                final ColumnKernels vector = new VectorColumnKernels();
+                log.info("Using {} column kernels", vector.name());
+                return vector;
+            } catch (LinkageError | RuntimeException e) {
+                log.warn("Vector API unavailable, using scalar column kernels", e);
+                return ScalarColumnKernels.INSTANCE;
+            }
+        }
+        log.info("Module {} not enabled, using scalar column kernels", ColumnKernels.VECTOR_MODULE);
+        return ScalarColumnKernels.INSTANCE;
+    }
+}
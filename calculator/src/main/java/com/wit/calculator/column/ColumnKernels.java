@@ -0,0 +1,42 @@
+package com.wit.calculator.column;
+
+/**
+ * Element-wise arithmetic over column pairs: {@code result[i] = first[i] op second[i]}.
+ * <p>
+ * Callers pass columns of the same length and a result column at least as long; the result may be one of the
+ * operands. Double columns follow IEEE 754: results are rounded to 53 bits, a division by zero yields an
+ * infinity or NaN and nothing throws. Long columns are exact: an overflow throws {@link ArithmeticException}.
+ */
+public interface ColumnKernels {
+    /** Name of the incubating module of the Vector API. */
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    void sum(double[] first, double[] second, double[] result);
+
+    void sub(double[] first, double[] second, double[] result);
+
+    void mult(double[] first, double[] second, double[] result);
+
+    void div(double[] first, double[] second, double[] result);
+
+    void sum(long[] first, long[] second, long[] result);
+
+    void sub(long[] first, long[] second, long[] result);
+
+    void mult(long[] first, long[] second, long[] result);
+
+    /**
+     * @return the name of the implementation, for logs and benchmarks.
+     */
+    String name();
+
+    /**
+     * Picks the SIMD kernels when the JVM runs with {@code --add-modules jdk.incubator.vector},
+     * the scalar ones otherwise. The vector classes are not loaded unless the module is present.
+     *
+     * @return the fastest kernels available.
+     */
+    static ColumnKernels best() {
+        return BestColumnKernels.BEST;
+    }
+}
@@ -0,0 +1,64 @@
+package com.wit.calculator.column;
+
+/**
+ * Plain loops, used when the Vector API is not enabled. The JIT may still auto-vectorize the double loops.
+ */
+public final class ScalarColumnKernels implements ColumnKernels {
+    public static final ScalarColumnKernels INSTANCE = new ScalarColumnKernels();
+
+    private ScalarColumnKernels() {}
+
+    @Override
+    public void sum(final double[] first, final double[] second, final double[] result) {
+        for (int i = 0; i < first.length; i++) {
+            result[i] = first[i] + second[i];
+        }
+    }
+
+    @Override
+    public void sub(final double[] first, final double[] second, final double[] result) {
+        for (int i = 0; i < first.length; i++) {
+            result[i] = first[i] - second[i];
+        }
+    }
+
+    @Override
+    public void mult(final double[] first, final double[] second, final double[] result) {
+        for (int i = 0; i < first.length; i++) {
+            result[i] = first[i] * second[i];
+        }
+    }
+
+    @Override
+    public void div(final double[] first, final double[] second, final double[] result) {
+        for (int i = 0; i < first.length; i++) {
+            result[i] = first[i] / second[i];
+        }
+    }
+
+    @Override
+    public void sum(final long[] first, final long[] second, final long[] result) {
+        for (int i = 0; i < first.length; i++) {
+            result[i] = Math.addExact(first[i], second[i]);
+        }
+    }
+
+    @Override
+    public void sub(final long[] first, final long[] second, final long[] result) {
+        for (int i = 0; i < first.length; i++) {
+            result[i] = Math.subtractExact(first[i], second[i]);
+        }
+    }
+
+    @Override
+    public void mult(final long[] first, final long[] second, final long[] result) {
+        for (int i = 0; i < first.length; i++) {
+            result[i] = Math.multiplyExact(first[i], second[i]);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,131 @@
+package com.wit.calculator.column;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels on the Vector API, at the widest vector shape of the CPU; the tail shorter than a vector
+ * is computed with scalar code.
+ * <p>
+ * Long sums and subtractions accumulate the overflow sign bits lane-wise and throw once the loop is done,
+ * so the result column may be partially written when they throw. Long multiplications stay scalar: the Vector API has no
+ * multiply-high to detect their overflow.
+ * <p>
+ * Requires {@code --add-modules jdk.incubator.vector}; obtain it through {@link ColumnKernels#best()}.
+ */
+public final class VectorColumnKernels implements ColumnKernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public void sum(final double[] first, final double[] second, final double[] result) {
+        final int bound = DOUBLES.loopBound(first.length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, first, i)
+                    .add(DoubleVector.fromArray(DOUBLES, second, i))
+                    .intoArray(result, i);
+        }
+        for (; i < first.length; i++) {
+            result[i] = first[i] + second[i];
+        }
+    }
+
+    @Override
+    public void sub(final double[] first, final double[] second, final double[] result) {
+        final int bound = DOUBLES.loopBound(first.length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, first, i)
+                    .sub(DoubleVector.fromArray(DOUBLES, second, i))
+                    .intoArray(result, i);
+        }
+        for (; i < first.length; i++) {
+            result[i] = first[i] - second[i];
+        }
+    }
+
+    @Override
+    public void mult(final double[] first, final double[] second, final double[] result) {
+        final int bound = DOUBLES.loopBound(first.length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, first, i)
+                    .mul(DoubleVector.fromArray(DOUBLES, second, i))
+                    .intoArray(result, i);
+        }
+        for (; i < first.length; i++) {
+            result[i] = first[i] * second[i];
+        }
+    }
+
+    @Override
+    public void div(final double[] first, final double[] second, final double[] result) {
+        final int bound = DOUBLES.loopBound(first.length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, first, i)
+                    .div(DoubleVector.fromArray(DOUBLES, second, i))
+                    .intoArray(result, i);
+        }
+        for (; i < first.length; i++) {
+            result[i] = first[i] / second[i];
+        }
+    }
+
+    @Override
+    public void sum(final long[] first, final long[] second, final long[] result) {
+        final int bound = LONGS.loopBound(first.length);
+        LongVector overflow = LongVector.zero(LONGS);
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            final LongVector a = LongVector.fromArray(LONGS, first, i);
+            final LongVector b = LongVector.fromArray(LONGS, second, i);
+            final LongVector r = a.add(b);
+            // Overflow iff both operands have the sign opposite to the result, as in Math.addExact
+            overflow = overflow.or(a.lanewise(VectorOperators.XOR, r)
+                    .lanewise(VectorOperators.AND, b.lanewise(VectorOperators.XOR, r)));
+            r.intoArray(result, i);
+        }
+        if (overflow.reduceLanes(VectorOperators.OR) < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        for (; i < first.length; i++) {
+            result[i] = Math.addExact(first[i], second[i]);
+        }
+    }
+
+    @Override
+    public void sub(final long[] first, final long[] second, final long[] result) {
+        final int bound = LONGS.loopBound(first.length);
+        LongVector overflow = LongVector.zero(LONGS);
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            final LongVector a = LongVector.fromArray(LONGS, first, i);
+            final LongVector b = LongVector.fromArray(LONGS, second, i);
+            final LongVector r = a.sub(b);
+            // Overflow iff the operands differ in sign and the result differs from the first, as in Math.subtractExact
+            overflow = overflow.or(a.lanewise(VectorOperators.XOR, b)
+                    .lanewise(VectorOperators.AND, a.lanewise(VectorOperators.XOR, r)));
+            r.intoArray(result, i);
+        }
+        if (overflow.reduceLanes(VectorOperators.OR) < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        for (; i < first.length; i++) {
+            result[i] = Math.subtractExact(first[i], second[i]);
+        }
+    }
+
+    @Override
+    public void mult(final long[] first, final long[] second, final long[] result) {
+        ScalarColumnKernels.INSTANCE.mult(first, second, result);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + DOUBLES.vectorBitSize();
+    }
+}
@@ -0,0 +1,28 @@
+package com.wit.calculator.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration of the worker pool used to evaluate calculation batches.
+ */
+@Configuration
+public class CalculatorBatchConfiguration {
+    /**
+     * Worker pool evaluating batch chunks in parallel.
+     *
+     * @param parallelism the number of workers, {@code 0} to use one per available processor.
+     *
+     * @return the batch executor.
+     */
+    @Bean(name = "calculatorBatchExecutor", destroyMethod = "shutdown")
+    public ExecutorService calculatorBatchExecutor(
+            @Value("${calculator.batch.parallelism:0}") final int parallelism
+    ) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
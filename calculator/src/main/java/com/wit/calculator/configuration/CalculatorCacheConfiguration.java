@@ -0,0 +1,43 @@
+package com.wit.calculator.configuration;
+
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.service.CachingCalculatorService;
+import com.wit.calculator.service.CalculatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.Set;
+
+/**
+ * Configuration of the result cache, enabled by {@code calculator.cache.enabled=true}.
+ * The caching decorator becomes the primary {@link CalculatorService} and wraps the selected engine.
+ */
+@Configuration
+@ConditionalOnProperty(name = "calculator.cache.enabled", havingValue = "true")
+public class CalculatorCacheConfiguration {
+    /**
+     * Caching decorator of the calculator engine.
+     *
+     * @param engine the selected calculator engine.
+     * @param capacity the maximum number of cached results.
+     * @param operations the operations whose results are cached.
+     * @param meterRegistry the registry of the cache metrics.
+     *
+     * @return the caching calculator service.
+     */
+    @Bean
+    @Primary
+    public CachingCalculatorService cachingCalculatorService(
+            @Qualifier(CalculatorService.ENGINE) final CalculatorService engine,
+            @Value("${calculator.cache.capacity:100000}") final long capacity,
+            @Value("${calculator.cache.operations:MULT,DIV}") final Set<CalculatorOperation> operations,
+            final MeterRegistry meterRegistry
+    ) {
+        return new CachingCalculatorService(engine, capacity, operations, meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.wit.calculator.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration of the worker pool used by the batch consumer, enabled by {@code calculator.consumer.batch=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "calculator.consumer.batch", havingValue = "true")
+public class CalculatorConsumerConfiguration {
+    /**
+     * Worker pool processing the chunks of a consumed batch in parallel.
+     *
+     * @param workers the number of workers, {@code 0} to use one per available processor.
+     *
+     * @return the consumer executor.
+     */
+    @Bean(name = "calculatorConsumerExecutor", destroyMethod = "shutdown")
+    public ExecutorService calculatorConsumerExecutor(
+            @Value("${calculator.consumer.workers:0}") final int workers
+    ) {
+        return new ForkJoinPool(workers > 0 ? workers : Runtime.getRuntime().availableProcessors());
+    }
+}
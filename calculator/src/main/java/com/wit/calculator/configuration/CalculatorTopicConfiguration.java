@@ -0,0 +1,84 @@
+package com.wit.calculator.configuration;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Provisioning of the calculator events topic by Spring's {@code KafkaAdmin} at startup, in every application
+ * publishing or consuming the events. The partitions bound the number of consumers sharing the events of a
+ * group, so {@code calculator.topic-partitions} should be at least the number of consumer instances times
+ * {@code calculator.consumer.concurrency}. An existing topic with fewer partitions is extended to that number;
+ * keyed events then move to other partitions. The topics of the remote compute mode are created by the
+ * applications that enable it. Disabled with {@code spring.kafka.admin.auto-create=false}.
+ */
+@Configuration
+public class CalculatorTopicConfiguration {
+    /**
+     * The calculator events topic.
+     *
+     * @param topic the topic name.
+     * @param partitions the number of partitions.
+     * @param replicas the replication factor.
+     *
+     * @return the topic to create or extend.
+     */
+    @Bean
+    public NewTopic calculatorTopic(
+            @Value("${calculator.topic}") final String topic,
+            @Value("${calculator.topic-partitions:6}") final int partitions,
+            @Value("${calculator.topic-replicas:1}") final int replicas
+    ) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    /**
+     * The calculation requests topic of the remote compute mode, created by the workers. Its partitions bound the
+     * workers computing requests in parallel.
+     *
+     * @param topic the topic name.
+     * @param partitions the number of partitions.
+     * @param replicas the replication factor.
+     *
+     * @return the topic to create or extend.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "calculator.worker.enabled", havingValue = "true")
+    public NewTopic calculatorRequestTopic(
+            @Value("${calculator.remote.request-topic:calculator.requests}") final String topic,
+            @Value("${calculator.remote.request-partitions:6}") final int partitions,
+            @Value("${calculator.topic-replicas:1}") final int replicas
+    ) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    /**
+     * The replies topic of the remote compute mode, created by the REST instances delegating their calculations.
+     * Each instance reads all of its partitions and keeps the replies to its own requests.
+     *
+     * @param topic the topic name.
+     * @param replicas the replication factor.
+     *
+     * @return the topic to create.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "calculator.remote.enabled", havingValue = "true")
+    public NewTopic calculatorReplyTopic(
+            @Value("${calculator.remote.reply-topic:calculator.replies}") final String topic,
+            @Value("${calculator.topic-replicas:1}") final int replicas
+    ) {
+        return TopicBuilder.name(topic)
+                .partitions(1)
+                .replicas(replicas)
+                .build();
+    }
+}
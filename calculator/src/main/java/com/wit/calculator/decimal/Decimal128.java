@@ -0,0 +1,209 @@
+package com.wit.calculator.decimal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Fixed width 128-bit decimal floating point value with IEEE 754-2008 decimal128 semantics:
+ * a coefficient of at most 34 decimal digits and an exponent in [-6176, 6111].
+ * <p>
+ * The value is held in two longs using the binary integer decimal (BID) encoding:
+ * the sign bit, a 14-bit biased exponent and the 113-bit binary coefficient.
+ * Arithmetic reproduces {@link BigDecimal} with {@link java.math.MathContext#DECIMAL128}, result scale
+ * included, and works on a per-thread scratch area so that the only allocation is the result itself.
+ * Results whose exponent leaves the decimal128 range raise an {@link ArithmeticException}.
+ */
+public final class Decimal128 {
+    /** Number of decimal digits of the coefficient. */
+    public static final int PRECISION = 34;
+    /** Smallest scale (largest exponent) of a decimal128 value. */
+    public static final int MIN_SCALE = -6111;
+    /** Largest scale (smallest exponent) of a decimal128 value. */
+    public static final int MAX_SCALE = 6176;
+    /** Zero with scale 0. */
+    public static final Decimal128 ZERO = new Decimal128(encodeHigh(false, 0, 0L), 0L);
+
+    private static final int EXPONENT_BIAS = 6176;
+    private static final int EXPONENT_SHIFT = 49;
+    private static final long EXPONENT_MASK = 0x3FFFL;
+    private static final long COEFFICIENT_HIGH_MASK = (1L << EXPONENT_SHIFT) - 1;
+    private static final long SIGN_MASK = Long.MIN_VALUE;
+
+    private static final ThreadLocal<Decimal128Arithmetic> ARITHMETIC =
+            ThreadLocal.withInitial(Decimal128Arithmetic::new);
+
+    private final long high;
+    private final long low;
+
+    private Decimal128(final long high, final long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Checks whether a {@link BigDecimal} can be represented without rounding.
+     *
+     * @param value the value to check.
+     *
+     * @return {@code true} if the value has at most 34 digits and its scale is within the decimal128 range.
+     */
+    public static boolean isRepresentable(final BigDecimal value) {
+        return value.precision() <= PRECISION && value.scale() >= MIN_SCALE && value.scale() <= MAX_SCALE;
+    }
+
+    /**
+     * Converts a {@link BigDecimal} into a decimal128 value, preserving its scale.
+     *
+     * @param value the value to convert.
+     *
+     * @return the decimal128 value.
+     *
+     * @throws ArithmeticException if the value is not representable, see {@link #isRepresentable(BigDecimal)}.
+     */
+    public static Decimal128 valueOf(final BigDecimal value) {
+        if (!isRepresentable(value)) {
+            throw new ArithmeticException("Value not representable as decimal128: " + value);
+        }
+        final BigInteger unscaled = value.unscaledValue();
+        final BigInteger magnitude = unscaled.abs();
+        final long coefficientLow = magnitude.longValue();
+        final long coefficientHigh = magnitude.bitLength() < Long.SIZE ? 0L : magnitude.shiftRight(Long.SIZE).longValue();
+        return of(unscaled.signum() < 0, coefficientHigh, coefficientLow, value.scale());
+    }
+
+    /**
+     * Creates a value from its parts. The coefficient must have at most 34 digits.
+     *
+     * @param negative the sign, ignored for a zero coefficient.
+     * @param coefficientHigh the upper 64 bits of the coefficient.
+     * @param coefficientLow the lower 64 bits of the coefficient.
+     * @param scale the scale of the value.
+     *
+     * @return the value.
+     *
+     * @throws ArithmeticException if the scale is out of the decimal128 range.
+     */
+    static Decimal128 of(final boolean negative, final long coefficientHigh, final long coefficientLow, final long scale) {
+        if (scale < MIN_SCALE || scale > MAX_SCALE) {
+            throw new ArithmeticException("Decimal128 exponent out of range: " + (-scale));
+        }
+        final boolean zero = coefficientHigh == 0L && coefficientLow == 0L;
+        return new Decimal128(encodeHigh(negative && !zero, (int) -scale, coefficientHigh), coefficientLow);
+    }
+
+    private static long encodeHigh(final boolean negative, final int exponent, final long coefficientHigh) {
+        return (negative ? SIGN_MASK : 0L)
+                | ((long) (exponent + EXPONENT_BIAS) << EXPONENT_SHIFT)
+                | coefficientHigh;
+    }
+
+    /**
+     * @param augend the value to be added.
+     *
+     * @return the sum of this value and the augend.
+     */
+    public Decimal128 add(final Decimal128 augend) {
+        return ARITHMETIC.get().add(this, augend, false);
+    }
+
+    /**
+     * @param subtrahend the value to be subtracted.
+     *
+     * @return the difference of this value and the subtrahend.
+     */
+    public Decimal128 subtract(final Decimal128 subtrahend) {
+        return ARITHMETIC.get().add(this, subtrahend, true);
+    }
+
+    /**
+     * @param multiplicand the value to be multiplied by.
+     *
+     * @return the product of this value and the multiplicand.
+     */
+    public Decimal128 multiply(final Decimal128 multiplicand) {
+        return ARITHMETIC.get().multiply(this, multiplicand);
+    }
+
+    /**
+     * @param divisor the value to be divided by.
+     *
+     * @return the quotient of this value and the divisor.
+     *
+     * @throws ArithmeticException if the divisor is zero.
+     */
+    public Decimal128 divide(final Decimal128 divisor) {
+        return ARITHMETIC.get().divide(this, divisor);
+    }
+
+    /**
+     * @return {@code true} if the value is negative.
+     */
+    public boolean isNegative() {
+        return high < 0;
+    }
+
+    /**
+     * @return {@code true} if the value is zero, whatever its scale.
+     */
+    public boolean isZero() {
+        return coefficientHigh() == 0L && low == 0L;
+    }
+
+    /**
+     * @return -1, 0 or 1 as the value is negative, zero or positive.
+     */
+    public int signum() {
+        return isZero() ? 0 : (isNegative() ? -1 : 1);
+    }
+
+    /**
+     * @return the scale of the value, that is the negated exponent.
+     */
+    public int scale() {
+        return EXPONENT_BIAS - (int) ((high >>> EXPONENT_SHIFT) & EXPONENT_MASK);
+    }
+
+    long coefficientHigh() {
+        return high & COEFFICIENT_HIGH_MASK;
+    }
+
+    long coefficientLow() {
+        return low;
+    }
+
+    /**
+     * Converts the value back into a {@link BigDecimal} with the same unscaled value and scale.
+     *
+     * @return the {@link BigDecimal} value.
+     */
+    public BigDecimal toBigDecimal() {
+        final long coefficientHigh = coefficientHigh();
+        if (coefficientHigh == 0L && low >= 0L) {
+            return BigDecimal.valueOf(isNegative() ? -low : low, scale());
+        }
+        final byte[] magnitude = new byte[2 * Long.BYTES];
+        for (int i = 0; i < Long.BYTES; i++) {
+            magnitude[i] = (byte) (coefficientHigh >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+            magnitude[i + Long.BYTES] = (byte) (low >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+        }
+        return new BigDecimal(new BigInteger(isNegative() ? -1 : 1, magnitude), scale());
+    }
+
+    /**
+     * Representation equality, like {@link BigDecimal#equals(Object)}: {@code 2.0} is not equal to {@code 2.00}.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof Decimal128 decimal128 && high == decimal128.high && low == decimal128.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) * 31 + Long.hashCode(low);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toString();
+    }
+}
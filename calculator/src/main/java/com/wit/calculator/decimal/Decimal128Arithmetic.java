@@ -0,0 +1,513 @@
+package com.wit.calculator.decimal;
+
+/**
+ * Per-thread scratch area implementing {@link Decimal128} arithmetic.
+ * <p>
+ * Coefficients are widened into 256-bit unsigned integers made of eight little-endian 32-bit limbs, which is
+ * enough for any exact intermediate result (at most 69 digits). Every operation mirrors the corresponding
+ * {@link java.math.BigDecimal} operation with {@link java.math.MathContext#DECIMAL128}: the exact result is
+ * computed first and then rounded once to 34 digits using {@link java.math.RoundingMode#HALF_EVEN}.
+ * Instances are not thread safe.
+ */
+final class Decimal128Arithmetic {
+    private static final int LIMBS = 8;
+    private static final long MASK = 0xFFFFFFFFL;
+    private static final int PRECISION = Decimal128.PRECISION;
+    private static final int MAX_POW10 = 77;
+    private static final int BILLION = 1_000_000_000;
+    private static final int[] INT_POW10 = {
+            1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, BILLION
+    };
+    private static final int[][] POW10 = new int[MAX_POW10 + 1][];
+
+    static {
+        final int[] power = new int[LIMBS];
+        power[0] = 1;
+        for (int i = 0; i <= MAX_POW10; i++) {
+            POW10[i] = power.clone();
+            multiplySmall(power, 10);
+        }
+    }
+
+    private final int[] x = new int[LIMBS];
+    private final int[] y = new int[LIMBS];
+    private final int[] z = new int[LIMBS];
+    private final int[] dividend = new int[LIMBS + 1];
+    private final int[] divisor = new int[LIMBS];
+
+    /**
+     * Adds two values, negating the second one first when subtracting.
+     *
+     * @param a the first operand.
+     * @param b the second operand.
+     * @param subtract whether {@code b} is subtracted instead of added.
+     *
+     * @return the rounded result.
+     */
+    Decimal128 add(final Decimal128 a, final Decimal128 b, final boolean subtract) {
+        final boolean negativeA = a.isNegative();
+        final boolean negativeB = b.isNegative() != subtract;
+        int scaleA = a.scale();
+        int scaleB = b.scale();
+
+        if (a.isZero() || b.isZero()) {
+            final int preferredScale = Math.max(scaleA, scaleB);
+            if (a.isZero() && b.isZero()) {
+                return Decimal128.of(false, 0L, 0L, preferredScale);
+            }
+            final Decimal128 operand = a.isZero() ? b : a;
+            final boolean negative = a.isZero() ? negativeB : negativeA;
+            load(x, operand);
+            final long scale = operand.scale() > preferredScale
+                    ? stripZeros(x, operand.scale(), preferredScale)
+                    : raiseScale(x, operand.scale(), preferredScale);
+            return pack(negative, x, scale);
+        }
+
+        load(x, a);
+        load(y, b);
+        if (scaleA != scaleB) {
+            // A far smaller operand whose digits cannot show up in the rounded result only matters through its
+            // sign: condense it into a unit in a digit position below the rounding digit (BigDecimal#preAlign).
+            final boolean aIsBig = scaleA < scaleB;
+            final int bigScale = aIsBig ? scaleA : scaleB;
+            final int smallScale = aIsBig ? scaleB : scaleA;
+            final int[] big = aIsBig ? x : y;
+            final int[] small = aIsBig ? y : x;
+            final long estimatedUlpScale = (long) bigScale - digits(big) + PRECISION;
+            final long smallHighDigit = (long) smallScale - digits(small) + 1;
+            if (smallHighDigit > bigScale + 2L && smallHighDigit > estimatedUlpScale + 2L) {
+                setSmall(small, 1);
+                final int condensedScale = (int) (Math.max(bigScale, estimatedUlpScale) + 3L);
+                if (aIsBig) {
+                    scaleB = condensedScale;
+                } else {
+                    scaleA = condensedScale;
+                }
+            }
+        }
+
+        final int scale = Math.max(scaleA, scaleB);
+        multiplyPow10(x, scale - scaleA);
+        multiplyPow10(y, scale - scaleB);
+
+        final int[] result;
+        final boolean negative;
+        if (negativeA == negativeB) {
+            add(x, y);
+            result = x;
+            negative = negativeA;
+        } else {
+            final int comparison = compare(x, y);
+            if (comparison == 0) {
+                return Decimal128.of(false, 0L, 0L, scale);
+            }
+            if (comparison > 0) {
+                subtract(x, y);
+                result = x;
+                negative = negativeA;
+            } else {
+                subtract(y, x);
+                result = y;
+                negative = negativeB;
+            }
+        }
+        return pack(negative, result, round(result, scale));
+    }
+
+    /**
+     * Multiplies two values.
+     *
+     * @param a the multiplier.
+     * @param b the multiplicand.
+     *
+     * @return the rounded product.
+     */
+    Decimal128 multiply(final Decimal128 a, final Decimal128 b) {
+        load(x, a);
+        load(y, b);
+        multiply(z, x, y);
+        final long scale = (long) a.scale() + b.scale();
+        return pack(a.isNegative() != b.isNegative(), z, round(z, scale));
+    }
+
+    /**
+     * Divides two values following the algorithm of {@code BigDecimal#divide(BigDecimal, MathContext)}:
+     * both operands are normalized into [0.1, 1) so that the integer quotient has exactly 34 digits,
+     * and an exact quotient is stripped of trailing zeros down to the preferred scale.
+     *
+     * @param a the dividend.
+     * @param b the divisor.
+     *
+     * @return the rounded quotient.
+     */
+    Decimal128 divide(final Decimal128 a, final Decimal128 b) {
+        if (b.isZero()) {
+            throw new ArithmeticException(a.isZero() ? "Division undefined" : "Division by zero");
+        }
+        final long preferredScale = (long) a.scale() - b.scale();
+        if (a.isZero()) {
+            return Decimal128.of(false, 0L, 0L, preferredScale);
+        }
+        final boolean negative = a.isNegative() != b.isNegative();
+
+        load(x, a);
+        load(y, b);
+        final int dividendDigits = digits(x);
+        final int divisorDigits = digits(y);
+        int divisorScale = divisorDigits;
+        if (compareNormalized(dividendDigits, divisorDigits) > 0) {
+            divisorScale--;
+        }
+
+        multiplyPow10(x, PRECISION + divisorScale - dividendDigits);
+        long scale = preferredScale + divisorScale - dividendDigits + PRECISION;
+        divideAndRemainder(x, y, z);
+
+        if (!isZero(x)) {
+            // x holds the remainder: round half even by comparing twice the remainder with the divisor
+            add(x, x);
+            final int half = compare(x, y);
+            if (half > 0 || (half == 0 && (z[0] & 1) != 0)) {
+                addSmall(z, 1);
+            }
+        } else if (scale > preferredScale) {
+            scale = stripZeros(z, scale, preferredScale);
+        }
+        return pack(negative, z, round(z, scale));
+    }
+
+    /**
+     * Compares the dividend in {@code x} and the divisor in {@code y} once both are normalized into [0.1, 1).
+     */
+    private int compareNormalized(final int dividendDigits, final int divisorDigits) {
+        if (dividendDigits < divisorDigits) {
+            System.arraycopy(x, 0, z, 0, LIMBS);
+            multiplyPow10(z, divisorDigits - dividendDigits);
+            return compare(z, y);
+        }
+        System.arraycopy(y, 0, z, 0, LIMBS);
+        multiplyPow10(z, dividendDigits - divisorDigits);
+        return compare(x, z);
+    }
+
+    /**
+     * Rounds a magnitude to 34 digits.
+     *
+     * @param magnitude the magnitude, rounded in place.
+     * @param scale the scale of the magnitude.
+     *
+     * @return the scale of the rounded magnitude.
+     */
+    private static long round(final int[] magnitude, final long scale) {
+        final int drop = digits(magnitude) - PRECISION;
+        if (drop <= 0) {
+            return scale;
+        }
+        divideRoundHalfEven(magnitude, drop);
+        if (digits(magnitude) > PRECISION) {
+            // rounding carried into a 35th digit: the magnitude is 10^34 and divides exactly
+            divideSmall(magnitude, 10);
+            return scale - drop - 1;
+        }
+        return scale - drop;
+    }
+
+    /**
+     * Removes trailing zeros while the scale is above the preferred one.
+     */
+    private static long stripZeros(final int[] magnitude, long scale, final long preferredScale) {
+        while (scale > preferredScale && compare(magnitude, POW10[1]) >= 0 && remainderSmall(magnitude, 10) == 0) {
+            divideSmall(magnitude, 10);
+            scale--;
+        }
+        return scale;
+    }
+
+    /**
+     * Appends zeros to move the scale towards the preferred one without exceeding 34 digits.
+     */
+    private static long raiseScale(final int[] magnitude, final long scale, final long preferredScale) {
+        final long raise = Math.min(PRECISION - digits(magnitude), preferredScale - scale);
+        multiplyPow10(magnitude, (int) raise);
+        return scale + raise;
+    }
+
+    private static Decimal128 pack(final boolean negative, final int[] magnitude, final long scale) {
+        return Decimal128.of(
+                negative,
+                (magnitude[3] & MASK) << 32 | (magnitude[2] & MASK),
+                (magnitude[1] & MASK) << 32 | (magnitude[0] & MASK),
+                scale
+        );
+    }
+
+    private static void load(final int[] magnitude, final Decimal128 value) {
+        final long high = value.coefficientHigh();
+        final long low = value.coefficientLow();
+        magnitude[0] = (int) low;
+        magnitude[1] = (int) (low >>> 32);
+        magnitude[2] = (int) high;
+        magnitude[3] = (int) (high >>> 32);
+        for (int i = 4; i < LIMBS; i++) {
+            magnitude[i] = 0;
+        }
+    }
+
+    private static void setSmall(final int[] magnitude, final int value) {
+        magnitude[0] = value;
+        for (int i = 1; i < LIMBS; i++) {
+            magnitude[i] = 0;
+        }
+    }
+
+    private static boolean isZero(final int[] magnitude) {
+        for (int i = 0; i < LIMBS; i++) {
+            if (magnitude[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compare(final int[] a, final int[] b) {
+        for (int i = LIMBS - 1; i >= 0; i--) {
+            if (a[i] != b[i]) {
+                return Integer.compareUnsigned(a[i], b[i]);
+            }
+        }
+        return 0;
+    }
+
+    /** a += b */
+    private static void add(final int[] a, final int[] b) {
+        long carry = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            carry += (a[i] & MASK) + (b[i] & MASK);
+            a[i] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+
+    /** a += value */
+    private static void addSmall(final int[] a, final int value) {
+        long carry = value & MASK;
+        for (int i = 0; i < LIMBS && carry != 0; i++) {
+            carry += a[i] & MASK;
+            a[i] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+
+    /** a -= b, requires a >= b */
+    private static void subtract(final int[] a, final int[] b) {
+        long borrow = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            final long difference = (a[i] & MASK) - (b[i] & MASK) - borrow;
+            a[i] = (int) difference;
+            borrow = difference < 0 ? 1 : 0;
+        }
+    }
+
+    /** a *= factor, with factor an unsigned 32-bit value */
+    private static void multiplySmall(final int[] a, final int factor) {
+        final long multiplier = factor & MASK;
+        long carry = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            carry += (a[i] & MASK) * multiplier;
+            a[i] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+
+    /** a *= 10^exponent */
+    private static void multiplyPow10(final int[] a, int exponent) {
+        while (exponent >= 9) {
+            multiplySmall(a, BILLION);
+            exponent -= 9;
+        }
+        if (exponent > 0) {
+            multiplySmall(a, INT_POW10[exponent]);
+        }
+    }
+
+    /** product = a * b, the product must fit in 256 bits */
+    private static void multiply(final int[] product, final int[] a, final int[] b) {
+        for (int i = 0; i < LIMBS; i++) {
+            product[i] = 0;
+        }
+        for (int i = 0; i < LIMBS; i++) {
+            final long limb = a[i] & MASK;
+            if (limb == 0) {
+                continue;
+            }
+            long carry = 0;
+            for (int j = 0; i + j < LIMBS; j++) {
+                carry += limb * (b[j] & MASK) + (product[i + j] & MASK);
+                product[i + j] = (int) carry;
+                carry >>>= 32;
+            }
+        }
+    }
+
+    /** a /= divisor and returns the remainder, with 0 < divisor <= 10^9 */
+    private static long divideSmall(final int[] a, final int divisor) {
+        long remainder = 0;
+        for (int i = LIMBS - 1; i >= 0; i--) {
+            final long current = remainder << 32 | (a[i] & MASK);
+            a[i] = (int) (current / divisor);
+            remainder = current % divisor;
+        }
+        return remainder;
+    }
+
+    /** a % divisor, with 0 < divisor <= 10^9 */
+    private static long remainderSmall(final int[] a, final int divisor) {
+        long remainder = 0;
+        for (int i = LIMBS - 1; i >= 0; i--) {
+            remainder = (remainder << 32 | (a[i] & MASK)) % divisor;
+        }
+        return remainder;
+    }
+
+    /**
+     * Divides a magnitude by 10^drop rounding half even.
+     * The remainders of all but the last (most significant) division step only act as a sticky bit.
+     */
+    private static void divideRoundHalfEven(final int[] a, int drop) {
+        boolean sticky = false;
+        while (drop > 9) {
+            sticky |= divideSmall(a, BILLION) != 0;
+            drop -= 9;
+        }
+        final int divisor = INT_POW10[drop];
+        final long twiceRemainder = 2 * divideSmall(a, divisor);
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && (sticky || (a[0] & 1) != 0))) {
+            addSmall(a, 1);
+        }
+    }
+
+    private static int bitLength(final int[] a) {
+        for (int i = LIMBS - 1; i >= 0; i--) {
+            if (a[i] != 0) {
+                return 32 * i + 32 - Integer.numberOfLeadingZeros(a[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of decimal digits of the magnitude, 1 for zero as {@link java.math.BigDecimal#precision()}.
+     */
+    private static int digits(final int[] a) {
+        final int bits = bitLength(a);
+        if (bits == 0) {
+            return 1;
+        }
+        // 2^(bits - 1) <= a, so floor((bits - 1) * log10(2)) never overshoots
+        int exponent = (int) ((bits - 1) * 0.30102999566398120);
+        while (exponent < MAX_POW10 && compare(a, POW10[exponent + 1]) >= 0) {
+            exponent++;
+        }
+        return exponent + 1;
+    }
+
+    /**
+     * Long division of unsigned magnitudes (Knuth, TAOCP vol. 2, algorithm D).
+     *
+     * @param numerator the dividend, replaced by the remainder.
+     * @param denominator the divisor, left unchanged.
+     * @param quotient receives the quotient.
+     */
+    private void divideAndRemainder(final int[] numerator, final int[] denominator, final int[] quotient) {
+        for (int i = 0; i < LIMBS; i++) {
+            quotient[i] = 0;
+        }
+        int n = LIMBS;
+        while (denominator[n - 1] == 0) {
+            n--;
+        }
+        int m = LIMBS;
+        while (m > 0 && numerator[m - 1] == 0) {
+            m--;
+        }
+        if (m < n) {
+            return;
+        }
+        if (n == 1) {
+            final long d = denominator[0] & MASK;
+            long remainder = 0;
+            for (int i = m - 1; i >= 0; i--) {
+                final long current = remainder << 32 | (numerator[i] & MASK);
+                quotient[i] = (int) Long.divideUnsigned(current, d);
+                remainder = Long.remainderUnsigned(current, d);
+            }
+            setSmall(numerator, (int) remainder);
+            return;
+        }
+
+        // normalize so that the top limb of the divisor has its high bit set
+        final int shift = Integer.numberOfLeadingZeros(denominator[n - 1]);
+        for (int i = n - 1; i > 0; i--) {
+            divisor[i] = shiftLeft(denominator[i], denominator[i - 1], shift);
+        }
+        divisor[0] = denominator[0] << shift;
+        dividend[m] = shift == 0 ? 0 : numerator[m - 1] >>> (32 - shift);
+        for (int i = m - 1; i > 0; i--) {
+            dividend[i] = shiftLeft(numerator[i], numerator[i - 1], shift);
+        }
+        dividend[0] = numerator[0] << shift;
+
+        final long topDivisor = divisor[n - 1] & MASK;
+        final long nextDivisor = divisor[n - 2] & MASK;
+        for (int j = m - n; j >= 0; j--) {
+            final long top = (dividend[j + n] & MASK) << 32 | (dividend[j + n - 1] & MASK);
+            long estimate = Long.divideUnsigned(top, topDivisor);
+            long remainder = Long.remainderUnsigned(top, topDivisor);
+            while (estimate > MASK
+                    || Long.compareUnsigned(estimate * nextDivisor, remainder << 32 | (dividend[j + n - 2] & MASK)) > 0) {
+                estimate--;
+                remainder += topDivisor;
+                if (remainder > MASK) {
+                    break;
+                }
+            }
+
+            // multiply and subtract
+            long borrow = 0;
+            for (int i = 0; i < n; i++) {
+                final long product = estimate * (divisor[i] & MASK);
+                final long difference = (dividend[i + j] & MASK) - borrow - (product & MASK);
+                dividend[i + j] = (int) difference;
+                borrow = (product >>> 32) - (difference >> 32);
+            }
+            final long difference = (dividend[j + n] & MASK) - borrow;
+            dividend[j + n] = (int) difference;
+
+            if (difference < 0) {
+                // the estimate was one too large: add the divisor back
+                estimate--;
+                long carry = 0;
+                for (int i = 0; i < n; i++) {
+                    carry += (dividend[i + j] & MASK) + (divisor[i] & MASK);
+                    dividend[i + j] = (int) carry;
+                    carry >>>= 32;
+                }
+                dividend[j + n] += (int) carry;
+            }
+            quotient[j] = (int) estimate;
+        }
+
+        // denormalize the remainder
+        for (int i = 0; i < LIMBS; i++) {
+            numerator[i] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            numerator[i] = shift == 0 ? dividend[i] : (dividend[i] >>> shift) | (dividend[i + 1] << (32 - shift));
+        }
+    }
+
+    private static int shiftLeft(final int limb, final int lowerLimb, final int shift) {
+        return shift == 0 ? limb : (limb << shift) | (lowerLimb >>> (32 - shift));
+    }
+}
@@ -1,12 +0,0 @@
-package com.wit.calculator.domain;
-
-import jakarta.validation.constraints.NotNull;
-
-import java.math.BigDecimal;
-
-public record CalculatorBinaryOperands(
-        @NotNull(message = "{validation.notNull}")
-        BigDecimal firstNumber,
-        @NotNull(message = "{validation.notNull}")
-        BigDecimal secondNumber
-) {}
\ No newline at end of file
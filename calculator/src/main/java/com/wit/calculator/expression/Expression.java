@@ -0,0 +1,99 @@
+package com.wit.calculator.expression;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.service.CalculatorService;
+
+import java.math.BigDecimal;
+
+/**
+ * Parsed arithmetic expression (abstract syntax tree).
+ * Nodes are immutable, so a parsed expression can be cached and evaluated concurrently.
+ */
+public sealed interface Expression {
+    /**
+     * Evaluates the expression, delegating every binary operation to the service.
+     *
+     * @param calculatorService the service performing the operations.
+     *
+     * @return the value of the expression.
+     */
+    BigDecimal evaluate(final CalculatorService calculatorService);
+
+    /**
+     * Evaluates the expression through the {@code try} operations of the service,
+     * stopping at the first failure instead of throwing it.
+     *
+     * @param calculatorService the service performing the operations.
+     *
+     * @return the value of the expression, or the first failure of its operations.
+     */
+    CalculationResult tryEvaluate(final CalculatorService calculatorService);
+
+    /**
+     * Numeric literal, negative literals included.
+     *
+     * @param value the value of the literal.
+     */
+    record Literal(BigDecimal value) implements Expression {
+        @Override
+        public BigDecimal evaluate(final CalculatorService calculatorService) {
+            return value;
+        }
+
+        @Override
+        public CalculationResult tryEvaluate(final CalculatorService calculatorService) {
+            return CalculationResult.success(value);
+        }
+    }
+
+    /**
+     * Negation of a sub-expression.
+     *
+     * @param operand the negated expression.
+     */
+    record Negation(Expression operand) implements Expression {
+        @Override
+        public BigDecimal evaluate(final CalculatorService calculatorService) {
+            return operand.evaluate(calculatorService).negate();
+        }
+
+        @Override
+        public CalculationResult tryEvaluate(final CalculatorService calculatorService) {
+            final CalculationResult result = operand.tryEvaluate(calculatorService);
+            return result.isSuccess() ? CalculationResult.success(result.value().negate()) : result;
+        }
+    }
+
+    /**
+     * Binary operation between two sub-expressions.
+     *
+     * @param operation the operation.
+     * @param left the left operand.
+     * @param right the right operand.
+     */
+    record Binary(CalculatorOperation operation, Expression left, Expression right) implements Expression {
+        @Override
+        public BigDecimal evaluate(final CalculatorService calculatorService) {
+            return operation.apply(calculatorService, new CalculatorBinaryOperands(
+                    left.evaluate(calculatorService),
+                    right.evaluate(calculatorService)
+            ));
+        }
+
+        @Override
+        public CalculationResult tryEvaluate(final CalculatorService calculatorService) {
+            final CalculationResult leftResult = left.tryEvaluate(calculatorService);
+            if (!leftResult.isSuccess()) {
+                return leftResult;
+            }
+            final CalculationResult rightResult = right.tryEvaluate(calculatorService);
+            if (!rightResult.isSuccess()) {
+                return rightResult;
+            }
+            return operation.tryApply(calculatorService,
+                    new CalculatorBinaryOperands(leftResult.value(), rightResult.value()));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.wit.calculator.expression;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of parsed expressions keyed by the expression text,
+ * so that repeated formulas skip parsing entirely. Invalid expressions are not cached.
+ * Expressions are kept in a Caffeine cache (W-TinyLFU eviction, striped lock-free read and write buffers),
+ * so that concurrent lookups of the expression endpoint never wait on each other.
+ */
+@Component
+public class ExpressionCache {
+    /** Default number of cached expressions. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Cache<String, Expression> expressions;
+
+    public ExpressionCache(@Value("${calculator.expression.cache-size:" + DEFAULT_CAPACITY + "}") final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("calculator.expression.cache-size must be positive");
+        }
+        this.capacity = capacity;
+        this.expressions = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the parsed expression, parsing and caching it on a miss.
+     * Parsing happens outside the cache: concurrent misses on the same text may parse it twice.
+     *
+     * @param text the expression text.
+     *
+     * @return the parsed expression.
+     *
+     * @throws IllegalArgumentException if the expression is invalid.
+     */
+    public Expression get(final String text) {
+        final Expression cached = expressions.getIfPresent(text);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Expression expression = ExpressionParser.parse(text);
+        expressions.put(text, expression);
+        return expression;
+    }
+
+    /**
+     * @return a snapshot of the cache statistics, once the pending evictions are done.
+     */
+    public Stats stats() {
+        expressions.cleanUp();
+        final CacheStats cacheStats = expressions.stats();
+        return new Stats(
+                cacheStats.hitCount(),
+                cacheStats.missCount(),
+                (int) expressions.estimatedSize(),
+                capacity
+        );
+    }
+
+    /**
+     * Expression cache statistics.
+     *
+     * @param hits number of lookups served from the cache.
+     * @param misses number of lookups that parsed the expression.
+     * @param size number of cached expressions.
+     * @param capacity maximum number of cached expressions.
+     */
+    public record Stats(
+            long hits,
+            long misses,
+            int size,
+            int capacity
+    ) {}
+}
@@ -0,0 +1,171 @@
+package com.wit.calculator.expression;
+
+import com.wit.calculator.domain.CalculatorOperation;
+
+import java.math.BigDecimal;
+
+/**
+ * Recursive descent parser of arithmetic expressions such as {@code (a + b) * c / -d}.
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := ('+' | '-') unary | primary
+ * primary    := number | '(' expression ')'
+ * number     := digits ['.' digits] [('e' | 'E') ['+' | '-'] digits]
+ * </pre>
+ * Operators are left associative. Invalid input raises an {@link InvalidExpressionException} carrying the position.
+ */
+public final class ExpressionParser {
+    /** Maximum length of an expression. */
+    public static final int MAX_LENGTH = 4096;
+    private static final int MAX_DEPTH = 256;
+
+    private final String text;
+    private int position;
+    private int depth;
+
+    private ExpressionParser(final String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses an expression.
+     *
+     * @param text the expression text.
+     *
+     * @return the parsed expression.
+     *
+     * @throws InvalidExpressionException if the expression is invalid.
+     */
+    public static Expression parse(final String text) {
+        if (text == null || text.isBlank()) {
+            throw new InvalidExpressionException("Expression must not be blank");
+        }
+        if (text.length() > MAX_LENGTH) {
+            throw new InvalidExpressionException("Expression longer than " + MAX_LENGTH + " characters");
+        }
+        final ExpressionParser parser = new ExpressionParser(text);
+        final Expression expression = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < text.length()) {
+            throw parser.error("unexpected '" + text.charAt(parser.position) + "'");
+        }
+        return expression;
+    }
+
+    private Expression expression() {
+        Expression expression = term();
+        while (true) {
+            if (accept('+')) {
+                expression = new Expression.Binary(CalculatorOperation.SUM, expression, term());
+            } else if (accept('-')) {
+                expression = new Expression.Binary(CalculatorOperation.SUB, expression, term());
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private Expression term() {
+        Expression expression = unary();
+        while (true) {
+            if (accept('*')) {
+                expression = new Expression.Binary(CalculatorOperation.MULT, expression, unary());
+            } else if (accept('/')) {
+                expression = new Expression.Binary(CalculatorOperation.DIV, expression, unary());
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private Expression unary() {
+        enter();
+        try {
+            if (accept('+')) {
+                return unary();
+            }
+            if (accept('-')) {
+                final Expression operand = unary();
+                return operand instanceof Expression.Literal literal
+                        ? new Expression.Literal(literal.value().negate())
+                        : new Expression.Negation(operand);
+            }
+            return primary();
+        } finally {
+            depth--;
+        }
+    }
+
+    private Expression primary() {
+        if (accept('(')) {
+            final Expression expression = expression();
+            if (!accept(')')) {
+                throw error("missing ')'");
+            }
+            return expression;
+        }
+        skipWhitespace();
+        return number();
+    }
+
+    private Expression number() {
+        final int start = position;
+        final int integerDigits = digits();
+        int fractionDigits = 0;
+        if (position < text.length() && text.charAt(position) == '.') {
+            position++;
+            fractionDigits = digits();
+        }
+        if (integerDigits + fractionDigits == 0) {
+            throw position < text.length() ? error("unexpected '" + text.charAt(start) + "'") : error("missing operand");
+        }
+        if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            position++;
+            if (position < text.length() && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+                position++;
+            }
+            if (digits() == 0) {
+                throw error("missing exponent digits");
+            }
+        }
+        try {
+            return new Expression.Literal(new BigDecimal(text.substring(start, position)));
+        } catch (NumberFormatException numberFormatException) {
+            throw error("invalid number '" + text.substring(start, position) + "'");
+        }
+    }
+
+    private int digits() {
+        final int start = position;
+        while (position < text.length() && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+            position++;
+        }
+        return position - start;
+    }
+
+    private boolean accept(final char expected) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw error("nesting deeper than " + MAX_DEPTH);
+        }
+    }
+
+    private InvalidExpressionException error(final String reason) {
+        return new InvalidExpressionException("Invalid expression at position " + position + ": " + reason);
+    }
+}
@@ -0,0 +1,19 @@
+package com.wit.calculator.expression;
+
+/**
+ * Thrown by the {@link ExpressionParser} for a malformed expression, with the position of the error.
+ * Without a stack trace, since malformed expressions are ordinary input and are answered as such.
+ */
+public class InvalidExpressionException extends IllegalArgumentException {
+    /**
+     * @param message the reason, with the position of the error.
+     */
+    public InvalidExpressionException(final String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
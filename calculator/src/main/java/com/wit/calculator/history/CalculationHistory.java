@@ -0,0 +1,261 @@
+package com.wit.calculator.history;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.audit.AuditRecord;
+import com.wit.calculator.audit.AuditRingBuffer;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventDeserializer;
+import com.wit.calculator.kafka.CalculationEventSerializer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * History of the calculations recomputed by the Kafka consumers, enabled by {@code calculator.history.enabled=true},
+ * kept without a database in the memory-mapped {@link HistoryLog} of {@code calculator.history.directory}.
+ * <p>
+ * Like the {@link AuditLog}, the consumer thread only queues a reference to the event and its result in a lock-free
+ * {@link AuditRingBuffer}; a dedicated writer thread serializes the events in the binary Kafka format and appends
+ * them, so the consumers never wait for the disk. When the buffer is full the event is dropped and counted. Every
+ * event is kept, not a sample, and the log is written to the disk every {@code calculator.history.flush-interval}.
+ * <p>
+ * Metrics: {@code calculator.history.written} and {@code calculator.history.dropped} count the events,
+ * {@code calculator.history.buffer.size} follows the queued ones and {@code calculator.history.size} the bytes of
+ * the log.
+ */
+@Slf4j
+@Component
+public class CalculationHistory implements SmartLifecycle {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final DataSize segmentSize;
+    private final DataSize indexInterval;
+    private final Duration retention;
+    private final long flushIntervalNanos;
+    private final AuditRingBuffer buffer;
+    private final boolean virtualThreads;
+    private final CalculationEventSerializer serializer = new CalculationEventSerializer();
+    private final CalculationEventDeserializer deserializer = new CalculationEventDeserializer();
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile HistoryLog historyLog;
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * @param enabled whether the consumed calculations are kept.
+     * @param directory the directory of the log segments.
+     * @param segmentSize the size of a segment.
+     * @param indexInterval the number of log bytes between two entries of the time index.
+     * @param retention how long a full segment is kept after its last record.
+     * @param flushInterval how often the log is written to the disk.
+     * @param bufferSize the number of events waiting to be written.
+     * @param virtualThreads whether the writer runs on a virtual thread.
+     * @param meterRegistry the registry of the history metrics.
+     */
+    public CalculationHistory(
+            @Value("${calculator.history.enabled:false}") final boolean enabled,
+            @Value("${calculator.history.directory:history}") final Path directory,
+            @Value("${calculator.history.segment-size:64MB}") final DataSize segmentSize,
+            @Value("${calculator.history.index-interval:4KB}") final DataSize indexInterval,
+            @Value("${calculator.history.retention:7d}") final Duration retention,
+            @Value("${calculator.history.flush-interval:1s}") final Duration flushInterval,
+            @Value("${calculator.history.buffer-size:65536}") final int bufferSize,
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads,
+            final MeterRegistry meterRegistry
+    ) {
+        if (segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("calculator.history.segment-size must be below 2 GB");
+        }
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.indexInterval = indexInterval;
+        this.retention = retention;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.virtualThreads = virtualThreads;
+
+        FunctionCounter.builder("calculator.history.written", written, LongAdder::sum)
+                .description("Calculations appended to the history")
+                .register(meterRegistry);
+        FunctionCounter.builder("calculator.history.dropped", dropped, LongAdder::sum)
+                .description("Calculations dropped because the history buffer was full or the log failed")
+                .register(meterRegistry);
+        Gauge.builder("calculator.history.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Calculations waiting to be appended to the history")
+                .register(meterRegistry);
+        Gauge.builder("calculator.history.size", this, history -> history.historyLog == null ? 0 : history.historyLog.size())
+                .description("Bytes of the history records")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a calculation for the history, from any thread; does nothing when the history is disabled.
+     *
+     * @param calculationEvent the consumed event.
+     * @param result the result computed by the consumer.
+     */
+    public void record(final CalculationEvent calculationEvent, final BigDecimal result) {
+        if (!enabled) {
+            return;
+        }
+        if (!buffer.offer(new AuditRecord(System.currentTimeMillis(), AuditLog.CONSUMER, null,
+                calculationEvent.withResult(result), false))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Reads the calculations of a time range in order, while the consumers keep appending.
+     *
+     * @param from the first time, inclusive.
+     * @param to the last time, inclusive.
+     * @param visitor the visitor of the calculations, returning {@code false} to stop.
+     *
+     * @throws IllegalStateException if the history is not running.
+     */
+    public void scan(final Instant from, final Instant to, final Predicate<AuditRecord> visitor) {
+        final HistoryLog current = historyLog;
+        if (current == null) {
+            throw new IllegalStateException("The calculation history is disabled");
+        }
+        current.scan(from.toEpochMilli(), to.toEpochMilli(), (timestamp, payload) -> visitor.test(new AuditRecord(
+                timestamp, AuditLog.CONSUMER, null, deserializer.deserialize(null, null, payload), false)));
+    }
+
+    /**
+     * @return whether the consumed calculations are kept.
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of calculations appended so far.
+     */
+    public long written() {
+        return written.sum();
+    }
+
+    /**
+     * @return the number of calculations dropped because the buffer was full or the log failed.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Opens the log and starts the writer thread, when enabled.
+     */
+    @Override
+    public synchronized void start() {
+        if (running || !enabled) {
+            return;
+        }
+        try {
+            historyLog = HistoryLog.open(directory, (int) segmentSize.toBytes(), (int) indexInterval.toBytes(), retention);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException("Cannot open the calculation history in " + directory, ioException);
+        }
+        running = true;
+        final Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        writer = builder.name("calculator-history-writer").start(this::drain);
+        log.info("Calculation history in {} with {} records, {} segments of {} and retention {}",
+                directory.toAbsolutePath(), historyLog.records(), historyLog.segments(), segmentSize, retention);
+    }
+
+    /**
+     * Stops the writer thread once the queued calculations are appended, then closes the log, which writes it to the
+     * disk and releases its mappings. A writer still running after five seconds keeps the log open, so that it never
+     * appends to a released mapping.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("The calculation history writer did not stop, the log is left open");
+            return;
+        }
+        historyLog.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the consumers, so that their last calculations are kept.
+     *
+     * @return the lifecycle phase.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    /**
+     * Writer loop: appends the queued calculations and flushes the log every flush interval.
+     * Keeps appending after {@link #stop()} until the buffer is empty.
+     */
+    private void drain() {
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (running || buffer.size() > 0) {
+            final AuditRecord auditRecord = buffer.poll();
+            if (auditRecord != null) {
+                try {
+                    historyLog.append(auditRecord.timestamp(), serializer.serialize(null, auditRecord.calculationEvent()));
+                    written.increment();
+                    dirty = true;
+                } catch (IOException | RuntimeException exception) {
+                    dropped.increment();
+                    log.warn("Failed to append {} to the calculation history", auditRecord, exception);
+                }
+            }
+            if (dirty && System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                historyLog.flush();
+                lastFlush = System.nanoTime();
+                dirty = false;
+            }
+            if (auditRecord == null) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        historyLog.flush();
+    }
+}
@@ -0,0 +1,217 @@
+package com.wit.calculator.history;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of timestamped records in memory-mapped {@link HistorySegment}s, with one writer and concurrent
+ * readers.
+ * <p>
+ * Records go to the last segment until it is full; a new segment is then created, named after the offset of its
+ * first record, and the segments whose last record is older than the retention are deleted. Timestamps never go
+ * backwards: a record older than the previous one takes its timestamp, so the segments and their index stay sorted.
+ * Scans binary search the sparse index of the first segment of the range and read the records in place, through
+ * read-only views of the mapped files. Records reach the page cache as they are appended, so they survive a crash of
+ * the process; {@link #flush()} also writes them to the disk. {@link #close()} writes them to the disk and releases
+ * the mappings, once the scans in progress are done; the log cannot be used afterwards.
+ */
+public final class HistoryLog implements AutoCloseable {
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexInterval;
+    private final long retentionMillis;
+    private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long CLOSE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final List<HistorySegment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicInteger scans = new AtomicInteger();
+
+    private HistorySegment active;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private volatile boolean closed;
+
+    private HistoryLog(
+            final Path directory,
+            final int segmentBytes,
+            final int indexInterval,
+            final Duration retention
+    ) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.indexInterval = indexInterval;
+        this.retentionMillis = retention.toMillis();
+    }
+
+    /**
+     * Opens the log of a directory, creating it if needed, and recovers its segments.
+     *
+     * @param directory the directory of the segments.
+     * @param segmentBytes the size of a segment log file.
+     * @param indexInterval the number of log bytes between two entries of the time index.
+     * @param retention how long a full segment is kept after its last record.
+     *
+     * @return the log.
+     *
+     * @throws IOException if the directory or a segment cannot be opened.
+     */
+    public static HistoryLog open(
+            final Path directory,
+            final int segmentBytes,
+            final int indexInterval,
+            final Duration retention
+    ) throws IOException {
+        if (segmentBytes <= HistorySegment.RECORD_HEADER || indexInterval <= 0) {
+            throw new IllegalArgumentException("History segments and index intervals must be positive");
+        }
+        Files.createDirectories(directory);
+        final HistoryLog historyLog = new HistoryLog(directory, segmentBytes, indexInterval, retention);
+
+        final List<Long> baseOffsets = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(HistorySegment.LOG_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - HistorySegment.LOG_SUFFIX.length())))
+                    .sorted()
+                    .forEach(baseOffsets::add);
+        }
+        for (final long baseOffset : baseOffsets) {
+            historyLog.segments.add(HistorySegment.open(directory, baseOffset, segmentBytes, indexInterval));
+        }
+        if (historyLog.segments.isEmpty()) {
+            historyLog.segments.add(HistorySegment.open(directory, 0, segmentBytes, indexInterval));
+        }
+        historyLog.active = historyLog.segments.get(historyLog.segments.size() - 1);
+        historyLog.lastTimestamp = historyLog.active.lastTimestamp();
+        return historyLog;
+    }
+
+    /**
+     * Appends a record, from the writer thread only.
+     *
+     * @param timestamp the time of the record.
+     * @param payload the record payload.
+     *
+     * @throws IOException if a new segment cannot be created.
+     */
+    public void append(final long timestamp, final byte[] payload) throws IOException {
+        if (HistorySegment.RECORD_HEADER + payload.length > segmentBytes) {
+            throw new IllegalArgumentException("History record of " + payload.length + " bytes exceeds the segment size");
+        }
+        lastTimestamp = Math.max(timestamp, lastTimestamp);
+        if (!active.append(lastTimestamp, payload)) {
+            roll();
+            active.append(lastTimestamp, payload);
+        }
+    }
+
+    /**
+     * Visits the records of a time range in order, from any thread, while records are being appended.
+     *
+     * @param from the first timestamp, inclusive.
+     * @param to the last timestamp, inclusive.
+     * @param visitor the visitor of the records, returning {@code false} to stop.
+     *
+     * @throws IllegalStateException if the log is closed.
+     */
+    public void scan(final long from, final long to, final HistoryVisitor visitor) {
+        // Counted before checking closed, so that close() either sees the scan or the scan sees it closed
+        scans.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The history log is closed");
+            }
+            for (final HistorySegment segment : segments) {
+                if (segment.firstTimestamp() > to) {
+                    return;
+                }
+                if (segment.lastTimestamp() >= from && !segment.scan(from, to, visitor)) {
+                    return;
+                }
+            }
+        } finally {
+            scans.decrementAndGet();
+        }
+    }
+
+    /**
+     * Writes the records of the last segment to the disk, from the writer thread only.
+     */
+    public void flush() {
+        active.force();
+    }
+
+    /**
+     * @return the number of records in the log.
+     */
+    public long records() {
+        return segments.stream().mapToLong(HistorySegment::records).sum();
+    }
+
+    /**
+     * @return the number of bytes used by the records of the log.
+     */
+    public long size() {
+        return segments.stream().mapToLong(HistorySegment::size).sum();
+    }
+
+    /**
+     * @return the number of segments of the log.
+     */
+    public int segments() {
+        return segments.size();
+    }
+
+    /**
+     * Writes the records to the disk and releases the mappings of the segments, from the writer thread or once it
+     * has ended. Rejects later scans and waits for the ones in progress; if they last longer than a second, the
+     * mappings are left to the garbage collector rather than released under them.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+
+        final long deadline = System.nanoTime() + CLOSE_TIMEOUT_NANOS;
+        while (scans.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                segments.clear();
+                return;
+            }
+            LockSupport.parkNanos(CLOSE_PARK_NANOS);
+        }
+        for (final HistorySegment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    /**
+     * Seals the full segment, starts the next one and deletes the expired ones.
+     */
+    private void roll() throws IOException {
+        active.force();
+        active = HistorySegment.open(directory, active.baseOffset() + active.records(), segmentBytes, indexInterval);
+        segments.add(active);
+
+        final long expiry = lastTimestamp - retentionMillis;
+        for (final HistorySegment segment : segments) {
+            if (segment == active || segment.lastTimestamp() >= expiry) {
+                break;
+            }
+            segments.remove(segment);
+            segment.delete();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.wit.calculator.history;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One segment of the {@link HistoryLog}: a preallocated, memory-mapped log file and its sparse time index.
+ * <p>
+ * Log record: {@code int length} of the rest of the record, {@code long timestamp}, then the payload. The length is
+ * written last, so a record is complete once its length is non-zero, and a zero length marks the end of the log after
+ * a crash. Index entry: {@code long timestamp}, {@code int position} of the first record at or after every
+ * index interval of the log. Both files are big-endian.
+ * <p>
+ * Appends come from the single writer thread; scans from any thread read up to the committed {@link #limit}, whose
+ * volatile write publishes the records before it. The files are mapped then closed at once, so a segment holds no
+ * file descriptor; {@link #close()} releases the mappings.
+ */
+final class HistorySegment {
+    static final String LOG_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".idx";
+    static final int RECORD_HEADER = Integer.BYTES + Long.BYTES;
+    static final int INDEX_ENTRY = Long.BYTES + Integer.BYTES;
+
+    /** {@code Unsafe.invokeCleaner}, the only release of a mapping before the garbage collector, if accessible. */
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private final long baseOffset;
+    private final Path logFile;
+    private final Path indexFile;
+    private final MappedByteBuffer log;
+    private final MappedByteBuffer index;
+    private final int indexInterval;
+
+    private volatile int limit;
+    private volatile int indexEntries;
+    private volatile long firstTimestamp = Long.MAX_VALUE;
+    private volatile long lastTimestamp = Long.MIN_VALUE;
+    private long records;
+    private int nextIndexedPosition;
+
+    private HistorySegment(
+            final Path directory,
+            final long baseOffset,
+            final int capacity,
+            final int indexInterval
+    ) throws IOException {
+        this.baseOffset = baseOffset;
+        this.logFile = directory.resolve(name(baseOffset, LOG_SUFFIX));
+        this.indexFile = directory.resolve(name(baseOffset, INDEX_SUFFIX));
+        this.indexInterval = indexInterval;
+        this.log = map(logFile, capacity);
+        this.index = map(indexFile, (capacity / indexInterval + 1) * INDEX_ENTRY);
+    }
+
+    /**
+     * Creates an empty segment, or reopens an existing one and finds the end of its records.
+     *
+     * @param directory the directory of the log.
+     * @param baseOffset the offset of the first record of the segment.
+     * @param capacity the size of the log file, ignored if it already exists.
+     * @param indexInterval the number of log bytes between two index entries.
+     *
+     * @return the segment, ready to append.
+     *
+     * @throws IOException if the files cannot be mapped.
+     */
+    static HistorySegment open(
+            final Path directory,
+            final long baseOffset,
+            final int capacity,
+            final int indexInterval
+    ) throws IOException {
+        final Path existing = directory.resolve(name(baseOffset, LOG_SUFFIX));
+        final int size = Files.exists(existing) ? (int) Files.size(existing) : capacity;
+        final HistorySegment segment = new HistorySegment(directory, baseOffset, size, indexInterval);
+        segment.recover();
+        return segment;
+    }
+
+    /**
+     * Appends a record, from the writer thread.
+     *
+     * @param timestamp the time of the record, not before the previous one.
+     * @param payload the record payload.
+     *
+     * @return {@code false} if the record does not fit in the rest of the segment.
+     */
+    boolean append(final long timestamp, final byte[] payload) {
+        final int position = limit;
+        final int length = Long.BYTES + payload.length;
+        if (position + Integer.BYTES + length > log.capacity()) {
+            return false;
+        }
+        if (position >= nextIndexedPosition && indexEntries < index.capacity() / INDEX_ENTRY) {
+            final int entry = indexEntries * INDEX_ENTRY;
+            index.putLong(entry, timestamp);
+            index.putInt(entry + Long.BYTES, position);
+            indexEntries++;
+            nextIndexedPosition = position + indexInterval;
+        }
+        log.putLong(position + Integer.BYTES, timestamp);
+        log.put(position + RECORD_HEADER, payload);
+        log.putInt(position, length);
+        if (records++ == 0) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = timestamp;
+        limit = position + Integer.BYTES + length;
+        return true;
+    }
+
+    /**
+     * Visits the records of the time range in order, as read-only views of the mapped file.
+     *
+     * @param from the first timestamp, inclusive.
+     * @param to the last timestamp, inclusive.
+     * @param visitor the visitor of the records.
+     *
+     * @return {@code false} if the visitor stopped the scan or a record after the range was reached.
+     */
+    boolean scan(final long from, final long to, final HistoryVisitor visitor) {
+        final int end = limit;
+        int position = seek(from, end);
+        while (position < end) {
+            final int length = log.getInt(position);
+            final long timestamp = log.getLong(position + Integer.BYTES);
+            if (timestamp > to) {
+                return false;
+            }
+            if (timestamp >= from) {
+                final ByteBuffer payload = log.slice(position + RECORD_HEADER, length - Long.BYTES).asReadOnlyBuffer();
+                if (!visitor.visit(timestamp, payload)) {
+                    return false;
+                }
+            }
+            position += Integer.BYTES + length;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the mapped pages of both files to the disk.
+     */
+    void force() {
+        log.force();
+        index.force();
+    }
+
+    /**
+     * Deletes both files; the mappings stay readable by the scans still using them.
+     *
+     * @throws IOException if a file cannot be deleted.
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(indexFile);
+    }
+
+    /**
+     * Releases the mappings of both files, once no append nor scan uses them: any later access crashes the JVM.
+     * Without access to {@code Unsafe}, they are released by the garbage collector instead.
+     */
+    void close() {
+        unmap(log);
+        unmap(index);
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    long records() {
+        return records;
+    }
+
+    int size() {
+        return limit;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * Finds the position of the last indexed record before the timestamp, by binary search on the index.
+     */
+    private int seek(final long timestamp, final int end) {
+        int low = 0;
+        int high = indexEntries - 1;
+        int position = 0;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int entry = middle * INDEX_ENTRY;
+            if (index.getLong(entry) < timestamp) {
+                position = index.getInt(entry + Long.BYTES);
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return Math.min(position, end);
+    }
+
+    /**
+     * Finds the end of the records and clears the index entries past it, left by a crash between an index entry and
+     * its record, so that later entries never point into the middle of a record.
+     */
+    private void recover() {
+        int entries = 0;
+        int previous = -1;
+        while (entries < index.capacity() / INDEX_ENTRY) {
+            final int position = index.getInt(entries * INDEX_ENTRY + Long.BYTES);
+            if (position <= previous) {
+                break;
+            }
+            previous = position;
+            entries++;
+        }
+
+        int position = 0;
+        long recovered = 0;
+        while (position + RECORD_HEADER <= log.capacity()) {
+            final int length = log.getInt(position);
+            if (length < Long.BYTES || position + Integer.BYTES + length > log.capacity()) {
+                break;
+            }
+            final long timestamp = log.getLong(position + Integer.BYTES);
+            if (recovered++ == 0) {
+                firstTimestamp = timestamp;
+            }
+            lastTimestamp = timestamp;
+            position += Integer.BYTES + length;
+        }
+        while (entries > 0 && index.getInt((entries - 1) * INDEX_ENTRY + Long.BYTES) >= position) {
+            entries--;
+        }
+        for (int entry = entries * INDEX_ENTRY;
+                entry < index.capacity() && (index.getLong(entry) != 0 || index.getInt(entry + Long.BYTES) != 0);
+                entry += INDEX_ENTRY) {
+            index.putLong(entry, 0);
+            index.putInt(entry + Long.BYTES, 0);
+        }
+
+        this.records = recovered;
+        this.indexEntries = entries;
+        this.nextIndexedPosition = entries == 0
+                ? 0
+                : index.getInt((entries - 1) * INDEX_ENTRY + Long.BYTES) + indexInterval;
+        this.limit = position;
+    }
+
+    private static MappedByteBuffer map(final Path file, final int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static void unmap(final MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Cannot unmap a history segment", throwable);
+        }
+    }
+
+    private static MethodHandle invokeCleaner() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null))
+                    .asType(MethodType.methodType(void.class, MappedByteBuffer.class));
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            return null;
+        }
+    }
+
+    static String name(final long baseOffset, final String suffix) {
+        return String.format("%020d%s", baseOffset, suffix);
+    }
+}
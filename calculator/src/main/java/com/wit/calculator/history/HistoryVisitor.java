@@ -0,0 +1,19 @@
+package com.wit.calculator.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Visitor of the records of a {@link HistoryLog} scan.
+ */
+@FunctionalInterface
+public interface HistoryVisitor {
+    /**
+     * Visits a record.
+     *
+     * @param timestamp the time of the record.
+     * @param payload a read-only view of the payload in the mapped segment, valid during the call only.
+     *
+     * @return {@code false} to stop the scan.
+     */
+    boolean visit(final long timestamp, final ByteBuffer payload);
+}
@@ -1,16 +1,122 @@
 package com.wit.calculator.kafka;
 
+import com.wit.calculator.domain.CalculatorPrecision;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 /**
  * Kafka event for calculator operations.
+ * Binary operations carry both operands; {@link #EVALUATE} events carry the expression instead.
+ * The producer assigns each event a time-ordered {@link EventIdGenerator id}, by which consumers skip redelivered
+ * events.
  *
  * @param operation operation to be performed.
- * @param firstOperand first operand as a String.
- * @param secondOperand second operand as a String.
- * @param result result of the operation as a String.
+ * @param firstOperand first operand, {@code null} for expressions.
+ * @param secondOperand second operand, {@code null} for expressions.
+ * @param result result of the operation.
+ * @param expression evaluated expression, {@code null} for binary operations.
+ * @param precision precision tier of the result, {@code null} for the default 34 digits.
+ * @param roundingMode rounding mode of the result, {@code null} for the default half even.
+ * @param id event id assigned by the producer, {@code null} until it is published.
  */
 public record CalculationEvent(
         String operation,
-        String firstOperand,
-        String secondOperand,
-        String result
-) {}
\ No newline at end of file
+        BigDecimal firstOperand,
+        BigDecimal secondOperand,
+        BigDecimal result,
+        String expression,
+        CalculatorPrecision precision,
+        RoundingMode roundingMode,
+        Long id
+) {
+    /** Operation code of expression evaluation events. */
+    public static final String EVALUATE = "EVAL";
+
+    /**
+     * Event of a binary operation.
+     *
+     * @param operation operation performed.
+     * @param firstOperand first operand.
+     * @param secondOperand second operand.
+     * @param result result of the operation.
+     */
+    public CalculationEvent(
+            final String operation,
+            final BigDecimal firstOperand,
+            final BigDecimal secondOperand,
+            final BigDecimal result
+    ) {
+        this(operation, firstOperand, secondOperand, result, null, null, null, null);
+    }
+
+    /**
+     * Event of a binary operation computed with a precision tier.
+     *
+     * @param operation operation performed.
+     * @param firstOperand first operand.
+     * @param secondOperand second operand.
+     * @param result result of the operation.
+     * @param precision precision tier of the result, {@code null} for the default.
+     * @param roundingMode rounding mode of the result, {@code null} for the default.
+     */
+    public CalculationEvent(
+            final String operation,
+            final BigDecimal firstOperand,
+            final BigDecimal secondOperand,
+            final BigDecimal result,
+            final CalculatorPrecision precision,
+            final RoundingMode roundingMode
+    ) {
+        this(operation, firstOperand, secondOperand, result, null, precision, roundingMode, null);
+    }
+
+    /**
+     * Event of an expression evaluation or of a binary operation with the default precision.
+     *
+     * @param operation operation performed.
+     * @param firstOperand first operand, {@code null} for expressions.
+     * @param secondOperand second operand, {@code null} for expressions.
+     * @param result result of the operation.
+     * @param expression evaluated expression, {@code null} for binary operations.
+     */
+    public CalculationEvent(
+            final String operation,
+            final BigDecimal firstOperand,
+            final BigDecimal secondOperand,
+            final BigDecimal result,
+            final String expression
+    ) {
+        this(operation, firstOperand, secondOperand, result, expression, null, null, null);
+    }
+
+    /**
+     * Event of an expression evaluation.
+     *
+     * @param expression the evaluated expression.
+     * @param result the value of the expression.
+     *
+     * @return the event.
+     */
+    public static CalculationEvent evaluation(final String expression, final BigDecimal result) {
+        return new CalculationEvent(EVALUATE, null, null, result, expression);
+    }
+
+    /**
+     * @param id the event id.
+     *
+     * @return this event with the given id.
+     */
+    public CalculationEvent withId(final long id) {
+        return new CalculationEvent(operation, firstOperand, secondOperand, result, expression, precision, roundingMode, id);
+    }
+
+    /**
+     * @param result the result of the calculation.
+     *
+     * @return this event with the given result.
+     */
+    public CalculationEvent withResult(final BigDecimal result) {
+        return new CalculationEvent(operation, firstOperand, secondOperand, result, expression, precision, roundingMode, id);
+    }
+}
@@ -0,0 +1,100 @@
+package com.wit.calculator.kafka;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplication stage of both consumer modes: skips the events redelivered after a rebalance or a retry,
+ * by their id, among the {@link RecentEventIds} of the last {@code calculator.consumer.dedup.capacity} events.
+ * Events without an id, from producers that predate them, are always processed.
+ * An event is checked with {@link #seen} before it is processed, but only recorded with {@link #markProcessed} once
+ * it has been processed or skipped as invalid: an event whose processing threw is redelivered by the container's
+ * error handler, or replayed with its batch, and must then be processed again rather than skipped.
+ * <p>
+ * Metrics: {@code calculator.consumer.dedup} counts the events by outcome, {@code unique} or {@code unidentified}
+ * when processed and {@code duplicate} when skipped, so that the duplicate rate is the rate of duplicates over the rate of all three;
+ * {@code calculator.consumer.dedup.false.positives} counts the ids the Bloom filter reported as possibly seen
+ * that were not recent ids.
+ */
+@Component
+public class CalculationEventDeduplicator {
+    static final String COUNTER = "calculator.consumer.dedup";
+
+    private final RecentEventIds recentEventIds;
+    private final LongAdder unique = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder unidentified = new LongAdder();
+
+    /**
+     * @param enabled whether redelivered events are skipped.
+     * @param capacity the number of recent event ids to remember.
+     * @param falsePositiveRate the false positive rate of the Bloom filter in front of the recent ids.
+     * @param meterRegistry the registry of the deduplication metrics.
+     */
+    public CalculationEventDeduplicator(
+            @Value("${calculator.consumer.dedup.enabled:true}") final boolean enabled,
+            @Value("${calculator.consumer.dedup.capacity:100000}") final int capacity,
+            @Value("${calculator.consumer.dedup.false-positive-rate:0.01}") final double falsePositiveRate,
+            final MeterRegistry meterRegistry
+    ) {
+        if (!enabled) {
+            this.recentEventIds = null;
+            return;
+        }
+        this.recentEventIds = new RecentEventIds(capacity, falsePositiveRate);
+
+        counter(meterRegistry, "unique", unique);
+        counter(meterRegistry, "duplicate", duplicates);
+        counter(meterRegistry, "unidentified", unidentified);
+        FunctionCounter.builder(COUNTER + ".false.positives", recentEventIds, RecentEventIds::falsePositives)
+                .description("Event ids reported as possibly seen by the Bloom filter that were not recent ids")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks an event about to be processed, without recording it.
+     *
+     * @param calculationEvent the consumed event.
+     *
+     * @return {@code true} if the event was processed recently and must be skipped.
+     */
+    public boolean seen(final CalculationEvent calculationEvent) {
+        if (recentEventIds == null) {
+            return false;
+        }
+        final Long id = calculationEvent.id();
+        if (id == null || id <= 0 || !recentEventIds.contains(id)) {
+            return false;
+        }
+        duplicates.increment();
+        return true;
+    }
+
+    /**
+     * Records an event processed, or skipped as invalid, so that its redeliveries are skipped.
+     *
+     * @param calculationEvent the consumed event.
+     */
+    public void markProcessed(final CalculationEvent calculationEvent) {
+        if (recentEventIds == null) {
+            return;
+        }
+        final Long id = calculationEvent.id();
+        if (id == null || id <= 0) {
+            unidentified.increment();
+        } else if (recentEventIds.add(id)) {
+            unique.increment();
+        }
+    }
+
+    private static void counter(final MeterRegistry meterRegistry, final String outcome, final LongAdder count) {
+        FunctionCounter.builder(COUNTER, count, LongAdder::sum)
+                .description("Consumed events by deduplication outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
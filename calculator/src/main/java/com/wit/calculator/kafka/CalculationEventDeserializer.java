@@ -0,0 +1,205 @@
+package com.wit.calculator.kafka;
+
+import com.wit.calculator.domain.CalculatorPrecision;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka deserializer of {@link CalculationEvent} reading both the binary format of
+ * {@link CalculationEventSerializer} and the JSON of Spring's {@code JsonSerializer}.
+ * <p>
+ * Records with the {@value CalculationEventSerializer#VERSION_HEADER} header are read in the binary format of that
+ * version. Records without it are JSON when they start with {@code '{'}, binary otherwise.
+ * Binary events are read in place from a {@link ByteBuffer}, such as the fetch buffer of the consumer or a
+ * memory-mapped history segment, without copying the record first.
+ */
+public class CalculationEventDeserializer implements Deserializer<CalculationEvent> {
+    private static final CalculatorPrecision[] PRECISIONS = CalculatorPrecision.values();
+    private static final RoundingMode[] ROUNDING_MODES = RoundingMode.values();
+
+    private final JsonDeserializer<CalculationEvent> jsonDeserializer = new JsonDeserializer<>(CalculationEvent.class, false);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationEvent deserialize(final String topic, final Headers headers, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        final Header version = headers == null ? null : headers.lastHeader(CalculationEventSerializer.VERSION_HEADER);
+        if (version == null) {
+            return deserialize(topic, data);
+        }
+        checkVersion(topic, version);
+        return readBinary(topic, ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Reads the event in place; only JSON records are copied, for the JSON deserializer.
+     *
+     * @param topic the topic of the record.
+     * @param headers the headers of the record, may be null.
+     * @param data the serialized event, between its position and its limit, left unchanged.
+     *
+     * @return the event.
+     */
+    @Override
+    public CalculationEvent deserialize(final String topic, final Headers headers, final ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+        final Header version = headers == null ? null : headers.lastHeader(CalculationEventSerializer.VERSION_HEADER);
+        if (version != null) {
+            checkVersion(topic, version);
+        } else if (data.hasRemaining() && data.get(data.position()) == '{') {
+            return jsonDeserializer.deserialize(topic, Utils.toArray(data.duplicate()));
+        }
+        return readBinary(topic, data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationEvent deserialize(final String topic, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length > 0 && data[0] == '{') {
+            return jsonDeserializer.deserialize(topic, data);
+        }
+        return readBinary(topic, ByteBuffer.wrap(data));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private static void checkVersion(final String topic, final Header version) {
+        if (version.value().length != 1 || version.value()[0] != CalculationEventSerializer.VERSION) {
+            throw new SerializationException("Unsupported calculation event version on topic " + topic);
+        }
+    }
+
+    private static CalculationEvent readBinary(final String topic, final ByteBuffer data) {
+        try {
+            final Input input = new Input(data);
+
+            final int code = input.readByte();
+            final String operation = code == 0
+                    ? input.readString()
+                    : CalculationEventSerializer.OPERATIONS[code];
+            final int presence = input.readByte();
+
+            final BigDecimal firstOperand = (presence & CalculationEventSerializer.FIRST_OPERAND) != 0 ? input.readDecimal() : null;
+            final BigDecimal secondOperand = (presence & CalculationEventSerializer.SECOND_OPERAND) != 0 ? input.readDecimal() : null;
+            final BigDecimal result = (presence & CalculationEventSerializer.RESULT) != 0 ? input.readDecimal() : null;
+            final String expression = (presence & CalculationEventSerializer.EXPRESSION) != 0 ? input.readString() : null;
+            CalculatorPrecision precision = null;
+            RoundingMode roundingMode = null;
+            if ((presence & CalculationEventSerializer.PRECISION) != 0) {
+                final int precisionCode = input.readByte();
+                final int roundingModeCode = input.readByte();
+                precision = precisionCode == 0 ? null : PRECISIONS[precisionCode - 1];
+                roundingMode = roundingModeCode == 0 ? null : ROUNDING_MODES[roundingModeCode - 1];
+            }
+            final Long id = (presence & CalculationEventSerializer.ID) != 0 ? input.readLong() : null;
+
+            return new CalculationEvent(operation, firstOperand, secondOperand, result, expression, precision, roundingMode, id);
+        } catch (RuntimeException runtimeException) {
+            throw new SerializationException("Malformed calculation event on topic " + topic, runtimeException);
+        }
+    }
+
+    /**
+     * Reader over a serialized event, with absolute reads that leave the buffer unchanged.
+     * Heap buffers are read from their array.
+     */
+    private static final class Input {
+        private final ByteBuffer data;
+        private final int limit;
+        private int position;
+
+        Input(final ByteBuffer data) {
+            this.data = data;
+            this.limit = data.limit();
+            this.position = data.position();
+        }
+
+        int readByte() {
+            if (position >= limit) {
+                throw new IllegalStateException("Unexpected end of event");
+            }
+            return data.get(position++) & 0xFF;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << Byte.SIZE) | readByte();
+            }
+            return value;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        int readLength() {
+            final int length = readVarInt();
+            if (length < 0 || length > limit - position) {
+                throw new IllegalStateException("Length " + length + " out of bounds");
+            }
+            return length;
+        }
+
+        BigDecimal readDecimal() {
+            final int zigZag = readVarInt();
+            final int scale = (zigZag >>> 1) ^ -(zigZag & 1);
+            final int length = readLength();
+            final BigInteger unscaled = data.hasArray()
+                    ? new BigInteger(data.array(), data.arrayOffset() + position, length)
+                    : new BigInteger(bytes(length));
+            position += length;
+            return new BigDecimal(unscaled, scale);
+        }
+
+        String readString() {
+            final int length = readLength();
+            final String value = data.hasArray()
+                    ? new String(data.array(), data.arrayOffset() + position, length, StandardCharsets.UTF_8)
+                    : new String(bytes(length), StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private byte[] bytes(final int length) {
+            final byte[] bytes = new byte[length];
+            data.get(position, bytes);
+            return bytes;
+        }
+    }
+}
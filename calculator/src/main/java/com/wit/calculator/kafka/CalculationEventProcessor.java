@@ -0,0 +1,106 @@
+package com.wit.calculator.kafka;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.service.CalculatorService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomputes calculation events through the core service, for both consumer modes.
+ * Each event is timed as {@code calculator.consumer.events}, with a percentile histogram,
+ * tagged by operation and outcome; an invalid event is a failure.
+ */
+@Component
+public class CalculationEventProcessor {
+    static final String TIMER = "calculator.consumer.events";
+
+    private final CalculatorService calculatorService;
+    private final Meter.MeterProvider<Timer> timer;
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public CalculationEventProcessor(final CalculatorService calculatorService, final MeterRegistry meterRegistry) {
+        this.calculatorService = calculatorService;
+        this.timer = Timer.builder(TIMER)
+                .description("Time spent recomputing consumed calculation events")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    /**
+     * Recomputes the result of an event.
+     *
+     * @param calculationEvent the calculation event.
+     *
+     * @return the result of the operation.
+     *
+     * @throws IllegalArgumentException if the event is invalid.
+     * @throws ArithmeticException if the operation is undefined for its operands.
+     */
+    public BigDecimal calculate(final CalculationEvent calculationEvent) {
+        return tryCalculate(calculationEvent).orElseThrow();
+    }
+
+    /**
+     * Recomputes the result of an event, returning an invalid event as a failure instead of throwing.
+     *
+     * @param calculationEvent the calculation event.
+     *
+     * @return the result of the operation, or its failure.
+     */
+    public CalculationResult tryCalculate(final CalculationEvent calculationEvent) {
+        final long start = System.nanoTime();
+        try {
+            final CalculationResult result = compute(calculationEvent);
+            if (result.isSuccess()) {
+                successTimers.computeIfAbsent(String.valueOf(calculationEvent.operation()),
+                                operation -> timer.withTags("operation", operation, "outcome", "success"))
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } else {
+                recordFailure(calculationEvent, start);
+            }
+            return result;
+        } catch (RuntimeException runtimeException) {
+            recordFailure(calculationEvent, start);
+            throw runtimeException;
+        }
+    }
+
+    private void recordFailure(final CalculationEvent calculationEvent, final long start) {
+        timer.withTags("operation", String.valueOf(calculationEvent.operation()), "outcome", "failure")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private CalculationResult compute(final CalculationEvent calculationEvent) {
+        if (CalculationEvent.EVALUATE.equals(calculationEvent.operation())) {
+            return calculatorService.tryEvaluate(calculationEvent.expression());
+        }
+
+        final CalculatorBinaryOperands operands;
+        try {
+            operands = new CalculatorBinaryOperands(
+                    calculationEvent.firstOperand(),
+                    calculationEvent.secondOperand(),
+                    calculationEvent.precision(),
+                    calculationEvent.roundingMode()
+            );
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return CalculationResult.invalid(illegalArgumentException.getMessage());
+        }
+
+        return switch (String.valueOf(calculationEvent.operation())) {
+            case "SUM" -> calculatorService.trySum(operands);
+            case "SUB" -> calculatorService.trySub(operands);
+            case "MULT" -> calculatorService.tryMult(operands);
+            case "DIV" -> calculatorService.tryDivision(operands);
+            default -> CalculationResult.invalid("Unknown operation: " + calculationEvent.operation());
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.wit.calculator.kafka;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact binary Kafka serializer of {@link CalculationEvent}.
+ * <p>
+ * Format version 1, announced by the {@value #VERSION_HEADER} record header:
+ * <pre>
+ * operation   1 byte code, 0 followed by the operation name for unknown operations
+ * presence    1 byte, bits set for the first operand, second operand, result, expression, precision and id
+ * decimals    zig-zag varint scale, varint length, unscaled value as two's complement big-endian bytes
+ * expression  varint length, UTF-8 bytes
+ * precision   1 byte precision tier ordinal + 1, 1 byte rounding mode ordinal + 1, 0 for the defaults
+ * id          8 bytes big-endian
+ * </pre>
+ * The precision and the id are appended and only written when present, so readers that predate them still read
+ * the rest.
+ * Numbers keep their exact scale and are never formatted nor parsed. {@link CalculationEventDeserializer}
+ * reads records without the header as JSON, so the producers can move from JSON once the consumers are upgraded.
+ */
+public class CalculationEventSerializer implements Serializer<CalculationEvent> {
+    /** Record header carrying the format version. */
+    public static final String VERSION_HEADER = "calculator-event-version";
+    /** Current format version. */
+    public static final byte VERSION = 1;
+
+    static final String[] OPERATIONS = {null, "SUM", "SUB", "MULT", "DIV", CalculationEvent.EVALUATE};
+    static final int FIRST_OPERAND = 1;
+    static final int SECOND_OPERAND = 1 << 1;
+    static final int RESULT = 1 << 2;
+    static final int EXPRESSION = 1 << 3;
+    static final int PRECISION = 1 << 4;
+    static final int ID = 1 << 5;
+
+    private static final byte[] VERSION_VALUE = {VERSION};
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] serialize(final String topic, final Headers headers, final CalculationEvent calculationEvent) {
+        if (calculationEvent == null) {
+            return null;
+        }
+        headers.remove(VERSION_HEADER);
+        headers.add(VERSION_HEADER, VERSION_VALUE);
+        return serialize(topic, calculationEvent);
+    }
+
+    /**
+     * Serializes the payload only; readers without the version header detect the binary format by its first byte.
+     *
+     * @param topic the topic of the record.
+     * @param calculationEvent the event to serialize.
+     *
+     * @return the serialized event.
+     */
+    @Override
+    public byte[] serialize(final String topic, final CalculationEvent calculationEvent) {
+        if (calculationEvent == null) {
+            return null;
+        }
+        final Output output = new Output();
+
+        final int code = operationCode(calculationEvent.operation());
+        output.writeByte(code);
+        if (code == 0) {
+            output.writeString(calculationEvent.operation());
+        }
+
+        int presence = 0;
+        presence |= calculationEvent.firstOperand() == null ? 0 : FIRST_OPERAND;
+        presence |= calculationEvent.secondOperand() == null ? 0 : SECOND_OPERAND;
+        presence |= calculationEvent.result() == null ? 0 : RESULT;
+        presence |= calculationEvent.expression() == null ? 0 : EXPRESSION;
+        presence |= calculationEvent.precision() == null && calculationEvent.roundingMode() == null ? 0 : PRECISION;
+        presence |= calculationEvent.id() == null ? 0 : ID;
+        output.writeByte(presence);
+
+        output.writeDecimal(calculationEvent.firstOperand());
+        output.writeDecimal(calculationEvent.secondOperand());
+        output.writeDecimal(calculationEvent.result());
+        if (calculationEvent.expression() != null) {
+            output.writeString(calculationEvent.expression());
+        }
+        if ((presence & PRECISION) != 0) {
+            output.writeByte(calculationEvent.precision() == null ? 0 : calculationEvent.precision().ordinal() + 1);
+            output.writeByte(calculationEvent.roundingMode() == null ? 0 : calculationEvent.roundingMode().ordinal() + 1);
+        }
+        if (calculationEvent.id() != null) {
+            output.writeLong(calculationEvent.id());
+        }
+        return output.toByteArray();
+    }
+
+    private static int operationCode(final String operation) {
+        for (int code = 1; code < OPERATIONS.length; code++) {
+            if (OPERATIONS[code].equals(operation)) {
+                return code;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Growable byte buffer.
+     */
+    private static final class Output {
+        private byte[] buffer = new byte[64];
+        private int position;
+
+        void writeByte(final int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(final long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarInt(final int value) {
+            ensureCapacity(5);
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[position++] = (byte) remaining;
+        }
+
+        void writeBytes(final byte[] bytes) {
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeDecimal(final BigDecimal decimal) {
+            if (decimal == null) {
+                return;
+            }
+            final int scale = decimal.scale();
+            writeVarInt((scale << 1) ^ (scale >> 31));
+            writeBytes(decimal.unscaledValue().toByteArray());
+        }
+
+        void writeString(final String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(final int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.wit.calculator.kafka;
+
+import com.wit.calculator.domain.CalculationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Worker side of the remote compute mode, enabled by {@code calculator.worker.enabled=true}: computes the
+ * calculation requests of the REST instances running with {@code calculator.remote.enabled=true} and replies
+ * with the request completed with its result. The reply goes to the topic of the request's reply topic header and
+ * carries its correlation id, as a {@code ReplyingKafkaTemplate} expects.
+ * <p>
+ * A failed {@link CalculationResult} is answered with its message in the {@value #ERROR_HEADER} header for invalid
+ * input, or the {@value #ARITHMETIC_HEADER} header for an operation undefined for its operands, so that the REST
+ * instance answers the same as when computing locally. Any other failure is answered with the
+ * {@value #FAILURE_HEADER} header, and the REST instance computes the request itself. Requests are neither deduplicated nor audited: the REST instance publishes and audits the event
+ * of the calculation as usual.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(name = "calculator.worker.enabled", havingValue = "true")
+public class CalculationRequestListener {
+    /** Header of a reply to an invalid request, with the message of the error. */
+    public static final String ERROR_HEADER = "calculator-error";
+    /** Header of a reply to a request whose operation is undefined for its operands, with the message of the error. */
+    public static final String ARITHMETIC_HEADER = "calculator-arithmetic";
+    /** Header of a reply to a request the worker failed to compute, with the message of the failure. */
+    public static final String FAILURE_HEADER = "calculator-failure";
+
+    private final CalculationEventProcessor calculationEventProcessor;
+
+    /**
+     * Computes a calculation request.
+     *
+     * @param calculationRequest the calculation, without result.
+     *
+     * @return the reply: the calculation with its result, or with an error header.
+     */
+    @KafkaListener(topics = "${calculator.remote.request-topic:calculator.requests}",
+            groupId = "${calculator.worker.group-id:calculator-workers}",
+            concurrency = "${calculator.consumer.concurrency:1}")
+    @SendTo
+    public Message<CalculationEvent> reply(final CalculationEvent calculationRequest) {
+        final CalculationResult result;
+        try {
+            result = calculationEventProcessor.tryCalculate(calculationRequest);
+        } catch (RuntimeException runtimeException) {
+            log.warn("Failed to compute request {}: {}", calculationRequest, runtimeException.toString());
+            return reply(calculationRequest, FAILURE_HEADER, runtimeException.getMessage());
+        }
+        if (result.isSuccess()) {
+            return MessageBuilder.withPayload(calculationRequest.withResult(result.value())).build();
+        }
+        return result.failure() == CalculationResult.Failure.INVALID
+                ? reply(calculationRequest, ERROR_HEADER, result.message())
+                : reply(calculationRequest, ARITHMETIC_HEADER, result.message());
+    }
+
+    /**
+     * Headers are sent as raw bytes, which the header mapper does not convert.
+     */
+    private static Message<CalculationEvent> reply(
+            final CalculationEvent calculationRequest,
+            final String header,
+            final String message
+    ) {
+        return MessageBuilder.withPayload(calculationRequest)
+                .setHeader(header, String.valueOf(message).getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
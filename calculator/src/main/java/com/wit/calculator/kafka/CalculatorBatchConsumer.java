@@ -0,0 +1,135 @@
+package com.wit.calculator.kafka;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.history.CalculationHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Kafka consumer that processes calculator events a poll at a time, enabled by {@code calculator.consumer.batch=true}.
+ * <p>
+ * Each batch is split in fixed size chunks evaluated in parallel on the consumer worker pool. The listener
+ * returns once every chunk is done, so the container commits the offsets once per batch. With
+ * {@code calculator.consumer.concurrency} above 1, the consumers of the container share the worker pool.
+ * A failing event is logged and skipped instead of redelivering the whole batch; it is not recorded as processed,
+ * so that a replay of the batch processes it again.
+ * Redelivered events are skipped by the {@link CalculationEventDeduplicator}, processed events are sampled into
+ * the {@link AuditLog} and kept in the {@link CalculationHistory} when enabled.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "calculator.consumer.batch", havingValue = "true")
+public class CalculatorBatchConsumer {
+    private final CalculationEventProcessor calculationEventProcessor;
+    private final CalculationEventDeduplicator calculationEventDeduplicator;
+    private final AuditLog auditLog;
+    private final CalculationHistory calculationHistory;
+    private final Executor executor;
+    private final int chunkSize;
+
+    public CalculatorBatchConsumer(
+            final CalculationEventProcessor calculationEventProcessor,
+            final CalculationEventDeduplicator calculationEventDeduplicator,
+            final AuditLog auditLog,
+            final CalculationHistory calculationHistory,
+            @Qualifier("calculatorConsumerExecutor") final Executor executor,
+            @Value("${calculator.consumer.chunk-size:64}") final int chunkSize
+    ) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("calculator.consumer.chunk-size must be positive");
+        }
+        this.calculationEventProcessor = calculationEventProcessor;
+        this.calculationEventDeduplicator = calculationEventDeduplicator;
+        this.auditLog = auditLog;
+        this.calculationHistory = calculationHistory;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Consumes the {@link CalculationEvent} messages of a poll and delegates them to the core service.
+     *
+     * @param calculationEvents the calculation events to process.
+     */
+    @KafkaListener(topics = "${calculator.topic}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${calculator.consumer.concurrency:1}", batch = "true")
+    public void processEvents(final List<CalculationEvent> calculationEvents) {
+        final int size = calculationEvents.size();
+        final long start = System.nanoTime();
+        int failures = 0;
+
+        if (size <= chunkSize) {
+            failures = processChunk(calculationEvents, 0, size);
+        } else {
+            final List<CompletableFuture<Integer>> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+            for (int from = 0; from < size; from += chunkSize) {
+                final int first = from;
+                final int end = Math.min(from + chunkSize, size);
+                chunks.add(CompletableFuture.supplyAsync(() -> processChunk(calculationEvents, first, end), executor));
+            }
+            for (final CompletableFuture<Integer> chunk : chunks) {
+                failures += chunk.join();
+            }
+        }
+
+        log.info("Processed batch of {} events in {} µs, {} failed",
+                size,
+                (System.nanoTime() - start) / 1_000,
+                failures
+        );
+    }
+
+    /**
+     * Processes the events in the range [from, to).
+     *
+     * @param calculationEvents the batch events.
+     * @param from the first index, inclusive.
+     * @param to the last index, exclusive.
+     *
+     * @return the number of events that failed.
+     */
+    private int processChunk(final List<CalculationEvent> calculationEvents, final int from, final int to) {
+        int failures = 0;
+        for (int i = from; i < to; i++) {
+            final CalculationEvent calculationEvent = calculationEvents.get(i);
+            if (calculationEventDeduplicator.seen(calculationEvent)) {
+                log.debug("Skipped duplicate event {}", calculationEvent.id());
+                continue;
+            }
+            try {
+                final CalculationResult calculationResult = calculationEventProcessor.tryCalculate(calculationEvent);
+                if (!calculationResult.isSuccess()) {
+                    failures++;
+                    calculationEventDeduplicator.markProcessed(calculationEvent);
+                    log.debug("Skipped invalid event {}: {}", calculationEvent, calculationResult.message());
+                    continue;
+                }
+                final BigDecimal result = calculationResult.value();
+                auditLog.record(AuditLog.CONSUMER, calculationEvent);
+                calculationHistory.record(calculationEvent, result);
+                calculationEventDeduplicator.markProcessed(calculationEvent);
+                log.debug("Processed event {}({}, {}) = {}",
+                        calculationEvent.operation(),
+                        calculationEvent.firstOperand(),
+                        calculationEvent.secondOperand(),
+                        result
+                );
+            } catch (RuntimeException runtimeException) {
+                failures++;
+                log.warn("Failed to process event {}: {}", calculationEvent, runtimeException.getMessage());
+            }
+        }
+        return failures;
+    }
+}
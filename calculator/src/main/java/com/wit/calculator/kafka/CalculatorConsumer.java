@@ -1,44 +1,59 @@
 package com.wit.calculator.kafka;
 
-import com.wit.calculator.domain.CalculatorBinaryOperands;
-import com.wit.calculator.service.CalculatorService;
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.history.CalculationHistory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 
 /**
- * Kafka consumer that processes calculator events.
- * Delegates directly to the core service.
+ * Kafka consumer that processes calculator events one record at a time.
+ * Delegates directly to the core service; replaced by {@link CalculatorBatchConsumer} when
+ * {@code calculator.consumer.batch=true}. The container runs {@code calculator.consumer.concurrency} consumers, each
+ * with its share of the partitions. Redelivered events are skipped by the {@link CalculationEventDeduplicator},
+ * processed events are sampled into the {@link AuditLog} and kept in the {@link CalculationHistory} when enabled.
+ * Invalid events, such as a division by zero, are skipped at once rather than thrown into the retries of the
+ * container's error handler, which would fail them again. An event is recorded as processed only once it has been
+ * processed or skipped, so that an event whose processing threw is processed again when redelivered.
  */
 @Slf4j
 @RequiredArgsConstructor
 @Service
+@ConditionalOnProperty(name = "calculator.consumer.batch", havingValue = "false", matchIfMissing = true)
 public class CalculatorConsumer {
-    private final CalculatorService calculatorService;
+    private final CalculationEventProcessor calculationEventProcessor;
+    private final CalculationEventDeduplicator calculationEventDeduplicator;
+    private final AuditLog auditLog;
+    private final CalculationHistory calculationHistory;
 
     /**
      * Consumes a {@link CalculationEvent} message from Kafka and delegates to the core service.
      *
      * @param calculationEvent the calculation event to process.
      */
-    @KafkaListener(topics = "${calculator.topic}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "${calculator.topic}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${calculator.consumer.concurrency:1}")
     public void processEvent(final CalculationEvent calculationEvent) {
-        final var operands = new CalculatorBinaryOperands(
-                new BigDecimal(calculationEvent.firstOperand()),
-                new BigDecimal(calculationEvent.secondOperand())
-        );
-
-        final var result = switch (calculationEvent.operation()) {
-            case "SUM" -> calculatorService.sum(operands);
-            case "SUB" -> calculatorService.sub(operands);
-            case "MULT" -> calculatorService.mult(operands);
-            case "DIV" -> calculatorService.division(operands);
-            default -> throw new IllegalArgumentException("Unknown operation: " + calculationEvent.operation());
-        };
-        log.info("Processed event {}({}, {}) = {}",
+        if (calculationEventDeduplicator.seen(calculationEvent)) {
+            log.debug("Skipped duplicate event {}", calculationEvent.id());
+            return;
+        }
+        final CalculationResult calculationResult = calculationEventProcessor.tryCalculate(calculationEvent);
+        if (!calculationResult.isSuccess()) {
+            calculationEventDeduplicator.markProcessed(calculationEvent);
+            log.debug("Skipped invalid event {}: {}", calculationEvent, calculationResult.message());
+            return;
+        }
+        final BigDecimal result = calculationResult.value();
+        auditLog.record(AuditLog.CONSUMER, calculationEvent);
+        calculationHistory.record(calculationEvent, result);
+        calculationEventDeduplicator.markProcessed(calculationEvent);
+        log.debug("Processed event {}({}, {}) = {}",
                 calculationEvent.operation(),
                 calculationEvent.firstOperand(),
                 calculationEvent.secondOperand(),
@@ -0,0 +1,110 @@
+package com.wit.calculator.kafka;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates time-ordered {@link CalculationEvent} ids without locks.
+ * <p>
+ * An id is a positive {@code long}: 41 bits of milliseconds since {@value #EPOCH_MILLIS} (2024-01-01, enough
+ * until 2093), a 10 bits sequence within the millisecond and the 12 bits node id of the producer. The
+ * timestamp and sequence are advanced together by a single compare-and-set, so every id of a generator is
+ * greater than the previous one: beyond 1024 ids in a millisecond, or when the clock goes back, the sequence
+ * carries into the timestamp, borrowing from the next milliseconds. Ids of different nodes are unique as long as
+ * their node ids differ, and ordered by time to the millisecond.
+ * <p>
+ * Two producers sharing a node id emit the same ids, and the consumers then skip the events of one as duplicates of
+ * the other, so the node id is never random nor guessed: it is configured, as {@link #forNode} requires once there
+ * are several producers.
+ */
+public final class EventIdGenerator {
+    /** Start of the timestamps, 2024-01-01T00:00:00Z. */
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int SEQUENCE_BITS = 10;
+    static final int NODE_BITS = 12;
+    /** Largest node id. */
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    /** Last timestamp and sequence, without the node id. */
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * @param nodeId the node id, between 0 and {@value #MAX_NODE_ID}.
+     */
+    public EventIdGenerator(final int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * @param nodeId the node id, between 0 and {@value #MAX_NODE_ID}.
+     * @param clock the clock, in milliseconds since the epoch.
+     */
+    public EventIdGenerator(final int nodeId, final LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates the generator of a producer. A single producer may leave its node id unconfigured and uses node 0;
+     * several producers must each be configured with their own node id, since any node id derived without
+     * coordination, such as a hash of the host name, may collide.
+     *
+     * @param configuredNodeId the configured node id, or negative if none is configured.
+     * @param replicas the number of producer instances sharing the topic.
+     *
+     * @return the generator.
+     *
+     * @throws IllegalStateException if several producers share the topic and the node id is not configured.
+     */
+    public static EventIdGenerator forNode(final int configuredNodeId, final int replicas) {
+        if (configuredNodeId >= 0) {
+            return new EventIdGenerator(configuredNodeId);
+        }
+        if (replicas > 1) {
+            throw new IllegalStateException("calculator.producer.node-id must be configured, unique per instance, "
+                    + "when calculator.producer.replicas is " + replicas);
+        }
+        return new EventIdGenerator(0);
+    }
+
+    /**
+     * @return a new id, greater than every id previously returned by this generator.
+     */
+    public long next() {
+        final long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        final long timestampAndSequence = last.accumulateAndGet(now, (previous, current) -> Math.max(current, previous + 1));
+        return timestampAndSequence << NODE_BITS | nodeId;
+    }
+
+    /**
+     * Assigns an id to an event that has none yet.
+     *
+     * @param calculationEvent the event.
+     *
+     * @return the event with an id.
+     */
+    public CalculationEvent assign(final CalculationEvent calculationEvent) {
+        return calculationEvent.id() != null ? calculationEvent : calculationEvent.withId(next());
+    }
+
+    /**
+     * @return the node id of the generated ids.
+     */
+    public int nodeId() {
+        return (int) nodeId;
+    }
+
+    /**
+     * @param id an event id.
+     *
+     * @return the time of the id, in milliseconds since the epoch.
+     */
+    public static long timestampMillis(final long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
@@ -0,0 +1,66 @@
+package com.wit.calculator.kafka;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Record key of the published {@link CalculationEvent}s, which decides their partition, set by
+ * {@code calculator.producer.key-strategy}. Events with the same key are consumed in order by the same consumer;
+ * without a key the producer fills one partition batch after the other.
+ */
+public enum EventKeyStrategy {
+    /** No key: events are spread over the partitions by batches, the cheapest for the producer. */
+    NONE {
+        @Override
+        public String key(final CalculationEvent calculationEvent, final String client) {
+            return null;
+        }
+    },
+    /**
+     * The operation: the events of an operation are consumed in order, but there are only five keys, so at most
+     * five partitions are used.
+     */
+    OPERATION {
+        @Override
+        public String key(final CalculationEvent calculationEvent, final String client) {
+            return calculationEvent.operation();
+        }
+    },
+    /** The client id of the request: the events of a client are consumed in order. No key without a client id. */
+    CLIENT {
+        @Override
+        public String key(final CalculationEvent calculationEvent, final String client) {
+            return client;
+        }
+    },
+    /**
+     * A hash of the calculation: identical calculations, operands compared by value, go to the same consumer,
+     * whose result cache then sees all of them, and the events are spread evenly over the partitions.
+     */
+    OPERANDS {
+        @Override
+        public String key(final CalculationEvent calculationEvent, final String client) {
+            final int hash = Objects.hash(
+                    calculationEvent.operation(),
+                    canonical(calculationEvent.firstOperand()),
+                    canonical(calculationEvent.secondOperand()),
+                    calculationEvent.expression(),
+                    calculationEvent.precision(),
+                    calculationEvent.roundingMode()
+            );
+            return Integer.toHexString(hash);
+        }
+    };
+
+    /**
+     * @param calculationEvent the event to publish.
+     * @param client the client id of the request, null if unknown.
+     *
+     * @return the record key of the event, null for none.
+     */
+    public abstract String key(CalculationEvent calculationEvent, String client);
+
+    private static BigDecimal canonical(final BigDecimal number) {
+        return number == null ? null : number.stripTrailingZeros();
+    }
+}
@@ -0,0 +1,199 @@
+package com.wit.calculator.kafka;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded lock-free set of the most recent event ids, answering whether an id was seen recently.
+ * <p>
+ * A Bloom filter sits in front of the ids: an id the filter has never seen is new, which is the answer for
+ * almost every event, and the filter usually gives it after reading a single word. Only when the filter
+ * reports the id as possibly seen are the recent ids searched, so that a false positive of the filter never
+ * skips a new event. The filter has two generations of {@code capacity} ids each: once the current one is
+ * full, it becomes the previous one and the oldest is dropped, which bounds both its memory and its false
+ * positive rate.
+ * <p>
+ * The recent ids are kept in a set-associative table of 8 ids per bucket, about {@code capacity} ids in all.
+ * A new id replaces the oldest, smallest, id of its bucket, since ids are ordered by time. An id is therefore
+ * remembered for roughly the next {@code capacity} ids; a duplicate delivered later is processed again. Two
+ * deliveries of the same new id at the same time may both be reported as new.
+ */
+public final class RecentEventIds {
+    private static final int WAYS = 8;
+    private static final int MAX_HASHES = 16;
+
+    private final int capacity;
+    private final int hashes;
+    private final int bitCount;
+    private final AtomicLongArray table;
+    private final int bucketMask;
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile Generations generations;
+
+    /**
+     * @param capacity the number of recent ids to remember.
+     * @param falsePositiveRate the false positive rate of each generation of the Bloom filter.
+     */
+    public RecentEventIds(final int capacity, final double falsePositiveRate) {
+        if (capacity <= 0 || capacity > 1 << 26) {
+            throw new IllegalArgumentException("calculator.consumer.dedup.capacity must be between 1 and 2^26");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("calculator.consumer.dedup.false-positive-rate must be between 0 and 1");
+        }
+        this.capacity = capacity;
+
+        // Optimal number of bits, rounded up to a power of two for the masks, which only lowers the rate
+        final double optimalBits = -capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.min(1L << 30, Math.max(Long.SIZE, Long.highestOneBit((long) Math.ceil(optimalBits) - 1) << 1));
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bitCount / capacity * Math.log(2))));
+        this.generations = new Generations(new Generation(bitCount), new Generation(bitCount));
+
+        final int buckets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS - 1)) << 1;
+        this.table = new AtomicLongArray(buckets * WAYS);
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Checks an id without adding it, from any thread.
+     *
+     * @param id the id, positive.
+     *
+     * @return {@code true} if the id was seen recently.
+     */
+    public boolean contains(final long id) {
+        final long hash = mix(id);
+        final Generations snapshot = generations;
+        return (snapshot.current().mightContain(hash, hashes) || snapshot.previous().mightContain(hash, hashes))
+                && contains(hash, id);
+    }
+
+    /**
+     * Adds an id, from any thread.
+     *
+     * @param id the id, positive.
+     *
+     * @return {@code false} if the id was seen recently.
+     */
+    public boolean add(final long id) {
+        final long hash = mix(id);
+        final Generations snapshot = generations;
+        if (snapshot.current().mightContain(hash, hashes) || snapshot.previous().mightContain(hash, hashes)) {
+            if (contains(hash, id)) {
+                return false;
+            }
+            falsePositives.increment();
+        }
+        put(hash, id);
+        if (snapshot.current().put(hash, hashes) == capacity) {
+            generations = new Generations(new Generation(bitCount), snapshot.current());
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of ids the Bloom filter reported as possibly seen, but were not recent ids.
+     */
+    public long falsePositives() {
+        return falsePositives.sum();
+    }
+
+    private boolean contains(final long hash, final long id) {
+        final int base = bucket(hash);
+        for (int i = base; i < base + WAYS; i++) {
+            if (table.get(i) == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the oldest id of the bucket, retrying if another thread replaced it first.
+     */
+    private void put(final long hash, final long id) {
+        final int base = bucket(hash);
+        int oldest;
+        long oldestId;
+        do {
+            oldest = base;
+            oldestId = table.get(base);
+            for (int i = base + 1; i < base + WAYS && oldestId != 0; i++) {
+                final long candidate = table.get(i);
+                if (candidate < oldestId) {
+                    oldest = i;
+                    oldestId = candidate;
+                }
+            }
+        } while (!table.compareAndSet(oldest, oldestId, id));
+    }
+
+    private int bucket(final long hash) {
+        return ((int) (hash >>> 32) & bucketMask) * WAYS;
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3: time-ordered ids differ in their low bits only.
+     */
+    private static long mix(final long id) {
+        long hash = id;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * @param current the generation new ids are added to.
+     * @param previous the full generation before it.
+     */
+    private record Generations(Generation current, Generation previous) {}
+
+    /**
+     * One generation of the Bloom filter, its bits set with atomic ORs. The bit indexes are derived from two
+     * halves of the hash by double hashing.
+     */
+    private static final class Generation {
+        private final AtomicLongArray words;
+        private final int bitMask;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Generation(final int bitCount) {
+            this.words = new AtomicLongArray(bitCount / Long.SIZE);
+            this.bitMask = bitCount - 1;
+        }
+
+        boolean mightContain(final long hash, final int hashes) {
+            final int first = (int) hash;
+            final int step = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                final int bit = (first + i * step) & bitMask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return the number of ids added to this generation, this one included.
+         */
+        int put(final long hash, final int hashes) {
+            final int first = (int) hash;
+            final int step = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                final int bit = (first + i * step) & bitMask;
+                final long mask = 1L << bit;
+                // Up to half the bits of a generation are set, and those need no write
+                if ((words.get(bit >>> 6) & mask) == 0) {
+                    words.accumulateAndGet(bit >>> 6, mask, (word, set) -> word | set);
+                }
+            }
+            return count.incrementAndGet();
+        }
+    }
+}
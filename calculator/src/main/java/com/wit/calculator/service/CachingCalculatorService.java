@@ -0,0 +1,273 @@
+package com.wit.calculator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.domain.CalculatorPrecision;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Memoizing decorator of a {@link CalculatorService} engine.
+ * <p>
+ * Results are kept in a bounded Caffeine cache (W-TinyLFU eviction, striped lock-free read and write buffers).
+ * Keys are canonical: operands are stripped of trailing zeros and only the scale combination that determines
+ * the scale of the result is kept, so that {@code 1.0 + 2} and {@code 1.0 + 2.0} share an entry while
+ * {@code 1.0 + 2} and {@code 1.00 + 2} do not ({@code 3.0} and {@code 3.00}).
+ * Failed calculations and N-ary reductions are not cached. Both the throwing and the {@code try} operations go
+ * through the {@code try} operations of the delegate, so that failures are never thrown and caught again.
+ * The cache statistics are published as the Caffeine cache metrics of the cache {@value #CACHE_NAME}, such as
+ * {@code cache.gets} tagged by result, whose ratio is the hit rate.
+ */
+public class CachingCalculatorService implements CalculatorService {
+    /** Name of the cache in its metrics. */
+    public static final String CACHE_NAME = "calculator.results";
+
+    private final CalculatorService delegate;
+    private final Set<CalculatorOperation> cachedOperations;
+    private final long capacity;
+    private final Cache<CalculationKey, BigDecimal> results;
+
+    /**
+     * Creates the service publishing its cache metrics in the global registry,
+     * which discards them unless a registry was added to it.
+     *
+     * @param delegate the engine computing cache misses.
+     * @param capacity the maximum number of cached results.
+     * @param cachedOperations the operations whose results are cached.
+     */
+    public CachingCalculatorService(
+            final CalculatorService delegate,
+            final long capacity,
+            final Set<CalculatorOperation> cachedOperations
+    ) {
+        this(delegate, capacity, cachedOperations, Metrics.globalRegistry);
+    }
+
+    /**
+     * @param delegate the engine computing cache misses.
+     * @param capacity the maximum number of cached results.
+     * @param cachedOperations the operations whose results are cached.
+     * @param meterRegistry the registry of the cache metrics.
+     */
+    public CachingCalculatorService(
+            final CalculatorService delegate,
+            final long capacity,
+            final Set<CalculatorOperation> cachedOperations,
+            final MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.cachedOperations = cachedOperations.isEmpty()
+                ? EnumSet.noneOf(CalculatorOperation.class)
+                : EnumSet.copyOf(cachedOperations);
+        this.results = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal sum(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculate(CalculatorOperation.SUM, calculatorBinaryOperands).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult trySum(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculate(CalculatorOperation.SUM, calculatorBinaryOperands);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal sub(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculate(CalculatorOperation.SUB, calculatorBinaryOperands).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult trySub(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculate(CalculatorOperation.SUB, calculatorBinaryOperands);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal mult(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculate(CalculatorOperation.MULT, calculatorBinaryOperands).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult tryMult(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculate(CalculatorOperation.MULT, calculatorBinaryOperands);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal division(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculate(CalculatorOperation.DIV, calculatorBinaryOperands).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult tryDivision(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return calculate(CalculatorOperation.DIV, calculatorBinaryOperands);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal evaluate(final String expression) {
+        return delegate.evaluate(expression);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult tryEvaluate(final String expression) {
+        return delegate.tryEvaluate(expression);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal sumAll(final List<BigDecimal> operands) {
+        return delegate.sumAll(operands);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal productAll(final List<BigDecimal> operands) {
+        return delegate.productAll(operands);
+    }
+
+    /**
+     * @return a snapshot of the cache statistics.
+     */
+    public CacheStats stats() {
+        return results.stats();
+    }
+
+    /**
+     * @return the number of cached results.
+     */
+    public long size() {
+        return results.estimatedSize();
+    }
+
+    /**
+     * @return the maximum number of cached results.
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the cached result of an operation, computing it through the delegate on a miss.
+     * Invalid operands go straight to the delegate, which returns the failure; failures are not cached.
+     *
+     * @param operation the operation.
+     * @param calculatorBinaryOperands the operands.
+     *
+     * @return the result of the operation, or its failure.
+     */
+    private CalculationResult calculate(
+            final CalculatorOperation operation,
+            final CalculatorBinaryOperands calculatorBinaryOperands
+    ) {
+        if (!cachedOperations.contains(operation) || CalculationResult.validate(calculatorBinaryOperands) != null) {
+            return operation.tryApply(delegate, calculatorBinaryOperands);
+        }
+        final CalculationKey key = CalculationKey.of(operation, calculatorBinaryOperands);
+        final BigDecimal cached = results.getIfPresent(key);
+        if (cached != null) {
+            return CalculationResult.success(cached);
+        }
+        final CalculationResult result = operation.tryApply(delegate, calculatorBinaryOperands);
+        if (result.isSuccess()) {
+            results.put(key, result.value());
+        }
+        return result;
+    }
+
+    /**
+     * Canonical cache key.
+     * <p>
+     * For a given precision tier and rounding mode, the result of an operation is fully determined by the operand
+     * values and one scale: the scale of the exact result, {@code max(s1, s2)} for a sum or a subtraction and
+     * {@code s1 + s2} for a multiplication, or the preferred scale {@code s1 - s2} of a division.
+     *
+     * @param operation the operation.
+     * @param firstNumber the first operand stripped of trailing zeros.
+     * @param secondNumber the second operand stripped of trailing zeros.
+     * @param scale the scale determining the scale of the result.
+     * @param precision the precision tier of the result.
+     * @param roundingMode the rounding mode of the result.
+     */
+    record CalculationKey(
+            CalculatorOperation operation,
+            BigDecimal firstNumber,
+            BigDecimal secondNumber,
+            long scale,
+            CalculatorPrecision precision,
+            RoundingMode roundingMode
+    ) {
+        static CalculationKey of(final CalculatorOperation operation, final CalculatorBinaryOperands operands) {
+            final int firstScale = operands.firstNumber().scale();
+            final int secondScale = operands.secondNumber().scale();
+            final long scale = switch (operation) {
+                case SUM, SUB -> Math.max(firstScale, secondScale);
+                case MULT -> (long) firstScale + secondScale;
+                case DIV -> (long) firstScale - secondScale;
+            };
+            return new CalculationKey(
+                    operation,
+                    canonical(operands.firstNumber()),
+                    canonical(operands.secondNumber()),
+                    scale,
+                    operands.precision(),
+                    operands.roundingMode()
+            );
+        }
+
+        /**
+         * Strips trailing zeros, skipping the costly division for odd unscaled values which cannot end in zero.
+         */
+        private static BigDecimal canonical(final BigDecimal number) {
+            return number.unscaledValue().testBit(0) ? number : number.stripTrailingZeros();
+        }
+    }
+}
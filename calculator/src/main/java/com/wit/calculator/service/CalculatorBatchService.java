@@ -0,0 +1,21 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.domain.CalculatorBatchItem;
+import com.wit.calculator.domain.CalculatorBatchResult;
+
+import java.util.List;
+
+/**
+ * Evaluates many calculator operations in a single call.
+ */
+public interface CalculatorBatchService {
+    /**
+     * Evaluates every item of the batch.
+     * A failing item does not fail the batch, its error is reported in its own result instead.
+     *
+     * @param items the operations to be evaluated.
+     *
+     * @return one result per item, in the same order as the items.
+     */
+    List<CalculatorBatchResult> evaluate(final List<CalculatorBatchItem> items);
+}
@@ -0,0 +1,135 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBatchItem;
+import com.wit.calculator.domain.CalculatorBatchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Batch service implementation.
+ * Splits the batch in fixed size chunks and evaluates the chunks in parallel through {@link CalculatorService}.
+ * Error messages given as a message key in braces, such as {@code {validation.notNull}}, are resolved through the
+ * {@link MessageSource} of the application in the locale of the request, as the validation of a single call is.
+ */
+@Slf4j
+@Service
+public class CalculatorBatchServiceImpl implements CalculatorBatchService {
+    private final CalculatorService calculatorService;
+    private final Executor executor;
+    private final int chunkSize;
+    private final MessageSource messageSource;
+
+    public CalculatorBatchServiceImpl(
+            final CalculatorService calculatorService,
+            @Qualifier("calculatorBatchExecutor") final Executor executor,
+            @Value("${calculator.batch.chunk-size:256}") final int chunkSize,
+            final MessageSource messageSource
+    ) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("calculator.batch.chunk-size must be positive");
+        }
+        this.calculatorService = calculatorService;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.messageSource = messageSource;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CalculatorBatchResult> evaluate(final List<CalculatorBatchItem> items) {
+        final int size = items.size();
+        final CalculatorBatchResult[] results = new CalculatorBatchResult[size];
+        final Locale locale = LocaleContextHolder.getLocale();
+
+        if (size <= chunkSize) {
+            evaluateChunk(items, results, 0, size, locale);
+            return List.of(results);
+        }
+
+        final List<CompletableFuture<Void>> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < size; from += chunkSize) {
+            final int start = from;
+            final int end = Math.min(from + chunkSize, size);
+            chunks.add(CompletableFuture.runAsync(() -> evaluateChunk(items, results, start, end, locale), executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        log.debug("evaluated batch of {} items in {} chunks", size, chunks.size());
+        return List.of(results);
+    }
+
+    /**
+     * Evaluates the items in the range [from, to) and stores their results at the same positions.
+     *
+     * @param items the batch items.
+     * @param results the results of the batch.
+     * @param from the first index, inclusive.
+     * @param to the last index, exclusive.
+     * @param locale the locale of the error messages.
+     */
+    private void evaluateChunk(
+            final List<CalculatorBatchItem> items,
+            final CalculatorBatchResult[] results,
+            final int from,
+            final int to,
+            final Locale locale
+    ) {
+        for (int i = from; i < to; i++) {
+            results[i] = evaluateItem(items.get(i), locale);
+        }
+    }
+
+    /**
+     * Evaluates a single item, converting any failure into an error result.
+     *
+     * @param item the item to evaluate.
+     * @param locale the locale of the error message.
+     *
+     * @return the result of the item.
+     */
+    private CalculatorBatchResult evaluateItem(final CalculatorBatchItem item, final Locale locale) {
+        if (item == null || item.operation() == null) {
+            return CalculatorBatchResult.failure("Bad Request", "Operation must not be null");
+        }
+        try {
+            final CalculationResult result = item.operation().tryApply(calculatorService, item.operands());
+            if (result.isSuccess()) {
+                return CalculatorBatchResult.success(result.value());
+            }
+            return result.failure() == CalculationResult.Failure.INVALID
+                    ? CalculatorBatchResult.failure("Bad Request", message(result.message(), locale))
+                    : CalculatorBatchResult.failure("Arithmetic Error", message(result.message(), locale));
+        } catch (RuntimeException runtimeException) {
+            log.error("Unexpected error evaluating batch item {}", item, runtimeException);
+            return CalculatorBatchResult.failure("Internal Server Error", "Unexpected error");
+        }
+    }
+
+    /**
+     * Resolves an error message given as a message key in braces; any other message is returned as is.
+     *
+     * @param message the error message.
+     * @param locale the locale of the message.
+     *
+     * @return the resolved message, or the message itself when its key is unknown.
+     */
+    private String message(final String message, final Locale locale) {
+        if (message == null || message.length() < 3 || message.charAt(0) != '{' || message.charAt(message.length() - 1) != '}') {
+            return message;
+        }
+        return messageSource.getMessage(message.substring(1, message.length() - 1), null, message, locale);
+    }
+}
@@ -0,0 +1,56 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.domain.CalculatorOperation;
+
+import java.math.BigDecimal;
+
+/**
+ * Element-wise operations over column pairs, for analytics on large arrays of numbers:
+ * {@code result[i] = first[i] op second[i]}.
+ * <p>
+ * Three modes, by column type:
+ * <ul>
+ *     <li>{@code double}: lossy and fastest, computed with SIMD instructions when available. Every operand and
+ *     result is an IEEE 754 binary64, rounded to about 16 significant digits, so {@code 0.1 + 0.2} gives
+ *     {@code 0.30000000000000004}. A division by zero yields an infinity or NaN instead of an error.</li>
+ *     <li>{@code long}: exact integer arithmetic for SUM, SUB and MULT; an overflow fails the whole column
+ *     with {@link ArithmeticException}. DIV is rejected, since an integer quotient would not be exact.</li>
+ *     <li>{@link BigDecimal}: exact, with the same results and errors as {@link CalculatorService}
+ *     (34 significant digits, division by zero rejected), one element at a time.</li>
+ * </ul>
+ * Columns must have the same length.
+ */
+public interface CalculatorColumnService {
+    /**
+     * Applies an operation to each pair of elements, in the lossy double mode.
+     *
+     * @param operation the operation.
+     * @param first the first operands.
+     * @param second the second operands.
+     *
+     * @return a new column with the results.
+     */
+    double[] evaluate(final CalculatorOperation operation, final double[] first, final double[] second);
+
+    /**
+     * Applies an operation to each pair of elements, in the exact integer mode.
+     *
+     * @param operation the operation, SUM, SUB or MULT.
+     * @param first the first operands.
+     * @param second the second operands.
+     *
+     * @return a new column with the results.
+     */
+    long[] evaluate(final CalculatorOperation operation, final long[] first, final long[] second);
+
+    /**
+     * Applies an operation to each pair of elements, in the exact decimal mode.
+     *
+     * @param operation the operation.
+     * @param first the first operands.
+     * @param second the second operands.
+     *
+     * @return a new column with the results.
+     */
+    BigDecimal[] evaluate(final CalculatorOperation operation, final BigDecimal[] first, final BigDecimal[] second);
+}
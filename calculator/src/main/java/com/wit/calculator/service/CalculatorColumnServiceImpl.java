@@ -0,0 +1,113 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.column.ColumnKernels;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+
+/**
+ * Column service implementation.
+ * Double and long columns go through the {@link ColumnKernels}, SIMD when the Vector API is enabled;
+ * decimal columns go through {@link CalculatorService}.
+ */
+@Slf4j
+@Service
+public class CalculatorColumnServiceImpl implements CalculatorColumnService {
+    private final CalculatorService calculatorService;
+    private final ColumnKernels columnKernels;
+
+    @Autowired
+    public CalculatorColumnServiceImpl(final CalculatorService calculatorService) {
+        this(calculatorService, ColumnKernels.best());
+    }
+
+    public CalculatorColumnServiceImpl(final CalculatorService calculatorService, final ColumnKernels columnKernels) {
+        this.calculatorService = calculatorService;
+        this.columnKernels = columnKernels;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] evaluate(final CalculatorOperation operation, final double[] first, final double[] second) {
+        validateColumns(operation, first, second);
+
+        final double[] result = new double[first.length];
+        switch (operation) {
+            case SUM -> columnKernels.sum(first, second, result);
+            case SUB -> columnKernels.sub(first, second, result);
+            case MULT -> columnKernels.mult(first, second, result);
+            case DIV -> columnKernels.div(first, second, result);
+        }
+
+        log.debug("evaluated {} over double columns of {} rows with {} kernels",
+                operation, result.length, columnKernels.name());
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] evaluate(final CalculatorOperation operation, final long[] first, final long[] second) {
+        validateColumns(operation, first, second);
+
+        final long[] result = new long[first.length];
+        switch (operation) {
+            case SUM -> columnKernels.sum(first, second, result);
+            case SUB -> columnKernels.sub(first, second, result);
+            case MULT -> columnKernels.mult(first, second, result);
+            case DIV -> throw new IllegalArgumentException(
+                    "DIV is not exact on long columns, use double or decimal columns");
+        }
+
+        log.debug("evaluated {} over long columns of {} rows with {} kernels",
+                operation, result.length, columnKernels.name());
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal[] evaluate(
+            final CalculatorOperation operation,
+            final BigDecimal[] first,
+            final BigDecimal[] second
+    ) {
+        validateColumns(operation, first, second);
+
+        final BigDecimal[] result = new BigDecimal[first.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = operation.apply(calculatorService, new CalculatorBinaryOperands(first[i], second[i]));
+        }
+
+        log.debug("evaluated {} over decimal columns of {} rows", operation, result.length);
+        return result;
+    }
+
+    /**
+     * Validates that the operation and both columns are present and that the columns have the same length.
+     *
+     * @param operation the operation.
+     * @param first the first column, an array.
+     * @param second the second column, an array.
+     */
+    private void validateColumns(final CalculatorOperation operation, final Object first, final Object second) {
+        if (operation == null || first == null || second == null) {
+            throw new IllegalArgumentException("{validation.notNull}");
+        }
+        final int firstLength = Array.getLength(first);
+        final int secondLength = Array.getLength(second);
+        if (firstLength != secondLength) {
+            throw new IllegalArgumentException(
+                    "Columns must have the same length, got %d and %d".formatted(firstLength, secondLength));
+        }
+    }
+}
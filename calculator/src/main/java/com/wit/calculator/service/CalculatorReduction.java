@@ -0,0 +1,159 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.decimal.Decimal128;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * N-ary reductions of the calculator engines.
+ * <p>
+ * Operands are combined exactly along a balanced tree and the result is rounded once to
+ * {@link MathContext#DECIMAL128} at the end. Exact addition and multiplication are associative, so the result
+ * does not depend on how the tree is split across threads: it is the exact result correctly rounded, identical
+ * to the binary operation for two operands. Subtrees larger than {@value #PARALLEL_THRESHOLD} operands are
+ * forked to the common {@link java.util.concurrent.ForkJoinPool}, the calling thread computing its share.
+ * Exact products grow with the digits of all the operands, so their largest multiplications are parallel too.
+ * <p>
+ * To bound the size of the exact intermediate results, operands must have a scale within the decimal128
+ * range ({@value Decimal128#MIN_SCALE} to {@value Decimal128#MAX_SCALE}).
+ */
+final class CalculatorReduction {
+    private static final MathContext mathContext = MathContext.DECIMAL128;
+    /** Subtrees up to this number of operands are reduced by the thread that reaches them. */
+    static final int PARALLEL_THRESHOLD = 4096;
+    /** Ranges up to this number of operands are folded left to right. */
+    private static final int FOLD_THRESHOLD = 16;
+
+    private CalculatorReduction() {}
+
+    /**
+     * @param operands the operands.
+     *
+     * @return the sum of the operands, {@code 0} when there are none.
+     */
+    static BigDecimal sumAll(final List<BigDecimal> operands) {
+        return reduce(operands, BigDecimal.ZERO, BigDecimal::add, BigDecimal::add);
+    }
+
+    /**
+     * @param operands the operands.
+     *
+     * @return the product of the operands, {@code 1} when there are none.
+     */
+    static BigDecimal productAll(final List<BigDecimal> operands) {
+        return reduce(operands, BigDecimal.ONE, BigDecimal::multiply, CalculatorReduction::parallelMultiply);
+    }
+
+    /**
+     * Exact multiplication of the large partial products of the upper levels of the tree, which would otherwise
+     * leave the other workers idle while the last few products are computed.
+     *
+     * @param first the first factor.
+     * @param second the second factor.
+     *
+     * @return the exact product, as {@link BigDecimal#multiply(BigDecimal)}.
+     */
+    private static BigDecimal parallelMultiply(final BigDecimal first, final BigDecimal second) {
+        final long scale = (long) first.scale() + second.scale();
+        if (scale != (int) scale) {
+            throw new ArithmeticException(scale > 0 ? "Underflow" : "Overflow");
+        }
+        return new BigDecimal(first.unscaledValue().parallelMultiply(second.unscaledValue()), (int) scale);
+    }
+
+    private static BigDecimal reduce(
+            final List<BigDecimal> operands,
+            final BigDecimal identity,
+            final BinaryOperator<BigDecimal> exactOperation,
+            final BinaryOperator<BigDecimal> parallelOperation
+    ) {
+        validateOperands(operands);
+        if (operands.isEmpty()) {
+            return identity;
+        }
+        return new ReductionTask(operands, 0, operands.size(), exactOperation, parallelOperation)
+                .invoke().round(mathContext);
+    }
+
+    /**
+     * Validates the operands: present, and within the decimal128 scale range.
+     *
+     * @param operands the operands.
+     */
+    private static void validateOperands(final List<BigDecimal> operands) {
+        if (operands == null) {
+            throw new IllegalArgumentException("{validation.notNull}");
+        }
+        for (final BigDecimal operand : operands) {
+            if (operand == null) {
+                throw new IllegalArgumentException("{validation.notNull}");
+            }
+            if (operand.scale() < Decimal128.MIN_SCALE || operand.scale() > Decimal128.MAX_SCALE) {
+                throw new IllegalArgumentException("Operand " + operand + " is out of range, the scale must be between "
+                        + Decimal128.MIN_SCALE + " and " + Decimal128.MAX_SCALE);
+            }
+        }
+    }
+
+    /**
+     * Exact reduction of the operands in the range [from, to).
+     */
+    private static final class ReductionTask extends RecursiveTask<BigDecimal> {
+        private final List<BigDecimal> operands;
+        private final int from;
+        private final int to;
+        private final BinaryOperator<BigDecimal> exactOperation;
+        private final BinaryOperator<BigDecimal> parallelOperation;
+
+        ReductionTask(
+                final List<BigDecimal> operands,
+                final int from,
+                final int to,
+                final BinaryOperator<BigDecimal> exactOperation,
+                final BinaryOperator<BigDecimal> parallelOperation
+        ) {
+            this.operands = operands;
+            this.from = from;
+            this.to = to;
+            this.exactOperation = exactOperation;
+            this.parallelOperation = parallelOperation;
+        }
+
+        @Override
+        protected BigDecimal compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return reduce(from, to);
+            }
+            final int middle = (from + to) >>> 1;
+            final ReductionTask left = new ReductionTask(operands, from, middle, exactOperation, parallelOperation);
+            left.fork();
+            final BigDecimal right = new ReductionTask(operands, middle, to, exactOperation, parallelOperation).compute();
+            return parallelOperation.apply(left.join(), right);
+        }
+
+        /**
+         * Reduces a range on the current thread. Halving keeps both sides of each multiplication of similar
+         * size, which is much cheaper than multiplying a growing product by one operand at a time.
+         *
+         * @param from the first index, inclusive.
+         * @param to the last index, exclusive.
+         *
+         * @return the exact reduction of the range.
+         */
+        private BigDecimal reduce(final int from, final int to) {
+            if (to - from <= FOLD_THRESHOLD) {
+                BigDecimal result = operands.get(from);
+                for (int i = from + 1; i < to; i++) {
+                    result = exactOperation.apply(result, operands.get(i));
+                }
+                return result;
+            }
+            final int middle = (from + to) >>> 1;
+            return exactOperation.apply(reduce(from, middle), reduce(middle, to));
+        }
+    }
+}
@@ -1,24 +1,61 @@
 package com.wit.calculator.service;
 
+import com.wit.calculator.domain.CalculationResult;
 import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.expression.Expression;
+import com.wit.calculator.expression.ExpressionCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.util.Optional;
-import java.util.function.Supplier;
+import java.util.List;
 
 /**
  * Calculator core service implementation.
+ * Default engine, selected by {@code calculator.engine=bigdecimal}.
+ * Operands with another precision tier than the default are computed with {@link TieredArithmetic}.
+ * Operations are computed by their {@code try} variants through {@link CalculatorServiceSupport}, which validates
+ * without allocating nor throwing; the throwing methods only convert a failure into its exception. Overflows of the
+ * lower precision tiers are still thrown by the arithmetic, and caught into failures.
  */
 @Slf4j
 @Service
+@Qualifier(CalculatorService.ENGINE)
+@ConditionalOnProperty(name = "calculator.engine", havingValue = "bigdecimal", matchIfMissing = true)
 public class CalculatorServiceImpl implements CalculatorService {
     private static final MathContext mathContext = MathContext.DECIMAL128;
-    private static final String VALIDATION_NOT_NULL = "{validation.notNull}";
-    private static final Supplier<IllegalArgumentException> NOT_NULL =
-            () -> new IllegalArgumentException(VALIDATION_NOT_NULL);
+
+    private final ExpressionCache expressionCache;
+    private final CalculatorServiceTimers timers;
+
+    /**
+     * Creates the service with its own expression cache of default capacity.
+     */
+    public CalculatorServiceImpl() {
+        this(new ExpressionCache(ExpressionCache.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Creates the service recording its timers in the global registry,
+     * which discards them unless a registry was added to it.
+     *
+     * @param expressionCache the cache of parsed expressions.
+     */
+    public CalculatorServiceImpl(final ExpressionCache expressionCache) {
+        this(expressionCache, Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public CalculatorServiceImpl(final ExpressionCache expressionCache, final MeterRegistry meterRegistry) {
+        this.expressionCache = expressionCache;
+        this.timers = CalculatorServiceTimers.register(meterRegistry, "bigdecimal");
+    }
 
 
     /**
@@ -26,82 +63,134 @@ public class CalculatorServiceImpl implements CalculatorService {
      */
     @Override
     public BigDecimal sum(final CalculatorBinaryOperands calculatorBinaryOperands) {
-        validateOperands(calculatorBinaryOperands);
-
-        log.info("calculate sum of {} and {}",
-                calculatorBinaryOperands.firstNumber(),
-                calculatorBinaryOperands.secondNumber()
-        );
-
-        return calculatorBinaryOperands.firstNumber().add(calculatorBinaryOperands.secondNumber(), mathContext);
+        return trySum(calculatorBinaryOperands).orElseThrow();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public BigDecimal sub(CalculatorBinaryOperands calculatorBinaryOperands) {
-        validateOperands(calculatorBinaryOperands);
+    public CalculationResult trySum(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return CalculatorServiceSupport.tryBinary("sum", calculatorBinaryOperands, CalculationResult::validate,
+                timers.sum(), TieredArithmetic::sum,
+                (first, second) -> first.add(second, mathContext));
+    }
 
-        log.info("calculate subtraction of {} and {}",
-                calculatorBinaryOperands.firstNumber(),
-                calculatorBinaryOperands.secondNumber()
-        );
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal sub(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return trySub(calculatorBinaryOperands).orElseThrow();
+    }
 
-        return calculatorBinaryOperands.firstNumber().subtract(calculatorBinaryOperands.secondNumber(), mathContext);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult trySub(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return CalculatorServiceSupport.tryBinary("subtraction", calculatorBinaryOperands, CalculationResult::validate,
+                timers.sub(), TieredArithmetic::sub,
+                (first, second) -> first.subtract(second, mathContext));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public BigDecimal mult(CalculatorBinaryOperands calculatorBinaryOperands) {
-        validateOperands(calculatorBinaryOperands);
+    public BigDecimal mult(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return tryMult(calculatorBinaryOperands).orElseThrow();
+    }
 
-        log.info("calculate mult of {} and {}",
-                calculatorBinaryOperands.firstNumber(),
-                calculatorBinaryOperands.secondNumber()
-        );
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult tryMult(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return CalculatorServiceSupport.tryBinary("mult", calculatorBinaryOperands, CalculationResult::validate,
+                timers.mult(), TieredArithmetic::mult,
+                (first, second) -> first.multiply(second, mathContext));
+    }
 
-        return calculatorBinaryOperands.firstNumber().multiply(calculatorBinaryOperands.secondNumber(), mathContext);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal division(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return tryDivision(calculatorBinaryOperands).orElseThrow();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public BigDecimal division(CalculatorBinaryOperands calculatorBinaryOperands) {
-        validateOperands(calculatorBinaryOperands);
-        validateDivision(calculatorBinaryOperands.secondNumber());
+    public CalculationResult tryDivision(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return CalculatorServiceSupport.tryBinary("div", calculatorBinaryOperands, CalculationResult::validateDivision,
+                timers.division(), TieredArithmetic::division,
+                (first, second) -> first.divide(second, mathContext));
+    }
 
-        log.info("calculate div of {} and {}",
-                calculatorBinaryOperands.firstNumber(),
-                calculatorBinaryOperands.secondNumber()
-        );
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal evaluate(final String expression) {
+        return tryEvaluate(expression).orElseThrow();
+    }
 
-        return calculatorBinaryOperands.firstNumber().divide(calculatorBinaryOperands.secondNumber(), mathContext);
+    /**
+     * {@inheritDoc}
+     * Malformed expressions are still reported by the parser with an exception, which has no stack trace.
+     */
+    @Override
+    public CalculationResult tryEvaluate(final String expression) {
+        final long start = System.nanoTime();
+        try {
+            if (expression == null) {
+                return CalculationResult.NULL_OPERAND;
+            }
+
+            log.debug("evaluate expression {}", expression);
+
+            final Expression parsed;
+            try {
+                parsed = expressionCache.get(expression);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                return CalculationResult.invalid(illegalArgumentException.getMessage());
+            }
+            return parsed.tryEvaluate(this);
+        } finally {
+            CalculatorServiceTimers.record(timers.evaluate(), start);
+        }
     }
 
     /**
-     * Validates the value of parameters.
-     *
-     * @param calculatorBinaryOperands containing the values.
+     * {@inheritDoc}
      */
-    private void validateOperands(final CalculatorBinaryOperands calculatorBinaryOperands) {
-        Optional.ofNullable(calculatorBinaryOperands).orElseThrow(NOT_NULL);
-        Optional.ofNullable(calculatorBinaryOperands.firstNumber()).orElseThrow(NOT_NULL);
-        Optional.ofNullable(calculatorBinaryOperands.secondNumber()).orElseThrow(NOT_NULL);
+    @Override
+    public BigDecimal sumAll(final List<BigDecimal> operands) {
+        final long start = System.nanoTime();
+        try {
+            log.debug("calculate sum of {} operands", operands == null ? 0 : operands.size());
+
+            return CalculatorReduction.sumAll(operands);
+        } finally {
+            CalculatorServiceTimers.record(timers.sumAll(), start);
+        }
     }
 
     /**
-     * Validates that divisor is not zero.
-     *
-     * @param divisor the divisor.
+     * {@inheritDoc}
      */
-    private void validateDivision(final BigDecimal divisor) {
-        if(divisor.compareTo(BigDecimal.ZERO) == 0) {
-            log.error("Division by zero attempted");
-            throw new ArithmeticException("Division by 0 is not allowed");
+    @Override
+    public BigDecimal productAll(final List<BigDecimal> operands) {
+        final long start = System.nanoTime();
+        try {
+            log.debug("calculate product of {} operands", operands == null ? 0 : operands.size());
+
+            return CalculatorReduction.productAll(operands);
+        } finally {
+            CalculatorServiceTimers.record(timers.productAll(), start);
         }
     }
-}
\ No newline at end of file
+}
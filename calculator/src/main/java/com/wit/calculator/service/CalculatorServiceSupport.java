@@ -0,0 +1,69 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Binary operations shared by the engines, which only supply the arithmetic of the default precision.
+ * Operations are timed, validated without allocating nor throwing, and computed with {@link TieredArithmetic}
+ * for the other precision tiers; an {@link ArithmeticException} of the arithmetic, such as an overflow of a lower
+ * tier, is caught into a failure. The operations passed in are method references or lambdas capturing nothing,
+ * so that a call allocates no function object.
+ */
+@Slf4j
+final class CalculatorServiceSupport {
+    private CalculatorServiceSupport() {
+    }
+
+    /**
+     * Computes a binary operation.
+     *
+     * @param name the name of the operation in the debug log.
+     * @param calculatorBinaryOperands the operands.
+     * @param validator the validation of the operands, returning their failure or {@code null} if they are valid.
+     * @param timer the timer of the operation.
+     * @param tierOperation the operation of the precision tiers other than the default.
+     * @param operation the operation of the engine at the default precision.
+     *
+     * @return the result of the operation, or its failure.
+     */
+    static CalculationResult tryBinary(
+            final String name,
+            final CalculatorBinaryOperands calculatorBinaryOperands,
+            final Function<CalculatorBinaryOperands, CalculationResult> validator,
+            final Timer timer,
+            final Function<CalculatorBinaryOperands, BigDecimal> tierOperation,
+            final BinaryOperator<BigDecimal> operation
+    ) {
+        final long start = System.nanoTime();
+        try {
+            final CalculationResult invalid = validator.apply(calculatorBinaryOperands);
+            if (invalid != null) {
+                log.debug("invalid {} operands: {}", name, invalid.message());
+                return invalid;
+            }
+
+            log.debug("calculate {} of {} and {}",
+                    name,
+                    calculatorBinaryOperands.firstNumber(),
+                    calculatorBinaryOperands.secondNumber()
+            );
+
+            if (!calculatorBinaryOperands.isDefaultPrecision()) {
+                return CalculationResult.success(tierOperation.apply(calculatorBinaryOperands));
+            }
+            return CalculationResult.success(
+                    operation.apply(calculatorBinaryOperands.firstNumber(), calculatorBinaryOperands.secondNumber()));
+        } catch (ArithmeticException arithmeticException) {
+            return CalculationResult.arithmetic(arithmeticException.getMessage());
+        } finally {
+            CalculatorServiceTimers.record(timer, start);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.wit.calculator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of the calculator engines, one per operation, published as {@code calculator.service}
+ * with percentile histograms and tagged by engine and operation.
+ * Registered once per engine, so the hot path only reads a field and records a duration.
+ *
+ * @param sum the timer of {@link CalculatorService#sum}.
+ * @param sub the timer of {@link CalculatorService#sub}.
+ * @param mult the timer of {@link CalculatorService#mult}.
+ * @param division the timer of {@link CalculatorService#division}.
+ * @param evaluate the timer of {@link CalculatorService#evaluate}.
+ * @param sumAll the timer of {@link CalculatorService#sumAll}.
+ * @param productAll the timer of {@link CalculatorService#productAll}.
+ */
+record CalculatorServiceTimers(
+        Timer sum,
+        Timer sub,
+        Timer mult,
+        Timer division,
+        Timer evaluate,
+        Timer sumAll,
+        Timer productAll
+) {
+    static final String NAME = "calculator.service";
+
+    /**
+     * Registers the timers of an engine.
+     *
+     * @param meterRegistry the registry to register with.
+     * @param engine the value of the engine tag.
+     *
+     * @return the timers.
+     */
+    static CalculatorServiceTimers register(final MeterRegistry meterRegistry, final String engine) {
+        return new CalculatorServiceTimers(
+                timer(meterRegistry, engine, "SUM"),
+                timer(meterRegistry, engine, "SUB"),
+                timer(meterRegistry, engine, "MULT"),
+                timer(meterRegistry, engine, "DIV"),
+                timer(meterRegistry, engine, "EVAL"),
+                timer(meterRegistry, engine, "SUM_ALL"),
+                timer(meterRegistry, engine, "PRODUCT_ALL")
+        );
+    }
+
+    /**
+     * Records the time elapsed since {@code start}.
+     *
+     * @param timer the timer to record to.
+     * @param start the {@link System#nanoTime()} at which the operation started.
+     */
+    static void record(final Timer timer, final long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(final MeterRegistry meterRegistry, final String engine, final String operation) {
+        return Timer.builder(NAME)
+                .description("Time spent computing calculator operations")
+                .tag("engine", engine)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,229 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.decimal.Decimal128;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.expression.Expression;
+import com.wit.calculator.expression.ExpressionCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.function.BinaryOperator;
+
+/**
+ * Calculator core service implementation backed by the fixed width {@link Decimal128} engine.
+ * Selected by {@code calculator.engine=decimal128}.
+ * <p>
+ * Operands are converted to {@link Decimal128} at the edge and results back to {@link BigDecimal}, the
+ * arithmetic itself does not allocate. Results are identical, scale included, to
+ * {@link CalculatorServiceImpl}. Operands with more than 34 digits and results out of the decimal128
+ * exponent range are computed with {@link BigDecimal} instead, as are the N-ary reductions, which need
+ * exact intermediate results. Operands with another precision tier than the default are computed with
+ * {@link TieredArithmetic}.
+ * As in {@link CalculatorServiceImpl}, operations are computed by their {@code try} variants through
+ * {@link CalculatorServiceSupport}, and the throwing methods only convert a failure into its exception.
+ */
+@Slf4j
+@Service
+@Qualifier(CalculatorService.ENGINE)
+@ConditionalOnProperty(name = "calculator.engine", havingValue = "decimal128")
+public class Decimal128CalculatorServiceImpl implements CalculatorService {
+    private static final MathContext mathContext = MathContext.DECIMAL128;
+
+    private final ExpressionCache expressionCache;
+    private final CalculatorServiceTimers timers;
+
+    /**
+     * Creates the service with its own expression cache of default capacity.
+     */
+    public Decimal128CalculatorServiceImpl() {
+        this(new ExpressionCache(ExpressionCache.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Creates the service recording its timers in the global registry,
+     * which discards them unless a registry was added to it.
+     *
+     * @param expressionCache the cache of parsed expressions.
+     */
+    public Decimal128CalculatorServiceImpl(final ExpressionCache expressionCache) {
+        this(expressionCache, Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public Decimal128CalculatorServiceImpl(final ExpressionCache expressionCache, final MeterRegistry meterRegistry) {
+        this.expressionCache = expressionCache;
+        this.timers = CalculatorServiceTimers.register(meterRegistry, "decimal128");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal sum(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return trySum(calculatorBinaryOperands).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult trySum(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return CalculatorServiceSupport.tryBinary("sum", calculatorBinaryOperands, CalculationResult::validate,
+                timers.sum(), TieredArithmetic::sum,
+                (first, second) -> calculate(first, second, Decimal128::add, (a, b) -> a.add(b, mathContext)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal sub(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return trySub(calculatorBinaryOperands).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult trySub(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return CalculatorServiceSupport.tryBinary("subtraction", calculatorBinaryOperands, CalculationResult::validate,
+                timers.sub(), TieredArithmetic::sub,
+                (first, second) -> calculate(first, second, Decimal128::subtract, (a, b) -> a.subtract(b, mathContext)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal mult(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return tryMult(calculatorBinaryOperands).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult tryMult(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return CalculatorServiceSupport.tryBinary("mult", calculatorBinaryOperands, CalculationResult::validate,
+                timers.mult(), TieredArithmetic::mult,
+                (first, second) -> calculate(first, second, Decimal128::multiply, (a, b) -> a.multiply(b, mathContext)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal division(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return tryDivision(calculatorBinaryOperands).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalculationResult tryDivision(final CalculatorBinaryOperands calculatorBinaryOperands) {
+        return CalculatorServiceSupport.tryBinary("div", calculatorBinaryOperands, CalculationResult::validateDivision,
+                timers.division(), TieredArithmetic::division,
+                (first, second) -> calculate(first, second, Decimal128::divide, (a, b) -> a.divide(b, mathContext)));
+    }
+
+    /**
+     * Computes an operation with the decimal128 engine, or with {@link BigDecimal} when out of its range.
+     *
+     * @param firstNumber the first validated operand.
+     * @param secondNumber the second validated operand.
+     * @param operation the decimal128 operation.
+     * @param fallback the equivalent {@link BigDecimal} operation.
+     *
+     * @return the result of the operation.
+     */
+    private static BigDecimal calculate(
+            final BigDecimal firstNumber,
+            final BigDecimal secondNumber,
+            final BinaryOperator<Decimal128> operation,
+            final BinaryOperator<BigDecimal> fallback
+    ) {
+        if (Decimal128.isRepresentable(firstNumber) && Decimal128.isRepresentable(secondNumber)) {
+            try {
+                return operation.apply(Decimal128.valueOf(firstNumber), Decimal128.valueOf(secondNumber))
+                        .toBigDecimal();
+            } catch (ArithmeticException exponentOutOfRange) {
+                log.debug("decimal128 exponent out of range, falling back to BigDecimal");
+            }
+        }
+        return fallback.apply(firstNumber, secondNumber);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal evaluate(final String expression) {
+        return tryEvaluate(expression).orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Malformed expressions are still reported by the parser with an exception, which has no stack trace.
+     */
+    @Override
+    public CalculationResult tryEvaluate(final String expression) {
+        final long start = System.nanoTime();
+        try {
+            if (expression == null) {
+                return CalculationResult.NULL_OPERAND;
+            }
+
+            log.debug("evaluate expression {}", expression);
+
+            final Expression parsed;
+            try {
+                parsed = expressionCache.get(expression);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                return CalculationResult.invalid(illegalArgumentException.getMessage());
+            }
+            return parsed.tryEvaluate(this);
+        } finally {
+            CalculatorServiceTimers.record(timers.evaluate(), start);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal sumAll(final List<BigDecimal> operands) {
+        final long start = System.nanoTime();
+        try {
+            log.debug("calculate sum of {} operands", operands == null ? 0 : operands.size());
+
+            return CalculatorReduction.sumAll(operands);
+        } finally {
+            CalculatorServiceTimers.record(timers.sumAll(), start);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal productAll(final List<BigDecimal> operands) {
+        final long start = System.nanoTime();
+        try {
+            log.debug("calculate product of {} operands", operands == null ? 0 : operands.size());
+
+            return CalculatorReduction.productAll(operands);
+        } finally {
+            CalculatorServiceTimers.record(timers.productAll(), start);
+        }
+    }
+}
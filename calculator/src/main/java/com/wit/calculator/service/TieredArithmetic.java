@@ -0,0 +1,180 @@
+package com.wit.calculator.service;
+
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorPrecision;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Binary operations of the precision tiers other than the default, shared by the engines.
+ * <ul>
+ *     <li>{@link CalculatorPrecision#DOUBLE}: computed on {@code double}, the result has the value of
+ *     {@link BigDecimal#valueOf(double)}, the shortest decimal that rounds to the {@code double} result.</li>
+ *     <li>{@link CalculatorPrecision#DECIMAL64}: sums, subtractions and multiplications are computed on
+ *     {@code long} when the operands have at most 18 digits and the exact result at most 16, the result is then
+ *     exact and identical to {@link BigDecimal}'s. Otherwise, and for divisions, {@link BigDecimal} rounds to
+ *     16 digits, which is still cheaper than 34.</li>
+ *     <li>{@link CalculatorPrecision#DECIMAL128} with another rounding mode: {@link BigDecimal}.</li>
+ * </ul>
+ * The math contexts are the shared instances of {@link CalculatorPrecision#mathContext}. Operands are validated
+ * by the engines, divisors included.
+ */
+final class TieredArithmetic {
+    private static final int LONG_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[LONG_DIGITS + 1];
+    private static final long DECIMAL64_LIMIT;
+    /** Powers of ten exactly representable as {@code double}. */
+    private static final double[] DOUBLE_POWERS_OF_TEN = new double[23];
+    /** Integers up to 2^53 are exactly representable as {@code double}. */
+    private static final double DOUBLE_EXACT_LIMIT = 0x1p53;
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i <= LONG_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+        DECIMAL64_LIMIT = POWERS_OF_TEN[CalculatorPrecision.DECIMAL64.digits()];
+        DOUBLE_POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+            DOUBLE_POWERS_OF_TEN[i] = DOUBLE_POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    private TieredArithmetic() {}
+
+    static BigDecimal sum(final CalculatorBinaryOperands operands) {
+        final BigDecimal first = operands.firstNumber();
+        final BigDecimal second = operands.secondNumber();
+        return switch (operands.precision()) {
+            case DOUBLE -> toBigDecimal(toDouble(first) + toDouble(second));
+            case DECIMAL64 -> {
+                final BigDecimal result = addLong(first, second, false);
+                yield result != null ? result : first.add(second, operands.mathContext());
+            }
+            case DECIMAL128 -> first.add(second, operands.mathContext());
+        };
+    }
+
+    static BigDecimal sub(final CalculatorBinaryOperands operands) {
+        final BigDecimal first = operands.firstNumber();
+        final BigDecimal second = operands.secondNumber();
+        return switch (operands.precision()) {
+            case DOUBLE -> toBigDecimal(toDouble(first) - toDouble(second));
+            case DECIMAL64 -> {
+                final BigDecimal result = addLong(first, second, true);
+                yield result != null ? result : first.subtract(second, operands.mathContext());
+            }
+            case DECIMAL128 -> first.subtract(second, operands.mathContext());
+        };
+    }
+
+    static BigDecimal mult(final CalculatorBinaryOperands operands) {
+        final BigDecimal first = operands.firstNumber();
+        final BigDecimal second = operands.secondNumber();
+        return switch (operands.precision()) {
+            case DOUBLE -> toBigDecimal(toDouble(first) * toDouble(second));
+            case DECIMAL64 -> {
+                final BigDecimal result = multiplyLong(first, second);
+                yield result != null ? result : first.multiply(second, operands.mathContext());
+            }
+            case DECIMAL128 -> first.multiply(second, operands.mathContext());
+        };
+    }
+
+    static BigDecimal division(final CalculatorBinaryOperands operands) {
+        final BigDecimal first = operands.firstNumber();
+        final BigDecimal second = operands.secondNumber();
+        final MathContext mathContext = operands.mathContext();
+        return switch (operands.precision()) {
+            case DOUBLE -> toBigDecimal(toDouble(first) / toDouble(second));
+            case DECIMAL64, DECIMAL128 -> first.divide(second, mathContext);
+        };
+    }
+
+    /**
+     * Exact sum or difference on {@code long}, aligning the operands to the larger scale.
+     *
+     * @return the result, or {@code null} when an operand, the alignment or the result does not fit.
+     */
+    private static BigDecimal addLong(final BigDecimal first, final BigDecimal second, final boolean subtract) {
+        if (first.precision() > LONG_DIGITS || second.precision() > LONG_DIGITS) {
+            return null;
+        }
+        final int scale = Math.max(first.scale(), second.scale());
+        final long firstAligned = align(first, scale);
+        final long secondAligned = align(second, scale);
+        if (firstAligned == Long.MIN_VALUE || secondAligned == Long.MIN_VALUE) {
+            return null;
+        }
+        // Both magnitudes are below 10^18, their sum cannot overflow
+        final long result = subtract ? firstAligned - secondAligned : firstAligned + secondAligned;
+        return Math.abs(result) < DECIMAL64_LIMIT ? BigDecimal.valueOf(result, scale) : null;
+    }
+
+    /**
+     * Exact product on {@code long}.
+     *
+     * @return the result, or {@code null} when an operand or the result does not fit.
+     */
+    private static BigDecimal multiplyLong(final BigDecimal first, final BigDecimal second) {
+        if (first.precision() + second.precision() > LONG_DIGITS) {
+            return null;
+        }
+        final long scale = (long) first.scale() + second.scale();
+        if (scale != (int) scale) {
+            return null;
+        }
+        final long result = first.unscaledValue().longValue() * second.unscaledValue().longValue();
+        return Math.abs(result) < DECIMAL64_LIMIT ? BigDecimal.valueOf(result, (int) scale) : null;
+    }
+
+    /**
+     * @return the unscaled value of the operand at the given larger scale, {@link Long#MIN_VALUE} when it would
+     * have more than 18 digits.
+     */
+    private static long align(final BigDecimal operand, final int scale) {
+        final long shift = (long) scale - operand.scale();
+        if (operand.precision() + shift > LONG_DIGITS) {
+            return Long.MIN_VALUE;
+        }
+        return operand.unscaledValue().longValue() * POWERS_OF_TEN[(int) shift];
+    }
+
+    /**
+     * Converts an operand to the nearest {@code double}. When the unscaled value and the power of ten are both
+     * exact doubles, a single multiplication or division rounds once, which gives the result of
+     * {@link BigDecimal#doubleValue()} without its general conversion.
+     */
+    private static double toDouble(final BigDecimal operand) {
+        final int scale = operand.scale();
+        if (operand.precision() <= LONG_DIGITS && Math.abs(scale) < DOUBLE_POWERS_OF_TEN.length) {
+            // Scale 0 keeps the compact unscaled value, which longValue returns as is
+            final long unscaled = operand.scaleByPowerOfTen(scale).longValue();
+            if (Math.abs(unscaled) <= DOUBLE_EXACT_LIMIT) {
+                return scale >= 0 ? unscaled / DOUBLE_POWERS_OF_TEN[scale] : unscaled * DOUBLE_POWERS_OF_TEN[-scale];
+            }
+        }
+        return operand.doubleValue();
+    }
+
+    /**
+     * Converts a {@code double} result to the decimal with the fewest fraction digits that converts back to it.
+     * While the scaled result is an exact {@code double} integer, dividing it by an exact power of ten rounds
+     * once, so the round trip is checked with primitive arithmetic only. Other results go through
+     * {@link BigDecimal#valueOf(double)}, which formats and parses the shortest decimal string.
+     */
+    private static BigDecimal toBigDecimal(final double result) {
+        if (!Double.isFinite(result)) {
+            throw new ArithmeticException("Result out of the double range");
+        }
+        final double magnitude = Math.abs(result);
+        for (int scale = 0; scale < DOUBLE_POWERS_OF_TEN.length && magnitude * DOUBLE_POWERS_OF_TEN[scale] < DOUBLE_EXACT_LIMIT; scale++) {
+            final long unscaled = Math.round(result * DOUBLE_POWERS_OF_TEN[scale]);
+            if (unscaled / DOUBLE_POWERS_OF_TEN[scale] == result) {
+                return BigDecimal.valueOf(unscaled, scale);
+            }
+        }
+        return BigDecimal.valueOf(result);
+    }
+}
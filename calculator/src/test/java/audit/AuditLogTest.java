@@ -0,0 +1,118 @@
+package audit;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.audit.AuditRecord;
+import com.wit.calculator.audit.AuditRingBuffer;
+import com.wit.calculator.kafka.CalculationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+    private static final CalculationEvent SUM = new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("3"));
+    private static final CalculationEvent DIV = new CalculationEvent("DIV", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("0.5"));
+
+    private AuditLog auditLog;
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        if (auditLog != null) {
+            auditLog.stop();
+        }
+    }
+
+    @Test
+    void record_samplesPerOperation() {
+        auditLog = new AuditLog(0, "DIV:1", "", 1024, false, new SimpleMeterRegistry());
+        auditLog.start();
+
+        for (int i = 0; i < 100; i++) {
+            auditLog.record(AuditLog.REST, SUM);
+            auditLog.record(AuditLog.REST, DIV);
+        }
+        auditLog.stop();
+
+        assertEquals(100, auditLog.written());
+        assertEquals(0, auditLog.dropped());
+    }
+
+    @Test
+    void record_forcesListedClients() {
+        auditLog = new AuditLog(0, "", "debug-client, other", 1024, false, new SimpleMeterRegistry());
+        auditLog.start();
+
+        auditLog.record(AuditLog.REST, SUM);
+        MDC.put(AuditLog.CLIENT, "debug-client");
+        auditLog.record(AuditLog.REST, SUM);
+        MDC.put(AuditLog.CLIENT, "someone-else");
+        auditLog.record(AuditLog.REST, SUM);
+        auditLog.stop();
+
+        assertEquals(1, auditLog.written());
+    }
+
+    @Test
+    void record_dropsWhenBufferIsFull() {
+        auditLog = new AuditLog(1, "", "", 4, false, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            auditLog.record(AuditLog.CONSUMER, SUM);
+        }
+
+        assertEquals(6, auditLog.dropped());
+    }
+
+    @Test
+    void format_writesOneJsonLine() {
+        var line = AuditLog.format(new AuditRecord(0, AuditLog.REST, "a\"b", CalculationEvent.evaluation("1 /\n2", new BigDecimal("0.5")), true));
+
+        assertEquals("{\"timestamp\":\"1970-01-01T00:00:00Z\",\"source\":\"rest\",\"client\":\"a\\\"b\","
+                + "\"operation\":\"EVAL\",\"expression\":\"1 /\\n2\",\"result\":0.5,\"forced\":true}", line);
+    }
+
+    @Test
+    void ringBuffer_deliversEveryRecordOnceAcrossProducers() throws Exception {
+        var buffer = new AuditRingBuffer(1 << 16);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    assertTrue(buffer.offer(new AuditRecord(producer * perProducer + i, "test", null, SUM, false)));
+                }
+            });
+        }
+        start.countDown();
+
+        Set<Long> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            AuditRecord auditRecord = buffer.poll();
+            if (auditRecord != null) {
+                assertTrue(seen.add(auditRecord.timestamp()));
+            }
+        }
+        executor.shutdown();
+
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+}
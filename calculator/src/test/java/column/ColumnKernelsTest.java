@@ -0,0 +1,101 @@
+package column;
+
+import com.wit.calculator.column.ColumnKernels;
+import com.wit.calculator.column.ScalarColumnKernels;
+import com.wit.calculator.column.VectorColumnKernels;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.service.CalculatorColumnServiceImpl;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnKernelsTest {
+    // Not a multiple of any vector length, so that the scalar tail runs
+    private static final int ROWS = 1_003;
+
+    private final ColumnKernels vector = new VectorColumnKernels();
+    private final ColumnKernels scalar = ScalarColumnKernels.INSTANCE;
+
+    @Test
+    void best_usesVectorKernelsWhenModuleIsEnabled() {
+        assertTrue(ColumnKernels.best().name().startsWith("vector-"));
+    }
+
+    @Test
+    void vector_matchesScalarOnDoubles() {
+        var random = new Random(42);
+        var first = random.doubles(ROWS, -1e6, 1e6).toArray();
+        var second = random.doubles(ROWS, -1e6, 1e6).toArray();
+        second[7] = 0;
+
+        var expected = new double[ROWS];
+        var actual = new double[ROWS];
+        scalar.div(first, second, expected);
+        vector.div(first, second, actual);
+        assertArrayEquals(expected, actual);
+        assertTrue(Double.isInfinite(actual[7]));
+
+        scalar.mult(first, second, expected);
+        vector.mult(first, second, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void vector_matchesScalarOnLongs() {
+        var random = new Random(42);
+        var first = random.longs(ROWS, -1L << 40, 1L << 40).toArray();
+        var second = random.longs(ROWS, -1L << 40, 1L << 40).toArray();
+
+        var expected = new long[ROWS];
+        var actual = new long[ROWS];
+        scalar.sum(first, second, expected);
+        vector.sum(first, second, actual);
+        assertArrayEquals(expected, actual);
+
+        scalar.sub(first, second, expected);
+        vector.sub(first, second, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void vector_throwsOnLongOverflow() {
+        var first = new long[ROWS];
+        var second = new long[ROWS];
+        first[3] = Long.MAX_VALUE;
+        second[3] = 1;
+        first[ROWS - 1] = Long.MIN_VALUE;
+        second[ROWS - 2] = 1;
+
+        assertThrows(ArithmeticException.class, () -> vector.sum(first, second, new long[ROWS]));
+        assertThrows(ArithmeticException.class, () -> vector.sub(second, first, new long[ROWS]));
+        assertThrows(ArithmeticException.class, () -> scalar.sum(first, second, new long[ROWS]));
+    }
+
+    @Test
+    void service_doublesAreLossyAndDecimalsExact() {
+        var service = new CalculatorColumnServiceImpl(new CalculatorServiceImpl(), vector);
+
+        var doubles = service.evaluate(CalculatorOperation.SUM, new double[]{0.1}, new double[]{0.2});
+        var decimals = service.evaluate(CalculatorOperation.SUM,
+                new BigDecimal[]{new BigDecimal("0.1")}, new BigDecimal[]{new BigDecimal("0.2")});
+
+        assertEquals(0.30000000000000004, doubles[0]);
+        assertEquals(new BigDecimal("0.3"), decimals[0]);
+    }
+
+    @Test
+    void service_rejectsInvalidColumns() {
+        var service = new CalculatorColumnServiceImpl(new CalculatorServiceImpl(), vector);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.evaluate(CalculatorOperation.DIV, new long[]{1}, new long[]{2}));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.evaluate(CalculatorOperation.SUM, new double[]{1, 2}, new double[]{1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.evaluate(CalculatorOperation.SUM, null, new double[]{1}));
+    }
+}
@@ -0,0 +1,71 @@
+package expression;
+
+import com.wit.calculator.expression.Expression;
+import com.wit.calculator.expression.ExpressionCache;
+import com.wit.calculator.expression.ExpressionParser;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionCacheTest {
+    private final CalculatorServiceImpl service = new CalculatorServiceImpl();
+
+    @Test
+    void parse_respectsPrecedenceAndParentheses() {
+        assertEquals(new BigDecimal("7"), ExpressionParser.parse("1 + 2 * 3").evaluate(service));
+        assertEquals(new BigDecimal("9"), ExpressionParser.parse("(1 + 2) * 3").evaluate(service));
+        assertEquals(new BigDecimal("4"), ExpressionParser.parse("(10.5 + 5.5) * 2 / 8.0").evaluate(service));
+        assertEquals(new BigDecimal("-1"), ExpressionParser.parse("-(3 - 2)").evaluate(service));
+        assertEquals(new BigDecimal("5"), ExpressionParser.parse("2 - -3").evaluate(service));
+        assertEquals(new BigDecimal("1"), ExpressionParser.parse("8 / 4 / 2").evaluate(service));
+    }
+
+    @Test
+    void parse_rejectsInvalidExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("1 +"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("(1 + 2"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("1 + a"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("(".repeat(1000) + "1" + ")".repeat(1000)));
+    }
+
+    @Test
+    void get_countsHitsAndMisses() {
+        var cache = new ExpressionCache(16);
+
+        Expression first = cache.get("1 + 1");
+        Expression second = cache.get("1 + 1");
+
+        assertSame(first, second);
+        assertEquals(new ExpressionCache.Stats(1, 1, 1, 16), cache.stats());
+    }
+
+    @Test
+    void get_keepsAtMostCapacityExpressions() {
+        var cache = new ExpressionCache(2);
+
+        cache.get("1");
+        cache.get("2");
+        cache.get("1");
+        cache.get("3");
+        cache.get("1");
+        cache.get("2");
+
+        var stats = cache.stats();
+        assertEquals(2, stats.size());
+        assertEquals(6, stats.hits() + stats.misses());
+        assertTrue(stats.hits() >= 1);
+    }
+
+    @Test
+    void get_doesNotCacheInvalidExpressions() {
+        var cache = new ExpressionCache(16);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get("1 +"));
+
+        assertEquals(0, cache.stats().size());
+    }
+}
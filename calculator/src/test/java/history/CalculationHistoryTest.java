@@ -0,0 +1,94 @@
+package history;
+
+import com.wit.calculator.audit.AuditRecord;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.history.CalculationHistory;
+import com.wit.calculator.kafka.CalculationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationHistoryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void record_isReadBackByTimeRange() throws InterruptedException {
+        var history = history(true);
+        history.start();
+        var events = List.of(
+                new CalculationEvent("DIV", BigDecimal.ONE, new BigDecimal("3"), null, CalculatorPrecision.DECIMAL64, RoundingMode.UP)
+                        .withId(7),
+                CalculationEvent.evaluation("(1 + 2) * 3", null)
+        );
+        var results = List.of(new BigDecimal("0.3333333333333334"), new BigDecimal("9"));
+        try {
+            for (int i = 0; i < events.size(); i++) {
+                history.record(events.get(i), results.get(i));
+            }
+            for (int i = 0; i < 500 && history.written() < events.size(); i++) {
+                Thread.sleep(10);
+            }
+
+            var records = new ArrayList<AuditRecord>();
+            history.scan(Instant.now().minusSeconds(60), Instant.now(), records::add);
+
+            assertEquals(2, records.size());
+            assertEquals(events.get(0).withResult(results.get(0)), records.get(0).calculationEvent());
+            assertEquals(events.get(1).withResult(results.get(1)), records.get(1).calculationEvent());
+            assertEquals(0, history.dropped());
+        } finally {
+            history.stop();
+        }
+
+        // Reopened with the records of the previous run
+        var reopened = history(true);
+        reopened.start();
+        try {
+            var count = new int[1];
+            reopened.scan(Instant.EPOCH, Instant.now(), auditRecord -> ++count[0] > 0);
+            assertEquals(2, count[0]);
+        } finally {
+            reopened.stop();
+        }
+    }
+
+    @Test
+    void stop_closesTheLog() {
+        var history = history(true);
+        history.start();
+
+        history.stop();
+
+        assertFalse(history.isRunning());
+        assertThrows(IllegalStateException.class, () -> history.scan(Instant.EPOCH, Instant.now(), auditRecord -> true));
+    }
+
+    @Test
+    void record_doesNothingWhenDisabled() {
+        var history = history(false);
+        history.start();
+
+        history.record(new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, null), new BigDecimal("3"));
+
+        assertFalse(history.isRunning());
+        assertEquals(0, history.written());
+        assertThrows(IllegalStateException.class, () -> history.scan(Instant.EPOCH, Instant.now(), auditRecord -> true));
+    }
+
+    private CalculationHistory history(final boolean enabled) {
+        return new CalculationHistory(enabled, directory, DataSize.ofKilobytes(64), DataSize.ofKilobytes(1),
+                Duration.ofDays(1), Duration.ofMillis(100), 1024, false, new SimpleMeterRegistry());
+    }
+}
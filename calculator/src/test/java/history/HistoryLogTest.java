@@ -0,0 +1,179 @@
+package history;
+
+import com.wit.calculator.history.HistoryLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryLogTest {
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void scan_returnsTheRecordsOfTheRangeInOrder() throws IOException {
+        try (var log = HistoryLog.open(directory, 64 * 1024, 256, RETENTION)) {
+            for (int i = 0; i < 1_000; i++) {
+                log.append(1_000 + i, payload(i));
+            }
+
+            assertEquals(List.of("record-100", "record-101", "record-102"), scan(log, 1_100, 1_102));
+            assertEquals(1_000, scan(log, 0, Long.MAX_VALUE).size());
+            assertEquals(List.of(), scan(log, 2_000, 3_000));
+            assertEquals(1_000, log.records());
+        }
+    }
+
+    @Test
+    void scan_stopsWhenTheVisitorReturnsFalse() throws IOException {
+        try (var log = HistoryLog.open(directory, 64 * 1024, 256, RETENTION)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(i, payload(i));
+            }
+            var visited = new ArrayList<Long>();
+
+            log.scan(0, 9, (timestamp, payload) -> visited.add(timestamp) && visited.size() < 3);
+
+            assertEquals(List.of(0L, 1L, 2L), visited);
+        }
+    }
+
+    @Test
+    void append_rollsFullSegmentsAndScansAcrossThem() throws IOException {
+        try (var log = HistoryLog.open(directory, 1_024, 128, RETENTION)) {
+            for (int i = 0; i < 200; i++) {
+                log.append(i, payload(i));
+            }
+
+            assertTrue(log.segments() > 1);
+            assertEquals(200, log.records());
+            var range = scan(log, 40, 160);
+            assertEquals(121, range.size());
+            assertEquals("record-40", range.get(0));
+            assertEquals("record-160", range.get(range.size() - 1));
+            assertEquals(log.segments(), logFiles().size());
+        }
+    }
+
+    @Test
+    void append_keepsTimestampsMonotonic() throws IOException {
+        try (var log = HistoryLog.open(directory, 64 * 1024, 256, RETENTION)) {
+            log.append(10, payload(0));
+            log.append(5, payload(1));
+            var timestamps = new ArrayList<Long>();
+
+            log.scan(0, 100, (timestamp, payload) -> timestamps.add(timestamp));
+
+            assertEquals(List.of(10L, 10L), timestamps);
+        }
+    }
+
+    @Test
+    void open_recoversTheRecordsOfAPreviousLog() throws IOException {
+        try (var log = HistoryLog.open(directory, 1_024, 128, RETENTION)) {
+            for (int i = 0; i < 100; i++) {
+                log.append(i, payload(i));
+            }
+        }
+
+        try (var log = HistoryLog.open(directory, 1_024, 128, RETENTION)) {
+            assertEquals(100, log.records());
+            log.append(100, payload(100));
+
+            var all = scan(log, 0, Long.MAX_VALUE);
+            assertEquals(101, all.size());
+            assertEquals("record-99", all.get(99));
+            assertEquals("record-100", all.get(100));
+        }
+    }
+
+    @Test
+    void close_releasesTheSegmentsAndRejectsLaterScans() throws IOException {
+        var log = HistoryLog.open(directory, 1_024, 128, RETENTION);
+        for (int i = 0; i < 100; i++) {
+            log.append(i, payload(i));
+        }
+
+        log.close();
+        log.close();
+
+        assertEquals(0, log.segments());
+        assertThrows(IllegalStateException.class, () -> scan(log, 0, Long.MAX_VALUE));
+        try (var reopened = HistoryLog.open(directory, 1_024, 128, RETENTION)) {
+            assertEquals(100, reopened.records());
+        }
+    }
+
+    @Test
+    void roll_deletesTheSegmentsOlderThanTheRetention() throws IOException {
+        try (var log = HistoryLog.open(directory, 1_024, 128, Duration.ofMillis(1_000))) {
+            for (int i = 0; i < 100; i++) {
+                log.append(i, payload(i));
+            }
+            for (int i = 0; i < 100; i++) {
+                log.append(10_000 + i, payload(i));
+            }
+
+            // The segment holding both old and new records is kept until its last record expires
+            var expired = scan(log, 0, 9_999);
+            assertTrue(expired.size() < 100);
+            assertFalse(expired.contains("record-0"));
+            assertFalse(Files.exists(directory.resolve("%020d.log".formatted(0))));
+            assertEquals(100, scan(log, 10_000, Long.MAX_VALUE).size());
+            assertEquals(log.segments(), logFiles().size());
+        }
+    }
+
+    @Test
+    void scan_payloadsAreReadOnly() throws IOException {
+        try (var log = HistoryLog.open(directory, 64 * 1024, 256, RETENTION)) {
+            log.append(1, payload(1));
+
+            log.scan(0, 1, (timestamp, payload) -> {
+                assertTrue(payload.isReadOnly());
+                return true;
+            });
+        }
+    }
+
+    @Test
+    void append_rejectsRecordsLargerThanASegment() throws IOException {
+        try (var log = HistoryLog.open(directory, 1_024, 128, RETENTION)) {
+            assertThrows(IllegalArgumentException.class, () -> log.append(1, new byte[2_048]));
+        }
+    }
+
+    private static byte[] payload(final int i) {
+        return ("record-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> scan(final HistoryLog log, final long from, final long to) {
+        var records = new ArrayList<String>();
+        log.scan(from, to, (timestamp, payload) -> records.add(string(payload)));
+        return records;
+    }
+
+    private static String string(final ByteBuffer payload) {
+        var bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).toList();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package kafka;
+
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventDeduplicator;
+import com.wit.calculator.kafka.EventIdGenerator;
+import com.wit.calculator.kafka.RecentEventIds;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationEventDeduplicatorTest {
+    private static final CalculationEvent EVENT = new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("3"));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventIdGenerator eventIds = new EventIdGenerator(3);
+
+    @Test
+    void seen_skipsRedeliveredEventsAndCountsOutcomes() {
+        var deduplicator = new CalculationEventDeduplicator(true, 1_000, 0.01, meterRegistry);
+        var first = eventIds.assign(EVENT);
+        var second = eventIds.assign(EVENT);
+
+        assertFalse(deduplicator.seen(first));
+        deduplicator.markProcessed(first);
+        assertFalse(deduplicator.seen(second));
+        deduplicator.markProcessed(second);
+        assertTrue(deduplicator.seen(first));
+        assertTrue(deduplicator.seen(second));
+        for (int i = 0; i < 2; i++) {
+            assertFalse(deduplicator.seen(EVENT));
+            deduplicator.markProcessed(EVENT);
+        }
+
+        assertEquals(2, count("unique"));
+        assertEquals(2, count("duplicate"));
+        assertEquals(2, count("unidentified"));
+    }
+
+    @Test
+    void seen_doesNotSkipAnEventUntilItIsProcessed() {
+        var deduplicator = new CalculationEventDeduplicator(true, 1_000, 0.01, meterRegistry);
+        var event = eventIds.assign(EVENT);
+
+        assertFalse(deduplicator.seen(event));
+        assertFalse(deduplicator.seen(event));
+        deduplicator.markProcessed(event);
+        assertTrue(deduplicator.seen(event));
+
+        assertEquals(1, count("unique"));
+        assertEquals(1, count("duplicate"));
+    }
+
+    @Test
+    void seen_processesEverythingWhenDisabled() {
+        var deduplicator = new CalculationEventDeduplicator(false, 1_000, 0.01, meterRegistry);
+        var event = eventIds.assign(EVENT);
+
+        deduplicator.markProcessed(event);
+        assertFalse(deduplicator.seen(event));
+        assertNull(meterRegistry.find("calculator.consumer.dedup").meter());
+    }
+
+    @Test
+    void recentEventIds_neverSkipNewIdsAndRememberTheRecentOnes() {
+        int capacity = 10_000;
+        var recentEventIds = new RecentEventIds(capacity, 0.01);
+        long[] ids = new long[10 * capacity];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = eventIds.next();
+            // A false positive of the Bloom filter must not make a new id a duplicate
+            assertTrue(recentEventIds.add(ids[i]));
+        }
+
+        // Rotating generations keep the false positives around the configured rate
+        assertTrue(recentEventIds.falsePositives() < ids.length * 0.03, () -> "false positives " + recentEventIds.falsePositives());
+
+        int remembered = 0;
+        for (int i = ids.length - capacity / 2; i < ids.length; i++) {
+            remembered += recentEventIds.add(ids[i]) ? 0 : 1;
+        }
+        assertTrue(remembered > capacity / 2 * 0.95, "remembered " + remembered + " of the last " + capacity / 2);
+    }
+
+    @Test
+    void recentEventIds_rejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RecentEventIds(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new RecentEventIds(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RecentEventIds(100, 1));
+    }
+
+    private double count(final String outcome) {
+        return meterRegistry.get("calculator.consumer.dedup").tag("outcome", outcome).functionCounter().count();
+    }
+}
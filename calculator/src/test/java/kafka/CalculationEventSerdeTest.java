@@ -0,0 +1,111 @@
+package kafka;
+
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventDeserializer;
+import com.wit.calculator.kafka.CalculationEventSerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationEventSerdeTest {
+    private static final String TOPIC = "calculator.events";
+
+    private final CalculationEventSerializer serializer = new CalculationEventSerializer();
+    private final CalculationEventDeserializer deserializer = new CalculationEventDeserializer();
+
+    @Test
+    void roundTrip_keepsValuesAndScales() {
+        var events = new CalculationEvent[]{
+                new CalculationEvent("DIV", new BigDecimal("1234567.891"), new BigDecimal("3.5"),
+                        new BigDecimal("352733.6831428571428571428571428571")),
+                new CalculationEvent("SUM", new BigDecimal("1.000"), new BigDecimal("-2E+5"), new BigDecimal("-199998.999")),
+                new CalculationEvent("MULT", new BigDecimal("-0.00"), new BigDecimal("9".repeat(60)), null),
+                new CalculationEvent("POW", BigDecimal.TWO, BigDecimal.TEN, null),
+                CalculationEvent.evaluation("(1 + 2) * 3 — ünïcode", new BigDecimal("9")),
+                new CalculationEvent("DIV", BigDecimal.ONE, new BigDecimal("3"), new BigDecimal("0.3333333333333334"),
+                        CalculatorPrecision.DECIMAL64, RoundingMode.UP),
+                new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("3"), CalculatorPrecision.DOUBLE, null),
+                new CalculationEvent("SUB", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("-1")).withId(Long.MAX_VALUE),
+                CalculationEvent.evaluation("2 * 3", new BigDecimal("6")).withId(0x0102030405060708L)
+        };
+
+        for (var event : events) {
+            var headers = new RecordHeaders();
+            var bytes = serializer.serialize(TOPIC, headers, event);
+
+            assertEquals(event, deserializer.deserialize(TOPIC, headers, bytes));
+            assertEquals(event, deserializer.deserialize(TOPIC, bytes));
+            assertEquals(CalculationEventSerializer.VERSION,
+                    headers.lastHeader(CalculationEventSerializer.VERSION_HEADER).value()[0]);
+        }
+    }
+
+    @Test
+    void deserialize_readsByteBuffersInPlace() {
+        var event = new CalculationEvent("DIV", new BigDecimal("1234567.891"), new BigDecimal("3.5"),
+                new BigDecimal("352733.6831428571428571428571428571"), CalculatorPrecision.DECIMAL64, RoundingMode.UP)
+                .withId(42);
+        var headers = new RecordHeaders();
+        var bytes = serializer.serialize(TOPIC, headers, event);
+
+        // A slice in the middle of a larger heap buffer, and a direct buffer as mapped files are
+        var heap = ByteBuffer.allocate(bytes.length + 8).position(4).put(bytes).position(4).limit(4 + bytes.length).slice();
+        var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        assertEquals(event, deserializer.deserialize(TOPIC, headers, heap));
+        assertEquals(event, deserializer.deserialize(TOPIC, headers, direct));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    void deserialize_defaultPrecisionIsNotWritten() {
+        var event = new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("3"));
+        var tiered = new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("3"), CalculatorPrecision.DECIMAL64, null);
+
+        // The precision is appended, so readers that predate it read the same event without it
+        var bytes = serializer.serialize(TOPIC, tiered);
+        assertEquals(serializer.serialize(TOPIC, event).length + 2, bytes.length);
+        assertEquals(tiered, deserializer.deserialize(TOPIC, bytes));
+    }
+
+    @Test
+    void serialize_isSmallerThanJson() {
+        var event = new CalculationEvent("DIV", new BigDecimal("1234567.891"), new BigDecimal("3.5"),
+                new BigDecimal("352733.6831428571428571428571428571"));
+        try (var json = new JsonSerializer<CalculationEvent>()) {
+            assertTrue(serializer.serialize(TOPIC, event).length * 3 < json.serialize(TOPIC, event).length);
+        }
+    }
+
+    @Test
+    void deserialize_readsJsonWithoutVersionHeader() {
+        var json = """
+                {"operation":"SUM","firstOperand":"3","secondOperand":"7","result":"10"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        var event = deserializer.deserialize(TOPIC, new RecordHeaders(), json);
+
+        assertEquals(new CalculationEvent("SUM", new BigDecimal("3"), new BigDecimal("7"), new BigDecimal("10")), event);
+    }
+
+    @Test
+    void deserialize_rejectsUnknownVersionAndMalformedPayloads() {
+        var headers = new RecordHeaders();
+        var bytes = serializer.serialize(TOPIC, headers, new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.ONE, BigDecimal.TWO));
+
+        var future = new RecordHeaders().add(CalculationEventSerializer.VERSION_HEADER, new byte[]{99});
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, future, bytes));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, headers, new byte[]{1, 7, 2}));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, headers, new byte[]{42, 0}));
+        assertNull(deserializer.deserialize(TOPIC, headers, (byte[]) null));
+    }
+}
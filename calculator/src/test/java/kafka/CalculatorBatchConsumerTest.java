@@ -0,0 +1,105 @@
+package kafka;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.history.CalculationHistory;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventDeduplicator;
+import com.wit.calculator.kafka.CalculationEventProcessor;
+import com.wit.calculator.kafka.CalculatorBatchConsumer;
+import com.wit.calculator.kafka.EventIdGenerator;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CalculatorBatchConsumerTest {
+    private final ForkJoinPool executor = new ForkJoinPool(4);
+    private final AuditLog auditLog = mock(AuditLog.class);
+    private final CalculationHistory calculationHistory = mock(CalculationHistory.class);
+    private final CalculationEventProcessor processor = spy(new CalculationEventProcessor(new CalculatorServiceImpl(), new SimpleMeterRegistry()));
+    private final CalculationEventDeduplicator deduplicator = new CalculationEventDeduplicator(true, 1_000, 0.01, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void processEvents_processesEveryEventAcrossChunks() {
+        var consumer = new CalculatorBatchConsumer(processor, deduplicator, auditLog, calculationHistory, executor, 8);
+        List<CalculationEvent> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(new CalculationEvent("SUM", BigDecimal.valueOf(i), BigDecimal.ONE, BigDecimal.valueOf(i + 1)));
+        }
+
+        consumer.processEvents(events);
+
+        verify(processor, times(100)).tryCalculate(any(CalculationEvent.class));
+        verify(auditLog, times(100)).record(eq(AuditLog.CONSUMER), any(CalculationEvent.class));
+    }
+
+    @Test
+    void processEvents_skipsFailingEvents() {
+        var consumer = new CalculatorBatchConsumer(processor, deduplicator, auditLog, calculationHistory, executor, 2);
+        List<CalculationEvent> events = List.of(
+                new CalculationEvent("DIV", BigDecimal.ONE, BigDecimal.ZERO, null),
+                new CalculationEvent("POW", BigDecimal.TWO, BigDecimal.ONE, null),
+                new CalculationEvent("SUM", null, BigDecimal.ONE, null),
+                new CalculationEvent("MULT", BigDecimal.TWO, BigDecimal.TEN, new BigDecimal("20"))
+        );
+
+        assertDoesNotThrow(() -> consumer.processEvents(events));
+        verify(processor, times(4)).tryCalculate(any(CalculationEvent.class));
+        verify(auditLog, times(1)).record(eq(AuditLog.CONSUMER), any(CalculationEvent.class));
+    }
+
+    @Test
+    void processEvents_skipsRedeliveredEvents() {
+        var consumer = new CalculatorBatchConsumer(processor, deduplicator, auditLog, calculationHistory, executor, 8);
+        var eventIds = new EventIdGenerator(0);
+        List<CalculationEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(eventIds.assign(new CalculationEvent("SUM", BigDecimal.valueOf(i), BigDecimal.ONE, BigDecimal.valueOf(i + 1))));
+        }
+
+        consumer.processEvents(events.subList(0, 12));
+        consumer.processEvents(events);
+
+        verify(processor, times(20)).tryCalculate(any(CalculationEvent.class));
+        verify(auditLog, times(20)).record(eq(AuditLog.CONSUMER), any(CalculationEvent.class));
+    }
+
+    @Test
+    void processEvents_processesAgainTheFailedEventsOfAReplayedBatch() {
+        var consumer = new CalculatorBatchConsumer(processor, deduplicator, auditLog, calculationHistory, executor, 8);
+        var eventIds = new EventIdGenerator(0);
+        var failing = eventIds.assign(new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("3")));
+        var events = List.of(
+                eventIds.assign(new CalculationEvent("MULT", BigDecimal.TWO, BigDecimal.TEN, new BigDecimal("20"))),
+                failing
+        );
+        doThrow(new IllegalStateException("History unavailable")).doNothing()
+                .when(calculationHistory).record(failing, new BigDecimal("3"));
+
+        consumer.processEvents(events);
+        consumer.processEvents(events);
+
+        verify(processor, times(3)).tryCalculate(any(CalculationEvent.class));
+        verify(calculationHistory, times(2)).record(failing, new BigDecimal("3"));
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CalculatorBatchConsumer(processor, deduplicator, auditLog, calculationHistory, executor, 0));
+    }
+}
@@ -0,0 +1,80 @@
+package kafka;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.history.CalculationHistory;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventDeduplicator;
+import com.wit.calculator.kafka.CalculationEventProcessor;
+import com.wit.calculator.kafka.CalculatorConsumer;
+import com.wit.calculator.kafka.EventIdGenerator;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CalculatorConsumerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuditLog auditLog = mock(AuditLog.class);
+    private final CalculationHistory calculationHistory = mock(CalculationHistory.class);
+    private final CalculatorConsumer consumer = new CalculatorConsumer(
+            new CalculationEventProcessor(new CalculatorServiceImpl(), meterRegistry),
+            new CalculationEventDeduplicator(false, 1_000, 0.01, meterRegistry),
+            auditLog,
+            calculationHistory
+    );
+
+    @Test
+    void processEvent_recordsTheRecomputedResult() {
+        var event = new CalculationEvent("MULT", BigDecimal.TWO, BigDecimal.TEN, new BigDecimal("20"));
+
+        consumer.processEvent(event);
+
+        verify(auditLog).record(AuditLog.CONSUMER, event);
+        verify(calculationHistory).record(event, new BigDecimal("20"));
+    }
+
+    @Test
+    void processEvent_processesAgainARedeliveryOfAFailedEvent() {
+        var deduplicating = new CalculatorConsumer(
+                new CalculationEventProcessor(new CalculatorServiceImpl(), meterRegistry),
+                new CalculationEventDeduplicator(true, 1_000, 0.01, meterRegistry),
+                auditLog,
+                calculationHistory
+        );
+        var event = new EventIdGenerator(0).assign(
+                new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("3")));
+        doThrow(new IllegalStateException("History unavailable")).doNothing()
+                .when(calculationHistory).record(event, new BigDecimal("3"));
+
+        assertThrows(IllegalStateException.class, () -> deduplicating.processEvent(event));
+        deduplicating.processEvent(event);
+        deduplicating.processEvent(event);
+
+        verify(calculationHistory, times(2)).record(event, new BigDecimal("3"));
+        verify(auditLog, times(2)).record(AuditLog.CONSUMER, event);
+        assertEquals(1, meterRegistry.get("calculator.consumer.dedup").tag("outcome", "duplicate")
+                .functionCounter().count());
+    }
+
+    @Test
+    void processEvent_skipsInvalidEventsWithoutThrowing() {
+        assertDoesNotThrow(() -> {
+            consumer.processEvent(new CalculationEvent("DIV", BigDecimal.ONE, BigDecimal.ZERO, null));
+            consumer.processEvent(new CalculationEvent("POW", BigDecimal.TWO, BigDecimal.ONE, null));
+            consumer.processEvent(new CalculationEvent("SUM", null, BigDecimal.ONE, null));
+            consumer.processEvent(CalculationEvent.evaluation("(1 +", null));
+        });
+
+        verify(auditLog, never()).record(eq(AuditLog.CONSUMER), any(CalculationEvent.class));
+        verifyNoInteractions(calculationHistory);
+        assertEquals(4, meterRegistry.get("calculator.consumer.events").tag("outcome", "failure").timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum());
+    }
+}
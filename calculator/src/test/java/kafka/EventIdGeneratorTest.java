@@ -0,0 +1,102 @@
+package kafka;
+
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.EventIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventIdGeneratorTest {
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void next_isIncreasingAndCarriesTheTimeAndNode() {
+        var clock = new AtomicLong(NOW);
+        var generator = new EventIdGenerator(42, clock::get);
+
+        long first = generator.next();
+        long second = generator.next();
+        clock.addAndGet(5);
+        long third = generator.next();
+
+        assertTrue(first > 0);
+        assertTrue(first < second && second < third);
+        assertEquals(42, first & EventIdGenerator.MAX_NODE_ID);
+        assertEquals(NOW, EventIdGenerator.timestampMillis(first));
+        assertEquals(NOW + 5, EventIdGenerator.timestampMillis(third));
+    }
+
+    @Test
+    void next_staysIncreasingWhenTheClockGoesBackOrTheSequenceOverflows() {
+        var clock = new AtomicLong(NOW);
+        var generator = new EventIdGenerator(0, clock::get);
+
+        long previous = 0;
+        for (int i = 0; i < 5_000; i++) {
+            long id = generator.next();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        clock.addAndGet(-1_000);
+        assertTrue(generator.next() > previous);
+    }
+
+    @Test
+    void next_isUniqueAcrossThreads() throws InterruptedException {
+        var generator = new EventIdGenerator(7);
+        var ids = ConcurrentHashMap.<Long>newKeySet();
+        var start = new CountDownLatch(1);
+        var threads = IntStream.range(0, 4).mapToObj(i -> Thread.ofPlatform().start(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (int j = 0; j < 50_000; j++) {
+                ids.add(generator.next());
+            }
+        })).toList();
+
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(200_000, ids.size());
+    }
+
+    @Test
+    void assign_keepsExistingIds() {
+        var generator = new EventIdGenerator(1);
+        var event = new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.TWO, new BigDecimal("3"));
+
+        var assigned = generator.assign(event);
+        assertNotNull(assigned.id());
+        assertSame(assigned, generator.assign(assigned));
+        assertEquals(event, new CalculationEvent(
+                assigned.operation(), assigned.firstOperand(), assigned.secondOperand(), assigned.result()));
+    }
+
+    @Test
+    void constructor_rejectsOutOfRangeNodeIds() {
+        assertThrows(IllegalArgumentException.class, () -> new EventIdGenerator(EventIdGenerator.MAX_NODE_ID + 1));
+        assertThrows(IllegalArgumentException.class, () -> new EventIdGenerator(-1));
+    }
+
+    @Test
+    void forNode_usesTheConfiguredNodeId() {
+        assertEquals(42, EventIdGenerator.forNode(42, 1).nodeId());
+        assertEquals(42, EventIdGenerator.forNode(42, 3).nodeId());
+        assertEquals(0, EventIdGenerator.forNode(-1, 1).nodeId());
+    }
+
+    @Test
+    void forNode_requiresANodeIdForSeveralProducers() {
+        assertThrows(IllegalStateException.class, () -> EventIdGenerator.forNode(-1, 2));
+    }
+}
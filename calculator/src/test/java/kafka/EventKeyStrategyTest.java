@@ -0,0 +1,58 @@
+package kafka;
+
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.EventKeyStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventKeyStrategyTest {
+    private static final CalculationEvent SUM = new CalculationEvent("SUM", new BigDecimal("1.0"), new BigDecimal("2"), new BigDecimal("3.0"));
+
+    @Test
+    void none_hasNoKey() {
+        assertNull(EventKeyStrategy.NONE.key(SUM, "client-a"));
+    }
+
+    @Test
+    void operation_isTheOperation() {
+        assertEquals("SUM", EventKeyStrategy.OPERATION.key(SUM, "client-a"));
+    }
+
+    @Test
+    void client_isTheClientOfTheRequest() {
+        assertEquals("client-a", EventKeyStrategy.CLIENT.key(SUM, "client-a"));
+        assertNull(EventKeyStrategy.CLIENT.key(SUM, null));
+    }
+
+    @Test
+    void operands_isTheSameForEqualCalculations() {
+        var sameValues = new CalculationEvent("SUM", new BigDecimal("1"), new BigDecimal("2.00"), new BigDecimal("3")).withId(7);
+        var otherOperands = new CalculationEvent("SUM", new BigDecimal("2"), new BigDecimal("1"), new BigDecimal("3"));
+        var otherOperation = new CalculationEvent("MUL", new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("2"));
+        var otherPrecision = new CalculationEvent("SUM", new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("3"),
+                CalculatorPrecision.DECIMAL64, RoundingMode.HALF_UP);
+
+        String key = EventKeyStrategy.OPERANDS.key(SUM, "client-a");
+
+        assertNotNull(key);
+        assertEquals(key, EventKeyStrategy.OPERANDS.key(sameValues, "client-b"));
+        assertNotEquals(key, EventKeyStrategy.OPERANDS.key(otherOperands, "client-a"));
+        assertNotEquals(key, EventKeyStrategy.OPERANDS.key(otherOperation, "client-a"));
+        assertNotEquals(key, EventKeyStrategy.OPERANDS.key(otherPrecision, "client-a"));
+    }
+
+    @Test
+    void operands_keysExpressionsByTheirText() {
+        var expression = CalculationEvent.evaluation("1 + 2", new BigDecimal("3"));
+
+        assertEquals(EventKeyStrategy.OPERANDS.key(expression, null),
+                EventKeyStrategy.OPERANDS.key(CalculationEvent.evaluation("1 + 2", new BigDecimal("3")), null));
+        assertNotEquals(EventKeyStrategy.OPERANDS.key(expression, null),
+                EventKeyStrategy.OPERANDS.key(CalculationEvent.evaluation("2 + 1", new BigDecimal("3")), null));
+    }
+}
@@ -0,0 +1,152 @@
+package service;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.service.CachingCalculatorService;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CachingCalculatorServiceTest {
+    private final CalculatorServiceImpl engine = new CalculatorServiceImpl();
+
+    @Test
+    void sum_sharesEntriesBetweenEquivalentOperands() {
+        var service = new CachingCalculatorService(engine, 16, EnumSet.allOf(CalculatorOperation.class));
+
+        assertEquals(new BigDecimal("3.0"), service.sum(new CalculatorBinaryOperands(new BigDecimal("1.0"), new BigDecimal("2"))));
+        assertEquals(new BigDecimal("3.0"), service.sum(new CalculatorBinaryOperands(new BigDecimal("1.0"), new BigDecimal("2.0"))));
+        assertEquals(new BigDecimal("3.00"), service.sum(new CalculatorBinaryOperands(new BigDecimal("1.00"), new BigDecimal("2"))));
+
+        assertEquals(1, service.stats().hitCount());
+        assertEquals(2, service.stats().missCount());
+    }
+
+    @Test
+    void sum_publishesTheHitsAndMissesOfTheCache() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var service = new CachingCalculatorService(engine, 16, EnumSet.allOf(CalculatorOperation.class), meterRegistry);
+
+        service.sum(new CalculatorBinaryOperands(new BigDecimal("1"), new BigDecimal("2")));
+        service.sum(new CalculatorBinaryOperands(new BigDecimal("1"), new BigDecimal("2")));
+
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", CachingCalculatorService.CACHE_NAME, "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", CachingCalculatorService.CACHE_NAME, "result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void division_keysResultsByPrecisionTier() {
+        var service = new CachingCalculatorService(engine, 16, EnumSet.allOf(CalculatorOperation.class));
+
+        assertEquals(new BigDecimal("0.3333333333333333333333333333333333"),
+                service.division(new CalculatorBinaryOperands(BigDecimal.ONE, new BigDecimal("3"))));
+        assertEquals(new BigDecimal("0.3333333333333333"), service.division(
+                new CalculatorBinaryOperands(BigDecimal.ONE, new BigDecimal("3"), CalculatorPrecision.DECIMAL64, null)));
+        assertEquals(new BigDecimal("0.3333333333333333"), service.division(
+                new CalculatorBinaryOperands(BigDecimal.ONE, new BigDecimal("3"), CalculatorPrecision.DOUBLE, null)));
+        assertEquals(new BigDecimal("0.3333333333333334"), service.division(
+                new CalculatorBinaryOperands(BigDecimal.ONE, new BigDecimal("3"), CalculatorPrecision.DECIMAL64, RoundingMode.UP)));
+
+        assertEquals(4, service.size());
+    }
+
+    @Test
+    void division_doesNotCacheFailures() {
+        var service = new CachingCalculatorService(engine, 16, EnumSet.allOf(CalculatorOperation.class));
+        var operands = new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ZERO);
+
+        assertThrows(ArithmeticException.class, () -> service.division(operands));
+        assertThrows(ArithmeticException.class, () -> service.division(operands));
+        assertThrows(IllegalArgumentException.class, () -> service.division(new CalculatorBinaryOperands(null, BigDecimal.ONE)));
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void tryOperations_delegateToTheTryOperationsAndCacheOnlySuccesses() {
+        var delegate = spy(new CalculatorServiceImpl());
+        var service = new CachingCalculatorService(delegate, 16, EnumSet.allOf(CalculatorOperation.class));
+        var operands = new CalculatorBinaryOperands(BigDecimal.ONE, new BigDecimal("4"));
+
+        assertSame(CalculationResult.DIVISION_BY_ZERO,
+                service.tryDivision(new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ZERO)));
+        assertSame(CalculationResult.NULL_OPERAND, service.trySum(new CalculatorBinaryOperands(null, BigDecimal.ONE)));
+        assertEquals(CalculationResult.success(new BigDecimal("0.25")), service.tryDivision(operands));
+        assertEquals(CalculationResult.success(new BigDecimal("0.25")), service.tryDivision(operands));
+
+        verify(delegate, never()).division(any());
+        verify(delegate, never()).sum(any());
+        verify(delegate, times(2)).tryDivision(any());
+        assertEquals(1, service.size());
+        assertEquals(1, service.stats().hitCount());
+    }
+
+    @Test
+    void calculate_bypassesOperationsNotCached() {
+        var service = new CachingCalculatorService(engine, 16, EnumSet.of(CalculatorOperation.DIV));
+
+        service.sum(new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ONE));
+        service.division(new CalculatorBinaryOperands(BigDecimal.ONE, new BigDecimal("3")));
+
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    void calculate_matchesEngineForEquivalentOperands() {
+        var random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            var operation = CalculatorOperation.values()[random.nextInt(4)];
+            var first = randomNumber(random);
+            var second = randomNumber(random);
+            if (operation == CalculatorOperation.DIV && second.signum() == 0) {
+                continue;
+            }
+            var service = new CachingCalculatorService(engine, 16, EnumSet.allOf(CalculatorOperation.class));
+            var equivalent = equivalentOperands(operation, first, second, random.nextInt(40));
+
+            operation.apply(service, new CalculatorBinaryOperands(first, second));
+            var cached = operation.apply(service, equivalent);
+
+            assertEquals(1, service.stats().hitCount(), () -> operation + " " + equivalent);
+            assertEquals(operation.apply(engine, equivalent), cached, () -> operation + " " + equivalent);
+        }
+    }
+
+    /**
+     * Rescales the operands without changing their values or the scale that determines the result.
+     */
+    private static CalculatorBinaryOperands equivalentOperands(
+            final CalculatorOperation operation, final BigDecimal first, final BigDecimal second, final int padding) {
+        return switch (operation) {
+            case SUM, SUB -> first.scale() >= second.scale()
+                    ? new CalculatorBinaryOperands(first, second.setScale(second.scale() + Math.min(padding, first.scale() - second.scale())))
+                    : new CalculatorBinaryOperands(first.setScale(first.scale() + Math.min(padding, second.scale() - first.scale())), second);
+            case MULT -> {
+                var shift = Math.max(0, Math.min(padding, second.scale() - second.stripTrailingZeros().scale()));
+                yield new CalculatorBinaryOperands(first.setScale(first.scale() + shift), second.setScale(second.scale() - shift));
+            }
+            case DIV -> new CalculatorBinaryOperands(first.setScale(first.scale() + padding), second.setScale(second.scale() + padding));
+        };
+    }
+
+    private static BigDecimal randomNumber(final Random random) {
+        var unscaled = new BigInteger(random.nextInt(1, 130), random).multiply(BigInteger.TEN.pow(random.nextInt(10)));
+        if (random.nextBoolean()) {
+            unscaled = unscaled.negate();
+        }
+        return new BigDecimal(unscaled, random.nextInt(-10, 40));
+    }
+}
@@ -0,0 +1,83 @@
+package service;
+
+import com.wit.calculator.domain.CalculatorBatchItem;
+import com.wit.calculator.domain.CalculatorBatchResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.service.CalculatorBatchServiceImpl;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculatorBatchServiceTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final StaticMessageSource messageSource = new StaticMessageSource();
+    private final CalculatorBatchServiceImpl service =
+            new CalculatorBatchServiceImpl(new CalculatorServiceImpl(), executor, 8, messageSource);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void evaluate_keepsOrderAcrossChunks() {
+        var items = IntStream.range(0, 100)
+                .mapToObj(i -> new CalculatorBatchItem(
+                        CalculatorOperation.SUM,
+                        new CalculatorBinaryOperands(BigDecimal.valueOf(i), BigDecimal.ONE)))
+                .toList();
+
+        var results = service.evaluate(items);
+
+        assertEquals(100, results.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(BigDecimal.valueOf(i + 1), results.get(i).result());
+        }
+    }
+
+    @Test
+    void evaluate_reportsItemErrorsWithoutFailingBatch() {
+        var items = List.of(
+                new CalculatorBatchItem(CalculatorOperation.DIV,
+                        new CalculatorBinaryOperands(new BigDecimal("1"), BigDecimal.ZERO)),
+                new CalculatorBatchItem(CalculatorOperation.MULT,
+                        new CalculatorBinaryOperands(null, new BigDecimal("2"))),
+                new CalculatorBatchItem(CalculatorOperation.MULT,
+                        new CalculatorBinaryOperands(new BigDecimal("3"), new BigDecimal("2")))
+        );
+
+        List<CalculatorBatchResult> results = service.evaluate(items);
+
+        assertEquals("Arithmetic Error", results.get(0).error());
+        assertEquals("Bad Request", results.get(1).error());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(new BigDecimal("6"), results.get(2).result());
+    }
+
+    @Test
+    void evaluate_resolvesTheMessageKeysOfItemErrors() {
+        messageSource.addMessage("validation.notNull", Locale.getDefault(), "must not be null");
+        var items = List.of(
+                new CalculatorBatchItem(CalculatorOperation.SUM,
+                        new CalculatorBinaryOperands(new BigDecimal("1"), null)),
+                new CalculatorBatchItem(CalculatorOperation.DIV,
+                        new CalculatorBinaryOperands(new BigDecimal("1"), BigDecimal.ZERO))
+        );
+
+        List<CalculatorBatchResult> results = service.evaluate(items);
+
+        assertEquals("must not be null", results.get(0).message());
+        assertEquals("Division by 0 is not allowed", results.get(1).message());
+    }
+}
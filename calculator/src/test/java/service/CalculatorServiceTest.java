@@ -1,13 +1,24 @@
 package service;
 
+import com.wit.calculator.domain.CalculationResult;
 import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.expression.ExpressionCache;
 import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -115,4 +126,215 @@ class CalculatorServiceTest {
             assertThrows(ArithmeticException.class, () -> service.division(ops));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("EVALUATE")
+    class Evaluate {
+        @Test
+        void evaluate_chainsOperations() {
+            var result = service.evaluate("(10.5 + 10.5) * 2 / 4");
+            assertEquals(new BigDecimal("10.5"), result);
+        }
+
+        @Test
+        void evaluate_nullExpressionThrows() {
+            assertThrows(IllegalArgumentException.class, () -> service.evaluate(null));
+        }
+
+        @Test
+        void evaluate_divByZero() {
+            assertThrows(ArithmeticException.class, () -> service.evaluate("1 / (2 - 2)"));
+        }
+    }
+
+    @Nested
+    @DisplayName("SUM_ALL / PRODUCT_ALL")
+    class Reductions {
+        @Test
+        void sumAll_isTheBinarySumForTwoOperands() {
+            var first = new BigDecimal("1234567890.123456789012345678901234");
+            var second = new BigDecimal("0.000000000000000000000000000000005");
+            assertEquals(service.sum(new CalculatorBinaryOperands(first, second)), service.sumAll(List.of(first, second)));
+        }
+
+        @Test
+        void sumAll_isExactThenRoundedOnce() {
+            // A DECIMAL128 fold loses every small operand against the first one; the exact sum keeps them
+            List<BigDecimal> operands = new ArrayList<>();
+            operands.add(new BigDecimal("1E+34"));
+            for (int i = 0; i < 100_000; i++) {
+                operands.add(new BigDecimal("0.4"));
+            }
+
+            assertEquals(new BigDecimal("1.000000000000000000000000000004000E+34"), service.sumAll(operands));
+        }
+
+        @Test
+        void sumAll_doesNotDependOnTheSplitAcrossThreads() {
+            var random = new Random(42);
+            List<BigDecimal> operands = new ArrayList<>();
+            for (int i = 0; i < 50_000; i++) {
+                operands.add(BigDecimal.valueOf(random.nextLong(), random.nextInt(40) - 20));
+            }
+            BigDecimal exact = operands.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            assertEquals(exact.round(MathContext.DECIMAL128), service.sumAll(operands));
+            Collections.reverse(operands);
+            assertEquals(exact.round(MathContext.DECIMAL128), service.sumAll(operands));
+        }
+
+        @Test
+        void productAll_multipliesEveryOperand() {
+            List<BigDecimal> operands = new ArrayList<>(Collections.nCopies(10_000, new BigDecimal("1.0001")));
+            BigDecimal exact = operands.stream().reduce(BigDecimal.ONE, BigDecimal::multiply);
+
+            assertEquals(exact.round(MathContext.DECIMAL128), service.productAll(operands));
+            assertEquals(new BigDecimal("-7.5"), service.productAll(List.of(new BigDecimal("2.5"), new BigDecimal("-3"))));
+        }
+
+        @Test
+        void reductions_ofNoOperandsAreTheIdentity() {
+            assertEquals(BigDecimal.ZERO, service.sumAll(List.of()));
+            assertEquals(BigDecimal.ONE, service.productAll(List.of()));
+        }
+
+        @Test
+        void reductions_rejectInvalidOperands() {
+            assertThrows(IllegalArgumentException.class, () -> service.sumAll(null));
+            assertThrows(IllegalArgumentException.class, () -> service.productAll(Arrays.asList(BigDecimal.ONE, null)));
+            assertThrows(IllegalArgumentException.class, () -> service.sumAll(List.of(new BigDecimal("1E+100000"))));
+        }
+    }
+
+    @Nested
+    @DisplayName("PRECISION")
+    class Precision {
+        @Test
+        void decimal64_matchesBigDecimalIncludingScale() {
+            var random = new Random(7);
+            for (int i = 0; i < 5_000; i++) {
+                var first = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(12) - 4);
+                var second = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(12) - 4);
+                var ops = new CalculatorBinaryOperands(first, second, CalculatorPrecision.DECIMAL64, RoundingMode.HALF_UP);
+                var mathContext = new MathContext(16, RoundingMode.HALF_UP);
+
+                assertEquals(first.add(second, mathContext), service.sum(ops), () -> "sum " + ops);
+                assertEquals(first.subtract(second, mathContext), service.sub(ops), () -> "sub " + ops);
+                assertEquals(first.multiply(second, mathContext), service.mult(ops), () -> "mult " + ops);
+                if (second.signum() != 0) {
+                    assertEquals(first.divide(second, mathContext), service.division(ops), () -> "div " + ops);
+                }
+            }
+        }
+
+        @Test
+        void roundingMode_appliesToTheDefaultTier() {
+            var ops = new CalculatorBinaryOperands(BigDecimal.TWO, new BigDecimal("3"), CalculatorPrecision.DECIMAL128, RoundingMode.DOWN);
+            assertEquals(new BigDecimal("0.6666666666666666666666666666666666"), service.division(ops));
+        }
+
+        @Test
+        void double_isLossy() {
+            var ops = new CalculatorBinaryOperands(new BigDecimal("0.1"), new BigDecimal("0.2"), CalculatorPrecision.DOUBLE, null);
+            assertEquals(new BigDecimal("0.30000000000000004"), service.sum(ops));
+            assertEquals(new BigDecimal("0.5"), service.division(ops));
+        }
+
+        @Test
+        void double_matchesTheShortestDecimalOfTheDoubleResult() {
+            var random = new Random(11);
+            for (int i = 0; i < 5_000; i++) {
+                var first = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(12) - 4);
+                var second = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(12) - 4);
+                var ops = new CalculatorBinaryOperands(first, second, CalculatorPrecision.DOUBLE, null);
+
+                assertEquals(0, BigDecimal.valueOf(first.doubleValue() * second.doubleValue()).compareTo(service.mult(ops)), () -> "mult " + ops);
+                if (second.signum() != 0) {
+                    assertEquals(0, BigDecimal.valueOf(first.doubleValue() / second.doubleValue()).compareTo(service.division(ops)), () -> "div " + ops);
+                }
+            }
+        }
+
+        @Test
+        void double_rejectsZeroDivisorOverflowAndRoundingModes() {
+            assertThrows(ArithmeticException.class, () -> service.division(
+                    new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ZERO, CalculatorPrecision.DOUBLE, null)));
+            assertThrows(ArithmeticException.class, () -> service.mult(
+                    new CalculatorBinaryOperands(new BigDecimal("1E+200"), new BigDecimal("1E+200"), CalculatorPrecision.DOUBLE, null)));
+            assertThrows(IllegalArgumentException.class, () ->
+                    new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ONE, CalculatorPrecision.DOUBLE, RoundingMode.UP));
+        }
+    }
+
+    @Nested
+    @DisplayName("RESULTS")
+    class Results {
+        @Test
+        void tryOperations_returnTheResultOfTheThrowingOperations() {
+            var ops = new CalculatorBinaryOperands(new BigDecimal("10"), new BigDecimal("4"));
+
+            assertEquals(CalculationResult.success(service.sum(ops)), service.trySum(ops));
+            assertEquals(CalculationResult.success(service.sub(ops)), service.trySub(ops));
+            assertEquals(CalculationResult.success(service.mult(ops)), service.tryMult(ops));
+            assertEquals(CalculationResult.success(service.division(ops)), service.tryDivision(ops));
+            assertEquals(CalculationResult.success(new BigDecimal("7")), service.tryEvaluate("(1 + 2) * 3 - 2"));
+        }
+
+        @Test
+        void tryOperations_returnTheSharedFailuresOfInvalidOperands() {
+            var nullOperand = new CalculatorBinaryOperands(new BigDecimal("1"), null);
+
+            assertSame(CalculationResult.NULL_OPERAND, service.trySum(nullOperand));
+            assertSame(CalculationResult.NULL_OPERAND, service.tryDivision(null));
+            assertSame(CalculationResult.NULL_OPERAND, service.tryEvaluate(null));
+            assertSame(CalculationResult.DIVISION_BY_ZERO,
+                    service.tryDivision(new CalculatorBinaryOperands(BigDecimal.ONE, new BigDecimal("0.00"))));
+        }
+
+        @Test
+        void tryEvaluate_returnsTheFirstFailureOfTheExpression() {
+            assertSame(CalculationResult.DIVISION_BY_ZERO, service.tryEvaluate("1 / (2 - 2) + 1 / 0"));
+
+            var invalid = service.tryEvaluate("(1 +");
+            assertEquals(CalculationResult.Failure.INVALID, invalid.failure());
+            assertTrue(invalid.message().startsWith("Invalid expression at position"));
+        }
+
+        @Test
+        void tryOperations_returnOverflowsAsArithmeticFailures() {
+            var overflow = service.tryMult(new CalculatorBinaryOperands(
+                    new BigDecimal("1E300"), new BigDecimal("1E300"), CalculatorPrecision.DOUBLE, null));
+
+            assertEquals(CalculationResult.Failure.ARITHMETIC, overflow.failure());
+        }
+
+        @Test
+        void throwingOperations_throwTheFailureOfTheirResult() {
+            var divisionByZero = assertThrows(ArithmeticException.class,
+                    () -> service.division(new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ZERO)));
+            var nullOperand = assertThrows(IllegalArgumentException.class, () -> service.sum(null));
+
+            assertEquals(CalculationResult.DIVISION_BY_ZERO.message(), divisionByZero.getMessage());
+            assertEquals(CalculationResult.NULL_OPERAND.message(), nullOperand.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("METRICS")
+    class Metrics {
+        @Test
+        void operations_areTimedByOperation() {
+            var registry = new SimpleMeterRegistry();
+            var timed = new CalculatorServiceImpl(new ExpressionCache(ExpressionCache.DEFAULT_CAPACITY), registry);
+
+            timed.sum(new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.TWO));
+            assertThrows(ArithmeticException.class,
+                    () -> timed.division(new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ZERO)));
+
+            assertEquals(1, registry.get("calculator.service").tags("engine", "bigdecimal", "operation", "SUM")
+                    .timer().count());
+            assertEquals(1, registry.get("calculator.service").tag("operation", "DIV").timer().count());
+            assertEquals(0, registry.get("calculator.service").tag("operation", "MULT").timer().count());
+        }
+    }
+}
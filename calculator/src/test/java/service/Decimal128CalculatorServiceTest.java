@@ -0,0 +1,104 @@
+package service;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import com.wit.calculator.service.Decimal128CalculatorServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Decimal128CalculatorServiceTest {
+    private final Decimal128CalculatorServiceImpl service = new Decimal128CalculatorServiceImpl();
+    private final CalculatorServiceImpl reference = new CalculatorServiceImpl();
+
+    @Test
+    void matchesBigDecimalEngine_includingScale() {
+        var random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            var ops = new CalculatorBinaryOperands(randomDecimal(random), randomDecimal(random));
+
+            assertEquals(reference.sum(ops), service.sum(ops), () -> "sum " + ops);
+            assertEquals(reference.sub(ops), service.sub(ops), () -> "sub " + ops);
+            assertEquals(reference.mult(ops), service.mult(ops), () -> "mult " + ops);
+            if (ops.secondNumber().signum() != 0) {
+                assertEquals(reference.division(ops), service.division(ops), () -> "div " + ops);
+            }
+        }
+    }
+
+    @Test
+    void precisionTiers_matchBigDecimalEngine() {
+        var random = new Random(11);
+        for (var precision : CalculatorPrecision.values()) {
+            for (int i = 0; i < 500; i++) {
+                var roundingMode = precision == CalculatorPrecision.DOUBLE ? RoundingMode.HALF_EVEN : RoundingMode.CEILING;
+                var ops = new CalculatorBinaryOperands(randomDecimal(random), randomDecimal(random), precision, roundingMode);
+
+                assertEquals(reference.sum(ops), service.sum(ops), () -> "sum " + ops);
+                assertEquals(reference.mult(ops), service.mult(ops), () -> "mult " + ops);
+                if (ops.secondNumber().signum() != 0) {
+                    assertEquals(reference.division(ops), service.division(ops), () -> "div " + ops);
+                }
+            }
+        }
+    }
+
+    @Test
+    void roundsHalfEvenTo34Digits() {
+        var ops = new CalculatorBinaryOperands(new BigDecimal("1"), new BigDecimal("3"));
+        assertEquals(new BigDecimal("0.3333333333333333333333333333333333"), service.division(ops));
+
+        var carry = new CalculatorBinaryOperands(new BigDecimal("9999999999999999999999999999999999"), new BigDecimal("0.5"));
+        assertEquals(new BigDecimal("1.000000000000000000000000000000000E+34"), service.sum(carry));
+    }
+
+    @Test
+    void fallsBackOutsideDecimal128Range() {
+        var wide = new CalculatorBinaryOperands(new BigDecimal("1234567890123456789012345678901234567890"), BigDecimal.ONE);
+        assertEquals(reference.sum(wide), service.sum(wide));
+
+        var tiny = new CalculatorBinaryOperands(new BigDecimal("1E-6000"), new BigDecimal("1E-6000"));
+        assertEquals(reference.mult(tiny), service.mult(tiny));
+    }
+
+    @Test
+    void nullOperandThrows() {
+        var ops = new CalculatorBinaryOperands(null, new BigDecimal("2"));
+        assertThrows(IllegalArgumentException.class, () -> service.sum(ops));
+    }
+
+    @Test
+    void divByZeroThrows() {
+        var ops = new CalculatorBinaryOperands(new BigDecimal("2"), BigDecimal.ZERO);
+        assertThrows(ArithmeticException.class, () -> service.division(ops));
+    }
+
+    @Test
+    void tryOperations_returnFailuresAndMatchTheBigDecimalEngine() {
+        var ops = new CalculatorBinaryOperands(new BigDecimal("10"), new BigDecimal("4"));
+
+        assertEquals(reference.tryDivision(ops), service.tryDivision(ops));
+        assertEquals(reference.tryEvaluate("(1 + 2) * 3 / 4"), service.tryEvaluate("(1 + 2) * 3 / 4"));
+        assertSame(CalculationResult.NULL_OPERAND, service.trySum(new CalculatorBinaryOperands(null, BigDecimal.ONE)));
+        assertSame(CalculationResult.DIVISION_BY_ZERO,
+                service.tryDivision(new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ZERO)));
+        assertSame(CalculationResult.DIVISION_BY_ZERO, service.tryEvaluate("1 / (2 - 2)"));
+        assertEquals(CalculationResult.Failure.INVALID, service.tryEvaluate("(1 +").failure());
+    }
+
+    private static BigDecimal randomDecimal(final Random random) {
+        var digits = new StringBuilder();
+        for (int i = 1 + random.nextInt(34); i > 0; i--) {
+            digits.append(random.nextInt(10));
+        }
+        var unscaled = new BigInteger(digits.toString());
+        return new BigDecimal(random.nextBoolean() ? unscaled : unscaled.negate(), random.nextInt(60) - 20);
+    }
+}
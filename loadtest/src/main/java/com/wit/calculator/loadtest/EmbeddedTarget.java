@@ -0,0 +1,63 @@
+package com.wit.calculator.loadtest;
+
+import com.wit.calculator.rest.RestApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rest application started in process on an embedded Kafka broker, for a load test without a deployed target.
+ * <p>
+ * The application shares the CPUs of the load generator, so its saturation point is only indicative: measure a
+ * deployed instance with {@code --target} for figures to size on.
+ */
+public final class EmbeddedTarget implements AutoCloseable {
+    private final EmbeddedKafkaKraftBroker broker;
+    private final ConfigurableApplicationContext context;
+    private final URI uri;
+
+    /**
+     * Starts the broker and the application.
+     *
+     * @param partitions the partitions of the calculator topic.
+     * @param applicationArguments the {@code --name=value} arguments of the application, overriding the defaults.
+     */
+    public EmbeddedTarget(final int partitions, final List<String> applicationArguments) {
+        broker = new EmbeddedKafkaKraftBroker(1, partitions);
+        broker.afterPropertiesSet();
+        final List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                // Open-model load keeps opening connections while the application is behind
+                "--server.tomcat.max-connections=20000",
+                "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                "--calculator.topic-partitions=" + partitions,
+                "--logging.level.root=WARN"
+        ));
+        args.addAll(applicationArguments);
+        try {
+            context = new SpringApplicationBuilder(RestApplication.class).run(args.toArray(String[]::new));
+        } catch (RuntimeException runtimeException) {
+            broker.destroy();
+            throw runtimeException;
+        }
+        uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("api.base.path"));
+    }
+
+    /**
+     * @return the base URL of the API.
+     */
+    public URI uri() {
+        return uri;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        broker.destroy();
+    }
+}
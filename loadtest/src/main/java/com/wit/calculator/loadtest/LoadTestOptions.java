@@ -0,0 +1,167 @@
+package com.wit.calculator.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load test, parsed from {@code --name=value} arguments.
+ *
+ * @param target the base URL of the API under load, or {@code null} to start the rest application in process.
+ * @param rates the arrival rates of the successive steps, in requests per second.
+ * @param warmup how long each step runs before it is measured.
+ * @param duration how long each step is measured.
+ * @param workload the JSON lines workload file, or {@code null} for a generated workload.
+ * @param mix the weight of each operation of a generated workload.
+ * @param operands the distribution of the operands of a generated workload.
+ * @param digits the integer digits of the generated operands.
+ * @param scale the fraction digits of the generated operands.
+ * @param seed the seed of the generated workload, so that runs are repeatable.
+ * @param maxInFlight the requests awaiting their response beyond which the next ones are counted as overflow.
+ * @param requestTimeout how long a request waits for its response.
+ * @param sloP99 the p99 latency a step must stay under to be sustainable.
+ * @param partitions the partitions of the calculator topic on the embedded broker.
+ * @param report the directory of the histogram files, or {@code null} for none.
+ * @param applicationArguments the other arguments, passed to the in-process application.
+ */
+public record LoadTestOptions(
+        URI target,
+        List<Integer> rates,
+        Duration warmup,
+        Duration duration,
+        Path workload,
+        Map<String, Integer> mix,
+        OperandDistribution operands,
+        int digits,
+        int scale,
+        long seed,
+        int maxInFlight,
+        Duration requestTimeout,
+        Duration sloP99,
+        int partitions,
+        Path report,
+        List<String> applicationArguments
+) {
+    static final String USAGE = """
+            Usage: java -jar loadtest.jar [--name=value ...]
+              --target=URL            API base URL, e.g. http://host:8080/api/v1/calculator; default: start the rest
+                                      application in process on an embedded Kafka broker
+              --rates=500,1000,2000   arrival rates of the successive steps, requests/s (default 500)
+              --warmup=10s            unmeasured time at the start of each step (default 10s)
+              --duration=30s          measured time of each step (default 30s)
+              --workload=FILE         JSON lines, one request per line:
+                                      {"operation":"DIV","firstNumber":1234567.891,"secondNumber":3.5}
+                                      {"operation":"EVAL","expression":"(1 + 2) * 3"}
+              --mix=SUM:1,DIV:3       operation weights of the generated workload (default SUM:1,SUB:1,MULT:1,DIV:1)
+              --operands=UNIFORM      UNIFORM, LOG_UNIFORM or FIXED operands of the generated workload
+              --digits=7 --scale=3    integer and fraction digits of the generated operands
+              --seed=42               seed of the generated workload
+              --max-in-flight=10000   pending requests beyond which new ones are counted as overflow
+              --request-timeout=10s   response timeout of a request
+              --slo-p99=100ms         p99 latency of a sustainable step
+              --partitions=6          calculator topic partitions of the embedded broker
+              --report=DIR            writes rate-<n>.hgrm and rate-<n>.hlog histograms per step
+            Other --name=value arguments go to the in-process application, e.g. --calculator.engine=decimal128
+            """;
+
+    /**
+     * Parses the arguments of the load test.
+     *
+     * @param args the {@code --name=value} arguments.
+     *
+     * @return the options, with defaults for the missing ones.
+     *
+     * @throws IllegalArgumentException if an argument is malformed, or not an option while a target is given.
+     */
+    public static LoadTestOptions parse(final String... args) {
+        final Map<String, String> values = new HashMap<>();
+        final List<String> applicationArguments = new ArrayList<>();
+        for (final String arg : args) {
+            final int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            final String name = arg.substring(2, equals);
+            if (OPTIONS.contains(name)) {
+                values.put(name, arg.substring(equals + 1));
+            } else {
+                applicationArguments.add(arg);
+            }
+        }
+
+        final URI target = values.containsKey("target") ? URI.create(values.get("target")) : null;
+        if (target != null && !applicationArguments.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + applicationArguments);
+        }
+        final int digits = Integer.parseInt(values.getOrDefault("digits", "7"));
+        final int scale = Integer.parseInt(values.getOrDefault("scale", "3"));
+        if (digits < 1 || scale < 0 || digits + scale > 18) {
+            throw new IllegalArgumentException("Operands need 1 to 18 digits, got digits=" + digits + " scale=" + scale);
+        }
+        final List<Integer> rates = Arrays.stream(values.getOrDefault("rates", "500").split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+        if (rates.stream().anyMatch(rate -> rate <= 0)) {
+            throw new IllegalArgumentException("Rates must be positive, got " + rates);
+        }
+        return new LoadTestOptions(
+                target,
+                rates,
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "30s")),
+                values.containsKey("workload") ? Path.of(values.get("workload")) : null,
+                mix(values.getOrDefault("mix", "SUM:1,SUB:1,MULT:1,DIV:1")),
+                OperandDistribution.valueOf(values.getOrDefault("operands", "UNIFORM")),
+                digits,
+                scale,
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                duration(values.getOrDefault("request-timeout", "10s")),
+                duration(values.getOrDefault("slo-p99", "100ms")),
+                Integer.parseInt(values.getOrDefault("partitions", "6")),
+                values.containsKey("report") ? Path.of(values.get("report")) : null,
+                List.copyOf(applicationArguments)
+        );
+    }
+
+    private static final List<String> OPTIONS = List.of(
+            "target", "rates", "warmup", "duration", "workload", "mix", "operands", "digits", "scale", "seed",
+            "max-in-flight", "request-timeout", "slo-p99", "partitions", "report"
+    );
+
+    private static Duration duration(final String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    /**
+     * Parses {@code OPERATION:weight} pairs, in order.
+     */
+    private static Map<String, Integer> mix(final String value) {
+        final Map<String, Integer> mix = new LinkedHashMap<>();
+        for (final String entry : value.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            if (parts.length != 2 || !Workload.PATHS.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Expected OPERATION:weight with an operation of "
+                        + Workload.PATHS.keySet() + ", got " + entry);
+            }
+            final int weight = Integer.parseInt(parts[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in " + entry);
+            }
+            mix.put(parts[0], weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix needs a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,160 @@
+package com.wit.calculator.loadtest;
+
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the saturation point of the calculator API: runs a step at each arrival rate, in order, and stops at the
+ * first one the API cannot sustain under the latency objective.
+ * <p>
+ * Example: {@code java -jar loadtest/target/loadtest.jar --rates=500,1000,2000,4000 --slo-p99=50ms --report=report}
+ */
+public final class LoadTestRunner {
+    private static final String HEADER = "%8s %11s %9s %9s %9s %9s %9s %12s %8s %9s%n";
+    private static final String ROW = "%8d %11.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f %8d %9d%n";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(final String... args) {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.print(LoadTestOptions.USAGE);
+            return;
+        }
+        final LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            System.err.println(illegalArgumentException.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        final Workload workload = options.workload() != null
+                ? Workload.read(options.workload())
+                : Workload.generate(options);
+
+        if (options.target() != null) {
+            sweep(options, workload, options.target(), System.out);
+        } else {
+            System.out.println("Starting the rest application on an embedded Kafka broker; it shares the CPUs of "
+                    + "the load generator, use --target for the saturation point of a deployed instance");
+            try (EmbeddedTarget target = new EmbeddedTarget(options.partitions(), options.applicationArguments())) {
+                sweep(options, workload, target.uri(), System.out);
+            }
+        }
+    }
+
+    /**
+     * Runs the steps of the load test, up to the first one that misses the objective, and prints their results.
+     *
+     * @param options the options of the load test.
+     * @param workload the requests to send.
+     * @param target the base URL of the API under load.
+     * @param out where the progress and results are printed.
+     *
+     * @return the results of the steps run, the last one being the first that missed the objective if any.
+     */
+    static List<StepResult> sweep(final LoadTestOptions options, final Workload workload, final URI target,
+                                  final PrintStream out) {
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.requestTimeout())
+                .build();
+        final OpenLoadGenerator generator = new OpenLoadGenerator(
+                httpClient, target, workload, options.maxInFlight(), options.requestTimeout(), out);
+        out.printf("Target %s, %d requests in the workload, p99 objective %d ms%n",
+                target, workload.requests().size(), options.sloP99().toMillis());
+
+        final List<StepResult> results = new ArrayList<>();
+        for (final int rate : options.rates()) {
+            out.printf("Step %d/s: %ds warmup, %ds measured%n",
+                    rate, options.warmup().toSeconds(), options.duration().toSeconds());
+            final StepResult result = step(generator, options, rate);
+            results.add(result);
+            if (!result.meets(options.sloP99())) {
+                break;
+            }
+        }
+
+        out.println();
+        out.println("Latency from the intended send time, in ms; service p99 from the actual send time");
+        out.printf(HEADER, "rate", "throughput", "p50", "p90", "p99", "p99.9", "max", "service p99", "errors",
+                "overflow");
+        for (final StepResult result : results) {
+            out.printf(ROW, result.rate(), result.throughput(),
+                    result.latencyMillis(50), result.latencyMillis(90), result.latencyMillis(99),
+                    result.latencyMillis(99.9), result.latency().getMaxValue() / 1000.0,
+                    result.serviceTime().getValueAtPercentile(99) / 1000.0,
+                    result.errors(), result.overflow());
+        }
+        out.println(saturation(results, options));
+        return results;
+    }
+
+    /**
+     * Runs one step, logging the latency of every second and writing the measured distribution under the report
+     * directory if any.
+     */
+    private static StepResult step(final OpenLoadGenerator generator, final LoadTestOptions options, final int rate) {
+        if (options.report() == null) {
+            return generator.run(rate, options.warmup(), options.duration(), null);
+        }
+        try {
+            Files.createDirectories(options.report());
+            final StepResult result;
+            try (PrintStream hlog = new PrintStream(Files.newOutputStream(options.report().resolve("rate-" + rate + ".hlog")))) {
+                final HistogramLogWriter log = new HistogramLogWriter(hlog);
+                final long now = System.currentTimeMillis();
+                log.outputLogFormatVersion();
+                log.outputStartTime(now);
+                log.setBaseTime(now);
+                log.outputLegend();
+                result = generator.run(rate, options.warmup(), options.duration(), log);
+            }
+            writePercentiles(options.report().resolve("rate-" + rate + ".hgrm"), result);
+            return result;
+        } catch (IOException ioException) {
+            throw new UncheckedIOException("Cannot write the report of the step " + rate + "/s", ioException);
+        }
+    }
+
+    /**
+     * Writes the percentile distribution of the measured latency, in milliseconds, as plotted by the HdrHistogram
+     * plotter.
+     */
+    private static void writePercentiles(final Path file, final StepResult result) throws IOException {
+        try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file))) {
+            result.latency().outputPercentileDistribution(hgrm, 1000.0);
+        }
+    }
+
+    private static String saturation(final List<StepResult> results, final LoadTestOptions options) {
+        final StepResult last = results.get(results.size() - 1);
+        if (last.meets(options.sloP99())) {
+            return "Every step met the objective: the saturation point is above " + last.rate() + "/s";
+        }
+        final String reason;
+        if (last.throughput() < last.rate() * StepResult.MIN_THROUGHPUT_RATIO) {
+            reason = "throughput %.1f/s".formatted(last.throughput());
+        } else if (last.errorRatio() > StepResult.MAX_ERROR_RATIO) {
+            reason = "%.2f%% errors".formatted(last.errorRatio() * 100);
+        } else {
+            reason = "p99 %.2f ms".formatted(last.latencyMillis(99));
+        }
+        return results.size() == 1
+                ? "Saturated at the first step, %d/s (%s): try lower rates".formatted(last.rate(), reason)
+                : "Saturation point: %d/s sustained, %d/s missed the objective (%s)"
+                        .formatted(results.get(results.size() - 2).rate(), last.rate(), reason);
+    }
+}
@@ -0,0 +1,202 @@
+package com.wit.calculator.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are sent on a fixed schedule at the arrival rate, whether or not the previous
+ * ones were answered, as independent clients would send them.
+ * <p>
+ * The latency of a request is measured from the time it was due, not from the time it was actually sent, so that a
+ * stalled application or a late generator is charged for the whole wait of the requests queued behind the stall
+ * instead of hiding it (coordinated omission). The latency from the actual send time, the service time, is reported
+ * alongside for comparison.
+ */
+public final class OpenLoadGenerator {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final HttpClient httpClient;
+    private final List<HttpRequest> requests;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final PrintStream out;
+
+    /**
+     * @param httpClient the client sending the requests.
+     * @param target the base URL of the API under load.
+     * @param workload the requests to send, cycling.
+     * @param maxInFlight the requests awaiting their response beyond which the next ones are counted as overflow.
+     * @param requestTimeout how long a request waits for its response.
+     * @param out where the progress of each step is printed, every second.
+     */
+    public OpenLoadGenerator(final HttpClient httpClient, final URI target, final Workload workload,
+                             final int maxInFlight, final Duration requestTimeout, final PrintStream out) {
+        this.httpClient = httpClient;
+        this.requests = workload.requests().stream()
+                .map(request -> HttpRequest.newBuilder(URI.create(target + request.path()))
+                        .header("Content-Type", "application/json")
+                        .timeout(requestTimeout)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(request.body()))
+                        .build())
+                .toList();
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.out = out;
+    }
+
+    /**
+     * Runs one step: sends the requests at the arrival rate for the warmup then the measured duration, and waits for
+     * the pending responses up to the request timeout.
+     *
+     * @param rate the arrival rate, in requests per second.
+     * @param warmup how long the step runs before it is measured.
+     * @param duration how long the step is measured.
+     * @param log the log of the latency of every second of the step, warmup included, or {@code null} for none.
+     *
+     * @return the measured part of the step.
+     */
+    public StepResult run(final int rate, final Duration warmup, final Duration duration, final HistogramLogWriter log) {
+        final Step step = new Step(rate, log);
+        final long start = System.nanoTime();
+        final long measuredFrom = start + warmup.toNanos();
+        final long end = measuredFrom + duration.toNanos();
+        step.start(start);
+
+        for (long i = 0; ; i++) {
+            final long intended = start + i * SECOND / rate;
+            if (intended >= end) {
+                break;
+            }
+            long now = System.nanoTime();
+            step.progress(now);
+            while (now < intended) {
+                LockSupport.parkNanos(intended - now);
+                now = System.nanoTime();
+            }
+            step.send(requests.get((int) (i % requests.size())), intended, measuredFrom, end);
+        }
+
+        final long drainDeadline = end + requestTimeout.toNanos() + SECOND;
+        long now;
+        while (step.inFlight.get() > 0 && (now = System.nanoTime()) < drainDeadline) {
+            step.progress(now);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        step.flush();
+
+        final double seconds = duration.toNanos() / (double) SECOND;
+        return new StepResult(
+                rate,
+                step.requests.sum(),
+                step.errors.sum(),
+                step.overflow.sum(),
+                step.answered.sum() / seconds,
+                step.latency,
+                step.serviceTime
+        );
+    }
+
+    /**
+     * State of a running step, updated by the scheduling thread and the threads completing the responses.
+     */
+    private final class Step {
+        private final int rate;
+        private final HistogramLogWriter log;
+        private final Recorder intervalLatency = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder overflow = new LongAdder();
+        private final LongAdder answered = new LongAdder();
+        private Histogram interval;
+        private long start;
+        private long nextProgress;
+
+        private Step(final int rate, final HistogramLogWriter log) {
+            this.rate = rate;
+            this.log = log;
+        }
+
+        private void start(final long start) {
+            this.start = start;
+            this.nextProgress = start + SECOND;
+            intervalLatency.reset();
+        }
+
+        private void send(final HttpRequest request, final long intended, final long measuredFrom, final long end) {
+            final boolean measured = intended >= measuredFrom;
+            if (measured) {
+                requests.increment();
+            }
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    overflow.increment();
+                }
+                return;
+            }
+            inFlight.incrementAndGet();
+            sent.increment();
+            final long sentAt = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        final long completed = System.nanoTime();
+                        inFlight.decrementAndGet();
+                        final long micros = TimeUnit.NANOSECONDS.toMicros(completed - intended);
+                        intervalLatency.recordValue(micros);
+                        final boolean success = failure == null && response.statusCode() / 100 == 2;
+                        if (success && completed >= measuredFrom && completed < end) {
+                            answered.increment();
+                        }
+                        if (measured) {
+                            latency.recordValue(micros);
+                            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - sentAt));
+                            if (!success) {
+                                errors.increment();
+                            }
+                        }
+                    });
+        }
+
+        /**
+         * Prints and logs the latency of the last second once it is over.
+         */
+        private void progress(final long now) {
+            if (now < nextProgress) {
+                return;
+            }
+            nextProgress += SECOND;
+            flush();
+            out.printf("  %6d/s %4ds  sent %9d  in flight %6d  p50 %9.2f ms  p99 %9.2f ms  max %9.2f ms  errors %d%n",
+                    rate, (now - start) / SECOND, sent.sum(), inFlight.get(),
+                    interval.getValueAtPercentile(50) / 1000.0,
+                    interval.getValueAtPercentile(99) / 1000.0,
+                    interval.getMaxValue() / 1000.0,
+                    errors.sum());
+        }
+
+        private void flush() {
+            interval = intervalLatency.getIntervalHistogram(interval);
+            if (log != null) {
+                log.outputIntervalHistogram(interval);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.wit.calculator.loadtest;
+
+import java.math.BigDecimal;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribution of the operands of a generated workload.
+ */
+public enum OperandDistribution {
+    /**
+     * Every value with the given digits and scale equally likely, so most operands have all the integer digits.
+     */
+    UNIFORM {
+        @Override
+        BigDecimal next(final RandomGenerator random, final int digits, final int scale, final boolean first) {
+            return BigDecimal.valueOf(random.nextLong(1, TEN_POWERS[digits + scale]), scale);
+        }
+    },
+    /**
+     * Integer digits equally likely from 1 to the given digits, so small and large operands are mixed.
+     */
+    LOG_UNIFORM {
+        @Override
+        BigDecimal next(final RandomGenerator random, final int digits, final int scale, final boolean first) {
+            final int length = random.nextInt(1, digits + 1) + scale;
+            return BigDecimal.valueOf(random.nextLong(TEN_POWERS[length - 1], TEN_POWERS[length]), scale);
+        }
+    },
+    /**
+     * Always the operands of the benchmarks, 1234567.891 and 3.5, whatever the digits and scale.
+     */
+    FIXED {
+        @Override
+        BigDecimal next(final RandomGenerator random, final int digits, final int scale, final boolean first) {
+            return first ? FIXED_FIRST : FIXED_SECOND;
+        }
+    };
+
+    private static final BigDecimal FIXED_FIRST = new BigDecimal("1234567.891");
+    private static final BigDecimal FIXED_SECOND = new BigDecimal("3.5");
+    private static final long[] TEN_POWERS = new long[19];
+
+    static {
+        TEN_POWERS[0] = 1;
+        for (int i = 1; i < TEN_POWERS.length; i++) {
+            TEN_POWERS[i] = TEN_POWERS[i - 1] * 10;
+        }
+    }
+
+    /**
+     * @param random the generator of the workload.
+     * @param digits the maximum integer digits.
+     * @param scale the fraction digits.
+     * @param first whether the operand is the first of its operation.
+     *
+     * @return a positive operand.
+     */
+    abstract BigDecimal next(RandomGenerator random, int digits, int scale, boolean first);
+}
@@ -0,0 +1,61 @@
+package com.wit.calculator.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+/**
+ * Measured part of one step of a load test, at a constant arrival rate.
+ *
+ * @param rate the arrival rate of the step, in requests per second.
+ * @param requests the requests intended during the measured part.
+ * @param errors the requests among them answered with an error status, failed or timed out.
+ * @param overflow the requests among them not sent because too many were awaiting their response.
+ * @param throughput the successful responses per second received during the measured part.
+ * @param latency the latencies in microseconds from the intended send time, corrected for coordinated omission.
+ * @param serviceTime the latencies in microseconds from the actual send time, as a closed-model tool reports them.
+ */
+public record StepResult(
+        int rate,
+        long requests,
+        long errors,
+        long overflow,
+        double throughput,
+        Histogram latency,
+        Histogram serviceTime
+) {
+    /** Lowest share of the arrival rate a sustainable step must answer. */
+    static final double MIN_THROUGHPUT_RATIO = 0.95;
+    /** Highest share of failed requests of a sustainable step. */
+    static final double MAX_ERROR_RATIO = 0.01;
+
+    /**
+     * @param percentile the percentile, from 0 to 100.
+     *
+     * @return the latency at that percentile, in milliseconds.
+     */
+    public double latencyMillis(final double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * @return the share of the requests that failed or were not sent.
+     */
+    public double errorRatio() {
+        return requests == 0 ? 0 : (double) (errors + overflow) / requests;
+    }
+
+    /**
+     * Whether the step is sustainable: the application kept up with the arrival rate, with few errors, under the
+     * latency objective.
+     *
+     * @param sloP99 the p99 latency objective.
+     *
+     * @return {@code true} if the step meets the objective.
+     */
+    public boolean meets(final Duration sloP99) {
+        return throughput >= rate * MIN_THROUGHPUT_RATIO
+                && errorRatio() <= MAX_ERROR_RATIO
+                && latency.getValueAtPercentile(99) <= sloP99.toNanos() / 1000;
+    }
+}
@@ -0,0 +1,160 @@
+package com.wit.calculator.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Requests sent by the load generator, in order and cycling, built before the load starts so that the generator
+ * only picks the next one.
+ *
+ * @param requests the requests of the workload.
+ */
+public record Workload(List<Request> requests) {
+    /** Endpoint of each operation, under the API base URL. */
+    static final Map<String, String> PATHS = Map.of(
+            "SUM", "/sum",
+            "SUB", "/sub",
+            "MULT", "/mult",
+            "DIV", "/div",
+            "EVAL", "/evaluate"
+    );
+    /** Requests of a generated workload, enough for the mix and the operands to average out. */
+    static final int GENERATED_SIZE = 10_000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * One request of the workload.
+     *
+     * @param operation the operation, a key of {@link #PATHS}.
+     * @param path the endpoint, under the API base URL.
+     * @param body the JSON body.
+     */
+    public record Request(String operation, String path, byte[] body) {
+    }
+
+    public Workload {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("The workload has no request");
+        }
+        requests = List.copyOf(requests);
+    }
+
+    /**
+     * @param index the index of the request in the load, from 0.
+     *
+     * @return the request at that index, cycling through the workload.
+     */
+    public Request get(final long index) {
+        return requests.get((int) (index % requests.size()));
+    }
+
+    /**
+     * Generates a workload with the operation mix and operands of the options; the same seed gives the same workload.
+     *
+     * @param options the mix, operand distribution, digits, scale and seed.
+     *
+     * @return the generated workload.
+     */
+    public static Workload generate(final LoadTestOptions options) {
+        final SplittableRandom random = new SplittableRandom(options.seed());
+        final List<String> operations = new ArrayList<>(options.mix().keySet());
+        final int[] cumulativeWeights = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += options.mix().get(operations.get(i));
+            cumulativeWeights[i] = total;
+        }
+
+        final List<Request> requests = new ArrayList<>(GENERATED_SIZE);
+        for (int i = 0; i < GENERATED_SIZE; i++) {
+            final int pick = random.nextInt(total);
+            int operation = 0;
+            while (pick >= cumulativeWeights[operation]) {
+                operation++;
+            }
+            final BigDecimal first = options.operands().next(random, options.digits(), options.scale(), true);
+            final BigDecimal second = options.operands().next(random, options.digits(), options.scale(), false);
+            requests.add(request(operations.get(operation), first, second));
+        }
+        return new Workload(requests);
+    }
+
+    /**
+     * Reads a workload file, one JSON request per line with its {@code operation}, blank lines ignored.
+     *
+     * @param file the JSON lines file.
+     *
+     * @return the workload, in the order of the file.
+     *
+     * @throws UncheckedIOException if the file cannot be read.
+     * @throws IllegalArgumentException if a line is not a JSON object with a known operation.
+     */
+    public static Workload read(final Path file) {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException("Cannot read the workload " + file, ioException);
+        }
+        final List<Request> requests = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            if (!lines.get(i).isBlank()) {
+                requests.add(parse(lines.get(i), file + ":" + (i + 1)));
+            }
+        }
+        return new Workload(requests);
+    }
+
+    private static Request parse(final String line, final String location) {
+        final JsonNode json;
+        try {
+            json = OBJECT_MAPPER.readTree(line);
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new IllegalArgumentException("Invalid JSON at " + location, jsonProcessingException);
+        }
+        if (!(json instanceof ObjectNode body) || !body.path("operation").isTextual()
+                || !PATHS.containsKey(body.get("operation").asText())) {
+            throw new IllegalArgumentException("Expected an object with an operation of " + PATHS.keySet()
+                    + " at " + location);
+        }
+        final String operation = body.remove("operation").asText();
+        try {
+            return new Request(operation, PATHS.get(operation), OBJECT_MAPPER.writeValueAsBytes(body));
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new IllegalArgumentException("Invalid JSON at " + location, jsonProcessingException);
+        }
+    }
+
+    /**
+     * Builds the request of an operation on two operands, as an expression for {@code EVAL}.
+     */
+    private static Request request(final String operation, final BigDecimal first, final BigDecimal second) {
+        final Map<String, Object> body = new LinkedHashMap<>();
+        if ("EVAL".equals(operation)) {
+            body.put("expression", "(%s + %s) * %s / %s".formatted(
+                    first.toPlainString(), second.toPlainString(), first.toPlainString(), second.toPlainString()));
+        } else {
+            body.put("firstNumber", first);
+            body.put("secondNumber", second);
+        }
+        try {
+            return new Request(operation, PATHS.get(operation), OBJECT_MAPPER.writeValueAsBytes(body));
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new IllegalStateException(jsonProcessingException);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.wit.calculator.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestOptionsTest {
+
+    @Test
+    void parse_defaults() {
+        var options = LoadTestOptions.parse();
+
+        assertNull(options.target());
+        assertEquals(List.of(500), options.rates());
+        assertEquals(Duration.ofSeconds(10), options.warmup());
+        assertEquals(Duration.ofSeconds(30), options.duration());
+        assertNull(options.workload());
+        assertEquals(Map.of("SUM", 1, "SUB", 1, "MULT", 1, "DIV", 1), options.mix());
+        assertEquals(OperandDistribution.UNIFORM, options.operands());
+        assertEquals(Duration.ofMillis(100), options.sloP99());
+        assertNull(options.report());
+        assertEquals(List.of(), options.applicationArguments());
+    }
+
+    @Test
+    void parse_options() {
+        var options = LoadTestOptions.parse(
+                "--target=http://host:8080/api/v1/calculator", "--rates=100, 200,400", "--warmup=2s",
+                "--duration=1m", "--workload=workloads/mixed.jsonl", "--mix=DIV:3,EVAL:1", "--operands=LOG_UNIFORM",
+                "--digits=12", "--scale=6", "--seed=7", "--max-in-flight=50", "--request-timeout=500ms",
+                "--slo-p99=20ms", "--report=report");
+
+        assertEquals(URI.create("http://host:8080/api/v1/calculator"), options.target());
+        assertEquals(List.of(100, 200, 400), options.rates());
+        assertEquals(Duration.ofSeconds(2), options.warmup());
+        assertEquals(Duration.ofMinutes(1), options.duration());
+        assertEquals(Path.of("workloads/mixed.jsonl"), options.workload());
+        assertEquals(List.of("DIV", "EVAL"), List.copyOf(options.mix().keySet()));
+        assertEquals(3, options.mix().get("DIV"));
+        assertEquals(OperandDistribution.LOG_UNIFORM, options.operands());
+        assertEquals(12, options.digits());
+        assertEquals(6, options.scale());
+        assertEquals(7, options.seed());
+        assertEquals(50, options.maxInFlight());
+        assertEquals(Duration.ofMillis(500), options.requestTimeout());
+        assertEquals(Duration.ofMillis(20), options.sloP99());
+        assertEquals(Path.of("report"), options.report());
+    }
+
+    @Test
+    void parse_passesOtherArgumentsToTheApplication() {
+        var options = LoadTestOptions.parse("--rates=100", "--calculator.engine=decimal128");
+
+        assertEquals(List.of("--calculator.engine=decimal128"), options.applicationArguments());
+    }
+
+    @Test
+    void parse_rejectsInvalidArguments() {
+        var invalid = new String[][]{
+                {"rates=100"},
+                {"--rates"},
+                {"--rates=0"},
+                {"--mix=POW:1"},
+                {"--mix=SUM:-1"},
+                {"--mix=SUM:0,DIV:0"},
+                {"--digits=15", "--scale=4"},
+                {"--operands=NORMAL"},
+                {"--target=http://host:8080", "--calculator.engine=decimal128"}
+        };
+        for (var args : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(args), String.join(" ", args));
+        }
+    }
+}
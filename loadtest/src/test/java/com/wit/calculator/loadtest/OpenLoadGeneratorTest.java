@@ -0,0 +1,147 @@
+package com.wit.calculator.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLoadGeneratorTest {
+    private static final Workload WORKLOAD = new Workload(List.of(
+            new Workload.Request("SUM", "/sum", "{\"firstNumber\":1,\"secondNumber\":2}".getBytes())));
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void run_sendsAtTheArrivalRate() {
+        var received = new AtomicInteger();
+        var target = start(exchange -> {
+            received.incrementAndGet();
+            respond(exchange, 200);
+        });
+
+        var result = generator(target, 1000).run(200, Duration.ofMillis(500), Duration.ofSeconds(1), null);
+
+        assertEquals(200, result.requests(), 2);
+        assertEquals(300, received.get(), 3);
+        assertEquals(0, result.errors());
+        assertEquals(0, result.overflow());
+        assertTrue(result.throughput() >= 190, () -> "throughput " + result.throughput());
+        assertEquals(result.requests(), result.latency().getTotalCount());
+        assertTrue(result.meets(Duration.ofSeconds(1)));
+        assertTrue(output.toString().contains("200/s"), output::toString);
+    }
+
+    @Test
+    void run_chargesTheWaitBehindAStallToTheQueuedRequests() {
+        var first = new AtomicInteger();
+        var target = start(exchange -> {
+            if (first.getAndIncrement() == 0) {
+                sleep(500);
+            }
+            respond(exchange, 200);
+        });
+
+        var result = generator(target, 1000).run(100, Duration.ZERO, Duration.ofSeconds(1), null);
+
+        // The requests due during the first half waited for the stalled server thread, up to 500 ms
+        assertTrue(result.latency().getValueAtPercentile(75) >= 100_000, () -> "p75 " + result.latencyMillis(75));
+        assertTrue(result.latency().getMaxValue() >= 500_000, () -> "max " + result.latencyMillis(100));
+        assertFalse(result.meets(Duration.ofMillis(100)));
+    }
+
+    @Test
+    void run_countsErrorsAndOverflow() {
+        var target = start(exchange -> {
+            sleep(200);
+            respond(exchange, 500);
+        });
+
+        var result = generator(target, 2).run(50, Duration.ZERO, Duration.ofMillis(500), null);
+
+        assertEquals(25, result.requests(), 1);
+        assertTrue(result.errors() >= 2, () -> "errors " + result.errors());
+        assertEquals(result.requests(), result.errors() + result.overflow());
+        assertEquals(0, result.throughput());
+        assertFalse(result.meets(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void run_logsTheLatencyOfEverySecond() {
+        var target = start(exchange -> respond(exchange, 200));
+        var log = new ByteArrayOutputStream();
+        var writer = new HistogramLogWriter(new PrintStream(log));
+
+        generator(target, 1000).run(100, Duration.ofSeconds(1), Duration.ofSeconds(1), writer);
+
+        var reader = new HistogramLogReader(new ByteArrayInputStream(log.toByteArray()));
+        long total = 0;
+        int intervals = 0;
+        while (reader.hasNext()) {
+            total += ((Histogram) reader.nextIntervalHistogram()).getTotalCount();
+            intervals++;
+        }
+        assertTrue(intervals >= 2, () -> "intervals " + log);
+        assertEquals(200, total, 2);
+    }
+
+    private OpenLoadGenerator generator(final URI target, final int maxInFlight) {
+        return new OpenLoadGenerator(httpClient, target, WORKLOAD, maxInFlight, Duration.ofSeconds(5),
+                new PrintStream(output));
+    }
+
+    private URI start(final Handler handler) {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+        } catch (IOException ioException) {
+            throw new IllegalStateException(ioException);
+        }
+        server.createContext("/api", exchange -> handler.handle(exchange));
+        server.setExecutor(Executors.newSingleThreadExecutor());
+        server.start();
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/api");
+    }
+
+    private static void respond(final HttpExchange exchange, final int status) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        var body = "{\"result\":3}".getBytes();
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
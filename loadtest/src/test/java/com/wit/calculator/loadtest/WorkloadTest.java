@@ -0,0 +1,98 @@
+package com.wit.calculator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void generate_followsTheMixAndTheOperands() throws IOException {
+        var options = LoadTestOptions.parse("--mix=SUM:1,DIV:3,EVAL:0", "--digits=4", "--scale=2");
+
+        var workload = Workload.generate(options);
+
+        assertEquals(Workload.GENERATED_SIZE, workload.requests().size());
+        var counts = workload.requests().stream()
+                .collect(Collectors.groupingBy(Workload.Request::operation, Collectors.counting()));
+        assertEquals(2, counts.size());
+        assertEquals(0.75, counts.get("DIV") / (double) Workload.GENERATED_SIZE, 0.02);
+        for (var request : workload.requests().subList(0, 100)) {
+            assertEquals(Workload.PATHS.get(request.operation()), request.path());
+            var body = objectMapper.readTree(request.body());
+            for (var operand : List.of(body.get("firstNumber"), body.get("secondNumber"))) {
+                var value = operand.decimalValue();
+                assertTrue(value.signum() > 0 && value.compareTo(new BigDecimal("10000")) < 0, value::toString);
+                assertTrue(value.scale() <= 2, value::toString);
+            }
+        }
+    }
+
+    @Test
+    void generate_isRepeatable() {
+        var options = LoadTestOptions.parse("--mix=SUM:1,EVAL:1", "--operands=LOG_UNIFORM", "--seed=3");
+
+        var first = Workload.generate(options);
+        var second = Workload.generate(options);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.get(i).operation(), second.get(i).operation());
+            assertArrayEquals(first.get(i).body(), second.get(i).body());
+        }
+    }
+
+    @Test
+    void generate_fixedOperands() throws IOException {
+        var workload = Workload.generate(LoadTestOptions.parse("--mix=DIV:1", "--operands=FIXED"));
+
+        assertEquals(Map.of("firstNumber", 1234567.891, "secondNumber", 3.5),
+                objectMapper.readValue(workload.get(0).body(), Map.class));
+    }
+
+    @Test
+    void read_parsesOneRequestPerLine(@TempDir final Path directory) throws IOException {
+        var file = directory.resolve("workload.jsonl");
+        Files.writeString(file, """
+                {"operation":"DIV","firstNumber":1234567.891,"secondNumber":3.5,"precision":"DECIMAL64"}
+
+                {"operation":"EVAL","expression":"(1 + 2) * 3"}
+                """);
+
+        var workload = Workload.read(file);
+
+        assertEquals(2, workload.requests().size());
+        assertEquals("/div", workload.get(0).path());
+        assertEquals("{\"firstNumber\":1234567.891,\"secondNumber\":3.5,\"precision\":\"DECIMAL64\"}",
+                new String(workload.get(0).body()));
+        assertEquals("/evaluate", workload.get(1).path());
+        assertEquals("{\"expression\":\"(1 + 2) * 3\"}", new String(workload.get(1).body()));
+        assertSame(workload.get(0), workload.get(2));
+    }
+
+    @Test
+    void read_rejectsInvalidLinesWithTheirNumber(@TempDir final Path directory) throws IOException {
+        var file = directory.resolve("workload.jsonl");
+        for (var line : List.of("{\"firstNumber\":1}", "{\"operation\":\"POW\"}", "{\"operation\":", "[]")) {
+            Files.writeString(file, "{\"operation\":\"SUM\",\"firstNumber\":1,\"secondNumber\":2}\n" + line + "\n");
+
+            var exception = assertThrows(IllegalArgumentException.class, () -> Workload.read(file), line);
+            assertTrue(exception.getMessage().endsWith(file + ":2"), exception.getMessage());
+        }
+    }
+
+    @Test
+    void sampleWorkload_isValid() {
+        assertFalse(Workload.read(Path.of("workloads/mixed.jsonl")).requests().isEmpty());
+    }
+}
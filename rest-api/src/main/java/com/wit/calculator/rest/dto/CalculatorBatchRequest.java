@@ -0,0 +1,39 @@
+package com.wit.calculator.rest.dto;
+
+import com.wit.calculator.domain.CalculatorOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payload for calculator batch requests.
+ *
+ * @param items the operations to be evaluated.
+ */
+@Schema(description = "Payload body for batch calculator requests.")
+public record CalculatorBatchRequest(
+        @NotEmpty(message = "{validation.notEmpty}")
+        @Size(max = 10_000, message = "{validation.batch.size}")
+        @Schema(description = "The operations to be evaluated, in order.")
+        List<Item> items
+) {
+    /**
+     * A single operation of the batch.
+     * Operands are not validated up front: a missing operand is reported as an error of its own item.
+     *
+     * @param operation the operation to be performed.
+     * @param firstNumber the first operand.
+     * @param secondNumber the second operand.
+     */
+    public record Item(
+            @Schema(description = "The operation.", example = "SUM")
+            CalculatorOperation operation,
+            @Schema(description = "The first operand.", example = "10.5")
+            BigDecimal firstNumber,
+            @Schema(description = "The second operand.", example = "5.5")
+            BigDecimal secondNumber
+    ) {}
+}
@@ -0,0 +1,33 @@
+package com.wit.calculator.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payload for calculator batch responses.
+ *
+ * @param results one result per requested item, in the same order.
+ */
+@Schema(description = "Response payload for batch calculator requests.")
+public record CalculatorBatchResponse(
+        @Schema(description = "The results, in the same order as the requested items.")
+        List<Item> results
+) {
+    /**
+     * Result of a single operation of the batch.
+     *
+     * @param result the result of the operation, absent on failure.
+     * @param error the short error message, absent on success.
+     * @param message the detailed error message, absent on success.
+     */
+    public record Item(
+            @Schema(description = "The result of the calculation.", example = "15.5")
+            BigDecimal result,
+            @Schema(description = "Short error message.", example = "Arithmetic Error")
+            String error,
+            @Schema(description = "Detailed error message.", example = "Division by 0 is not allowed")
+            String message
+    ) {}
+}
@@ -0,0 +1,25 @@
+package com.wit.calculator.rest.dto;
+
+import com.wit.calculator.domain.CalculatorOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Payload for element-wise operations over double columns.
+ *
+ * @param operation the operation applied to each pair of elements.
+ * @param first the first operands.
+ * @param second the second operands, as many as the first.
+ */
+@Schema(description = "Payload body for element-wise operations over two columns of doubles (IEEE 754, lossy).")
+public record CalculatorColumnsRequest(
+        @NotNull(message = "{validation.notNull}")
+        @Schema(description = "The operation.", example = "MULT")
+        CalculatorOperation operation,
+        @NotNull(message = "{validation.notNull}")
+        @Schema(description = "The first operands.", example = "[1.5, 2.5, 3.5]")
+        double[] first,
+        @NotNull(message = "{validation.notNull}")
+        @Schema(description = "The second operands, as many as the first.", example = "[2, 2, 2]")
+        double[] second
+) {}
@@ -0,0 +1,23 @@
+package com.wit.calculator.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Payload for expression cache statistics responses.
+ *
+ * @param hits number of evaluations served by a cached expression.
+ * @param misses number of evaluations that parsed the expression.
+ * @param size number of cached expressions.
+ * @param capacity maximum number of cached expressions.
+ */
+@Schema(description = "Expression cache statistics.")
+public record CalculatorExpressionCacheResponse(
+        @Schema(description = "Evaluations served by a cached expression.", example = "1200")
+        long hits,
+        @Schema(description = "Evaluations that parsed the expression.", example = "34")
+        long misses,
+        @Schema(description = "Number of cached expressions.", example = "34")
+        int size,
+        @Schema(description = "Maximum number of cached expressions.", example = "1024")
+        int capacity
+) {}
@@ -0,0 +1,18 @@
+package com.wit.calculator.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Payload for expression evaluation requests.
+ *
+ * @param expression the arithmetic expression to be evaluated.
+ */
+@Schema(description = "Payload body for expression evaluation requests.")
+public record CalculatorExpressionRequest(
+        @NotBlank(message = "{validation.notBlank}")
+        @Size(max = 4096, message = "{validation.expression.size}")
+        @Schema(description = "The expression, with + - * / and parentheses.", example = "(10.5 + 5.5) * 2 / 4")
+        String expression
+) {}
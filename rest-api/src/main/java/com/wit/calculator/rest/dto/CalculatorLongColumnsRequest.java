@@ -0,0 +1,25 @@
+package com.wit.calculator.rest.dto;
+
+import com.wit.calculator.domain.CalculatorOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Payload for element-wise operations over long columns.
+ *
+ * @param operation the operation applied to each pair of elements, SUM, SUB or MULT.
+ * @param first the first operands.
+ * @param second the second operands, as many as the first.
+ */
+@Schema(description = "Payload body for element-wise operations over two columns of 64-bit integers (exact).")
+public record CalculatorLongColumnsRequest(
+        @NotNull(message = "{validation.notNull}")
+        @Schema(description = "The operation: SUM, SUB or MULT.", example = "SUM")
+        CalculatorOperation operation,
+        @NotNull(message = "{validation.notNull}")
+        @Schema(description = "The first operands.", example = "[1, 2, 3]")
+        long[] first,
+        @NotNull(message = "{validation.notNull}")
+        @Schema(description = "The second operands, as many as the first.", example = "[10, 20, 30]")
+        long[] second
+) {}
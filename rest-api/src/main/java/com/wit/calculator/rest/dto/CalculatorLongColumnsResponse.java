@@ -0,0 +1,13 @@
+package com.wit.calculator.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Payload for element-wise operations over long columns.
+ *
+ * @param result one result per pair of operands, in order.
+ */
+public record CalculatorLongColumnsResponse(
+        @Schema(description = "The results, in the same order as the operands.", example = "[11, 22, 33]")
+        long[] result
+) {}
@@ -0,0 +1,32 @@
+package com.wit.calculator.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Payload for producer statistics responses.
+ *
+ * @param published events acknowledged by the broker.
+ * @param failed events that could not be published.
+ * @param dropped events dropped because the queue was full.
+ * @param rejected requests rejected because the queue was full.
+ * @param queued events waiting to be published.
+ * @param averageLatencyMillis average time from enqueue to acknowledgement.
+ * @param maxLatencyMillis maximum time from enqueue to acknowledgement.
+ */
+@Schema(description = "Producer statistics.")
+public record CalculatorProducerStatsResponse(
+        @Schema(description = "Events acknowledged by the broker.", example = "10000")
+        long published,
+        @Schema(description = "Events that could not be published.", example = "0")
+        long failed,
+        @Schema(description = "Events dropped because the queue was full.", example = "0")
+        long dropped,
+        @Schema(description = "Events rejected because the queue was full.", example = "0")
+        long rejected,
+        @Schema(description = "Events waiting to be published.", example = "12")
+        int queued,
+        @Schema(description = "Average time from enqueue to acknowledgement, in milliseconds.", example = "4.2")
+        double averageLatencyMillis,
+        @Schema(description = "Maximum time from enqueue to acknowledgement, in milliseconds.", example = "35.0")
+        double maxLatencyMillis
+) {}
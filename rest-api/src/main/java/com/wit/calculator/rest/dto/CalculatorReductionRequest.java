@@ -0,0 +1,22 @@
+package com.wit.calculator.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payload for N-ary reductions, such as the sum of many operands.
+ *
+ * @param operands the operands to be reduced.
+ */
+@Schema(description = "Payload body for the sum or the product of many operands.")
+public record CalculatorReductionRequest(
+        @NotEmpty(message = "{validation.notEmpty}")
+        @Size(max = 100_000, message = "{validation.reduction.size}")
+        @Schema(description = "The operands.", example = "[10.5, 5.5, 3]")
+        List<@NotNull(message = "{validation.notNull}") BigDecimal> operands
+) {}
@@ -0,0 +1,43 @@
+package com.wit.calculator.rest.dto;
+
+import com.wit.calculator.domain.CalculatorPrecision;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Payload for calculator requests.
+ *
+ * @param firstNumber the first number to be added.
+ * @param secondNumber the second number to be added.
+ * @param precision the precision tier of the result, {@code DECIMAL128} when absent.
+ * @param roundingMode the rounding mode of the result, {@code HALF_EVEN} when absent.
+ */
+@Schema(description = "Payload body for calculator operations with two operands requests.")
+public record CalculatorRequest(
+        @NotNull(message = "{validation.notNull}")
+        @Schema(description = "The first operand.", example = "10.5")
+        BigDecimal firstNumber,
+        @NotNull(message = "{validation.notNull}")
+        @Schema(description = "The second operand.", example = "5.5")
+        BigDecimal secondNumber,
+        @Schema(description = "The precision of the result: DECIMAL128 (34 digits, default), DECIMAL64 (16 digits) "
+                + "or DOUBLE (binary floating point, lossy). Lower tiers are cheaper to compute.",
+                example = "DECIMAL128", nullable = true)
+        CalculatorPrecision precision,
+        @Schema(description = "The rounding mode of the result, HALF_EVEN by default. DOUBLE only accepts HALF_EVEN.",
+                example = "HALF_EVEN", nullable = true)
+        RoundingMode roundingMode
+) {
+    /**
+     * Request computed with the default precision.
+     *
+     * @param firstNumber the first operand.
+     * @param secondNumber the second operand.
+     */
+    public CalculatorRequest(final BigDecimal firstNumber, final BigDecimal secondNumber) {
+        this(firstNumber, secondNumber, null, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.wit.calculator.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Payload for result cache statistics responses.
+ *
+ * @param enabled whether results are cached.
+ * @param hits number of calculations served by a cached result.
+ * @param misses number of calculations computed by the engine.
+ * @param hitRate ratio of hits to cached calculations.
+ * @param evictions number of results evicted to stay within the capacity.
+ * @param size number of cached results.
+ * @param capacity maximum number of cached results.
+ */
+@Schema(description = "Result cache statistics.")
+public record CalculatorResultCacheResponse(
+        @Schema(description = "Whether results are cached.", example = "true")
+        boolean enabled,
+        @Schema(description = "Calculations served by a cached result.", example = "9000")
+        long hits,
+        @Schema(description = "Calculations computed by the engine.", example = "1000")
+        long misses,
+        @Schema(description = "Ratio of hits to cached calculations.", example = "0.9")
+        double hitRate,
+        @Schema(description = "Results evicted to stay within the capacity.", example = "0")
+        long evictions,
+        @Schema(description = "Number of cached results.", example = "1000")
+        long size,
+        @Schema(description = "Maximum number of cached results.", example = "100000")
+        long capacity
+) {
+    /**
+     * @return the statistics of a disabled cache.
+     */
+    public static CalculatorResultCacheResponse disabled() {
+        return new CalculatorResultCacheResponse(false, 0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,25 @@
+package com.wit.calculator.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Reactive front end: the REST API of the rest module on WebFlux and Netty.
+ * Only the calculation packages of the calculator module are scanned, not its Kafka consumer.
+ */
+@SpringBootApplication(scanBasePackages = {
+        "com.wit.calculator.reactive",
+        "com.wit.calculator.audit",
+        "com.wit.calculator.configuration",
+        "com.wit.calculator.expression",
+        "com.wit.calculator.service"
+})
+public class ReactiveApplication {
+    public static void main(String[] args) {
+        final SpringApplication springApplication = new SpringApplication(ReactiveApplication.class);
+        // Spring MVC may be on the classpath too, e.g. in the benchmarks
+        springApplication.setWebApplicationType(WebApplicationType.REACTIVE);
+        springApplication.run(args);
+    }
+}
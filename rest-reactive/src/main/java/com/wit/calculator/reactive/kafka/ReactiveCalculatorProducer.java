@@ -0,0 +1,227 @@
+package com.wit.calculator.reactive.kafka;
+
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.EventIdGenerator;
+import com.wit.calculator.kafka.EventKeyStrategy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes calculation events with reactor-kafka.
+ * <p>
+ * Sending does not wait for the broker: records are handed to the sender and their acknowledgements arrive as
+ * signals on the sender scheduler, so no request thread waits for Kafka. Instead of a queue, the number of
+ * events awaiting their acknowledgement is bounded by {@code calculator.producer.max-in-flight}; beyond it
+ * events are rejected, which answers 503 like the REJECT policy of the rest module.
+ * Exposes the same metrics as the producer of the rest module, with the in-flight events as the queue size, and
+ * assigns the same time-ordered event ids and record keys.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCalculatorProducer {
+    private static final String OPERATION = "operation";
+    private static final String OUTCOME = "outcome";
+
+    private final KafkaSender<String, CalculationEvent> kafkaSender;
+    private final String topic;
+    private final int maxInFlight;
+    private final EventIdGenerator eventIds;
+    private final EventKeyStrategy keyStrategy;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private final Meter.MeterProvider<Timer> ackTimer;
+    private final Map<String, Timer> publishedTimers = new ConcurrentHashMap<>();
+
+    /**
+     * @param kafkaSender the sender publishing the events.
+     * @param topic the topic of the events.
+     * @param maxInFlight the maximum number of events awaiting their acknowledgement.
+     * @param nodeId the node id of the event ids, negative if not configured.
+     * @param replicas the number of producer instances, which require a configured node id when above 1.
+     * @param keyStrategy the record key of the events.
+     * @param meterRegistry the registry of the producer metrics.
+     */
+    public ReactiveCalculatorProducer(
+            final KafkaSender<String, CalculationEvent> kafkaSender,
+            @Value("${calculator.topic}") final String topic,
+            @Value("${calculator.producer.max-in-flight:10000}") final int maxInFlight,
+            @Value("${calculator.producer.node-id:-1}") final int nodeId,
+            @Value("${calculator.producer.replicas:1}") final int replicas,
+            @Value("${calculator.producer.key-strategy:NONE}") final EventKeyStrategy keyStrategy,
+            final MeterRegistry meterRegistry
+    ) {
+        this.kafkaSender = kafkaSender;
+        this.topic = topic;
+        this.maxInFlight = maxInFlight;
+        this.eventIds = EventIdGenerator.forNode(nodeId, replicas);
+        this.keyStrategy = keyStrategy;
+
+        this.ackTimer = Timer.builder("calculator.producer.ack")
+                .description("Time from the hand-off of an event to Kafka to its acknowledgement")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        FunctionCounter.builder("calculator.producer.rejected", rejected, LongAdder::sum)
+                .description("Events rejected because too many events awaited their acknowledgement")
+                .register(meterRegistry);
+        Gauge.builder("calculator.producer.queue.size", inFlight, AtomicInteger::get)
+                .description("Events awaiting their acknowledgement")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes an event to the configured topic without waiting for its acknowledgement.
+     *
+     * @param calculationEvent the event.
+     *
+     * @throws ReactiveProducerOverloadedException if too many events await their acknowledgement.
+     */
+    public void send(final CalculationEvent calculationEvent) {
+        sendAll(List.of(calculationEvent), null);
+    }
+
+    /**
+     * Publishes an event of a client to the configured topic without waiting for its acknowledgement.
+     *
+     * @param calculationEvent the event.
+     * @param client the client id of the request, null if unknown.
+     *
+     * @throws ReactiveProducerOverloadedException if too many events await their acknowledgement.
+     */
+    public void send(final CalculationEvent calculationEvent, final String client) {
+        sendAll(List.of(calculationEvent), client);
+    }
+
+    /**
+     * Publishes a batch of events to the configured topic without waiting for their acknowledgements.
+     * The batch is admitted or rejected as a whole.
+     *
+     * @param calculationEvents the events.
+     * @param client the client id of the request, null if unknown.
+     *
+     * @throws ReactiveProducerOverloadedException if too many events await their acknowledgement.
+     */
+    public void sendAll(final List<CalculationEvent> calculationEvents, final String client) {
+        final int size = calculationEvents.size();
+        if (inFlight.addAndGet(size) > maxInFlight) {
+            inFlight.addAndGet(-size);
+            rejected.add(size);
+            throw new ReactiveProducerOverloadedException(
+                    "Too many events awaiting acknowledgement, max " + maxInFlight);
+        }
+        final long sentAt = System.nanoTime();
+        final AtomicInteger completed = new AtomicInteger();
+        kafkaSender.send(Flux.fromIterable(calculationEvents)
+                        .map(eventIds::assign)
+                        .map(calculationEvent -> SenderRecord.create(
+                                new ProducerRecord<>(topic, keyStrategy.key(calculationEvent, client), calculationEvent),
+                                calculationEvent)))
+                .subscribe(
+                        result -> {
+                            completed.incrementAndGet();
+                            complete(result.correlationMetadata(), sentAt, result.exception());
+                        },
+                        exception -> failRemaining(calculationEvents, completed.get(), sentAt, exception)
+                );
+    }
+
+    /**
+     * @return the producer counters.
+     */
+    public Stats stats() {
+        final long completed = published.sum() + failed.sum();
+        return new Stats(
+                published.sum(),
+                failed.sum(),
+                rejected.sum(),
+                inFlight.get(),
+                completed == 0 ? 0 : totalLatencyNanos.sum() / (double) completed / 1_000_000,
+                maxLatencyNanos.get() / 1_000_000.0
+        );
+    }
+
+    private void complete(final CalculationEvent calculationEvent, final long sentAt, final Throwable exception) {
+        inFlight.decrementAndGet();
+        final long latency = System.nanoTime() - sentAt;
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        if (exception == null) {
+            published.increment();
+            publishedTimers.computeIfAbsent(operation(calculationEvent),
+                            operation -> ackTimer.withTags(OPERATION, operation, OUTCOME, "success"))
+                    .record(latency, TimeUnit.NANOSECONDS);
+        } else {
+            failed.increment();
+            ackTimer.withTags(OPERATION, operation(calculationEvent), OUTCOME, "failure")
+                    .record(latency, TimeUnit.NANOSECONDS);
+            log.error("Failed to publish message to topic {}: {}", topic, calculationEvent, exception);
+        }
+    }
+
+    /**
+     * Fails the events of a send that terminated before their results, e.g. because the sender was closed.
+     *
+     * @param calculationEvents the events of the send.
+     * @param completed the number of events that already got their result.
+     * @param sentAt the {@link System#nanoTime()} of the send.
+     * @param exception the error terminating the send.
+     */
+    private void failRemaining(
+            final List<CalculationEvent> calculationEvents,
+            final int completed,
+            final long sentAt,
+            final Throwable exception
+    ) {
+        for (final CalculationEvent calculationEvent : calculationEvents.subList(completed, calculationEvents.size())) {
+            complete(calculationEvent, sentAt, exception);
+        }
+    }
+
+    private static String operation(final CalculationEvent calculationEvent) {
+        return String.valueOf(calculationEvent.operation());
+    }
+
+    /**
+     * Producer counters.
+     *
+     * @param published events acknowledged by the broker.
+     * @param failed events the broker or the client failed to publish.
+     * @param rejected events rejected because too many events awaited their acknowledgement.
+     * @param inFlight events awaiting their acknowledgement.
+     * @param averageLatencyMillis average time from hand-off to acknowledgement.
+     * @param maxLatencyMillis maximum time from hand-off to acknowledgement.
+     */
+    public record Stats(
+            long published,
+            long failed,
+            long rejected,
+            int inFlight,
+            double averageLatencyMillis,
+            double maxLatencyMillis
+    ) {}
+}
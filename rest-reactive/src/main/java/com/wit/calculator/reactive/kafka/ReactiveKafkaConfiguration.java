@@ -0,0 +1,38 @@
+package com.wit.calculator.reactive.kafka;
+
+import com.wit.calculator.kafka.CalculationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+/**
+ * Configuration of the reactor-kafka sender, from the same {@code spring.kafka.producer.*} properties
+ * as the Kafka template of the rest module.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveKafkaConfiguration {
+    /**
+     * Sender publishing the calculation events. A failed record is reported in its own result instead of
+     * terminating the sender.
+     *
+     * @param kafkaProperties the Spring Boot Kafka properties.
+     * @param maxInFlight the maximum number of records awaiting their acknowledgement.
+     *
+     * @return the Kafka sender.
+     */
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, CalculationEvent> calculationEventSender(
+            final KafkaProperties kafkaProperties,
+            @Value("${calculator.producer.max-in-flight:10000}") final int maxInFlight
+    ) {
+        return KafkaSender.create(SenderOptions.<String, CalculationEvent>create(
+                        kafkaProperties.buildProducerProperties(null))
+                .maxInFlight(maxInFlight)
+                .stopOnError(false));
+    }
+}
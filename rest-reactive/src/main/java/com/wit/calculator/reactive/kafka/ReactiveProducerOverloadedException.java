@@ -0,0 +1,13 @@
+package com.wit.calculator.reactive.kafka;
+
+/**
+ * Thrown when an event cannot be published because too many events await their acknowledgement.
+ */
+public class ReactiveProducerOverloadedException extends RuntimeException {
+    /**
+     * @param message the reason of the rejection.
+     */
+    public ReactiveProducerOverloadedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,452 @@
+package com.wit.calculator.reactive.web;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBatchItem;
+import com.wit.calculator.domain.CalculatorBatchResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.expression.ExpressionCache;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.reactive.kafka.ReactiveCalculatorProducer;
+import com.wit.calculator.reactive.web.exception.ReactiveCalculationFailureMapper;
+import com.wit.calculator.reactive.web.exception.ReactiveCalculatorExceptionHandler;
+import com.wit.calculator.rest.dto.CalculatorBatchRequest;
+import com.wit.calculator.rest.dto.CalculatorBatchResponse;
+import com.wit.calculator.rest.dto.CalculatorColumnsRequest;
+import com.wit.calculator.rest.dto.CalculatorColumnsResponse;
+import com.wit.calculator.rest.dto.CalculatorExpressionCacheResponse;
+import com.wit.calculator.rest.dto.CalculatorExpressionRequest;
+import com.wit.calculator.rest.dto.CalculatorLongColumnsRequest;
+import com.wit.calculator.rest.dto.CalculatorLongColumnsResponse;
+import com.wit.calculator.rest.dto.CalculatorProducerStatsResponse;
+import com.wit.calculator.rest.dto.CalculatorReductionRequest;
+import com.wit.calculator.rest.dto.CalculatorRequest;
+import com.wit.calculator.rest.dto.CalculatorResponse;
+import com.wit.calculator.rest.dto.CalculatorResultCacheResponse;
+import com.wit.calculator.service.CachingCalculatorService;
+import com.wit.calculator.service.CalculatorBatchService;
+import com.wit.calculator.service.CalculatorColumnService;
+import com.wit.calculator.service.CalculatorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calculator REST controller on WebFlux, with the paths, payloads and errors of the rest module.
+ * <p>
+ * Single operations and expressions are computed on the event loop, since they take microseconds, and their
+ * events are handed to reactor-kafka without waiting for the broker. Batches, reductions and columns, which
+ * take longer and wait for worker pools, run on the bounded elastic scheduler so that they never hold an event loop.
+ * Failures of operations and expressions, such as a division by zero, are returned rather than thrown and
+ * mapped to the error responses of the exception handler.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("${api.base.path}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Calculator", description = "Basic API calculator operations.")
+public class ReactiveCalculatorController {
+    /** Request header identifying the client in the audit log, as in the rest module. */
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    private final CalculatorService calculatorService;
+    private final ReactiveCalculatorProducer reactiveCalculatorProducer;
+    private final CalculatorBatchService calculatorBatchService;
+    private final CalculatorColumnService calculatorColumnService;
+    private final ExpressionCache expressionCache;
+    private final ObjectProvider<CachingCalculatorService> cachingCalculatorService;
+    private final AuditLog auditLog;
+    private final ReactiveCalculatorExceptionHandler reactiveCalculatorExceptionHandler;
+    private final ReactiveCalculationFailureMapper reactiveCalculationFailureMapper;
+
+    @Operation(summary = "Sum two numbers.")
+    @PostMapping(
+            path = "${api.endpoints.sum}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResponse> sum(
+            @Valid @RequestBody final CalculatorRequest calculatorRequest,
+            @RequestHeader(name = CLIENT_HEADER, required = false) final String client,
+            final ServerWebExchange serverWebExchange
+    ) {
+        return calculate(CalculatorOperation.SUM, calculatorRequest, client, serverWebExchange);
+    }
+
+    @Operation(summary = "Subtract two numbers.")
+    @PostMapping(
+            path = "${api.endpoints.sub}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResponse> sub(
+            @Valid @RequestBody final CalculatorRequest calculatorRequest,
+            @RequestHeader(name = CLIENT_HEADER, required = false) final String client,
+            final ServerWebExchange serverWebExchange
+    ) {
+        return calculate(CalculatorOperation.SUB, calculatorRequest, client, serverWebExchange);
+    }
+
+    @Operation(summary = "Multiply two numbers.")
+    @PostMapping(
+            path = "${api.endpoints.mult}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResponse> multiply(
+            @Valid @RequestBody final CalculatorRequest calculatorRequest,
+            @RequestHeader(name = CLIENT_HEADER, required = false) final String client,
+            final ServerWebExchange serverWebExchange
+    ) {
+        return calculate(CalculatorOperation.MULT, calculatorRequest, client, serverWebExchange);
+    }
+
+    @Operation(summary = "Divide two numbers.")
+    @PostMapping(
+            path = "${api.endpoints.div}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResponse> division(
+            @Valid @RequestBody final CalculatorRequest calculatorRequest,
+            @RequestHeader(name = CLIENT_HEADER, required = false) final String client,
+            final ServerWebExchange serverWebExchange
+    ) {
+        return calculate(CalculatorOperation.DIV, calculatorRequest, client, serverWebExchange);
+    }
+
+    @Operation(summary = "Evaluate a batch of operations.")
+    @PostMapping(
+            path = "${api.endpoints.batch}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<CalculatorBatchResponse>> batch(
+            @Valid @RequestBody final CalculatorBatchRequest calculatorBatchRequest,
+            @RequestHeader(name = CLIENT_HEADER, required = false) final String client
+    ) {
+        return Mono.fromCallable(() -> evaluateBatch(calculatorBatchRequest.items(), client))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Operation(summary = "Sum of many operands.")
+    @PostMapping(
+            path = "${api.endpoints.sum-all}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<CalculatorResponse>> sumAll(
+            @Valid @RequestBody final CalculatorReductionRequest calculatorReductionRequest
+    ) {
+        return Mono.fromCallable(() -> new ResponseEntity<>(new CalculatorResponse(
+                        calculatorService.sumAll(calculatorReductionRequest.operands())), HttpStatus.OK))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Operation(summary = "Product of many operands.")
+    @PostMapping(
+            path = "${api.endpoints.product-all}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<CalculatorResponse>> productAll(
+            @Valid @RequestBody final CalculatorReductionRequest calculatorReductionRequest
+    ) {
+        return Mono.fromCallable(() -> new ResponseEntity<>(new CalculatorResponse(
+                        calculatorService.productAll(calculatorReductionRequest.operands())), HttpStatus.OK))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Operation(summary = "Evaluate a stream of operations, one JSON operation per line.")
+    @PostMapping(
+            path = "${api.endpoints.stream}",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<Object> stream(
+            @RequestBody final Flux<CalculatorBatchRequest.Item> items,
+            @RequestHeader(name = CLIENT_HEADER, required = false) final String client,
+            final ServerWebExchange serverWebExchange
+    ) {
+        return items
+                .map(item -> {
+                    try {
+                        final CalculationResult calculationResult = evaluate(item, client);
+                        return calculationResult.isSuccess()
+                                ? (Object) new CalculatorResponse(calculationResult.value())
+                                : reactiveCalculationFailureMapper.toErrorResponse(calculationResult, serverWebExchange);
+                    } catch (RuntimeException runtimeException) {
+                        return reactiveCalculatorExceptionHandler.handleLine(runtimeException, serverWebExchange);
+                    }
+                })
+                // A malformed line ends the stream: the decoder cannot find the start of the next operation
+                .onErrorResume(DecodingException.class, decodingException -> Mono.just(
+                        reactiveCalculatorExceptionHandler.handleLine(
+                                new ServerWebInputException("Malformed JSON line", null, decodingException),
+                                serverWebExchange)));
+    }
+
+    @Operation(summary = "Evaluate an expression.")
+    @PostMapping(
+            path = "${api.endpoints.evaluate}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResponse> evaluate(
+            @Valid @RequestBody final CalculatorExpressionRequest calculatorExpressionRequest,
+            @RequestHeader(name = CLIENT_HEADER, required = false) final String client,
+            final ServerWebExchange serverWebExchange
+    ) {
+        final CalculationResult calculationResult =
+                calculatorService.tryEvaluate(calculatorExpressionRequest.expression());
+        if (!calculationResult.isSuccess()) {
+            return reactiveCalculationFailureMapper.toResponse(calculationResult, serverWebExchange);
+        }
+        final BigDecimal result = calculationResult.value();
+
+        final CalculationEvent calculationEvent =
+                CalculationEvent.evaluation(calculatorExpressionRequest.expression(), result);
+        reactiveCalculatorProducer.send(calculationEvent, client);
+        auditLog.record(AuditLog.REST, client, calculationEvent);
+
+        return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Element-wise operation over double columns.")
+    @PostMapping(
+            path = "${api.endpoints.columns}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<CalculatorColumnsResponse>> columns(
+            @Valid @RequestBody final CalculatorColumnsRequest calculatorColumnsRequest
+    ) {
+        return Mono.fromCallable(() -> new ResponseEntity<>(new CalculatorColumnsResponse(
+                        calculatorColumnService.evaluate(
+                                calculatorColumnsRequest.operation(),
+                                calculatorColumnsRequest.first(),
+                                calculatorColumnsRequest.second()
+                        )), HttpStatus.OK))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Operation(summary = "Element-wise operation over long columns.")
+    @PostMapping(
+            path = "${api.endpoints.long-columns}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<CalculatorLongColumnsResponse>> longColumns(
+            @Valid @RequestBody final CalculatorLongColumnsRequest calculatorLongColumnsRequest
+    ) {
+        return Mono.fromCallable(() -> new ResponseEntity<>(new CalculatorLongColumnsResponse(
+                        calculatorColumnService.evaluate(
+                                calculatorLongColumnsRequest.operation(),
+                                calculatorLongColumnsRequest.first(),
+                                calculatorLongColumnsRequest.second()
+                        )), HttpStatus.OK))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Operation(summary = "Expression cache statistics.")
+    @GetMapping(
+            path = "${api.endpoints.expression-cache}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorExpressionCacheResponse> expressionCacheStats() {
+        final ExpressionCache.Stats stats = expressionCache.stats();
+        return new ResponseEntity<>(new CalculatorExpressionCacheResponse(
+                stats.hits(),
+                stats.misses(),
+                stats.size(),
+                stats.capacity()
+        ), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Result cache statistics.")
+    @GetMapping(
+            path = "${api.endpoints.result-cache}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResultCacheResponse> resultCacheStats() {
+        final CachingCalculatorService cache = cachingCalculatorService.getIfAvailable();
+        if (cache == null) {
+            return new ResponseEntity<>(CalculatorResultCacheResponse.disabled(), HttpStatus.OK);
+        }
+        final CacheStats stats = cache.stats();
+        return new ResponseEntity<>(new CalculatorResultCacheResponse(
+                true,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                cache.size(),
+                cache.capacity()
+        ), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Producer statistics.", description = "Nothing is ever dropped: queued are the events awaiting their acknowledgement.")
+    @GetMapping(
+            path = "${api.endpoints.producer}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorProducerStatsResponse> producerStats() {
+        final ReactiveCalculatorProducer.Stats stats = reactiveCalculatorProducer.stats();
+        return new ResponseEntity<>(new CalculatorProducerStatsResponse(
+                stats.published(),
+                stats.failed(),
+                0,
+                stats.rejected(),
+                stats.inFlight(),
+                stats.averageLatencyMillis(),
+                stats.maxLatencyMillis()
+        ), HttpStatus.OK);
+    }
+
+    /**
+     * Computes a binary operation, then publishes and audits its event.
+     *
+     * @param operation the operation.
+     * @param calculatorRequest the payload body containing operands firstNumber and secondNumber.
+     * @param client the client id of the request, null if unknown.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return the result of the operation, or the error response of its failure.
+     */
+    private ResponseEntity<CalculatorResponse> calculate(
+            final CalculatorOperation operation,
+            final CalculatorRequest calculatorRequest,
+            final String client,
+            final ServerWebExchange serverWebExchange
+    ) {
+        final CalculationResult calculationResult = operation.tryApply(
+                calculatorService,
+                new CalculatorBinaryOperands(
+                        calculatorRequest.firstNumber(),
+                        calculatorRequest.secondNumber(),
+                        calculatorRequest.precision(),
+                        calculatorRequest.roundingMode()
+                )
+        );
+        if (!calculationResult.isSuccess()) {
+            return reactiveCalculationFailureMapper.toResponse(calculationResult, serverWebExchange);
+        }
+        final BigDecimal result = calculationResult.value();
+
+        final CalculationEvent calculationEvent = new CalculationEvent(
+                operation.name(),
+                calculatorRequest.firstNumber(),
+                calculatorRequest.secondNumber(),
+                result,
+                calculatorRequest.precision(),
+                calculatorRequest.roundingMode()
+        );
+        reactiveCalculatorProducer.send(calculationEvent, client);
+        auditLog.record(AuditLog.REST, client, calculationEvent);
+
+        return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
+    }
+
+    /**
+     * Evaluates one operation of a stream, then publishes and audits its event if it succeeded.
+     *
+     * @param item the operation.
+     * @param client the client id of the request, null if unknown.
+     *
+     * @return the result of the operation, or its failure.
+     */
+    private CalculationResult evaluate(final CalculatorBatchRequest.Item item, final String client) {
+        if (item.operation() == null) {
+            return CalculationResult.invalid("Operation must not be null");
+        }
+        final CalculationResult calculationResult = item.operation().tryApply(
+                calculatorService,
+                new CalculatorBinaryOperands(item.firstNumber(), item.secondNumber())
+        );
+        if (!calculationResult.isSuccess()) {
+            return calculationResult;
+        }
+        final BigDecimal result = calculationResult.value();
+
+        final CalculationEvent calculationEvent = new CalculationEvent(
+                item.operation().name(),
+                item.firstNumber(),
+                item.secondNumber(),
+                result
+        );
+        reactiveCalculatorProducer.send(calculationEvent, client);
+        auditLog.record(AuditLog.REST, client, calculationEvent);
+        return calculationResult;
+    }
+
+    /**
+     * Evaluates a batch like the rest module: per-item errors, one event per successful item.
+     *
+     * @param items the operations of the batch.
+     * @param client the client id of the request, null if unknown.
+     *
+     * @return the results of the operations, in request order.
+     */
+    private ResponseEntity<CalculatorBatchResponse> evaluateBatch(
+            final List<CalculatorBatchRequest.Item> items,
+            final String client
+    ) {
+        final List<CalculatorBatchResult> results = calculatorBatchService.evaluate(items.stream()
+                .map(item -> item == null ? new CalculatorBatchItem(null, null) : new CalculatorBatchItem(
+                        item.operation(),
+                        new CalculatorBinaryOperands(item.firstNumber(), item.secondNumber())
+                ))
+                .toList());
+
+        final List<CalculatorBatchResponse.Item> responseItems = new ArrayList<>(results.size());
+        final List<CalculationEvent> events = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            final CalculatorBatchResult result = results.get(i);
+            responseItems.add(new CalculatorBatchResponse.Item(result.result(), result.error(), result.message()));
+            if (result.isSuccess()) {
+                final CalculatorBatchRequest.Item item = items.get(i);
+                events.add(new CalculationEvent(
+                        item.operation().name(),
+                        item.firstNumber(),
+                        item.secondNumber(),
+                        result.result()
+                ));
+            }
+        }
+        if (!events.isEmpty()) {
+            reactiveCalculatorProducer.sendAll(events, client);
+            for (final CalculationEvent calculationEvent : events) {
+                auditLog.record(AuditLog.REST, client, calculationEvent);
+            }
+        }
+
+        log.debug("REST batch done: {} succeeded, {} failed", events.size(), results.size() - events.size());
+        return new ResponseEntity<>(new CalculatorBatchResponse(responseItems), HttpStatus.OK);
+    }
+}
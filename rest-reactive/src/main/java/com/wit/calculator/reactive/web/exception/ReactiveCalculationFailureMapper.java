@@ -0,0 +1,105 @@
+package com.wit.calculator.reactive.web.exception;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.rest.dto.CalculatorErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Instant;
+
+/**
+ * Reactive counterpart of the failure mapper of the rest module: maps a failed {@link CalculationResult} to the
+ * error response the {@link ReactiveCalculatorExceptionHandler} answers for the exception it stands for. Invalid
+ * input is a 400 Bad Request with its message, and an operation undefined for its operands, such as a division by
+ * zero, the 500 Internal Server Error of an unexpected error.
+ * Each failure increments {@code calculator.errors}, tagged by the exception it stands for and the status.
+ * Failures are logged at debug level only, since they are ordinary traffic.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCalculationFailureMapper {
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Maps a failure to its error response.
+     * The response is typed as the response of the endpoint; its body is written by its runtime type.
+     *
+     * @param calculationResult the failed calculation.
+     * @param serverWebExchange the current exchange.
+     * @param <T> the body type of the endpoint.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> toResponse(
+            final CalculationResult calculationResult,
+            final ServerWebExchange serverWebExchange
+    ) {
+        final CalculatorErrorResponse calculatorErrorResponse = toErrorResponse(calculationResult, serverWebExchange);
+        final ResponseEntity<?> responseEntity =
+                new ResponseEntity<>(calculatorErrorResponse, HttpStatus.valueOf(calculatorErrorResponse.statusCode()));
+        return (ResponseEntity<T>) responseEntity;
+    }
+
+    /**
+     * Maps a failure to the error payload of its response, for the lines of a stream whose status is already sent.
+     *
+     * @param calculationResult the failed calculation.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return the {@link CalculatorErrorResponse} of the failure.
+     */
+    public CalculatorErrorResponse toErrorResponse(
+            final CalculationResult calculationResult,
+            final ServerWebExchange serverWebExchange
+    ) {
+        final String path = serverWebExchange.getRequest().getPath().value();
+        log.debug("{} failure at {} -> {}", calculationResult.failure(), path, calculationResult.message());
+
+        return calculationResult.failure() == CalculationResult.Failure.ARITHMETIC
+                ? build(ArithmeticException.class, HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                        "Unexpected error", path)
+                : build(IllegalArgumentException.class, HttpStatus.BAD_REQUEST, "Bad Request",
+                        calculationResult.message(), path);
+    }
+
+    /**
+     * Builds the error payload, counting the error.
+     *
+     * @param exceptionType the exception the failure stands for.
+     * @param status        HTTP status to return.
+     * @param error         short error title.
+     * @param message       detailed error message.
+     * @param path          request path.
+     *
+     * @return the {@link CalculatorErrorResponse}.
+     */
+    private CalculatorErrorResponse build(
+            final Class<? extends RuntimeException> exceptionType,
+            final HttpStatus status,
+            final String error,
+            final String message,
+            final String path
+    ) {
+        meterRegistry.counter(ReactiveCalculatorExceptionHandler.ERRORS,
+                "exception", exceptionType.getSimpleName(),
+                "status", String.valueOf(status.value())
+        ).increment();
+        return new CalculatorErrorResponse(
+                Instant.now(),
+                status.value(),
+                error,
+                message,
+                path,
+                null
+        );
+    }
+}
@@ -0,0 +1,264 @@
+package com.wit.calculator.reactive.web.exception;
+
+import com.wit.calculator.reactive.kafka.ReactiveProducerOverloadedException;
+import com.wit.calculator.rest.dto.CalculatorErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reactive counterpart of the exception handler of the rest module: the same statuses, payloads and
+ * {@code calculator.errors} counts for the WebFlux exceptions.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCalculatorExceptionHandler {
+    static final String ERRORS = "calculator.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Bean Validation errors on the request body (HTTP 400).
+     *
+     * @param webExchangeBindException the exception thrown.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<CalculatorErrorResponse> handleBodyValidation(
+            final WebExchangeBindException webExchangeBindException,
+            final ServerWebExchange serverWebExchange
+    ) {
+        final List<CalculatorErrorResponse.FieldViolation> violations = webExchangeBindException.getFieldErrors()
+                .stream()
+                .map(this::toViolation)
+                .toList();
+
+        log.warn("400 Validation Error at {} -> {}", path(serverWebExchange), violations);
+
+        return build(
+                webExchangeBindException,
+                HttpStatus.BAD_REQUEST,
+                "Validation Error",
+                "Request body validation failed",
+                path(serverWebExchange),
+                violations
+        );
+    }
+
+    /**
+     * Malformed JSON (HTTP 400).
+     *
+     * @param serverWebInputException the exception thrown.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<CalculatorErrorResponse> handleUnreadable(
+            final ServerWebInputException serverWebInputException,
+            final ServerWebExchange serverWebExchange
+    ) {
+        log.warn("400 Malformed JSON at {} -> {}",
+                path(serverWebExchange),
+                serverWebInputException.getMostSpecificCause().getMessage()
+        );
+
+        return build(
+                serverWebInputException,
+                HttpStatus.BAD_REQUEST,
+                "Malformed JSON",
+                "Request body is invalid or has wrong types",
+                path(serverWebExchange),
+                List.of()
+        );
+    }
+
+    /**
+     * Illegal argument (HTTP 400).
+     *
+     * @param illegalArgumentException the exception thrown.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<CalculatorErrorResponse> handleIllegalArgument(
+            final IllegalArgumentException illegalArgumentException,
+            final ServerWebExchange serverWebExchange
+    ) {
+        log.warn("400 Bad Request at {} -> {}", path(serverWebExchange), illegalArgumentException.getMessage());
+
+        return build(
+                illegalArgumentException,
+                HttpStatus.BAD_REQUEST,
+                "Bad Request",
+                illegalArgumentException.getMessage(),
+                path(serverWebExchange),
+                List.of()
+        );
+    }
+
+    /**
+     * Unsupported media type (HTTP 415).
+     *
+     * @param unsupportedMediaTypeStatusException the exception thrown.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(UnsupportedMediaTypeStatusException.class)
+    public ResponseEntity<CalculatorErrorResponse> handleUnsupportedMedia(
+            final UnsupportedMediaTypeStatusException unsupportedMediaTypeStatusException,
+            final ServerWebExchange serverWebExchange
+    ) {
+        log.warn("415 Unsupported Media Type at {} -> {}",
+                path(serverWebExchange),
+                unsupportedMediaTypeStatusException.getMessage()
+        );
+
+        return build(
+                unsupportedMediaTypeStatusException,
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Unsupported Media Type",
+                "Content-Type not supported",
+                path(serverWebExchange),
+                List.of()
+        );
+    }
+
+    /**
+     * Too many events awaiting acknowledgement (HTTP 503).
+     *
+     * @param reactiveProducerOverloadedException the exception thrown.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(ReactiveProducerOverloadedException.class)
+    public ResponseEntity<CalculatorErrorResponse> handleProducerOverloaded(
+            final ReactiveProducerOverloadedException reactiveProducerOverloadedException,
+            final ServerWebExchange serverWebExchange
+    ) {
+        log.warn("503 Service Unavailable at {} -> {}",
+                path(serverWebExchange),
+                reactiveProducerOverloadedException.getMessage()
+        );
+
+        return build(
+                reactiveProducerOverloadedException,
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable",
+                "Too many pending events, retry later",
+                path(serverWebExchange),
+                List.of()
+        );
+    }
+
+    /**
+     * Internal server error (HTTP 500).
+     *
+     * @param exception the exception thrown.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<CalculatorErrorResponse> handleGeneric(
+            final Exception exception,
+            final ServerWebExchange serverWebExchange
+    ) {
+        log.error("500 Unexpected error at {} -> {}", path(serverWebExchange), exception.getMessage(), exception);
+
+        return build(
+                exception,
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                "Internal Server Error",
+                "Unexpected error",
+                path(serverWebExchange),
+                List.of()
+        );
+    }
+
+    /**
+     * Error of a single line of a streamed request, with the payload and count of the handler of its exception,
+     * since the response status is already sent.
+     *
+     * @param throwable the error of the line.
+     * @param serverWebExchange the current exchange.
+     *
+     * @return the {@link CalculatorErrorResponse} of the line.
+     */
+    public CalculatorErrorResponse handleLine(final Throwable throwable, final ServerWebExchange serverWebExchange) {
+        final ResponseEntity<CalculatorErrorResponse> responseEntity = switch (throwable) {
+            case ServerWebInputException serverWebInputException ->
+                    handleUnreadable(serverWebInputException, serverWebExchange);
+            case IllegalArgumentException illegalArgumentException ->
+                    handleIllegalArgument(illegalArgumentException, serverWebExchange);
+            case ReactiveProducerOverloadedException reactiveProducerOverloadedException ->
+                    handleProducerOverloaded(reactiveProducerOverloadedException, serverWebExchange);
+            case Exception exception -> handleGeneric(exception, serverWebExchange);
+            default -> handleGeneric(new IllegalStateException(throwable), serverWebExchange);
+        };
+        return responseEntity.getBody();
+    }
+
+    private CalculatorErrorResponse.FieldViolation toViolation(final FieldError fieldError) {
+        return new CalculatorErrorResponse.FieldViolation(fieldError.getField(), fieldError.getDefaultMessage());
+    }
+
+    private static String path(final ServerWebExchange serverWebExchange) {
+        return serverWebExchange.getRequest().getPath().value();
+    }
+
+    /**
+     * Builds a consistent error payload and wraps it in a {@link ResponseEntity}, counting the error.
+     *
+     * @param exception  the exception handled.
+     * @param status     HTTP status to return.
+     * @param error      short error title.
+     * @param message    detailed error message.
+     * @param path       request path.
+     * @param violations list of field violations (empty if not applicable).
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    private ResponseEntity<CalculatorErrorResponse> build(
+            final Exception exception,
+            final HttpStatus status,
+            final String error,
+            final String message,
+            final String path,
+            final List<CalculatorErrorResponse.FieldViolation> violations
+    ) {
+        final CalculatorErrorResponse calculatorErrorResponse = new CalculatorErrorResponse(
+                Instant.now(),
+                status.value(),
+                error,
+                message,
+                path,
+                violations.isEmpty() ? null : violations
+        );
+        meterRegistry.counter(ERRORS,
+                "exception", exception.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())
+        ).increment();
+        return new ResponseEntity<>(calculatorErrorResponse, status);
+    }
+}
@@ -0,0 +1,66 @@
+package com.wit.calculator.reactive.kafka;
+
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.EventKeyStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveCalculatorProducerTest {
+    private static final CalculationEvent EVENT = new CalculationEvent("SUM", new BigDecimal("3"), new BigDecimal("7"), new BigDecimal("10"));
+
+    @SuppressWarnings("unchecked")
+    private final KafkaSender<String, CalculationEvent> kafkaSender = mock(KafkaSender.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void send_rejectsBeyondMaxInFlightUntilAcknowledged() {
+        // The broker never acknowledges
+        when(kafkaSender.send(any())).thenReturn(Flux.never());
+        final ReactiveCalculatorProducer producer = new ReactiveCalculatorProducer(kafkaSender, "calculator.events", 2, 0, 1, EventKeyStrategy.NONE, meterRegistry);
+
+        producer.sendAll(List.of(EVENT, EVENT), null);
+        assertThrows(ReactiveProducerOverloadedException.class, () -> producer.send(EVENT));
+
+        assertEquals(2, producer.stats().inFlight());
+        assertEquals(1, producer.stats().rejected());
+        assertEquals(2, meterRegistry.get("calculator.producer.queue.size").gauge().value());
+    }
+
+    @Test
+    void send_countsAcknowledgedAndFailedEvents() {
+        when(kafkaSender.send(any())).thenAnswer(invocation -> {
+            final Publisher<SenderRecord<String, CalculationEvent, CalculationEvent>> records = invocation.getArgument(0);
+            return Flux.from(records).index().map(indexed -> result(indexed.getT2().correlationMetadata(),
+                    indexed.getT1() == 0 ? null : new IllegalStateException("broker down")));
+        });
+        final ReactiveCalculatorProducer producer = new ReactiveCalculatorProducer(kafkaSender, "calculator.events", 10, 0, 1, EventKeyStrategy.NONE, meterRegistry);
+
+        producer.sendAll(List.of(EVENT, EVENT), null);
+
+        var stats = producer.stats();
+        assertEquals(1, stats.published());
+        assertEquals(1, stats.failed());
+        assertEquals(0, stats.inFlight());
+        assertEquals(1, meterRegistry.get("calculator.producer.ack").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("calculator.producer.ack").tag("outcome", "failure").timer().count());
+    }
+
+    private static SenderResult<CalculationEvent> result(final CalculationEvent calculationEvent, final Exception exception) {
+        final SenderResult<CalculationEvent> result = mock();
+        when(result.correlationMetadata()).thenReturn(calculationEvent);
+        when(result.exception()).thenReturn(exception);
+        return result;
+    }
+}
@@ -0,0 +1,160 @@
+package com.wit.calculator.reactive.web;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.expression.ExpressionCache;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.reactive.kafka.ReactiveCalculatorProducer;
+import com.wit.calculator.reactive.kafka.ReactiveProducerOverloadedException;
+import com.wit.calculator.reactive.web.exception.ReactiveCalculationFailureMapper;
+import com.wit.calculator.reactive.web.exception.ReactiveCalculatorExceptionHandler;
+import com.wit.calculator.service.CalculatorBatchService;
+import com.wit.calculator.service.CalculatorColumnService;
+import com.wit.calculator.service.CalculatorService;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(ReactiveCalculatorController.class)
+@Import({ReactiveCalculatorExceptionHandler.class, ReactiveCalculationFailureMapper.class, SimpleMeterRegistry.class})
+class ReactiveCalculatorControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockBean
+    private CalculatorService calculatorService;
+    @MockBean
+    private ReactiveCalculatorProducer reactiveCalculatorProducer;
+    @MockBean
+    private CalculatorBatchService calculatorBatchService;
+    @MockBean
+    private CalculatorColumnService calculatorColumnService;
+    @MockBean
+    private ExpressionCache expressionCache;
+    @MockBean
+    private AuditLog auditLog;
+
+    private static final String SUM = "/api/v1/calculator/sum";
+    private static final String DIV = "/api/v1/calculator/div";
+    private static final String STREAM = "/api/v1/calculator/stream";
+
+    @Test
+    @DisplayName("POST /sum -> 200 OK, event published and audited with the client id")
+    void sum_ok() {
+        Mockito.when(calculatorService.trySum(any(CalculatorBinaryOperands.class)))
+                .thenReturn(CalculationResult.success(new BigDecimal("21.0")));
+
+        webTestClient.post().uri(SUM)
+                .header(ReactiveCalculatorController.CLIENT_HEADER, "debug-client")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstNumber\": 10.5, \"secondNumber\": 10.5}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.result").isEqualTo(21.0);
+
+        verify(reactiveCalculatorProducer).send(any(CalculationEvent.class), any());
+        verify(auditLog).record(eq(AuditLog.REST), eq("debug-client"), any(CalculationEvent.class));
+    }
+
+    @Test
+    @DisplayName("POST /sum -> 400 Bad Request (validation error)")
+    void sum_badRequest() {
+        webTestClient.post().uri(SUM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"secondNumber\": 5}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.statusCode").isEqualTo(400)
+                .jsonPath("$.error").isEqualTo("Validation Error")
+                .jsonPath("$.path").isEqualTo(SUM)
+                .jsonPath("$.violationList[0].fieldName").isEqualTo("firstNumber")
+                .jsonPath("$.violationList[0].message").isEqualTo("must not be null");
+    }
+
+    @Test
+    @DisplayName("POST /sum -> 400 Bad Request (malformed JSON)")
+    void sum_malformed() {
+        webTestClient.post().uri(SUM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstNumber\": ")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Malformed JSON");
+    }
+
+    @Test
+    @DisplayName("POST /div -> 503 Service Unavailable when too many events await acknowledgement")
+    void division_producerOverloaded() {
+        Mockito.when(calculatorService.tryDivision(any(CalculatorBinaryOperands.class)))
+                .thenReturn(CalculationResult.success(new BigDecimal("2")));
+        Mockito.doThrow(new ReactiveProducerOverloadedException("full"))
+                .when(reactiveCalculatorProducer).send(any(CalculationEvent.class), any());
+
+        webTestClient.post().uri(DIV)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstNumber\": 4, \"secondNumber\": 2}")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody().jsonPath("$.error").isEqualTo("Service Unavailable");
+    }
+
+    @Test
+    @DisplayName("POST /div -> 500 Internal Server Error on division by zero, no event published")
+    void division_byZero() {
+        Mockito.when(calculatorService.tryDivision(any(CalculatorBinaryOperands.class)))
+                .thenReturn(CalculationResult.DIVISION_BY_ZERO);
+
+        webTestClient.post().uri(DIV)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstNumber\": 4, \"secondNumber\": 0}")
+                .exchange()
+                .expectStatus().isEqualTo(500)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unexpected error")
+                .jsonPath("$.path").isEqualTo(DIV);
+
+        verify(reactiveCalculatorProducer, Mockito.never()).send(any(CalculationEvent.class), any());
+    }
+
+    @Test
+    @DisplayName("POST /stream -> one result or error line per operation")
+    void stream_ok() {
+        final CalculatorService engine = new CalculatorServiceImpl();
+        Mockito.when(calculatorService.trySum(any(CalculatorBinaryOperands.class)))
+                .thenAnswer(invocation -> engine.trySum(invocation.getArgument(0)));
+
+        webTestClient.post().uri(STREAM)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"operation": "SUM", "firstNumber": 1, "secondNumber": 2}
+                        {"firstNumber": 1, "secondNumber": 2}
+                        {"operation": "SUM", "firstNumber": 2, "secondNumber": 2}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> {
+                    final String[] lines = body.split("\n");
+                    org.junit.jupiter.api.Assertions.assertEquals(3, lines.length);
+                    org.junit.jupiter.api.Assertions.assertEquals("{\"result\":3}", lines[0]);
+                    org.junit.jupiter.api.Assertions.assertTrue(lines[1].contains("\"message\":\"Operation must not be null\""));
+                    org.junit.jupiter.api.Assertions.assertEquals("{\"result\":4}", lines[2]);
+                });
+    }
+}
@@ -0,0 +1,137 @@
+package com.wit.calculator.rest.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wit.calculator.rest.web.AuditClientFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits or rejects each request before it is read: a client over its rate limit is rejected with
+ * {@link CalculatorRateLimitedException} (HTTP 429), and a request beyond the concurrency limit is shed with
+ * {@link CalculatorOverloadedException} (HTTP 503), both rendered by the global exception handler.
+ * <p>
+ * Clients are told apart by their {@value AuditClientFilter#CLIENT_HEADER} header, trusted as set by the gateway, or
+ * by their address without one.
+ * Their token buckets are kept for the most recent clients only; a client evicted and seen again starts with a
+ * full bucket.
+ * <p>
+ * Metrics: {@code calculator.admission.requests} counts the requests by outcome (admitted, throttled or shed);
+ * {@code calculator.admission.limit} and {@code calculator.admission.in.flight} follow the concurrency limiter.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+    static final String REQUESTS = "calculator.admission.requests";
+    private static final String STARTED = AdmissionInterceptor.class.getName() + ".started";
+    private static final Duration CLIENTS_EXPIRY = Duration.ofMinutes(1);
+
+    private final double clientRate;
+    private final int clientBurst;
+    private final Cache<String, TokenBucket> clientBuckets;
+    private final AimdConcurrencyLimiter concurrencyLimiter;
+    private final String throttledMessage;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    /**
+     * @param clientRate the requests per second of each client, 0 for no client limit.
+     * @param clientBurst the requests a client may send at once after a pause.
+     * @param maxClients the clients whose token buckets are kept.
+     * @param concurrencyLimiter the limit of the requests in progress.
+     * @param meterRegistry the registry of the admission metrics.
+     */
+    public AdmissionInterceptor(
+            final double clientRate,
+            final int clientBurst,
+            final long maxClients,
+            final AimdConcurrencyLimiter concurrencyLimiter,
+            final MeterRegistry meterRegistry
+    ) {
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+        this.clientBuckets = clientRate > 0
+                ? Caffeine.newBuilder().maximumSize(maxClients).expireAfterAccess(CLIENTS_EXPIRY).build()
+                : null;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.throttledMessage = "Rate limit of %s requests/s exceeded".formatted(clientRate);
+
+        counter(meterRegistry, admitted, "admitted", "Requests admitted");
+        counter(meterRegistry, throttled, "throttled", "Requests rejected because the client exceeded its rate limit");
+        counter(meterRegistry, shed, "shed", "Requests rejected because the concurrency limit was reached");
+        Gauge.builder("calculator.admission.limit", concurrencyLimiter, AimdConcurrencyLimiter::limit)
+                .description("Requests allowed in progress")
+                .register(meterRegistry);
+        Gauge.builder("calculator.admission.in.flight", concurrencyLimiter, AimdConcurrencyLimiter::inFlight)
+                .description("Requests in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws CalculatorRateLimitedException if the client exceeded its rate limit.
+     * @throws CalculatorOverloadedException if the concurrency limit is reached.
+     */
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest httpServletRequest,
+            final HttpServletResponse httpServletResponse,
+            final Object handler
+    ) {
+        final long now = System.nanoTime();
+        if (clientBuckets != null) {
+            final long waitNanos = clientBuckets
+                    .get(client(httpServletRequest), client -> new TokenBucket(clientRate, clientBurst, now))
+                    .tryAcquire(now);
+            if (waitNanos > 0) {
+                throttled.increment();
+                throw new CalculatorRateLimitedException(throttledMessage, Duration.ofNanos(waitNanos));
+            }
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed.increment();
+            throw new CalculatorOverloadedException("Concurrency limit reached");
+        }
+        admitted.increment();
+        httpServletRequest.setAttribute(STARTED, now);
+        return true;
+    }
+
+    /**
+     * Releases the concurrency of an admitted request, with its latency.
+     */
+    @Override
+    public void afterCompletion(
+            final HttpServletRequest httpServletRequest,
+            final HttpServletResponse httpServletResponse,
+            final Object handler,
+            final Exception exception
+    ) {
+        if (httpServletRequest.getAttribute(STARTED) instanceof Long started) {
+            httpServletRequest.removeAttribute(STARTED);
+            final long now = System.nanoTime();
+            concurrencyLimiter.release(now - started, now);
+        }
+    }
+
+    private static String client(final HttpServletRequest httpServletRequest) {
+        final String client = httpServletRequest.getHeader(AuditClientFilter.CLIENT_HEADER);
+        return client != null ? client : httpServletRequest.getRemoteAddr();
+    }
+
+    private static void counter(final MeterRegistry meterRegistry, final LongAdder count, final String outcome,
+                                final String description) {
+        FunctionCounter.builder(REQUESTS, count, LongAdder::sum)
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,112 @@
+package com.wit.calculator.rest.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Lock-free limit of the requests in progress, adapted from their latency by additive increase and multiplicative
+ * decrease (AIMD).
+ * <p>
+ * A request completed under the latency target while the limit is at least half used raises the limit by
+ * {@code 1 / limit}, that is by one for a full limit of such requests. A request over the target cuts it by the
+ * backoff ratio, at most once per target so that the requests already queued behind a stall do not cut it again.
+ * Under overload the limit thus settles around the concurrency the application serves within the target, and the
+ * requests beyond it are rejected at once instead of queueing in Tomcat and the producer.
+ */
+public final class AimdConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecrease;
+
+    /**
+     * @param initialLimit the limit at startup.
+     * @param minLimit the lowest limit.
+     * @param maxLimit the highest limit.
+     * @param latencyTarget the latency over which the limit decreases.
+     * @param backoffRatio the factor applied to the limit when it decreases, between 0 and 1.
+     * @param now the current {@link System#nanoTime()}.
+     */
+    public AimdConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit,
+                                  final Duration latencyTarget, final double backoffRatio, final long now) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max limit, got "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Expected a backoff ratio between 0 and 1, got " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+        this.lastDecrease = new AtomicLong(now - latencyTargetNanos);
+    }
+
+    /**
+     * Counts a request in progress if the limit allows it; each successful call must be followed by
+     * {@link #release}.
+     *
+     * @return {@code true} if the request may proceed.
+     */
+    public boolean tryAcquire() {
+        final int limit = limit();
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends a request counted by {@link #tryAcquire} and adapts the limit to its latency.
+     *
+     * @param latencyNanos the latency of the request.
+     * @param now the current {@link System#nanoTime()}.
+     */
+    public void release(final long latencyNanos, final long now) {
+        final int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > latencyTargetNanos) {
+            final long last = lastDecrease.get();
+            if (now - last >= latencyTargetNanos && lastDecrease.compareAndSet(last, now)) {
+                update(limit -> Math.max(minLimit, limit * backoffRatio));
+            }
+        } else if (inFlightBefore * 2 >= limit()) {
+            update(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    /**
+     * @return the current limit of the requests in progress.
+     */
+    public int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * @return the requests in progress.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(final DoubleUnaryOperator operator) {
+        while (true) {
+            final long current = limitBits.get();
+            final long updated = Double.doubleToRawLongBits(operator.applyAsDouble(Double.longBitsToDouble(current)));
+            if (current == updated || limitBits.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+}
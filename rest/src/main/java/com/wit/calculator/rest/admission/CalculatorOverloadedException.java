@@ -0,0 +1,14 @@
+package com.wit.calculator.rest.admission;
+
+/**
+ * Thrown when a request is shed because the application already serves as many requests as its concurrency limit.
+ * Without a stack trace, since rejections must stay cheap when they are frequent.
+ */
+public class CalculatorOverloadedException extends RuntimeException {
+    /**
+     * @param message the reason of the rejection.
+     */
+    public CalculatorOverloadedException(final String message) {
+        super(message, null, false, false);
+    }
+}
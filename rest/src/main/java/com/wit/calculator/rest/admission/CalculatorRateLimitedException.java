@@ -0,0 +1,27 @@
+package com.wit.calculator.rest.admission;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a client sends requests faster than its rate limit.
+ * Without a stack trace, since rejections must stay cheap when they are frequent.
+ */
+public class CalculatorRateLimitedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    /**
+     * @param message the reason of the rejection.
+     * @param retryAfter how long until the client may send a request again.
+     */
+    public CalculatorRateLimitedException(final String message, final Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long until the client may send a request again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,55 @@
+package com.wit.calculator.rest.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, refilled at a constant rate up to a burst of tokens.
+ * <p>
+ * The bucket is kept as the time at which it will be full again (the generic cell rate algorithm): taking a token
+ * pushes that time one refill interval further, and a token is available as long as that time is at most a burst
+ * of intervals ahead. The whole state is one {@link AtomicLong}, so a token is taken with a single compare-and-set
+ * and concurrent callers never block each other.
+ */
+public final class TokenBucket {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param rate the tokens added per second.
+     * @param burst the maximum tokens in the bucket.
+     * @param now the current {@link System#nanoTime()}.
+     */
+    public TokenBucket(final double rate, final int burst, final long now) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Expected a positive rate and burst, got " + rate + " and " + burst);
+        }
+        this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / rate));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param now the current {@link System#nanoTime()}.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next one.
+     */
+    public long tryAcquire(final long now) {
+        while (true) {
+            final long current = fullAt.get();
+            final long from = current - now > 0 ? current : now;
+            final long ahead = from - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (fullAt.compareAndSet(current, from + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.wit.calculator.rest.configuration;
+
+import com.wit.calculator.rest.admission.AdmissionInterceptor;
+import com.wit.calculator.rest.admission.AimdConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the admission control, disabled by {@code calculator.admission.enabled=false}.
+ * The {@link AdmissionInterceptor} guards the endpoints of {@code calculator.admission.paths}, whose latency does
+ * not depend on the size of the request, so that it measures the load of the application.
+ */
+@Configuration
+@ConditionalOnProperty(name = "calculator.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfiguration implements WebMvcConfigurer {
+    private final AdmissionInterceptor admissionInterceptor;
+    private final List<String> paths;
+
+    /**
+     * @param basePath the base path of the API.
+     * @param paths the guarded endpoints, under the base path.
+     * @param clientRate the requests per second of each client, 0 for no client limit.
+     * @param clientBurst the requests a client may send at once after a pause.
+     * @param maxClients the clients whose token buckets are kept.
+     * @param initialLimit the concurrency limit at startup.
+     * @param minLimit the lowest concurrency limit.
+     * @param maxLimit the highest concurrency limit.
+     * @param latencyTarget the latency over which the concurrency limit decreases.
+     * @param backoffRatio the factor applied to the concurrency limit when it decreases.
+     * @param meterRegistry the registry of the admission metrics.
+     */
+    public AdmissionConfiguration(
+            @Value("${api.base.path}") final String basePath,
+            @Value("${calculator.admission.paths:/sum,/sub,/mult,/div,/evaluate}") final List<String> paths,
+            @Value("${calculator.admission.client-rate:0}") final double clientRate,
+            @Value("${calculator.admission.client-burst:100}") final int clientBurst,
+            @Value("${calculator.admission.max-clients:10000}") final long maxClients,
+            @Value("${calculator.admission.initial-limit:100}") final int initialLimit,
+            @Value("${calculator.admission.min-limit:10}") final int minLimit,
+            @Value("${calculator.admission.max-limit:1000}") final int maxLimit,
+            @Value("${calculator.admission.latency-target:50ms}") final Duration latencyTarget,
+            @Value("${calculator.admission.backoff-ratio:0.9}") final double backoffRatio,
+            final MeterRegistry meterRegistry
+    ) {
+        this.admissionInterceptor = new AdmissionInterceptor(
+                clientRate,
+                clientBurst,
+                maxClients,
+                new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyTarget, backoffRatio, System.nanoTime()),
+                meterRegistry
+        );
+        this.paths = paths.stream().map(path -> basePath + path).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(admissionInterceptor).addPathPatterns(paths);
+    }
+}
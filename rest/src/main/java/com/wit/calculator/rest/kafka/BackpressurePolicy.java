@@ -0,0 +1,13 @@
+package com.wit.calculator.rest.kafka;
+
+/**
+ * What {@link CalculatorProducer} does with an event when its queue is full.
+ */
+public enum BackpressurePolicy {
+    /** Waits for room up to the enqueue timeout, then rejects the event. */
+    BLOCK,
+    /** Drops the event and counts it; the request still succeeds. */
+    DROP,
+    /** Rejects the event at once; the request fails with 503 Service Unavailable. */
+    REJECT
+}
@@ -1,30 +1,419 @@
 package com.wit.calculator.rest.kafka;
 
+import com.wit.calculator.audit.AuditLog;
 import com.wit.calculator.kafka.CalculationEvent;
-import lombok.RequiredArgsConstructor;
+import com.wit.calculator.kafka.EventIdGenerator;
+import com.wit.calculator.kafka.EventKeyStrategy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Kafka producer responsible for publishing calculator events to a topic.
+ * <p>
+ * Events are queued in a bounded in-memory queue and published by a dedicated sender thread, so that a slow
+ * broker does not add to the latency of the request. When the queue is full the {@link BackpressurePolicy}
+ * decides whether the caller waits, the event is dropped or the request is rejected. Room in the queue is reserved
+ * for all the events of a {@link #sendAll} at once, so that they are queued, dropped or rejected together and a
+ * rejected request retried by its client publishes no duplicate. Events sent once the producer is stopped would
+ * never be published, and are rejected as when the queue is full.
+ * Completion callbacks count published and failed events and measure the latency from enqueue to acknowledgement.
+ * Each event is assigned its time-ordered id when it is queued, by which consumers skip redelivered events, and its
+ * record key by the {@link EventKeyStrategy}, with the client id of the request from the MDC.
+ * <p>
+ * Metrics, tagged by operation: {@code calculator.producer.enqueue} times {@link #send} including any wait for
+ * room in the queue, {@code calculator.producer.ack} times the broker acknowledgement from the hand-off to Kafka,
+ * tagged by outcome; {@code calculator.producer.dropped}, {@code calculator.producer.rejected} and
+ * {@code calculator.producer.queue.size} follow the queue.
  */
 @Slf4j
-@RequiredArgsConstructor
 @Service
-public class CalculatorProducer {
+public class CalculatorProducer implements SmartLifecycle {
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final String OPERATION = "operation";
+    private static final String OUTCOME = "outcome";
+
     private final KafkaTemplate<String, CalculationEvent> kafkaTemplate;
-    @Value("${calculator.topic}")
-    private String topic;
+    private final String topic;
+    private final BlockingQueue<PendingEvent> queue;
+    private final int queueCapacity;
+    /** Room left in the queue, reserved before queueing and released as the sender takes the events. */
+    private final Semaphore room;
+    private final int drainSize;
+    private final BackpressurePolicy backpressurePolicy;
+    private final Duration enqueueTimeout;
+    private final Duration shutdownTimeout;
+    private final boolean virtualThreads;
+    private final EventIdGenerator eventIds;
+    private final EventKeyStrategy keyStrategy;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private final Meter.MeterProvider<Timer> enqueueTimer;
+    private final Meter.MeterProvider<Timer> ackTimer;
+    private final Map<String, Timer> enqueueTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> publishedTimers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread sender;
+
+    /**
+     * @param kafkaTemplate the template publishing the events.
+     * @param topic the topic of the events.
+     * @param queueCapacity the maximum number of events waiting to be published.
+     * @param drainSize the maximum number of events taken from the queue at once.
+     * @param backpressurePolicy what to do with an event when the queue is full.
+     * @param enqueueTimeout how long {@link BackpressurePolicy#BLOCK} waits for room in the queue.
+     * @param shutdownTimeout how long the shutdown waits for queued events to be published.
+     * @param virtualThreads whether the sender runs on a virtual thread.
+     * @param nodeId the node id of the event ids, negative if not configured.
+     * @param replicas the number of producer instances, which require a configured node id when above 1.
+     * @param keyStrategy the record key of the events.
+     * @param meterRegistry the registry of the producer metrics.
+     */
+    public CalculatorProducer(
+            final KafkaTemplate<String, CalculationEvent> kafkaTemplate,
+            @Value("${calculator.topic}") final String topic,
+            @Value("${calculator.producer.queue-capacity:10000}") final int queueCapacity,
+            @Value("${calculator.producer.drain-size:500}") final int drainSize,
+            @Value("${calculator.producer.backpressure:BLOCK}") final BackpressurePolicy backpressurePolicy,
+            @Value("${calculator.producer.enqueue-timeout:100ms}") final Duration enqueueTimeout,
+            @Value("${calculator.producer.shutdown-timeout:10s}") final Duration shutdownTimeout,
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads,
+            @Value("${calculator.producer.node-id:-1}") final int nodeId,
+            @Value("${calculator.producer.replicas:1}") final int replicas,
+            @Value("${calculator.producer.key-strategy:NONE}") final EventKeyStrategy keyStrategy,
+            final MeterRegistry meterRegistry
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.room = new Semaphore(queueCapacity);
+        this.drainSize = drainSize;
+        this.backpressurePolicy = backpressurePolicy;
+        this.enqueueTimeout = enqueueTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.virtualThreads = virtualThreads;
+        this.eventIds = EventIdGenerator.forNode(nodeId, replicas);
+        this.keyStrategy = keyStrategy;
+
+        this.enqueueTimer = Timer.builder("calculator.producer.enqueue")
+                .description("Time spent queueing an event, including the wait for room in the queue")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.ackTimer = Timer.builder("calculator.producer.ack")
+                .description("Time from the hand-off of an event to Kafka to its acknowledgement")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        FunctionCounter.builder("calculator.producer.dropped", dropped, LongAdder::sum)
+                .description("Events dropped because the queue was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("calculator.producer.rejected", rejected, LongAdder::sum)
+                .description("Events rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("calculator.producer.queue.size", queue, BlockingQueue::size)
+                .description("Events waiting to be published")
+                .register(meterRegistry);
+    }
 
     /**
-     * Publishes a message to the configured topic.
+     * Queues a message for publishing to the configured topic.
      *
      * @param calculationEvent JSON payload describing the event.
+     *
+     * @throws CalculatorProducerOverloadedException if the queue is full and the policy rejects the event, or the
+     *                                               producer is stopped.
      */
     public void send(final CalculationEvent calculationEvent) {
-        log.info("Publishing message to topic {}: {}",topic, calculationEvent);
-        kafkaTemplate.send(topic, calculationEvent);
+        log.debug("Queueing message for topic {}: {}", topic, calculationEvent);
+        final long enqueuedAt = System.nanoTime();
+        try {
+            if (reserve(1)) {
+                queue.add(pendingEvent(calculationEvent, enqueuedAt));
+            }
+        } finally {
+            recordEnqueue(calculationEvent, enqueuedAt);
+        }
+    }
+
+    /**
+     * Queues a batch of messages for publishing to the configured topic.
+     * The sender hands them to the Kafka producer back to back so they share its batches and requests.
+     * Either all the events are queued, or none: room is reserved for the whole batch before any is queued.
+     *
+     * @param calculationEvents JSON payloads describing the events.
+     *
+     * @throws CalculatorProducerOverloadedException if the queue has no room for the events and the policy rejects
+     *                                               them, or the producer is stopped.
+     */
+    public void sendAll(final List<CalculationEvent> calculationEvents) {
+        log.debug("Queueing {} messages for topic {}", calculationEvents.size(), topic);
+        if (calculationEvents.isEmpty()) {
+            return;
+        }
+        final long enqueuedAt = System.nanoTime();
+        try {
+            if (reserve(calculationEvents.size())) {
+                for (final CalculationEvent calculationEvent : calculationEvents) {
+                    queue.add(pendingEvent(calculationEvent, enqueuedAt));
+                }
+            }
+        } finally {
+            for (final CalculationEvent calculationEvent : calculationEvents) {
+                recordEnqueue(calculationEvent, enqueuedAt);
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of the producer counters.
+     */
+    public Stats stats() {
+        final long acknowledged = published.sum() + failed.sum();
+        return new Stats(
+                published.sum(),
+                failed.sum(),
+                dropped.sum(),
+                rejected.sum(),
+                queue.size(),
+                acknowledged == 0 ? 0 : totalLatencyNanos.sum() / acknowledged / 1_000_000.0,
+                maxLatencyNanos.get() / 1_000_000.0
+        );
+    }
+
+    /**
+     * Starts the sender thread.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        stopped = false;
+        final Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        sender = builder.name("calculator-producer-sender").start(this::drain);
+        log.info("Producer started for topic {} with policy {}, key strategy {} and node id {}",
+                topic, backpressurePolicy, keyStrategy, eventIds.nodeId());
+    }
+
+    /**
+     * Stops the sender thread once the queued events are handed to Kafka, then flushes the Kafka producer.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        stopped = true;
+        try {
+            sender.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (sender.isAlive()) {
+            sender.interrupt();
+            log.warn("Producer stopped with {} events still queued", queue.size());
+        }
+        kafkaTemplate.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so that no accepted request loses its event.
+     *
+     * @return the lifecycle phase.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Reserves room in the queue for events, applying the backpressure policy when there is not enough.
+     * A reservation larger than the queue never succeeds, and is dropped or rejected without waiting.
+     *
+     * @param events the number of events to queue.
+     *
+     * @return {@code true} if the room is reserved, {@code false} if the events are dropped.
+     *
+     * @throws CalculatorProducerOverloadedException if the events are rejected.
+     */
+    private boolean reserve(final int events) {
+        if (stopped) {
+            reject("Producer is stopped", events);
+        }
+        if (room.tryAcquire(events)) {
+            return true;
+        }
+        switch (backpressurePolicy) {
+            case DROP -> {
+                dropped.add(events);
+                log.debug("Producer queue full, dropping {} events", events);
+                return false;
+            }
+            case REJECT -> reject("Producer queue is full", events);
+            case BLOCK -> {
+                try {
+                    if (events > queueCapacity
+                            || !room.tryAcquire(events, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        reject("Producer queue is still full after " + enqueueTimeout.toMillis() + " ms", events);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    reject("Interrupted while waiting for the producer queue", events);
+                }
+            }
+        }
+        return true;
+    }
+
+    private PendingEvent pendingEvent(final CalculationEvent calculationEvent, final long enqueuedAt) {
+        return new PendingEvent(
+                eventIds.assign(calculationEvent),
+                keyStrategy.key(calculationEvent, MDC.get(AuditLog.CLIENT)),
+                enqueuedAt
+        );
+    }
+
+    private void recordEnqueue(final CalculationEvent calculationEvent, final long enqueuedAt) {
+        enqueueTimers.computeIfAbsent(operation(calculationEvent),
+                        operation -> enqueueTimer.withTags(OPERATION, operation))
+                .record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private void reject(final String message, final int events) {
+        rejected.add(events);
+        throw new CalculatorProducerOverloadedException(message);
+    }
+
+    /**
+     * Sender loop: takes the queued events in batches and hands them to the Kafka producer,
+     * which batches, compresses and sends them according to its linger and batch size settings.
+     * Keeps draining after {@link #stop()} until the queue is empty.
+     */
+    private void drain() {
+        final List<PendingEvent> batch = new ArrayList<>(drainSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final PendingEvent first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, drainSize - 1);
+                room.release(batch.size());
+                for (final PendingEvent pendingEvent : batch) {
+                    publish(pendingEvent);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Hands one event to the Kafka producer and records its outcome on completion.
+     *
+     * @param pendingEvent the event and its enqueue time.
+     */
+    private void publish(final PendingEvent pendingEvent) {
+        final long sentAt = System.nanoTime();
+        try {
+            kafkaTemplate.send(topic, pendingEvent.key(), pendingEvent.calculationEvent())
+                    .whenComplete((result, exception) -> complete(pendingEvent, sentAt, exception));
+        } catch (RuntimeException e) {
+            complete(pendingEvent, sentAt, e);
+        }
+    }
+
+    private void complete(final PendingEvent pendingEvent, final long sentAt, final Throwable exception) {
+        final long now = System.nanoTime();
+        final long latency = now - pendingEvent.enqueuedAt();
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        if (exception == null) {
+            published.increment();
+            publishedTimers.computeIfAbsent(operation(pendingEvent.calculationEvent()),
+                            operation -> ackTimer.withTags(OPERATION, operation, OUTCOME, "success"))
+                    .record(now - sentAt, TimeUnit.NANOSECONDS);
+        } else {
+            failed.increment();
+            ackTimer.withTags(OPERATION, operation(pendingEvent.calculationEvent()), OUTCOME, "failure")
+                    .record(now - sentAt, TimeUnit.NANOSECONDS);
+            log.error("Failed to publish message to topic {}: {}", topic, pendingEvent.calculationEvent(), exception);
+        }
+    }
+
+    private static String operation(final CalculationEvent calculationEvent) {
+        return String.valueOf(calculationEvent.operation());
     }
-}
\ No newline at end of file
+
+    /**
+     * Queued event.
+     *
+     * @param calculationEvent the event.
+     * @param key the record key, null for none.
+     * @param enqueuedAt the {@link System#nanoTime()} at which it was queued.
+     */
+    private record PendingEvent(CalculationEvent calculationEvent, String key, long enqueuedAt) {}
+
+    /**
+     * Producer counters.
+     *
+     * @param published events acknowledged by the broker.
+     * @param failed events the broker or the client failed to publish.
+     * @param dropped events dropped because the queue was full.
+     * @param rejected events rejected because the queue was full.
+     * @param queued events waiting in the queue.
+     * @param averageLatencyMillis average time from enqueue to acknowledgement.
+     * @param maxLatencyMillis maximum time from enqueue to acknowledgement.
+     */
+    public record Stats(
+            long published,
+            long failed,
+            long dropped,
+            long rejected,
+            int queued,
+            double averageLatencyMillis,
+            double maxLatencyMillis
+    ) {}
+}
@@ -0,0 +1,13 @@
+package com.wit.calculator.rest.kafka;
+
+/**
+ * Thrown when an event cannot be queued for publishing because the producer queue is full.
+ */
+public class CalculatorProducerOverloadedException extends RuntimeException {
+    /**
+     * @param message the reason of the rejection.
+     */
+    public CalculatorProducerOverloadedException(final String message) {
+        super(message);
+    }
+}
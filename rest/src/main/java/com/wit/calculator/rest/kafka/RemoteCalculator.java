@@ -0,0 +1,255 @@
+package com.wit.calculator.rest.kafka;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationRequestListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.requestreply.KafkaReplyTimeoutException;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Client side of the remote compute mode, enabled by {@code calculator.remote.enabled=true}: sends calculations to
+ * the calculator workers over Kafka and waits for their result, matched to the request by correlation id by a
+ * {@link ReplyingKafkaTemplate}. The workers are the instances running the {@link CalculationRequestListener}.
+ * <p>
+ * Each request waits at most {@code calculator.remote.timeout} for its reply, and at most
+ * {@code calculator.remote.max-in-flight} requests wait at a time. The calculation is computed locally instead when
+ * the limit is reached, the request cannot be sent, the reply times out or the worker failed, so that a slow or
+ * missing worker pool costs latency but fails no request. A reply reporting invalid input or an operation undefined
+ * for its operands is returned as the failed {@link CalculationResult} the local service would have returned, and
+ * the local computation is returned unchanged.
+ * <p>
+ * Metrics: {@code calculator.remote} times the calculations by outcome, {@code remote}, {@code invalid} for both
+ * kinds of failure, {@code saturated}, {@code timeout} or {@code failure}, the last three including the local
+ * computation;
+ * {@code calculator.remote.in.flight} follows the requests awaiting their reply.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "calculator.remote.enabled", havingValue = "true")
+public class RemoteCalculator implements SmartLifecycle {
+    private static final String TIMER = "calculator.remote";
+
+    private final ReplyingKafkaTemplate<String, CalculationEvent, CalculationEvent> replyingKafkaTemplate;
+    private final String requestTopic;
+    private final Duration timeout;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private final Timer remoteTimer;
+    private final Timer invalidTimer;
+    private final Timer saturatedTimer;
+    private final Timer timeoutTimer;
+    private final Timer failureTimer;
+
+    private volatile boolean running;
+
+    /**
+     * @param producerFactory the producer factory of the application, whose sends are bounded by the timeout.
+     * @param containerFactory the listener container factory of the application, creating the reply container.
+     * @param requestTopic the topic of the calculation requests.
+     * @param replyTopic the topic of the replies.
+     * @param timeout how long a request waits for its reply.
+     * @param maxInFlight the maximum number of requests awaiting their reply.
+     * @param meterRegistry the registry of the remote compute metrics.
+     */
+    @Autowired
+    public RemoteCalculator(
+            final ProducerFactory<String, CalculationEvent> producerFactory,
+            final ConcurrentKafkaListenerContainerFactory<String, CalculationEvent> containerFactory,
+            @Value("${calculator.remote.request-topic:calculator.requests}") final String requestTopic,
+            @Value("${calculator.remote.reply-topic:calculator.replies}") final String replyTopic,
+            @Value("${calculator.remote.timeout:200ms}") final Duration timeout,
+            @Value("${calculator.remote.max-in-flight:1000}") final int maxInFlight,
+            final MeterRegistry meterRegistry
+    ) {
+        this(replyingKafkaTemplate(producerFactory, containerFactory, replyTopic, timeout),
+                requestTopic, timeout, maxInFlight, meterRegistry);
+    }
+
+    /**
+     * @param replyingKafkaTemplate the template sending the requests and receiving the replies.
+     * @param requestTopic the topic of the calculation requests.
+     * @param timeout how long a request waits for its reply.
+     * @param maxInFlight the maximum number of requests awaiting their reply.
+     * @param meterRegistry the registry of the remote compute metrics.
+     */
+    RemoteCalculator(
+            final ReplyingKafkaTemplate<String, CalculationEvent, CalculationEvent> replyingKafkaTemplate,
+            final String requestTopic,
+            final Duration timeout,
+            final int maxInFlight,
+            final MeterRegistry meterRegistry
+    ) {
+        this.replyingKafkaTemplate = replyingKafkaTemplate;
+        this.requestTopic = requestTopic;
+        this.timeout = timeout;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        final Meter.MeterProvider<Timer> timer = Timer.builder(TIMER)
+                .description("Time to calculate through the workers, including any local computation")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.remoteTimer = timer.withTag("outcome", "remote");
+        this.invalidTimer = timer.withTag("outcome", "invalid");
+        this.saturatedTimer = timer.withTag("outcome", "saturated");
+        this.timeoutTimer = timer.withTag("outcome", "timeout");
+        this.failureTimer = timer.withTag("outcome", "failure");
+        Gauge.builder(TIMER + ".in.flight", inFlight, semaphore -> maxInFlight - semaphore.availablePermits())
+                .description("Calculation requests awaiting their reply")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calculates through the workers, or locally when they cannot answer in time.
+     *
+     * @param calculationRequest the calculation, without result.
+     * @param local the local computation of the same calculation.
+     *
+     * @return the result of the calculation, or its failure.
+     */
+    public CalculationResult calculate(
+            final CalculationEvent calculationRequest,
+            final Supplier<CalculationResult> local
+    ) {
+        final long start = System.nanoTime();
+        if (!inFlight.tryAcquire()) {
+            return calculateLocally(saturatedTimer, start, local);
+        }
+
+        ConsumerRecord<String, CalculationEvent> reply = null;
+        Timer fallback = failureTimer;
+        try {
+            reply = replyingKafkaTemplate.sendAndReceive(new ProducerRecord<>(requestTopic, calculationRequest), timeout)
+                    .get();
+        } catch (ExecutionException executionException) {
+            if (executionException.getCause() instanceof KafkaReplyTimeoutException) {
+                fallback = timeoutTimer;
+            }
+            log.debug("No reply to {}: {}", calculationRequest, executionException.getCause().toString());
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException runtimeException) {
+            log.debug("Failed to send {}: {}", calculationRequest, runtimeException.toString());
+        } finally {
+            inFlight.release();
+        }
+        if (reply == null || reply.headers().lastHeader(CalculationRequestListener.FAILURE_HEADER) != null) {
+            return calculateLocally(fallback, start, local);
+        }
+
+        final Header error = reply.headers().lastHeader(CalculationRequestListener.ERROR_HEADER);
+        if (error != null) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return CalculationResult.invalid(new String(error.value(), StandardCharsets.UTF_8));
+        }
+        final Header arithmetic = reply.headers().lastHeader(CalculationRequestListener.ARITHMETIC_HEADER);
+        if (arithmetic != null) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return CalculationResult.arithmetic(new String(arithmetic.value(), StandardCharsets.UTF_8));
+        }
+        if (reply.value() == null || reply.value().result() == null) {
+            return calculateLocally(failureTimer, start, local);
+        }
+        remoteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return CalculationResult.success(reply.value().result());
+    }
+
+    /**
+     * Starts the reply container and waits for its partitions, so that the first replies are not missed.
+     */
+    @Override
+    public void start() {
+        replyingKafkaTemplate.start();
+        running = true;
+        try {
+            if (!replyingKafkaTemplate.waitForAssignment(Duration.ofSeconds(30))) {
+                log.warn("Reply topic not assigned yet, calculations are computed locally until it is");
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Remote compute on topic {} with timeout {} and {} requests in flight at most",
+                requestTopic, timeout, maxInFlight);
+    }
+
+    /**
+     * Stops the reply container; requests still waiting time out and are computed locally.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        replyingKafkaTemplate.stop();
+    }
+
+    /**
+     * @return whether the reply container runs.
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static CalculationResult calculateLocally(
+            final Timer timer,
+            final long start,
+            final Supplier<CalculationResult> local
+    ) {
+        try {
+            return local.get();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Replying template over a copy of the producer factory whose sends block for the timeout at most, and a reply
+     * container of its own consumer group, since every instance reads all the replies and keeps its own.
+     */
+    private static ReplyingKafkaTemplate<String, CalculationEvent, CalculationEvent> replyingKafkaTemplate(
+            final ProducerFactory<String, CalculationEvent> producerFactory,
+            final ConcurrentKafkaListenerContainerFactory<String, CalculationEvent> containerFactory,
+            final String replyTopic,
+            final Duration timeout
+    ) {
+        final ConcurrentMessageListenerContainer<String, CalculationEvent> replyContainer =
+                containerFactory.createContainer(replyTopic);
+        replyContainer.getContainerProperties().setGroupId("calculator-replies-" + UUID.randomUUID());
+        replyContainer.setAutoStartup(false);
+
+        final ReplyingKafkaTemplate<String, CalculationEvent, CalculationEvent> replyingKafkaTemplate =
+                new ReplyingKafkaTemplate<>(
+                        producerFactory.copyWithConfigurationOverride(
+                                Map.of(ProducerConfig.MAX_BLOCK_MS_CONFIG, timeout.toMillis())),
+                        replyContainer);
+        replyingKafkaTemplate.setSharedReplyTopic(true);
+        replyingKafkaTemplate.setDefaultReplyTimeout(timeout);
+        return replyingKafkaTemplate;
+    }
+}
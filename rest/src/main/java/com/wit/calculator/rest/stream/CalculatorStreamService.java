@@ -0,0 +1,177 @@
+package com.wit.calculator.rest.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.rest.dto.CalculatorBatchRequest;
+import com.wit.calculator.rest.dto.CalculatorResponse;
+import com.wit.calculator.rest.kafka.CalculatorProducer;
+import com.wit.calculator.rest.web.exception.CalculationFailureMapper;
+import com.wit.calculator.rest.web.exception.CalculatorGlobalExceptionHandler;
+import com.wit.calculator.service.CalculatorService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * Evaluates newline-delimited JSON operations as they are read and writes one result line per operation.
+ * <p>
+ * Each line is {@code {"operation":"SUM","firstNumber":1,"secondNumber":2}} and gets either a
+ * {@link CalculatorResponse} or, when it fails, the {@code CalculatorErrorResponse} the
+ * {@link CalculatorGlobalExceptionHandler} would return for a single request; results keep the line order
+ * and blank lines are skipped. Invalid lines and operations undefined for their operands are returned as failures
+ * by the {@code try} variants of the calculator and mapped by the {@link CalculationFailureMapper}, as in the
+ * controller, so that a bad line costs no exception; only malformed JSON is still thrown by the parser. Memory does not depend on the body size: one line buffer, one read buffer and
+ * the output buffer. Reading, evaluating and writing happen on the request thread, so a client that does not
+ * read its results blocks the writes, which stops the reads and in turn the client through TCP flow control.
+ * Results are flushed whenever the next line has not arrived yet.
+ */
+@Slf4j
+@Service
+public class CalculatorStreamService {
+    private final CalculatorService calculatorService;
+    private final CalculatorProducer calculatorProducer;
+    private final AuditLog auditLog;
+    private final CalculatorGlobalExceptionHandler calculatorGlobalExceptionHandler;
+    private final CalculationFailureMapper calculationFailureMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader itemReader;
+    private final int maxLineLength;
+
+    public CalculatorStreamService(
+            final CalculatorService calculatorService,
+            final CalculatorProducer calculatorProducer,
+            final AuditLog auditLog,
+            final CalculatorGlobalExceptionHandler calculatorGlobalExceptionHandler,
+            final CalculationFailureMapper calculationFailureMapper,
+            final ObjectMapper objectMapper,
+            @Value("${calculator.stream.max-line-length:4096}") final int maxLineLength
+    ) {
+        this.calculatorService = calculatorService;
+        this.calculatorProducer = calculatorProducer;
+        this.auditLog = auditLog;
+        this.calculatorGlobalExceptionHandler = calculatorGlobalExceptionHandler;
+        this.calculationFailureMapper = calculationFailureMapper;
+        this.objectMapper = objectMapper;
+        this.itemReader = objectMapper.readerFor(CalculatorBatchRequest.Item.class);
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Streams the results of the operations of the request body into the response body.
+     *
+     * @param httpServletRequest the request, one JSON operation per line.
+     * @param httpServletResponse the response, one JSON result per line.
+     *
+     * @throws IOException if the client goes away.
+     */
+    public void stream(
+            final HttpServletRequest httpServletRequest,
+            final HttpServletResponse httpServletResponse
+    ) throws IOException {
+        httpServletResponse.setStatus(HttpStatus.OK.value());
+        httpServletResponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        final NdjsonLineReader reader = new NdjsonLineReader(httpServletRequest.getInputStream(), maxLineLength);
+        long lines = 0;
+        long failures = 0;
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(httpServletResponse.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            while (true) {
+                if (!reader.ready()) {
+                    generator.flush();
+                }
+                if (!reader.next()) {
+                    break;
+                }
+                if (reader.isBlank()) {
+                    continue;
+                }
+                lines++;
+                try {
+                    final CalculationResult calculationResult = evaluate(reader);
+                    if (calculationResult.isSuccess()) {
+                        generator.writePOJO(new CalculatorResponse(calculationResult.value()));
+                    } else {
+                        failures++;
+                        generator.writePOJO(calculationFailureMapper.toErrorResponse(
+                                calculationResult, httpServletRequest.getRequestURI()));
+                    }
+                } catch (RuntimeException | JsonProcessingException exception) {
+                    failures++;
+                    generator.writePOJO(calculatorGlobalExceptionHandler.handleLine(
+                            toHandled(exception, httpServletRequest), httpServletRequest));
+                }
+                generator.writeRaw('\n');
+            }
+        }
+        log.debug("REST stream of {} operations done: {} failed", lines, failures);
+    }
+
+    /**
+     * Evaluates the current line, publishing and auditing its event like a single request.
+     *
+     * @param reader the reader positioned on the line.
+     *
+     * @return the result of the operation, or its failure.
+     *
+     * @throws IOException if the line is not valid JSON.
+     */
+    private CalculationResult evaluate(final NdjsonLineReader reader) throws IOException {
+        if (reader.tooLong()) {
+            return CalculationResult.invalid("Line longer than %d bytes".formatted(maxLineLength));
+        }
+        final CalculatorBatchRequest.Item item = itemReader.readValue(reader.buffer(), 0, reader.length());
+        if (item.operation() == null) {
+            return CalculationResult.invalid("Operation must not be null");
+        }
+
+        final CalculationResult calculationResult = item.operation().tryApply(
+                calculatorService,
+                new CalculatorBinaryOperands(item.firstNumber(), item.secondNumber())
+        );
+        if (!calculationResult.isSuccess()) {
+            return calculationResult;
+        }
+
+        final CalculationEvent calculationEvent = new CalculationEvent(
+                item.operation().name(),
+                item.firstNumber(),
+                item.secondNumber(),
+                calculationResult.value()
+        );
+        calculatorProducer.send(calculationEvent);
+        auditLog.record(AuditLog.REST, calculationEvent);
+        return calculationResult;
+    }
+
+    /**
+     * Wraps a malformed line in the exception Spring raises for a malformed body, so that it is reported alike.
+     *
+     * @param exception the failure of a line.
+     * @param httpServletRequest the current request.
+     *
+     * @return the exception to hand to the exception handler.
+     */
+    private Exception toHandled(final Exception exception, final HttpServletRequest httpServletRequest) {
+        if (exception instanceof JsonProcessingException) {
+            return new HttpMessageNotReadableException(
+                    exception.getMessage(), exception, new ServletServerHttpRequest(httpServletRequest));
+        }
+        return exception;
+    }
+}
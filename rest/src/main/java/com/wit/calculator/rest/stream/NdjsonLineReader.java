@@ -0,0 +1,111 @@
+package com.wit.calculator.rest.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads newline-delimited lines from a stream into a fixed buffer, so that memory does not grow with the body.
+ * Lines longer than the buffer are skipped up to their newline and reported with {@link #tooLong()}.
+ * A trailing {@code \r} is removed, so CRLF bodies are read as well.
+ */
+final class NdjsonLineReader {
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final InputStream inputStream;
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private final byte[] line;
+    private int position;
+    private int limit;
+    private int length;
+    private boolean tooLong;
+
+    /**
+     * @param inputStream the stream to read.
+     * @param maxLineLength the maximum length of a line in bytes, excluding the newline.
+     */
+    NdjsonLineReader(final InputStream inputStream, final int maxLineLength) {
+        this.inputStream = inputStream;
+        this.line = new byte[maxLineLength];
+    }
+
+    /**
+     * Reads the next line, blocking until it is complete or the stream ends.
+     *
+     * @return false at the end of the stream, true otherwise.
+     *
+     * @throws IOException if the stream cannot be read.
+     */
+    boolean next() throws IOException {
+        length = 0;
+        tooLong = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = inputStream.read(readBuffer, 0, readBuffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return read && trim();
+                }
+            }
+            read = true;
+            int end = position;
+            while (end < limit && readBuffer[end] != '\n') {
+                end++;
+            }
+            append(position, end);
+            if (end < limit) {
+                position = end + 1;
+                return trim();
+            }
+            position = limit;
+        }
+    }
+
+    /**
+     * @return true if a line can be read without waiting for the client.
+     *
+     * @throws IOException if the stream cannot be read.
+     */
+    boolean ready() throws IOException {
+        return position < limit || inputStream.available() > 0;
+    }
+
+    byte[] buffer() {
+        return line;
+    }
+
+    int length() {
+        return length;
+    }
+
+    boolean tooLong() {
+        return tooLong;
+    }
+
+    boolean isBlank() {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return !tooLong;
+    }
+
+    private void append(final int from, final int to) {
+        final int count = to - from;
+        if (tooLong || length + count > line.length) {
+            tooLong = true;
+            return;
+        }
+        System.arraycopy(readBuffer, from, line, length, count);
+        length += count;
+    }
+
+    private boolean trim() {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return true;
+    }
+}
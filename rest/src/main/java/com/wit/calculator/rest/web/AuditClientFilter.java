@@ -0,0 +1,43 @@
+package com.wit.calculator.rest.web;
+
+import com.wit.calculator.audit.AuditLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Puts the {@value #CLIENT_HEADER} request header in the MDC for the duration of the request,
+ * so that the {@link AuditLog} can always sample the clients listed in {@code calculator.audit.force-clients}.
+ */
+@Component
+public class AuditClientFilter extends OncePerRequestFilter {
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest httpServletRequest,
+            final HttpServletResponse httpServletResponse,
+            final FilterChain filterChain
+    ) throws ServletException, IOException {
+        final String client = httpServletRequest.getHeader(CLIENT_HEADER);
+        if (client == null) {
+            filterChain.doFilter(httpServletRequest, httpServletResponse);
+            return;
+        }
+        MDC.put(AuditLog.CLIENT, client);
+        try {
+            filterChain.doFilter(httpServletRequest, httpServletResponse);
+        } finally {
+            MDC.remove(AuditLog.CLIENT);
+        }
+    }
+}
@@ -1,17 +1,36 @@
 package com.wit.calculator.rest.web;
 
+import com.wit.calculator.rest.dto.CalculatorBatchRequest;
+import com.wit.calculator.rest.dto.CalculatorBatchResponse;
+import com.wit.calculator.rest.dto.CalculatorColumnsRequest;
+import com.wit.calculator.rest.dto.CalculatorColumnsResponse;
+import com.wit.calculator.rest.dto.CalculatorExpressionCacheResponse;
+import com.wit.calculator.rest.dto.CalculatorExpressionRequest;
+import com.wit.calculator.rest.dto.CalculatorLongColumnsRequest;
+import com.wit.calculator.rest.dto.CalculatorLongColumnsResponse;
+import com.wit.calculator.rest.dto.CalculatorProducerStatsResponse;
+import com.wit.calculator.rest.dto.CalculatorReductionRequest;
+import com.wit.calculator.rest.dto.CalculatorResultCacheResponse;
 import com.wit.calculator.rest.dto.CalculatorRequest;
 import com.wit.calculator.rest.dto.CalculatorResponse;
 import com.wit.calculator.rest.dto.CalculatorErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.time.Instant;
 
 /**
  * Calculator API for swagger documentation purposes.
@@ -110,4 +129,239 @@ public interface CalculatorApi {
             ),
     })
     ResponseEntity<CalculatorResponse> division(@Valid @RequestBody final CalculatorRequest calculatorRequest);
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Evaluate a batch of operations.",
+            description = "Evaluates many operations in one call. Results keep the request order and a failing item "
+                    + "reports its own error without failing the batch."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorBatchResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse .class))
+            ),
+    })
+    ResponseEntity<CalculatorBatchResponse> batch(@Valid @RequestBody final CalculatorBatchRequest calculatorBatchRequest);
+
+    @Operation(
+            summary = "Sum of many operands.",
+            description = "Adds all the operands, in parallel for large lists. "
+                    + "The result is exact, rounded once to 34 significant digits, whatever the number of operands."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse .class))
+            ),
+    })
+    ResponseEntity<CalculatorResponse> sumAll(@Valid @RequestBody final CalculatorReductionRequest calculatorReductionRequest);
+
+    @Operation(
+            summary = "Product of many operands.",
+            description = "Multiplies all the operands, in parallel for large lists. "
+                    + "The result is exact, rounded once to 34 significant digits, whatever the number of operands."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse .class))
+            ),
+    })
+    ResponseEntity<CalculatorResponse> productAll(@Valid @RequestBody final CalculatorReductionRequest calculatorReductionRequest);
+
+    @Operation(
+            summary = "Evaluate an expression.",
+            description = "Evaluates an arithmetic expression with + - * / and parentheses, such as (a + b) * c / d."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse .class))
+            ),
+    })
+    ResponseEntity<CalculatorResponse> evaluate(@Valid @RequestBody final CalculatorExpressionRequest calculatorExpressionRequest);
+
+    @Operation(
+            summary = "Evaluate a stream of operations.",
+            description = "Reads one operation per line of a newline-delimited JSON body, such as "
+                    + "{\"operation\": \"SUM\", \"firstNumber\": 1, \"secondNumber\": 2}, and writes one result "
+                    + "line per operation as soon as it is ready, in order. A failing line gets an error line with "
+                    + "the fields of an error response and does not stop the stream.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            )
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success, one CalculatorResponse or CalculatorErrorResponse per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            ),
+    })
+    void stream(final HttpServletRequest httpServletRequest, final HttpServletResponse httpServletResponse)
+            throws IOException;
+
+    @Operation(
+            summary = "Element-wise operation over double columns.",
+            description = "Applies the operation to each pair first[i], second[i] with SIMD instructions when available. "
+                    + "Doubles are lossy: 0.1 + 0.2 is 0.30000000000000004 and a division by zero yields Infinity or NaN. "
+                    + "Use the batch endpoint for exact decimal results."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorColumnsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse .class))
+            ),
+    })
+    ResponseEntity<CalculatorColumnsResponse> columns(@Valid @RequestBody final CalculatorColumnsRequest calculatorColumnsRequest);
+
+    @Operation(
+            summary = "Element-wise operation over long columns.",
+            description = "Applies SUM, SUB or MULT to each pair first[i], second[i] with SIMD instructions when available. "
+                    + "Results are exact: an overflow fails the whole request."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorLongColumnsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse .class))
+            ),
+    })
+    ResponseEntity<CalculatorLongColumnsResponse> longColumns(@Valid @RequestBody final CalculatorLongColumnsRequest calculatorLongColumnsRequest);
+
+    @Operation(
+            summary = "Expression cache statistics.",
+            description = "Returns the hit and miss counts of the parsed expression cache."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorExpressionCacheResponse.class))
+            ),
+    })
+    ResponseEntity<CalculatorExpressionCacheResponse> expressionCacheStats();
+
+    @Operation(
+            summary = "Result cache statistics.",
+            description = "Returns the hit rate of the calculation result cache, enabled with calculator.cache.enabled."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorResultCacheResponse.class))
+            ),
+    })
+    ResponseEntity<CalculatorResultCacheResponse> resultCacheStats();
+
+    @Operation(
+            summary = "Producer statistics.",
+            description = "Returns the published, failed, dropped and rejected event counts and the publish latency."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(schema = @Schema(implementation = CalculatorProducerStatsResponse.class))
+            ),
+    })
+    ResponseEntity<CalculatorProducerStatsResponse> producerStats();
+
+    @Operation(
+            summary = "Calculation history.",
+            description = "Writes the calculations recomputed by the Kafka consumers between from and to, oldest first, "
+                    + "one JSON line per calculation in the format of the audit log. Requires "
+                    + "calculator.history.enabled=true on the instance running the consumers."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success, one calculation per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation Error",
+                    content = @Content(schema = @Schema(implementation = CalculatorErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "History disabled"
+            ),
+    })
+    void history(
+            @Parameter(description = "First time, inclusive, such as 2024-06-01T00:00:00Z")
+            @RequestParam("from") final Instant from,
+            @Parameter(description = "Last time, inclusive, now by default")
+            @RequestParam(name = "to", required = false) final Instant to,
+            @Parameter(description = "Maximum number of calculations")
+            @RequestParam(name = "limit", defaultValue = "1000") final int limit,
+            final HttpServletResponse httpServletResponse
+    ) throws IOException;
+}
@@ -1,24 +1,65 @@
 package com.wit.calculator.rest.web;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBatchItem;
+import com.wit.calculator.domain.CalculatorBatchResult;
 import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.expression.ExpressionCache;
+import com.wit.calculator.history.CalculationHistory;
 import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.rest.dto.CalculatorBatchRequest;
+import com.wit.calculator.rest.dto.CalculatorBatchResponse;
+import com.wit.calculator.rest.dto.CalculatorColumnsRequest;
+import com.wit.calculator.rest.dto.CalculatorColumnsResponse;
+import com.wit.calculator.rest.dto.CalculatorExpressionCacheResponse;
+import com.wit.calculator.rest.dto.CalculatorExpressionRequest;
+import com.wit.calculator.rest.dto.CalculatorLongColumnsRequest;
+import com.wit.calculator.rest.dto.CalculatorLongColumnsResponse;
+import com.wit.calculator.rest.dto.CalculatorProducerStatsResponse;
+import com.wit.calculator.rest.dto.CalculatorReductionRequest;
+import com.wit.calculator.rest.dto.CalculatorResultCacheResponse;
 import com.wit.calculator.rest.kafka.CalculatorProducer;
+import com.wit.calculator.rest.kafka.RemoteCalculator;
+import com.wit.calculator.rest.stream.CalculatorStreamService;
+import com.wit.calculator.rest.web.exception.CalculationFailureMapper;
+import com.wit.calculator.service.CachingCalculatorService;
+import com.wit.calculator.service.CalculatorBatchService;
+import com.wit.calculator.service.CalculatorColumnService;
 import com.wit.calculator.service.CalculatorService;
 import com.wit.calculator.rest.dto.CalculatorRequest;
 import com.wit.calculator.rest.dto.CalculatorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Calculator REST controller implementing {@link CalculatorApi}.
+ * Calculations are sampled into the {@link AuditLog} instead of being logged on every call.
+ * With {@code calculator.remote.enabled=true}, binary operations and expressions are computed by the workers
+ * through the {@link RemoteCalculator}; the other endpoints always compute locally.
+ * Invalid operands and expressions come back from the service as a failed {@link CalculationResult}, mapped by the
+ * {@link CalculationFailureMapper} to the response the exception handler gives to the exception it stands for.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -27,6 +68,15 @@ import java.math.BigDecimal;
 public class CalculatorController implements CalculatorApi {
     private final CalculatorService calculatorService;
     private final CalculatorProducer calculatorProducer;
+    private final CalculatorBatchService calculatorBatchService;
+    private final ExpressionCache expressionCache;
+    private final ObjectProvider<CachingCalculatorService> cachingCalculatorService;
+    private final AuditLog auditLog;
+    private final CalculatorColumnService calculatorColumnService;
+    private final CalculatorStreamService calculatorStreamService;
+    private final Optional<RemoteCalculator> remoteCalculator;
+    private final CalculationHistory calculationHistory;
+    private final CalculationFailureMapper calculationFailureMapper;
 
     /**
      * Adds two operands and sum.
@@ -42,22 +92,23 @@ public class CalculatorController implements CalculatorApi {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<CalculatorResponse> sum(final CalculatorRequest calculatorRequest) {
-        log.info("REST sum of {} and {}", calculatorRequest.firstNumber(), calculatorRequest.secondNumber());
+        final CalculationResult calculationResult = calculate("SUM", calculatorRequest, calculatorService::trySum);
+        if (!calculationResult.isSuccess()) {
+            return calculationFailureMapper.toResponse(calculationResult);
+        }
+        final BigDecimal result = calculationResult.value();
 
-        final BigDecimal result = calculatorService.sum(
-                new CalculatorBinaryOperands(
-                        calculatorRequest.firstNumber(),
-                        calculatorRequest.secondNumber()
-                ));
-
-        calculatorProducer.send(new CalculationEvent(
+        final CalculationEvent calculationEvent = new CalculationEvent(
                 "SUM",
-                calculatorRequest.firstNumber().toPlainString(),
-                calculatorRequest.secondNumber().toPlainString(),
-                result.toPlainString()
-        ));
+                calculatorRequest.firstNumber(),
+                calculatorRequest.secondNumber(),
+                result,
+                calculatorRequest.precision(),
+                calculatorRequest.roundingMode()
+        );
+        calculatorProducer.send(calculationEvent);
+        auditLog.record(AuditLog.REST, calculationEvent);
 
-        log.info("REST sum result: {}", result);
         return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
     }
 
@@ -75,22 +126,23 @@ public class CalculatorController implements CalculatorApi {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<CalculatorResponse> sub(CalculatorRequest calculatorRequest) {
-        log.info("REST sub of {} and {}", calculatorRequest.firstNumber(), calculatorRequest.secondNumber());
+        final CalculationResult calculationResult = calculate("SUB", calculatorRequest, calculatorService::trySub);
+        if (!calculationResult.isSuccess()) {
+            return calculationFailureMapper.toResponse(calculationResult);
+        }
+        final BigDecimal result = calculationResult.value();
 
-        final BigDecimal result = calculatorService.sub(
-                new CalculatorBinaryOperands(
-                        calculatorRequest.firstNumber(),
-                        calculatorRequest.secondNumber()
-                ));
-
-        calculatorProducer.send(new CalculationEvent(
+        final CalculationEvent calculationEvent = new CalculationEvent(
                 "SUB",
-                calculatorRequest.firstNumber().toPlainString(),
-                calculatorRequest.secondNumber().toPlainString(),
-                result.toPlainString()
-        ));
+                calculatorRequest.firstNumber(),
+                calculatorRequest.secondNumber(),
+                result,
+                calculatorRequest.precision(),
+                calculatorRequest.roundingMode()
+        );
+        calculatorProducer.send(calculationEvent);
+        auditLog.record(AuditLog.REST, calculationEvent);
 
-        log.info("REST sub result: {}", result);
         return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
     }
 
@@ -108,22 +160,23 @@ public class CalculatorController implements CalculatorApi {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<CalculatorResponse> multiply(CalculatorRequest calculatorRequest) {
-        log.info("REST mult of {} and {}", calculatorRequest.firstNumber(), calculatorRequest.secondNumber());
+        final CalculationResult calculationResult = calculate("MULT", calculatorRequest, calculatorService::tryMult);
+        if (!calculationResult.isSuccess()) {
+            return calculationFailureMapper.toResponse(calculationResult);
+        }
+        final BigDecimal result = calculationResult.value();
 
-        final BigDecimal result = calculatorService.mult(
-                new CalculatorBinaryOperands(
-                        calculatorRequest.firstNumber(),
-                        calculatorRequest.secondNumber()
-                ));
-
-        calculatorProducer.send(new CalculationEvent(
+        final CalculationEvent calculationEvent = new CalculationEvent(
                 "MULT",
-                calculatorRequest.firstNumber().toPlainString(),
-                calculatorRequest.secondNumber().toPlainString(),
-                result.toPlainString()
-        ));
+                calculatorRequest.firstNumber(),
+                calculatorRequest.secondNumber(),
+                result,
+                calculatorRequest.precision(),
+                calculatorRequest.roundingMode()
+        );
+        calculatorProducer.send(calculationEvent);
+        auditLog.record(AuditLog.REST, calculationEvent);
 
-        log.info("REST mult result: {}", result);
         return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
     }
 
@@ -141,22 +194,361 @@ public class CalculatorController implements CalculatorApi {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<CalculatorResponse> division(CalculatorRequest calculatorRequest) {
-        log.info("REST div of {} and {}", calculatorRequest.firstNumber(), calculatorRequest.secondNumber());
+        final CalculationResult calculationResult = calculate("DIV", calculatorRequest, calculatorService::tryDivision);
+        if (!calculationResult.isSuccess()) {
+            return calculationFailureMapper.toResponse(calculationResult);
+        }
+        final BigDecimal result = calculationResult.value();
+
+        final CalculationEvent calculationEvent = new CalculationEvent(
+                "DIV",
+                calculatorRequest.firstNumber(),
+                calculatorRequest.secondNumber(),
+                result,
+                calculatorRequest.precision(),
+                calculatorRequest.roundingMode()
+        );
+        calculatorProducer.send(calculationEvent);
+        auditLog.record(AuditLog.REST, calculationEvent);
 
-        final BigDecimal result = calculatorService.division(
-                new CalculatorBinaryOperands(
-                        calculatorRequest.firstNumber(),
-                        calculatorRequest.secondNumber()
+        return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
+    }
+
+    /**
+     * Evaluates a batch of operations.
+     *
+     * @param calculatorBatchRequest the payload body containing the operations.
+     *
+     * @return the results of the operations, in request order.
+     */
+    @Override
+    @PostMapping(
+            path = "${api.endpoints.batch}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorBatchResponse> batch(final CalculatorBatchRequest calculatorBatchRequest) {
+        final List<CalculatorBatchRequest.Item> items = calculatorBatchRequest.items();
+        log.debug("REST batch of {} operations", items.size());
+
+        final List<CalculatorBatchResult> results = calculatorBatchService.evaluate(items.stream()
+                .map(item -> item == null ? new CalculatorBatchItem(null, null) : new CalculatorBatchItem(
+                        item.operation(),
+                        new CalculatorBinaryOperands(item.firstNumber(), item.secondNumber())
+                ))
+                .toList());
+
+        final List<CalculatorBatchResponse.Item> responseItems = new ArrayList<>(results.size());
+        final List<CalculationEvent> events = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            final CalculatorBatchResult result = results.get(i);
+            responseItems.add(new CalculatorBatchResponse.Item(result.result(), result.error(), result.message()));
+            if (result.isSuccess()) {
+                final CalculatorBatchRequest.Item item = items.get(i);
+                events.add(new CalculationEvent(
+                        item.operation().name(),
+                        item.firstNumber(),
+                        item.secondNumber(),
+                        result.result()
                 ));
+            }
+        }
+        if (!events.isEmpty()) {
+            calculatorProducer.sendAll(events);
+            for (final CalculationEvent calculationEvent : events) {
+                auditLog.record(AuditLog.REST, calculationEvent);
+            }
+        }
 
-        calculatorProducer.send(new CalculationEvent(
-                "DIV",
-                calculatorRequest.firstNumber().toPlainString(),
-                calculatorRequest.secondNumber().toPlainString(),
-                result.toPlainString()
-        ));
+        log.debug("REST batch done: {} succeeded, {} failed", events.size(), results.size() - events.size());
+        return new ResponseEntity<>(new CalculatorBatchResponse(responseItems), HttpStatus.OK);
+    }
+
+    /**
+     * Calculates the sum of many operands.
+     *
+     * @param calculatorReductionRequest the payload body containing the operands.
+     *
+     * @return the sum of the operands.
+     */
+    @Override
+    @PostMapping(
+            path = "${api.endpoints.sum-all}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResponse> sumAll(final CalculatorReductionRequest calculatorReductionRequest) {
+        log.debug("REST sum of {} operands", calculatorReductionRequest.operands().size());
+
+        final BigDecimal result = calculatorService.sumAll(calculatorReductionRequest.operands());
+        return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
+    }
+
+    /**
+     * Calculates the product of many operands.
+     *
+     * @param calculatorReductionRequest the payload body containing the operands.
+     *
+     * @return the product of the operands.
+     */
+    @Override
+    @PostMapping(
+            path = "${api.endpoints.product-all}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResponse> productAll(final CalculatorReductionRequest calculatorReductionRequest) {
+        log.debug("REST product of {} operands", calculatorReductionRequest.operands().size());
+
+        final BigDecimal result = calculatorService.productAll(calculatorReductionRequest.operands());
+        return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
+    }
+
+    /**
+     * Evaluates an expression.
+     *
+     * @param calculatorExpressionRequest the payload body containing the expression.
+     *
+     * @return the value of the expression.
+     */
+    @Override
+    @PostMapping(
+            path = "${api.endpoints.evaluate}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResponse> evaluate(final CalculatorExpressionRequest calculatorExpressionRequest) {
+        final String expression = calculatorExpressionRequest.expression();
+        final CalculationResult calculationResult = remoteCalculator.isEmpty()
+                ? calculatorService.tryEvaluate(expression)
+                : remoteCalculator.get().calculate(
+                        CalculationEvent.evaluation(expression, null), () -> calculatorService.tryEvaluate(expression));
+        if (!calculationResult.isSuccess()) {
+            return calculationFailureMapper.toResponse(calculationResult);
+        }
+        final BigDecimal result = calculationResult.value();
+
+        final CalculationEvent calculationEvent =
+                CalculationEvent.evaluation(calculatorExpressionRequest.expression(), result);
+        calculatorProducer.send(calculationEvent);
+        auditLog.record(AuditLog.REST, calculationEvent);
 
-        log.info("REST div result: {}", result);
         return new ResponseEntity<>(new CalculatorResponse(result), HttpStatus.OK);
     }
+
+    /**
+     * Evaluates a stream of operations, one JSON operation per line, writing one result line per operation.
+     *
+     * @param httpServletRequest the request, read as it arrives.
+     * @param httpServletResponse the response, written as results are ready.
+     *
+     * @throws IOException if the client goes away.
+     */
+    @Override
+    @PostMapping(
+            path = "${api.endpoints.stream}",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void stream(
+            final HttpServletRequest httpServletRequest,
+            final HttpServletResponse httpServletResponse
+    ) throws IOException {
+        calculatorStreamService.stream(httpServletRequest, httpServletResponse);
+    }
+
+    /**
+     * Applies an operation element-wise to two double columns.
+     *
+     * @param calculatorColumnsRequest the payload body containing the operation and both columns.
+     *
+     * @return one result per pair of operands.
+     */
+    @Override
+    @PostMapping(
+            path = "${api.endpoints.columns}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorColumnsResponse> columns(final CalculatorColumnsRequest calculatorColumnsRequest) {
+        final double[] result = calculatorColumnService.evaluate(
+                calculatorColumnsRequest.operation(),
+                calculatorColumnsRequest.first(),
+                calculatorColumnsRequest.second()
+        );
+        return new ResponseEntity<>(new CalculatorColumnsResponse(result), HttpStatus.OK);
+    }
+
+    /**
+     * Applies an operation element-wise to two long columns.
+     *
+     * @param calculatorLongColumnsRequest the payload body containing the operation and both columns.
+     *
+     * @return one result per pair of operands.
+     */
+    @Override
+    @PostMapping(
+            path = "${api.endpoints.long-columns}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorLongColumnsResponse> longColumns(final CalculatorLongColumnsRequest calculatorLongColumnsRequest) {
+        final long[] result = calculatorColumnService.evaluate(
+                calculatorLongColumnsRequest.operation(),
+                calculatorLongColumnsRequest.first(),
+                calculatorLongColumnsRequest.second()
+        );
+        return new ResponseEntity<>(new CalculatorLongColumnsResponse(result), HttpStatus.OK);
+    }
+
+    /**
+     * Returns the expression cache statistics.
+     *
+     * @return the hit and miss counts of the expression cache.
+     */
+    @Override
+    @GetMapping(
+            path = "${api.endpoints.expression-cache}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorExpressionCacheResponse> expressionCacheStats() {
+        final ExpressionCache.Stats stats = expressionCache.stats();
+        return new ResponseEntity<>(new CalculatorExpressionCacheResponse(
+                stats.hits(),
+                stats.misses(),
+                stats.size(),
+                stats.capacity()
+        ), HttpStatus.OK);
+    }
+
+    /**
+     * Returns the result cache statistics.
+     *
+     * @return the hit rate of the result cache.
+     */
+    @Override
+    @GetMapping(
+            path = "${api.endpoints.result-cache}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorResultCacheResponse> resultCacheStats() {
+        final CachingCalculatorService cache = cachingCalculatorService.getIfAvailable();
+        if (cache == null) {
+            return new ResponseEntity<>(CalculatorResultCacheResponse.disabled(), HttpStatus.OK);
+        }
+        final CacheStats stats = cache.stats();
+        return new ResponseEntity<>(new CalculatorResultCacheResponse(
+                true,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                cache.size(),
+                cache.capacity()
+        ), HttpStatus.OK);
+    }
+
+    /**
+     * Returns the producer statistics.
+     *
+     * @return the event counts and publish latency of the producer.
+     */
+    @Override
+    @GetMapping(
+            path = "${api.endpoints.producer}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CalculatorProducerStatsResponse> producerStats() {
+        final CalculatorProducer.Stats stats = calculatorProducer.stats();
+        return new ResponseEntity<>(new CalculatorProducerStatsResponse(
+                stats.published(),
+                stats.failed(),
+                stats.dropped(),
+                stats.rejected(),
+                stats.queued(),
+                stats.averageLatencyMillis(),
+                stats.maxLatencyMillis()
+        ), HttpStatus.OK);
+    }
+
+    /**
+     * Writes the calculations of the history in a time range, read in place from the memory-mapped log.
+     *
+     * @param from the first time, inclusive.
+     * @param to the last time, inclusive, or {@code null} for now.
+     * @param limit the maximum number of calculations.
+     * @param httpServletResponse the response, written as the log is scanned.
+     *
+     * @throws IOException if the client goes away.
+     */
+    @Override
+    @GetMapping(
+            path = "${api.endpoints.history}",
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void history(
+            final Instant from,
+            final Instant to,
+            final int limit,
+            final HttpServletResponse httpServletResponse
+    ) throws IOException {
+        if (!calculationHistory.enabled()) {
+            httpServletResponse.sendError(HttpStatus.NOT_FOUND.value(), "The calculation history is disabled");
+            return;
+        }
+        final Instant end = to == null ? Instant.now() : to;
+        if (end.isBefore(from) || limit <= 0) {
+            throw new IllegalArgumentException("History range must have from <= to and a positive limit");
+        }
+        httpServletResponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        httpServletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        final PrintWriter writer = httpServletResponse.getWriter();
+        final int[] remaining = {limit};
+        calculationHistory.scan(from, end, auditRecord -> {
+            writer.append(AuditLog.format(auditRecord)).append('\n');
+            return --remaining[0] > 0 && !writer.checkError();
+        });
+        writer.flush();
+    }
+
+    /**
+     * Calculates a binary operation, through the workers in the remote compute mode.
+     * Invalid operands are answered locally, before any request to the workers.
+     *
+     * @param operation the operation code of the event.
+     * @param calculatorRequest the operands, precision and rounding mode.
+     * @param local the local computation of the operation.
+     *
+     * @return the result of the operation, or its failure.
+     */
+    private CalculationResult calculate(
+            final String operation,
+            final CalculatorRequest calculatorRequest,
+            final Function<CalculatorBinaryOperands, CalculationResult> local
+    ) {
+        final CalculatorBinaryOperands operands = new CalculatorBinaryOperands(
+                calculatorRequest.firstNumber(),
+                calculatorRequest.secondNumber(),
+                calculatorRequest.precision(),
+                calculatorRequest.roundingMode()
+        );
+        if (remoteCalculator.isEmpty()) {
+            return local.apply(operands);
+        }
+        final CalculationResult invalid = "DIV".equals(operation)
+                ? CalculationResult.validateDivision(operands)
+                : CalculationResult.validate(operands);
+        if (invalid != null) {
+            return invalid;
+        }
+        final CalculationEvent calculationRequest = new CalculationEvent(
+                operation,
+                calculatorRequest.firstNumber(),
+                calculatorRequest.secondNumber(),
+                null,
+                calculatorRequest.precision(),
+                calculatorRequest.roundingMode()
+        );
+        return remoteCalculator.get().calculate(calculationRequest, () -> local.apply(operands));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,523 @@
+package com.wit.calculator.rest.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.rest.dto.CalculatorRequest;
+import com.wit.calculator.rest.dto.CalculatorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * JSON converter of the {@link CalculatorRequest} and {@link CalculatorResponse} of the SUM, SUB, MULT and DIV
+ * endpoints, ahead of the Jackson converter.
+ * <p>
+ * A request body of the usual shape, {@code {"firstNumber": 10.5, "secondNumber": 5.5}} with optional
+ * {@code precision} and {@code roundingMode}, is read into a buffer of the thread and parsed straight from it: numbers of up to 18 digits become a
+ * {@link BigDecimal} from their unscaled digits and scale, without a token, a String or databinding. Any other body
+ * (escapes, quoted numbers, unknown or repeated fields, other charsets, malformed JSON) is handed to the Jackson
+ * converter built on the same {@link ObjectMapper}, so it is read with the same semantics and fails with the same
+ * {@link HttpMessageNotReadableException}, and the error response stays the one of the exception handler. Bean
+ * Validation still runs on the parsed request.
+ * <p>
+ * A response is formatted once, as Jackson does, into a buffer of the thread, which gives its Content-Length and is then
+ * written to the servlet output buffer, unless the object mapper indents, quotes numbers or the result is null.
+ * The buffers are kept by their thread up to {@value #MAX_RETAINED_BUFFER} bytes; on virtual threads, which serve a
+ * single request each, they are allocated per request as the body would otherwise be.
+ */
+@Component
+public class CalculatorJsonMessageConverter extends AbstractHttpMessageConverter<Object> {
+    /** Digits of an unscaled value that always fits in a long. */
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final int INITIAL_BUFFER = 256;
+    /** Largest buffer kept by a thread, larger bodies get a buffer of their own. */
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+    private static final byte[] FIRST_NUMBER = ascii("firstNumber");
+    private static final byte[] SECOND_NUMBER = ascii("secondNumber");
+    private static final byte[] PRECISION = ascii("precision");
+    private static final byte[] ROUNDING_MODE = ascii("roundingMode");
+    private static final byte[] RESULT_PREFIX = ascii("{\"result\":");
+    private static final CalculatorPrecision[] PRECISIONS = CalculatorPrecision.values();
+    private static final RoundingMode[] ROUNDING_MODES = RoundingMode.values();
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final MappingJackson2HttpMessageConverter jacksonConverter;
+    private final int maxNumberLength;
+    private final boolean plainDecimals;
+    private final boolean writeBytes;
+
+    /**
+     * @param objectMapper the object mapper of Spring MVC, used for the bodies this converter does not parse.
+     */
+    public CalculatorJsonMessageConverter(final ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        this.maxNumberLength = objectMapper.getFactory().streamReadConstraints().getMaxNumberLength();
+        this.plainDecimals = objectMapper.getFactory().isEnabled(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        this.writeBytes = !objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                && !objectMapper.getFactory().isEnabled(JsonWriteFeature.WRITE_NUMBERS_AS_STRINGS.mappedFeature());
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return clazz == CalculatorRequest.class || clazz == CalculatorResponse.class;
+    }
+
+    @Override
+    public boolean canRead(final Class<?> clazz, final MediaType mediaType) {
+        return clazz == CalculatorRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(final Class<?> clazz, final MediaType mediaType) {
+        return clazz == CalculatorResponse.class && canWrite(mediaType);
+    }
+
+    /**
+     * Reads a request from the buffered body, or through the Jackson converter when it is not of the usual shape.
+     *
+     * @param clazz the {@link CalculatorRequest} class.
+     * @param inputMessage the request body.
+     *
+     * @return the request.
+     *
+     * @throws IOException if the body cannot be read.
+     * @throws HttpMessageNotReadableException if the body is not a valid request, as the Jackson converter throws it.
+     */
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) throws IOException {
+        final Buffers buffers = BUFFERS.get();
+        final byte[] body = buffers.read(inputMessage.getBody());
+        final int length = buffers.inputLength;
+        final MediaType contentType = inputMessage.getHeaders().getContentType();
+        final Charset charset = contentType == null ? null : contentType.getCharset();
+        if (charset == null || charset.equals(StandardCharsets.UTF_8)) {
+            final CalculatorRequest calculatorRequest = parseRequest(body, length, maxNumberLength);
+            if (calculatorRequest != null) {
+                return calculatorRequest;
+            }
+        }
+        return jacksonConverter.read(CalculatorRequest.class, new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body, 0, length);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        });
+    }
+
+    /**
+     * Writes {@code {"result":<number>}} from the buffer formatted for the Content-Length, or through the Jackson
+     * converter.
+     *
+     * @param object the {@link CalculatorResponse}.
+     * @param outputMessage the response.
+     *
+     * @throws IOException if the client goes away.
+     */
+    @Override
+    protected void writeInternal(final Object object, final HttpOutputMessage outputMessage) throws IOException {
+        final BigDecimal result = ((CalculatorResponse) object).result();
+        if (result == null || !writeBytes) {
+            jacksonConverter.write(object, outputMessage.getHeaders().getContentType(), outputMessage);
+            return;
+        }
+        final Buffers buffers = BUFFERS.get();
+        if (buffers.formattedFor != object) {
+            format(object, result, buffers);
+        }
+        final byte[] json = buffers.formatted;
+        buffers.formatted = null;
+        buffers.formattedFor = null;
+        outputMessage.getBody().write(json, 0, buffers.formattedLength);
+    }
+
+    /**
+     * Formats the responses written as bytes to set their Content-Length, so that they are not sent in chunks.
+     * The response is then written from the formatted bytes.
+     *
+     * @param object the {@link CalculatorResponse}.
+     * @param contentType the content type of the response.
+     *
+     * @return the length of the body, or {@code null} when written through the Jackson converter.
+     */
+    @Override
+    protected Long getContentLength(final Object object, final MediaType contentType) {
+        final BigDecimal result = ((CalculatorResponse) object).result();
+        if (result == null || !writeBytes) {
+            return null;
+        }
+        return (long) format(object, result, BUFFERS.get());
+    }
+
+    /**
+     * Formats a response into the output buffer of the thread, with the number as Jackson writes it.
+     *
+     * @param response the response.
+     * @param result the result of the response.
+     * @param buffers the buffers of the thread.
+     *
+     * @return the length of the formatted response.
+     */
+    private int format(final Object response, final BigDecimal result, final Buffers buffers) {
+        final String number = plainDecimals ? result.toPlainString() : result.toString();
+        final int length = RESULT_PREFIX.length + number.length() + 1;
+        final byte[] json = buffers.output(length);
+        System.arraycopy(RESULT_PREFIX, 0, json, 0, RESULT_PREFIX.length);
+        for (int i = 0; i < number.length(); i++) {
+            json[RESULT_PREFIX.length + i] = (byte) number.charAt(i);
+        }
+        json[length - 1] = '}';
+        buffers.formatted = json;
+        buffers.formattedLength = length;
+        buffers.formattedFor = response;
+        return length;
+    }
+
+    /**
+     * Parses a request body of the usual shape.
+     *
+     * @param json the UTF-8 body.
+     * @param maxNumberLength the longest number Jackson accepts.
+     *
+     * @return the request, or {@code null} if the body has to be read by Jackson.
+     */
+    static CalculatorRequest parseRequest(final byte[] json, final int maxNumberLength) {
+        return parseRequest(json, json.length, maxNumberLength);
+    }
+
+    /**
+     * Parses a request body of the usual shape, from the start of a buffer.
+     *
+     * @param json the buffer holding the UTF-8 body.
+     * @param length the length of the body.
+     * @param maxNumberLength the longest number Jackson accepts.
+     *
+     * @return the request, or {@code null} if the body has to be read by Jackson.
+     */
+    static CalculatorRequest parseRequest(final byte[] json, final int length, final int maxNumberLength) {
+        return new Parser(json, length, maxNumberLength).request();
+    }
+
+    /**
+     * Request and response buffers of a thread. A request is read and parsed before its response is formatted, and
+     * the formatted response is kept from its Content-Length until it is written.
+     */
+    private static final class Buffers {
+        private byte[] input = new byte[INITIAL_BUFFER];
+        private int inputLength;
+        private byte[] output = new byte[INITIAL_BUFFER];
+        private byte[] formatted;
+        private int formattedLength;
+        private Object formattedFor;
+
+        /**
+         * Reads a body to its end.
+         *
+         * @param body the body.
+         *
+         * @return the buffer holding the body, of length {@link #inputLength}.
+         *
+         * @throws IOException if the body cannot be read.
+         */
+        private byte[] read(final InputStream body) throws IOException {
+            byte[] bytes = input;
+            int length = 0;
+            int read;
+            do {
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                    if (bytes.length <= MAX_RETAINED_BUFFER) {
+                        input = bytes;
+                    }
+                }
+                read = body.read(bytes, length, bytes.length - length);
+                if (read > 0) {
+                    length += read;
+                }
+            } while (read >= 0);
+            inputLength = length;
+            return bytes;
+        }
+
+        /**
+         * @param length the length of the response.
+         *
+         * @return a buffer of at least that length.
+         */
+        private byte[] output(final int length) {
+            if (length <= output.length) {
+                return output;
+            }
+            if (length > MAX_RETAINED_BUFFER) {
+                return new byte[length];
+            }
+            output = new byte[Math.min(MAX_RETAINED_BUFFER, Math.max(length, output.length * 2))];
+            return output;
+        }
+    }
+
+    /**
+     * Parser of one body, giving up at the first byte outside the usual shape.
+     */
+    private static final class Parser {
+        private final byte[] json;
+        private final int length;
+        private final int maxNumberLength;
+        private int position;
+
+        private Parser(final byte[] json, final int length, final int maxNumberLength) {
+            this.json = json;
+            this.length = length;
+            this.maxNumberLength = maxNumberLength;
+        }
+
+        private CalculatorRequest request() {
+            final Object[] values = new Object[4];
+            int fields = 0;
+            if (!consume('{')) {
+                return null;
+            }
+            if (!consume('}')) {
+                do {
+                    final int field = field();
+                    if (field < 0 || (fields & 1 << field) != 0 || !consume(':')) {
+                        return null;
+                    }
+                    fields |= 1 << field;
+                    skipWhitespace();
+                    if (literalNull()) {
+                        continue;
+                    }
+                    values[field] = switch (field) {
+                        case 0, 1 -> number();
+                        case 2 -> constant(PRECISIONS);
+                        default -> constant(ROUNDING_MODES);
+                    };
+                    if (values[field] == null) {
+                        return null;
+                    }
+                } while (consume(','));
+                if (!consume('}')) {
+                    return null;
+                }
+            }
+            skipWhitespace();
+            if (position != length) {
+                return null;
+            }
+            return new CalculatorRequest(
+                    (BigDecimal) values[0],
+                    (BigDecimal) values[1],
+                    (CalculatorPrecision) values[2],
+                    (RoundingMode) values[3]
+            );
+        }
+
+        /**
+         * @return the index of the next field name, or -1 if it is not a known name without escapes.
+         */
+        private int field() {
+            if (!consume('"')) {
+                return -1;
+            }
+            final int start = position;
+            while (position < length && json[position] != '"') {
+                if (json[position] == '\\') {
+                    return -1;
+                }
+                position++;
+            }
+            if (position == length) {
+                return -1;
+            }
+            final int nameLength = position++ - start;
+            if (matches(FIRST_NUMBER, start, nameLength)) {
+                return 0;
+            }
+            if (matches(SECOND_NUMBER, start, nameLength)) {
+                return 1;
+            }
+            if (matches(PRECISION, start, nameLength)) {
+                return 2;
+            }
+            return matches(ROUNDING_MODE, start, nameLength) ? 3 : -1;
+        }
+
+        /**
+         * Parses a JSON number, exactly as {@code new BigDecimal(text)} would.
+         *
+         * @return the number, or {@code null} if it is not a JSON number or has to be read by Jackson.
+         */
+        private BigDecimal number() {
+            final int start = position;
+            final boolean negative = peek() == '-';
+            if (negative) {
+                position++;
+            }
+            long unscaled = 0;
+            int digits = 0;
+            int fractionDigits = 0;
+
+            if (peek() == '0') {
+                position++;
+                digits++;
+                if (isDigit(peek())) {
+                    return null;
+                }
+            } else if (isDigit(peek())) {
+                while (isDigit(peek())) {
+                    unscaled = unscaled * 10 + (json[position++] - '0');
+                    digits++;
+                }
+            } else {
+                return null;
+            }
+            if (peek() == '.') {
+                position++;
+                if (!isDigit(peek())) {
+                    return null;
+                }
+                while (isDigit(peek())) {
+                    unscaled = unscaled * 10 + (json[position++] - '0');
+                    digits++;
+                    fractionDigits++;
+                }
+            }
+            long exponent = 0;
+            if (peek() == 'e' || peek() == 'E') {
+                position++;
+                final boolean negativeExponent = peek() == '-';
+                if (negativeExponent || peek() == '+') {
+                    position++;
+                }
+                final int exponentStart = position;
+                while (isDigit(peek())) {
+                    exponent = exponent * 10 + (json[position++] - '0');
+                    if (position - exponentStart > 9) {
+                        return null;
+                    }
+                }
+                if (position == exponentStart) {
+                    return null;
+                }
+                if (negativeExponent) {
+                    exponent = -exponent;
+                }
+            }
+            if (position - start > maxNumberLength) {
+                return null;
+            }
+            final long scale = fractionDigits - exponent;
+            if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+                return null;
+            }
+            if (digits > MAX_LONG_DIGITS) {
+                return new BigDecimal(new String(json, start, position - start, StandardCharsets.US_ASCII));
+            }
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, (int) scale);
+        }
+
+        /**
+         * @return the constant named by the next string, or {@code null} if no constant has that exact name.
+         */
+        private Enum<?> constant(final Enum<?>[] constants) {
+            if (!consume('"')) {
+                return null;
+            }
+            final int start = position;
+            while (position < length && json[position] != '"' && json[position] != '\\') {
+                position++;
+            }
+            if (position == length || json[position] != '"') {
+                return null;
+            }
+            final int nameLength = position++ - start;
+            for (final Enum<?> constant : constants) {
+                if (constant.name().length() == nameLength && matches(constant.name(), start)) {
+                    return constant;
+                }
+            }
+            return null;
+        }
+
+        private boolean matches(final byte[] name, final int start, final int nameLength) {
+            if (name.length != nameLength) {
+                return false;
+            }
+            for (int i = 0; i < nameLength; i++) {
+                if (json[start + i] != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(final String name, final int start) {
+            for (int i = 0; i < name.length(); i++) {
+                if (json[start + i] != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean literalNull() {
+            if (position + 4 <= length && json[position] == 'n' && json[position + 1] == 'u'
+                    && json[position + 2] == 'l' && json[position + 3] == 'l') {
+                position += 4;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean consume(final char expected) {
+            skipWhitespace();
+            if (peek() != expected) {
+                return false;
+            }
+            position++;
+            return true;
+        }
+
+        private void skipWhitespace() {
+            while (position < length
+                    && (json[position] == ' ' || json[position] == '\n' || json[position] == '\r' || json[position] == '\t')) {
+                position++;
+            }
+        }
+
+        private int peek() {
+            return position < length ? json[position] : -1;
+        }
+
+        private static boolean isDigit(final int b) {
+            return b >= '0' && b <= '9';
+        }
+    }
+
+    private static byte[] ascii(final String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
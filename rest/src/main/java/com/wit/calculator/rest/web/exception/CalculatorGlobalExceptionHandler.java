@@ -1,10 +1,16 @@
 package com.wit.calculator.rest.web.exception;
 
+import com.wit.calculator.rest.admission.CalculatorOverloadedException;
+import com.wit.calculator.rest.admission.CalculatorRateLimitedException;
 import com.wit.calculator.rest.dto.CalculatorErrorResponse;
+import com.wit.calculator.rest.kafka.CalculatorProducerOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -16,16 +22,23 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
 /**
  * Calculator global exception handler.
  * Capture all exceptions, log them and return a generic error response.
+ * Each handled exception increments {@code calculator.errors}, tagged by exception type and status.
  */
 @Slf4j
+@RequiredArgsConstructor
 @RestControllerAdvice
 public class CalculatorGlobalExceptionHandler {
+    static final String ERRORS = "calculator.errors";
+
+    private final MeterRegistry meterRegistry;
+
     /**
      * Bean Validation errors on the request body (HTTP 400).
      * 
@@ -52,6 +65,7 @@ public class CalculatorGlobalExceptionHandler {
         );
 
         return build(
+                methodArgumentNotValidException,
                 HttpStatus.BAD_REQUEST,
                 "Validation Error",
                 "Request body validation failed",
@@ -85,6 +99,7 @@ public class CalculatorGlobalExceptionHandler {
         );
 
         return build(
+                constraintViolationException,
                 HttpStatus.BAD_REQUEST,
                 "Validation Error",
                 "Request parameter validation failed",
@@ -115,6 +130,7 @@ public class CalculatorGlobalExceptionHandler {
         );
 
         return build(
+                httpMessageNotReadableException,
                 HttpStatus.BAD_REQUEST,
                 "Malformed JSON",
                 "Request body is invalid or has wrong types",
@@ -147,6 +163,7 @@ public class CalculatorGlobalExceptionHandler {
         );
 
         return build(
+                methodArgumentTypeMismatchException,
                 HttpStatus.BAD_REQUEST,
                 "Type Mismatch",
                 message, httpServletRequest.getRequestURI(),
@@ -177,6 +194,7 @@ public class CalculatorGlobalExceptionHandler {
         );
 
         return build(
+                missingServletRequestParameterException,
                 HttpStatus.BAD_REQUEST,
                 "Missing Parameter",
                 message,
@@ -204,6 +222,7 @@ public class CalculatorGlobalExceptionHandler {
         );
 
         return build(
+                illegalArgumentException,
                 HttpStatus.BAD_REQUEST,
                 "Bad Request",
                 illegalArgumentException.getMessage(),
@@ -231,6 +250,7 @@ public class CalculatorGlobalExceptionHandler {
         );
 
         return build(
+                httpMediaTypeNotSupportedException,
                 HttpStatus.UNSUPPORTED_MEDIA_TYPE,
                 "Unsupported Media Type",
                 "Content-Type not supported",
@@ -239,6 +259,92 @@ public class CalculatorGlobalExceptionHandler {
         );
     }
 
+    /**
+     * Producer queue full (HTTP 503).
+     *
+     * @param calculatorProducerOverloadedException the exception thrown.
+     * @param httpServletRequest the current request.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(CalculatorProducerOverloadedException.class)
+    public ResponseEntity<CalculatorErrorResponse> handleProducerOverloaded(
+            final CalculatorProducerOverloadedException calculatorProducerOverloadedException,
+            final HttpServletRequest httpServletRequest
+    ) {
+        log.warn("503 Service Unavailable at {} -> {}",
+                httpServletRequest.getRequestURI(),
+                calculatorProducerOverloadedException.getMessage()
+        );
+
+        return build(
+                calculatorProducerOverloadedException,
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable",
+                "Too many pending events, retry later",
+                httpServletRequest.getRequestURI(),
+                List.of()
+        );
+    }
+
+    /**
+     * Client over its rate limit (HTTP 429), with the seconds until its next request is admitted in
+     * {@code Retry-After}. Logged at debug level only, since rejections are frequent when they happen.
+     *
+     * @param calculatorRateLimitedException the exception thrown.
+     * @param httpServletRequest the current request.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(CalculatorRateLimitedException.class)
+    public ResponseEntity<CalculatorErrorResponse> handleRateLimited(
+            final CalculatorRateLimitedException calculatorRateLimitedException,
+            final HttpServletRequest httpServletRequest
+    ) {
+        log.debug("429 Too Many Requests at {} -> {}",
+                httpServletRequest.getRequestURI(),
+                calculatorRateLimitedException.getMessage()
+        );
+
+        return retryAfter(build(
+                calculatorRateLimitedException,
+                HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests",
+                calculatorRateLimitedException.getMessage(),
+                httpServletRequest.getRequestURI(),
+                List.of()
+        ), calculatorRateLimitedException.getRetryAfter());
+    }
+
+    /**
+     * Request shed at the concurrency limit (HTTP 503), to be retried after a second.
+     * Logged at debug level only, since rejections are frequent when they happen.
+     *
+     * @param calculatorOverloadedException the exception thrown.
+     * @param httpServletRequest the current request.
+     *
+     * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
+     */
+    @ExceptionHandler(CalculatorOverloadedException.class)
+    public ResponseEntity<CalculatorErrorResponse> handleOverloaded(
+            final CalculatorOverloadedException calculatorOverloadedException,
+            final HttpServletRequest httpServletRequest
+    ) {
+        log.debug("503 Service Unavailable at {} -> {}",
+                httpServletRequest.getRequestURI(),
+                calculatorOverloadedException.getMessage()
+        );
+
+        return retryAfter(build(
+                calculatorOverloadedException,
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable",
+                "Too many requests in progress, retry later",
+                httpServletRequest.getRequestURI(),
+                List.of()
+        ), Duration.ofSeconds(1));
+    }
+
     /**
      * Internal server error (HTTP 500).
      *
@@ -259,6 +365,7 @@ public class CalculatorGlobalExceptionHandler {
         );
 
         return build(
+                exception,
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 "Internal Server Error",
                 "Unexpected error",
@@ -267,6 +374,28 @@ public class CalculatorGlobalExceptionHandler {
         );
     }
 
+    /**
+     * Error of a single line of a streamed request, with the payload and count of the handler of its exception,
+     * since the response status is already sent.
+     *
+     * @param exception the exception thrown by the line.
+     * @param httpServletRequest the current request.
+     *
+     * @return the {@link CalculatorErrorResponse} of the line.
+     */
+    public CalculatorErrorResponse handleLine(final Exception exception, final HttpServletRequest httpServletRequest) {
+        final ResponseEntity<CalculatorErrorResponse> responseEntity = switch (exception) {
+            case HttpMessageNotReadableException httpMessageNotReadableException ->
+                    handleUnreadable(httpMessageNotReadableException, httpServletRequest);
+            case IllegalArgumentException illegalArgumentException ->
+                    handleIllegalArgument(illegalArgumentException, httpServletRequest);
+            case CalculatorProducerOverloadedException calculatorProducerOverloadedException ->
+                    handleProducerOverloaded(calculatorProducerOverloadedException, httpServletRequest);
+            default -> handleGeneric(exception, httpServletRequest);
+        };
+        return responseEntity.getBody();
+    }
+
     /**
      * Converts a {@link FieldError} to a {@link CalculatorErrorResponse.FieldViolation}.
      *
@@ -292,8 +421,27 @@ public class CalculatorGlobalExceptionHandler {
     }
 
     /**
-     * Builds a consistent error payload and wraps it in a {@link ResponseEntity}.
+     * Adds a {@code Retry-After} header, in whole seconds rounded up.
      *
+     * @param responseEntity the error response.
+     * @param retryAfter how long until the client may retry.
+     *
+     * @return the error response with the header.
+     */
+    private ResponseEntity<CalculatorErrorResponse> retryAfter(
+            final ResponseEntity<CalculatorErrorResponse> responseEntity,
+            final Duration retryAfter
+    ) {
+        final long seconds = Math.max(1, retryAfter.plusNanos(999_999_999).toSeconds());
+        return ResponseEntity.status(responseEntity.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(responseEntity.getBody());
+    }
+
+    /**
+     * Builds a consistent error payload and wraps it in a {@link ResponseEntity}, counting the error.
+     *
+     * @param exception  the exception handled.
      * @param status     HTTP status to return.
      * @param error      short error title.
      * @param message    detailed error message.
@@ -303,6 +451,7 @@ public class CalculatorGlobalExceptionHandler {
      * @return a ResponseEntity containing {@link CalculatorErrorResponse}.
      */
     private ResponseEntity<CalculatorErrorResponse> build(
+            final Exception exception,
             final HttpStatus status,
             final String error,
             final String message,
@@ -317,6 +466,10 @@ public class CalculatorGlobalExceptionHandler {
                 path,
                 violations.isEmpty() ? null : violations
         );
+        meterRegistry.counter(ERRORS,
+                "exception", exception.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())
+        ).increment();
         return new ResponseEntity<>(calculatorErrorResponse, status);
     }
 }
\ No newline at end of file
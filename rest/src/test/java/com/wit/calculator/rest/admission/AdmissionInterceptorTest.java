@@ -0,0 +1,80 @@
+package com.wit.calculator.rest.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionInterceptorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void preHandle_throttlesEachClientOnItsOwnBucket() {
+        var interceptor = interceptor(1, 2, 10);
+
+        assertTrue(interceptor.preHandle(request("a"), response, null));
+        assertTrue(interceptor.preHandle(request("a"), response, null));
+        var exception = assertThrows(CalculatorRateLimitedException.class,
+                () -> interceptor.preHandle(request("a"), response, null));
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(1)) <= 0);
+        assertTrue(interceptor.preHandle(request("b"), response, null));
+        assertTrue(interceptor.preHandle(request(null), response, null));
+
+        assertEquals(4, count("admitted"));
+        assertEquals(1, count("throttled"));
+    }
+
+    @Test
+    void preHandle_shedsBeyondTheConcurrencyLimitUntilARequestCompletes() {
+        var interceptor = interceptor(0, 1, 2);
+        var first = request("a");
+
+        assertTrue(interceptor.preHandle(first, response, null));
+        assertTrue(interceptor.preHandle(request("a"), response, null));
+        assertThrows(CalculatorOverloadedException.class, () -> interceptor.preHandle(request("b"), response, null));
+        assertEquals(2.0, meterRegistry.get("calculator.admission.in.flight").gauge().value());
+
+        interceptor.afterCompletion(first, response, null, null);
+        interceptor.afterCompletion(first, response, null, null);
+        assertEquals(1.0, meterRegistry.get("calculator.admission.in.flight").gauge().value());
+        assertTrue(interceptor.preHandle(request("b"), response, null));
+
+        assertEquals(3, count("admitted"));
+        assertEquals(1, count("shed"));
+        assertEquals(0, count("throttled"));
+    }
+
+    @Test
+    void afterCompletion_ignoresRequestsNotAdmitted() {
+        var interceptor = interceptor(0, 1, 1);
+        assertTrue(interceptor.preHandle(request("a"), response, null));
+
+        interceptor.afterCompletion(request("b"), response, null, null);
+
+        assertThrows(CalculatorOverloadedException.class, () -> interceptor.preHandle(request("b"), response, null));
+    }
+
+    private AdmissionInterceptor interceptor(final double clientRate, final int clientBurst, final int limit) {
+        return new AdmissionInterceptor(clientRate, clientBurst, 100,
+                new AimdConcurrencyLimiter(limit, 1, limit, Duration.ofSeconds(1), 0.5, System.nanoTime()),
+                meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(final String client) {
+        var request = new MockHttpServletRequest("POST", "/api/v1/calculator/sum");
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+        return request;
+    }
+
+    private double count(final String outcome) {
+        return meterRegistry.get(AdmissionInterceptor.REQUESTS).tag("outcome", outcome).functionCounter().count();
+    }
+}
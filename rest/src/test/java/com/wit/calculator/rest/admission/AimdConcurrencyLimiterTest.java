@@ -0,0 +1,95 @@
+package com.wit.calculator.rest.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AimdConcurrencyLimiterTest {
+    private static final Duration TARGET = Duration.ofMillis(50);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void tryAcquire_admitsUpToTheLimit() {
+        var limiter = new AimdConcurrencyLimiter(3, 1, 10, TARGET, 0.5, 0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(3, limiter.inFlight());
+
+        limiter.release(FAST, 0);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_raisesTheLimitByOnePerLimitOfFastRequestsWhileBusy() {
+        var limiter = new AimdConcurrencyLimiter(4, 1, 5, TARGET, 0.5, 0);
+        fill(limiter);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.release(FAST, 0);
+            fill(limiter);
+        }
+        assertEquals(4, limiter.limit(), "just under 5 after four raises of 1/limit");
+
+        for (int i = 0; i < 100; i++) {
+            limiter.release(FAST, 0);
+            fill(limiter);
+        }
+        assertEquals(5, limiter.limit(), "capped at the max limit");
+        assertEquals(5, limiter.inFlight());
+    }
+
+    @Test
+    void release_keepsTheLimitWhileIdle() {
+        var limiter = new AimdConcurrencyLimiter(10, 1, 100, TARGET, 0.5, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, 0);
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void release_cutsTheLimitOncePerTargetOfSlowRequests() {
+        var limiter = new AimdConcurrencyLimiter(40, 4, 100, TARGET, 0.5, 0);
+        var target = TARGET.toNanos();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW, target);
+        }
+        assertEquals(20, limiter.limit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(SLOW, 2 * target);
+        assertEquals(10, limiter.limit());
+
+        for (int i = 3; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW, i * target);
+        }
+        assertEquals(4, limiter.limit(), "floored at the min limit");
+    }
+
+    @Test
+    void constructor_rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyLimiter(5, 0, 10, TARGET, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyLimiter(5, 6, 10, TARGET, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyLimiter(11, 1, 10, TARGET, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyLimiter(5, 1, 10, TARGET, 1, 0));
+    }
+
+    private static void fill(final AimdConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // acquire up to the limit
+        }
+    }
+}
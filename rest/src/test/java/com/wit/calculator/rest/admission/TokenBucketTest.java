@@ -0,0 +1,75 @@
+package com.wit.calculator.rest.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_allowsTheBurstThenTheRate() {
+        var bucket = new TokenBucket(100, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0), "token " + i);
+        }
+        assertEquals(10 * MILLI, bucket.tryAcquire(0));
+        assertEquals(MILLI, bucket.tryAcquire(9 * MILLI));
+        assertEquals(0, bucket.tryAcquire(10 * MILLI));
+        assertTrue(bucket.tryAcquire(10 * MILLI) > 0);
+    }
+
+    @Test
+    void tryAcquire_refillsUpToTheBurstOnly() {
+        var bucket = new TokenBucket(100, 3, 0);
+
+        var later = TimeUnit.SECONDS.toNanos(10);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(later), "token " + i);
+        }
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void tryAcquire_worksAcrossTheSignOfNanoTime() {
+        var bucket = new TokenBucket(1, 1, Long.MAX_VALUE - MILLI);
+
+        assertEquals(0, bucket.tryAcquire(Long.MAX_VALUE - MILLI));
+        assertEquals(TimeUnit.SECONDS.toNanos(1) - MILLI, bucket.tryAcquire(Long.MAX_VALUE));
+        assertEquals(0, bucket.tryAcquire(Long.MIN_VALUE + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    void tryAcquire_givesEachTokenOnceUnderContention() throws InterruptedException {
+        var bucket = new TokenBucket(1, 1000, 0);
+        var acquired = new AtomicInteger();
+        var done = new CountDownLatch(8);
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1000, acquired.get());
+    }
+
+    @Test
+    void constructor_rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+    }
+}
@@ -1,6 +1,7 @@
 package com.wit.calculator.rest.kafka;
 
 import com.wit.calculator.kafka.CalculationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -9,10 +10,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.kafka.core.*;
 import org.springframework.test.context.TestPropertySource;
 
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @TestPropertySource(properties = "calculator.topic=calculator.events")
-@SpringBootTest(classes = CalculatorProducer.class)
+@SpringBootTest(classes = {CalculatorProducer.class, SimpleMeterRegistry.class})
 class CalculatorProducerSmokeTest {
     @Autowired
     CalculatorProducer producer;
@@ -21,15 +32,19 @@ class CalculatorProducerSmokeTest {
 
     @Test
     void sendsToTopic() {
+        when(kafkaTemplate.send(anyString(), any(), any(CalculationEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
         CalculationEvent calculationEvent = new CalculationEvent(
                 "SUM",
-                "3",
-                "7",
-                "10"
+                new BigDecimal("3"),
+                new BigDecimal("7"),
+                new BigDecimal("10")
         );
 
         producer.send(calculationEvent);
 
-        verify(kafkaTemplate).send("calculator.events", calculationEvent);
+        // The producer assigns the event its id
+        verify(kafkaTemplate, timeout(5_000)).send(eq("calculator.events"), isNull(), argThat(event ->
+                event.id() != null && event.equals(calculationEvent.withId(event.id()))));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package com.wit.calculator.rest.kafka;
+
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.EventKeyStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class CalculatorProducerTest {
+    private static final CalculationEvent EVENT = new CalculationEvent("SUM", new BigDecimal("3"), new BigDecimal("7"), new BigDecimal("10"));
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, CalculationEvent> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CalculatorProducer producer;
+
+    @AfterEach
+    void tearDown() {
+        producer.stop();
+    }
+
+    @Test
+    void send_countsAcknowledgedAndFailedEvents() {
+        when(kafkaTemplate.send(anyString(), any(), any(CalculationEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        producer = producer(10, BackpressurePolicy.REJECT);
+        producer.start();
+
+        producer.sendAll(List.of(EVENT, EVENT));
+        producer.stop();
+
+        var stats = producer.stats();
+        assertEquals(1, stats.published());
+        assertEquals(1, stats.failed());
+        assertEquals(0, stats.queued());
+        assertEquals(2, meterRegistry.get("calculator.producer.enqueue").tag("operation", "SUM").timer().count());
+        assertEquals(1, meterRegistry.get("calculator.producer.ack").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("calculator.producer.ack").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void send_publishesFromVirtualSender() {
+        when(kafkaTemplate.send(anyString(), any(), any(CalculationEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        producer = new CalculatorProducer(kafkaTemplate, "calculator.events", 10, 16,
+                BackpressurePolicy.BLOCK, Duration.ofMillis(50), Duration.ofSeconds(5), true, 0, 1, EventKeyStrategy.NONE, meterRegistry);
+        producer.start();
+
+        producer.send(EVENT);
+        producer.stop();
+
+        assertEquals(1, producer.stats().published());
+    }
+
+    @Test
+    void send_dropsWhenQueueIsFull() {
+        producer = producer(1, BackpressurePolicy.DROP);
+
+        producer.send(EVENT);
+        producer.send(EVENT);
+
+        assertEquals(1, producer.stats().dropped());
+        assertEquals(1, producer.stats().queued());
+        assertEquals(1, meterRegistry.get("calculator.producer.dropped").functionCounter().count());
+        assertEquals(1, meterRegistry.get("calculator.producer.queue.size").gauge().value());
+    }
+
+    @Test
+    void send_rejectsWhenQueueIsFull() {
+        producer = producer(1, BackpressurePolicy.REJECT);
+
+        producer.send(EVENT);
+
+        assertThrows(CalculatorProducerOverloadedException.class, () -> producer.send(EVENT));
+        assertEquals(1, producer.stats().rejected());
+    }
+
+    @Test
+    void send_blocksThenRejectsWhenQueueStaysFull() {
+        producer = producer(1, BackpressurePolicy.BLOCK);
+
+        producer.send(EVENT);
+
+        long start = System.nanoTime();
+        assertThrows(CalculatorProducerOverloadedException.class, () -> producer.send(EVENT));
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+        assertEquals(1, producer.stats().rejected());
+    }
+
+    @Test
+    void send_blocksUntilSenderMakesRoom() {
+        CompletableFuture<SendResult<String, CalculationEvent>> acknowledged = CompletableFuture.completedFuture(null);
+        when(kafkaTemplate.send(anyString(), any(), any(CalculationEvent.class))).thenReturn(acknowledged);
+        producer = producer(1, BackpressurePolicy.BLOCK);
+        producer.start();
+
+        for (int i = 0; i < 100; i++) {
+            producer.send(EVENT);
+        }
+        producer.stop();
+
+        assertEquals(100, producer.stats().published());
+        assertEquals(0, producer.stats().rejected());
+    }
+
+    @Test
+    void sendAll_queuesNoneOfTheEventsWhenTheyDoNotAllFit() {
+        for (BackpressurePolicy backpressurePolicy : List.of(BackpressurePolicy.REJECT, BackpressurePolicy.BLOCK)) {
+            producer = producer(2, backpressurePolicy);
+            producer.send(EVENT);
+
+            assertThrows(CalculatorProducerOverloadedException.class, () -> producer.sendAll(List.of(EVENT, EVENT)));
+            assertEquals(1, producer.stats().queued());
+            assertEquals(2, producer.stats().rejected());
+        }
+    }
+
+    @Test
+    void sendAll_dropsAllTheEventsWhenTheyDoNotAllFit() {
+        producer = producer(2, BackpressurePolicy.DROP);
+        producer.send(EVENT);
+
+        producer.sendAll(List.of(EVENT, EVENT));
+
+        assertEquals(1, producer.stats().queued());
+        assertEquals(2, producer.stats().dropped());
+    }
+
+    @Test
+    void sendAll_rejectsABatchLargerThanTheQueueWithoutWaiting() {
+        producer = producer(1, BackpressurePolicy.BLOCK);
+
+        long start = System.nanoTime();
+        assertThrows(CalculatorProducerOverloadedException.class, () -> producer.sendAll(List.of(EVENT, EVENT)));
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(50).toNanos());
+        assertEquals(0, producer.stats().queued());
+    }
+
+    @Test
+    void send_rejectsOnceStopped() {
+        producer = producer(10, BackpressurePolicy.BLOCK);
+        producer.start();
+        producer.stop();
+
+        assertThrows(CalculatorProducerOverloadedException.class, () -> producer.send(EVENT));
+        assertThrows(CalculatorProducerOverloadedException.class, () -> producer.sendAll(List.of(EVENT, EVENT)));
+        assertEquals(0, producer.stats().queued());
+        assertEquals(3, producer.stats().rejected());
+    }
+
+    @Test
+    void send_keysEventsWithTheClientOfTheRequest() {
+        when(kafkaTemplate.send(anyString(), any(), any(CalculationEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        producer = new CalculatorProducer(kafkaTemplate, "calculator.events", 10, 16,
+                BackpressurePolicy.BLOCK, Duration.ofMillis(50), Duration.ofSeconds(5), false, 0, 1, EventKeyStrategy.CLIENT, meterRegistry);
+        producer.start();
+
+        MDC.put(AuditLog.CLIENT, "client-a");
+        try {
+            producer.send(EVENT);
+        } finally {
+            MDC.remove(AuditLog.CLIENT);
+        }
+        producer.send(EVENT);
+        producer.stop();
+
+        verify(kafkaTemplate).send(eq("calculator.events"), eq("client-a"), any(CalculationEvent.class));
+        verify(kafkaTemplate).send(eq("calculator.events"), isNull(), any(CalculationEvent.class));
+    }
+
+    private CalculatorProducer producer(final int queueCapacity, final BackpressurePolicy backpressurePolicy) {
+        return new CalculatorProducer(kafkaTemplate, "calculator.events", queueCapacity, 16,
+                backpressurePolicy, Duration.ofMillis(50), Duration.ofSeconds(5), false, 0, 1, EventKeyStrategy.NONE, meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.wit.calculator.rest.kafka;
+
+import com.wit.calculator.configuration.CalculatorTopicConfiguration;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.expression.ExpressionCache;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationEventProcessor;
+import com.wit.calculator.kafka.CalculationRequestListener;
+import com.wit.calculator.service.CalculatorService;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trip of the remote compute mode through an embedded broker, the same application being the REST instance
+ * and the worker.
+ */
+@EmbeddedKafka(kraft = true, partitions = 1)
+@SpringBootTest(
+        classes = {
+                RemoteCalculator.class,
+                CalculationRequestListener.class,
+                CalculationEventProcessor.class,
+                CalculatorServiceImpl.class,
+                ExpressionCache.class,
+                CalculatorTopicConfiguration.class,
+                SimpleMeterRegistry.class
+        },
+        properties = {
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "spring.kafka.consumer.auto-offset-reset=earliest",
+                "calculator.remote.enabled=true",
+                "calculator.remote.timeout=10s",
+                "calculator.worker.enabled=true"
+        }
+)
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+class RemoteCalculatorSmokeTest {
+    @Autowired
+    private RemoteCalculator remoteCalculator;
+    @Autowired
+    private CalculatorService calculatorService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void calculate_answersTheResultOfTheWorker() {
+        CalculationEvent request = new CalculationEvent("DIV", new BigDecimal("10"), new BigDecimal("3"), null,
+                CalculatorPrecision.DECIMAL64, RoundingMode.UP);
+
+        CalculationResult result = remoteCalculator.calculate(request, () -> fail("Computed locally"));
+
+        assertEquals(calculatorService.tryDivision(new CalculatorBinaryOperands(
+                new BigDecimal("10"), new BigDecimal("3"), CalculatorPrecision.DECIMAL64, RoundingMode.UP)), result);
+        assertEquals(1, meterRegistry.get("calculator.remote").tag("outcome", "remote").timer().count());
+    }
+
+    @Test
+    void calculate_returnsTheFailureOfTheLocalServiceForAnInvalidExpression() {
+        CalculationEvent request = CalculationEvent.evaluation("1 +", null);
+
+        CalculationResult remote = remoteCalculator.calculate(request, () -> fail("Computed locally"));
+
+        assertEquals(calculatorService.tryEvaluate("1 +"), remote);
+    }
+
+    @Test
+    void calculate_returnsTheFailureOfTheLocalServiceForADivisionByZero() {
+        CalculationEvent request = new CalculationEvent("DIV", BigDecimal.ONE, BigDecimal.ZERO, null);
+        long invalid = meterRegistry.get("calculator.remote").tag("outcome", "invalid").timer().count();
+
+        CalculationResult remote = remoteCalculator.calculate(request, () -> fail("Computed locally"));
+
+        assertEquals(calculatorService.tryDivision(new CalculatorBinaryOperands(BigDecimal.ONE, BigDecimal.ZERO)), remote);
+        assertEquals(invalid + 1, meterRegistry.get("calculator.remote").tag("outcome", "invalid").timer().count());
+    }
+}
@@ -0,0 +1,125 @@
+package com.wit.calculator.rest.kafka;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.kafka.CalculationRequestListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.kafka.requestreply.KafkaReplyTimeoutException;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.kafka.requestreply.RequestReplyFuture;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RemoteCalculatorTest {
+    private static final CalculationEvent REQUEST = new CalculationEvent("DIV", new BigDecimal("10"), new BigDecimal("4"), null);
+    private static final CalculationResult LOCAL = CalculationResult.success(new BigDecimal("2.5"));
+
+    @SuppressWarnings("unchecked")
+    private final ReplyingKafkaTemplate<String, CalculationEvent, CalculationEvent> replyingKafkaTemplate =
+            mock(ReplyingKafkaTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void calculate_answersTheResultOfTheWorker() {
+        reply(new ConsumerRecord<>("calculator.replies", 0, 0, null, REQUEST.withResult(new BigDecimal("2.50"))));
+
+        CalculationResult result = remoteCalculator(10).calculate(REQUEST, () -> fail("Computed locally"));
+
+        assertEquals(CalculationResult.success(new BigDecimal("2.50")), result);
+        assertEquals(1, timerCount("remote"));
+        assertEquals(0, meterRegistry.get("calculator.remote.in.flight").gauge().value());
+    }
+
+    @Test
+    void calculate_returnsTheErrorOfAnInvalidRequest() {
+        var reply = new ConsumerRecord<String, CalculationEvent>("calculator.replies", 0, 0, null, REQUEST);
+        reply.headers().add(CalculationRequestListener.ERROR_HEADER, "Malformed".getBytes(StandardCharsets.UTF_8));
+        reply(reply);
+
+        CalculationResult result = remoteCalculator(10).calculate(REQUEST, () -> fail("Computed locally"));
+
+        assertEquals(CalculationResult.invalid("Malformed"), result);
+        assertEquals(1, timerCount("invalid"));
+    }
+
+    @Test
+    void calculate_returnsTheArithmeticErrorOfTheWorker() {
+        var reply = new ConsumerRecord<String, CalculationEvent>("calculator.replies", 0, 0, null, REQUEST);
+        reply.headers().add(CalculationRequestListener.ARITHMETIC_HEADER, "Division by zero".getBytes(StandardCharsets.UTF_8));
+        reply(reply);
+
+        CalculationResult result = remoteCalculator(10).calculate(REQUEST, () -> fail("Computed locally"));
+
+        assertEquals(CalculationResult.arithmetic("Division by zero"), result);
+        assertEquals(1, timerCount("invalid"));
+    }
+
+    @Test
+    void calculate_returnsTheFailureOfTheLocalComputationUnchanged() {
+        assertSame(CalculationResult.DIVISION_BY_ZERO,
+                remoteCalculator(0).calculate(REQUEST, () -> CalculationResult.DIVISION_BY_ZERO));
+    }
+
+    @Test
+    void calculate_computesLocallyWhenTheWorkerFailed() {
+        var reply = new ConsumerRecord<String, CalculationEvent>("calculator.replies", 0, 0, null, REQUEST);
+        reply.headers().add(CalculationRequestListener.FAILURE_HEADER, "boom".getBytes(StandardCharsets.UTF_8));
+        reply(reply);
+
+        assertEquals(LOCAL, remoteCalculator(10).calculate(REQUEST, () -> LOCAL));
+        assertEquals(1, timerCount("failure"));
+    }
+
+    @Test
+    void calculate_computesLocallyWhenTheReplyTimesOut() {
+        RequestReplyFuture<String, CalculationEvent, CalculationEvent> future = new RequestReplyFuture<>();
+        future.completeExceptionally(new KafkaReplyTimeoutException("Reply timed out"));
+        when(replyingKafkaTemplate.sendAndReceive(ArgumentMatchers.<ProducerRecord<String, CalculationEvent>>any(), any(Duration.class)))
+                .thenReturn(future);
+
+        assertEquals(LOCAL, remoteCalculator(10).calculate(REQUEST, () -> LOCAL));
+        assertEquals(1, timerCount("timeout"));
+    }
+
+    @Test
+    void calculate_computesLocallyWhenTheRequestCannotBeSent() {
+        when(replyingKafkaTemplate.sendAndReceive(ArgumentMatchers.<ProducerRecord<String, CalculationEvent>>any(), any(Duration.class)))
+                .thenThrow(new IllegalStateException("broker down"));
+
+        assertEquals(LOCAL, remoteCalculator(10).calculate(REQUEST, () -> LOCAL));
+        assertEquals(1, timerCount("failure"));
+    }
+
+    @Test
+    void calculate_computesLocallyBeyondTheRequestsInFlight() {
+        assertEquals(LOCAL, remoteCalculator(0).calculate(REQUEST, () -> LOCAL));
+
+        assertEquals(1, timerCount("saturated"));
+        verifyNoInteractions(replyingKafkaTemplate);
+    }
+
+    private void reply(final ConsumerRecord<String, CalculationEvent> reply) {
+        RequestReplyFuture<String, CalculationEvent, CalculationEvent> future = new RequestReplyFuture<>();
+        future.complete(reply);
+        when(replyingKafkaTemplate.sendAndReceive(ArgumentMatchers.<ProducerRecord<String, CalculationEvent>>any(), any(Duration.class)))
+                .thenReturn(future);
+    }
+
+    private long timerCount(final String outcome) {
+        return meterRegistry.get("calculator.remote").tag("outcome", outcome).timer().count();
+    }
+
+    private RemoteCalculator remoteCalculator(final int maxInFlight) {
+        return new RemoteCalculator(replyingKafkaTemplate, "calculator.requests", Duration.ofMillis(200), maxInFlight, meterRegistry);
+    }
+}
@@ -0,0 +1,152 @@
+package com.wit.calculator.rest.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.kafka.CalculationEvent;
+import com.wit.calculator.rest.kafka.CalculatorProducer;
+import com.wit.calculator.rest.web.exception.CalculationFailureMapper;
+import com.wit.calculator.rest.web.exception.CalculatorGlobalExceptionHandler;
+import com.wit.calculator.service.CalculatorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CalculatorStreamServiceTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CalculatorProducer calculatorProducer = mock(CalculatorProducer.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CalculatorStreamService calculatorStreamService = new CalculatorStreamService(
+            new CalculatorServiceImpl(),
+            calculatorProducer,
+            mock(AuditLog.class),
+            new CalculatorGlobalExceptionHandler(meterRegistry),
+            new CalculationFailureMapper(meterRegistry),
+            objectMapper,
+            64
+    );
+
+    @Test
+    void stream_writesOneResultLinePerOperationInOrder() throws Exception {
+        var body = """
+                {"operation": "SUM", "firstNumber": 1, "secondNumber": 2}
+
+                {"operation": "DIV", "firstNumber": 1, "secondNumber": 4}\r
+                {"operation": "MULT", "firstNumber": 1.5, "secondNumber": 2}""";
+
+        var lines = stream(body);
+
+        assertEquals(3, lines.length);
+        assertEquals("3", result(lines[0]));
+        assertEquals("0.25", result(lines[1]));
+        assertEquals("3.0", result(lines[2]));
+        verify(calculatorProducer, times(3)).send(any(CalculationEvent.class));
+    }
+
+    @Test
+    void stream_reportsFailingLinesWithoutStopping() throws Exception {
+        var body = """
+                {"operation": "SUM", "firstNumber": 1}
+                {"operation": "SUM", "firstNumber":
+                {"firstNumber": 1, "secondNumber": 2}
+                {"operation": "SUM", "firstNumber": 1, "secondNumber": 2, "padding": "%s"}
+                {"operation": "SUB", "firstNumber": 5, "secondNumber": 2}
+                """.formatted("x".repeat(64));
+
+        var lines = stream(body);
+
+        assertEquals(5, lines.length);
+        var missingOperand = objectMapper.readTree(lines[0]);
+        assertEquals(400, missingOperand.get("statusCode").asInt());
+        assertEquals("Bad Request", missingOperand.get("error").asText());
+        assertEquals("/api/v1/calculator/stream", missingOperand.get("path").asText());
+        assertEquals("Malformed JSON", objectMapper.readTree(lines[1]).get("error").asText());
+        assertEquals("Operation must not be null", objectMapper.readTree(lines[2]).get("message").asText());
+        assertEquals("Line longer than 64 bytes", objectMapper.readTree(lines[3]).get("message").asText());
+        assertEquals("3", result(lines[4]));
+        assertEquals(4, meterRegistry.get("calculator.errors").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    void stream_flushesResultsBeforeWaitingForTheNextLine() throws Exception {
+        var response = new MockHttpServletResponse();
+        var chunks = new ArrayDeque<>(List.of(
+                "{\"operation\": \"SUM\", \"firstNumber\": 1, \"secondNumber\": 2}\n",
+                "{\"operation\": \"SUM\", \"firstNumber\": 2, \"secondNumber\": 2}\n"
+        ));
+        // A client that sends the next line only once it has read the previous result
+        var body = new ServletInputStream() {
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+                final int results = response.getContentAsString().split("\n", -1).length - 1;
+                assertEquals(2 - chunks.size(), results);
+                if (chunks.isEmpty()) {
+                    return -1;
+                }
+                final byte[] chunk = chunks.poll().getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(chunk, 0, bytes, offset, chunk.length);
+                return chunk.length;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return chunks.isEmpty();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(final ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        var request = new MockHttpServletRequest("POST", "/api/v1/calculator/stream") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return body;
+            }
+        };
+
+        calculatorStreamService.stream(request, response);
+
+        assertEquals("{\"result\":3}\n{\"result\":4}\n", response.getContentAsString());
+    }
+
+    private String[] stream(final String body) throws Exception {
+        var response = new MockHttpServletResponse();
+        var request = new MockHttpServletRequest("POST", "/api/v1/calculator/stream");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        calculatorStreamService.stream(request, response);
+        assertEquals(200, response.getStatus());
+        assertEquals("application/x-ndjson", response.getContentType());
+        return response.getContentAsString().split("\n");
+    }
+
+    private String result(final String line) throws Exception {
+        final JsonNode result = objectMapper.readTree(line).get("result");
+        assertNotNull(result, line);
+        return result.asText();
+    }
+}
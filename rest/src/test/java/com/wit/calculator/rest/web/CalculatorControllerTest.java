@@ -1,41 +1,97 @@
 package com.wit.calculator.rest.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wit.calculator.audit.AuditLog;
+import com.wit.calculator.audit.AuditRecord;
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.domain.CalculatorBatchResult;
 import com.wit.calculator.domain.CalculatorBinaryOperands;
+import com.wit.calculator.domain.CalculatorOperation;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.expression.ExpressionCache;
+import com.wit.calculator.history.CalculationHistory;
+import com.wit.calculator.kafka.CalculationEvent;
 import com.wit.calculator.rest.dto.CalculatorRequest;
 import com.wit.calculator.rest.kafka.CalculatorProducer;
+import com.wit.calculator.rest.stream.CalculatorStreamService;
+import com.wit.calculator.rest.web.exception.CalculationFailureMapper;
+import com.wit.calculator.service.CalculatorBatchService;
+import com.wit.calculator.service.CalculatorColumnService;
 import com.wit.calculator.service.CalculatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
-
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CalculatorController.class)
+@Import({SimpleMeterRegistry.class, CalculationFailureMapper.class})
 class  CalculatorControllerTest {
     @Autowired
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
     @MockBean
     private CalculatorService calculatorService;
     @MockBean
     private CalculatorProducer calculatorProducer;
+    @MockBean
+    private CalculatorBatchService calculatorBatchService;
+    @MockBean
+    private ExpressionCache expressionCache;
+    @MockBean
+    private AuditLog auditLog;
+    @MockBean
+    private CalculatorColumnService calculatorColumnService;
+    @MockBean
+    private CalculatorStreamService calculatorStreamService;
+    @MockBean
+    private CalculationHistory calculationHistory;
 
     private static final String SUM = "/api/v1/calculator/sum";
     private static final String SUB = "/api/v1/calculator/sub";
     private static final String MULT = "/api/v1/calculator/mult";
     private static final String DIV = "/api/v1/calculator/div";
+    private static final String BATCH = "/api/v1/calculator/batch";
+    private static final String SUM_ALL = "/api/v1/calculator/sum-all";
+    private static final String PRODUCT_ALL = "/api/v1/calculator/product-all";
+    private static final String EVALUATE = "/api/v1/calculator/evaluate";
+    private static final String COLUMNS = "/api/v1/calculator/columns";
+    private static final String LONG_COLUMNS = "/api/v1/calculator/columns/long";
+    private static final String EXPRESSION_CACHE = "/api/v1/calculator/evaluate/cache";
+    private static final String RESULT_CACHE = "/api/v1/calculator/cache";
+    private static final String PRODUCER = "/api/v1/calculator/producer";
+    private static final String HISTORY = "/api/v1/calculator/history";
 
 
     @Nested
@@ -46,14 +102,37 @@ class  CalculatorControllerTest {
         void sum_ok() throws Exception {
             var req = new CalculatorRequest(new BigDecimal("10.5"), new BigDecimal("10.5"));
 
-            Mockito.when(calculatorService.sum(any(CalculatorBinaryOperands.class)))
-                    .thenReturn(new BigDecimal("21.0"));
+            Mockito.when(calculatorService.trySum(any(CalculatorBinaryOperands.class)))
+                    .thenReturn(CalculationResult.success(new BigDecimal("21.0")));
 
             mockMvc.perform(post(SUM)
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(req)))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.result").value("21.0"));
+                    .andExpect(jsonPath("$.result").value("21.0"))
+                    .andExpect(content().string("{\"result\":21.0}"))
+                    .andExpect(header().longValue("Content-Length", 15));
+        }
+
+        @Test
+        @DisplayName("POST /sum -> audit record with the client id of the request")
+        void sum_auditsWithClientId() throws Exception {
+            var req = new CalculatorRequest(new BigDecimal("10.5"), new BigDecimal("10.5"));
+            var clients = new ArrayList<String>();
+
+            Mockito.when(calculatorService.trySum(any(CalculatorBinaryOperands.class)))
+                    .thenReturn(CalculationResult.success(new BigDecimal("21.0")));
+            Mockito.doAnswer(invocation -> clients.add(MDC.get(AuditLog.CLIENT)))
+                    .when(auditLog).record(eq(AuditLog.REST), any(CalculationEvent.class));
+
+            mockMvc.perform(post(SUM)
+                    .header(AuditClientFilter.CLIENT_HEADER, "debug-client")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(req)))
+                    .andExpect(status().isOk());
+
+            assertEquals(List.of("debug-client"), clients);
+            assertNull(MDC.get(AuditLog.CLIENT));
         }
 
         @Test
@@ -76,7 +155,7 @@ class  CalculatorControllerTest {
         void sum_internalError() throws Exception {
             var req = new CalculatorRequest(new BigDecimal("1"), new BigDecimal("2"));
 
-            Mockito.when(calculatorService.sum(any(CalculatorBinaryOperands.class)))
+            Mockito.when(calculatorService.trySum(any(CalculatorBinaryOperands.class)))
                     .thenThrow(new RuntimeException("boom"));
 
             mockMvc.perform(post(SUM)
@@ -96,8 +175,8 @@ class  CalculatorControllerTest {
         void sub_ok() throws Exception {
             var req = new CalculatorRequest(new BigDecimal("12.5"), new BigDecimal("10"));
 
-            Mockito.when(calculatorService.sub(any(CalculatorBinaryOperands.class)))
-                    .thenReturn(new BigDecimal("21.0"));
+            Mockito.when(calculatorService.trySub(any(CalculatorBinaryOperands.class)))
+                    .thenReturn(CalculationResult.success(new BigDecimal("21.0")));
 
             mockMvc.perform(post(SUB)
                     .contentType(MediaType.APPLICATION_JSON)
@@ -126,7 +205,7 @@ class  CalculatorControllerTest {
         void sub_internalError() throws Exception {
             var req = new CalculatorRequest(new BigDecimal("1"), new BigDecimal("2"));
 
-            Mockito.when(calculatorService.sub(any(CalculatorBinaryOperands.class)))
+            Mockito.when(calculatorService.trySub(any(CalculatorBinaryOperands.class)))
                     .thenThrow(new RuntimeException("boom"));
 
             mockMvc.perform(post(SUB)
@@ -146,8 +225,8 @@ class  CalculatorControllerTest {
         void sub_ok() throws Exception {
             var req = new CalculatorRequest(new BigDecimal("12.5"), new BigDecimal("10"));
 
-            Mockito.when(calculatorService.mult(any(CalculatorBinaryOperands.class)))
-                    .thenReturn(new BigDecimal("21.0"));
+            Mockito.when(calculatorService.tryMult(any(CalculatorBinaryOperands.class)))
+                    .thenReturn(CalculationResult.success(new BigDecimal("21.0")));
 
             mockMvc.perform(post(MULT)
                             .contentType(MediaType.APPLICATION_JSON)
@@ -176,7 +255,7 @@ class  CalculatorControllerTest {
         void sub_internalError() throws Exception {
             var req = new CalculatorRequest(new BigDecimal("1"), new BigDecimal("2"));
 
-            Mockito.when(calculatorService.mult(any(CalculatorBinaryOperands.class)))
+            Mockito.when(calculatorService.tryMult(any(CalculatorBinaryOperands.class)))
                     .thenThrow(new RuntimeException("boom"));
 
             mockMvc.perform(post(MULT)
@@ -196,8 +275,8 @@ class  CalculatorControllerTest {
         void sub_ok() throws Exception {
             var req = new CalculatorRequest(new BigDecimal("12.5"), new BigDecimal("10"));
 
-            Mockito.when(calculatorService.division(any(CalculatorBinaryOperands.class)))
-                    .thenReturn(new BigDecimal("21.0"));
+            Mockito.when(calculatorService.tryDivision(any(CalculatorBinaryOperands.class)))
+                    .thenReturn(CalculationResult.success(new BigDecimal("21.0")));
 
             mockMvc.perform(post(DIV)
                             .contentType(MediaType.APPLICATION_JSON)
@@ -206,6 +285,41 @@ class  CalculatorControllerTest {
                     .andExpect(jsonPath("$.result").value("21.0"));
         }
 
+        @Test
+        @DisplayName("POST /div -> 200 OK with the requested precision, carried by the event")
+        void division_precision() throws Exception {
+            String body = """
+                        {"firstNumber": 1, "secondNumber": 3, "precision": "DECIMAL64", "roundingMode": "UP"}
+                    """;
+
+            Mockito.when(calculatorService.tryDivision(argThat(operands ->
+                            operands.precision() == CalculatorPrecision.DECIMAL64 && operands.roundingMode() == RoundingMode.UP)))
+                    .thenReturn(CalculationResult.success(new BigDecimal("0.3333333333333334")));
+
+            mockMvc.perform(post(DIV)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.result").value(0.3333333333333334));
+
+            verify(calculatorProducer).send(argThat(event ->
+                    event.precision() == CalculatorPrecision.DECIMAL64 && event.roundingMode() == RoundingMode.UP));
+        }
+
+        @Test
+        @DisplayName("POST /div -> 400 Bad Request (rounding mode not supported by DOUBLE)")
+        void division_doubleRoundingMode() throws Exception {
+            String body = """
+                        {"firstNumber": 1, "secondNumber": 3, "precision": "DOUBLE", "roundingMode": "UP"}
+                    """;
+
+            mockMvc.perform(post(DIV)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("DOUBLE precision always rounds HALF_EVEN"));
+        }
+
         @Test
         @DisplayName("POST /div -> 400 Bad Request (validation error)")
         void sub_badRequest() throws Exception {
@@ -221,12 +335,36 @@ class  CalculatorControllerTest {
                     .andExpect(jsonPath("$.error").value("Validation Error"));
         }
 
+        @Test
+        @DisplayName("POST /div -> 500 Internal Server Error (division by zero), answered without the service throwing")
+        void division_byZero() throws Exception {
+            var req = new CalculatorRequest(new BigDecimal("1"), new BigDecimal("0.0"));
+            var errors = meterRegistry.counter("calculator.errors", "exception", "ArithmeticException", "status", "500");
+            var before = errors.count();
+
+            Mockito.when(calculatorService.tryDivision(any(CalculatorBinaryOperands.class)))
+                    .thenReturn(CalculationResult.DIVISION_BY_ZERO);
+
+            mockMvc.perform(post(DIV)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(req)))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.statusCode").value(500))
+                    .andExpect(jsonPath("$.error").value("Internal Server Error"))
+                    .andExpect(jsonPath("$.message").value("Unexpected error"))
+                    .andExpect(jsonPath("$.path").value(DIV));
+
+            verify(calculatorService, Mockito.never()).division(any(CalculatorBinaryOperands.class));
+            verify(calculatorProducer, Mockito.never()).send(any(CalculationEvent.class));
+            assertEquals(before + 1, errors.count());
+        }
+
         @Test
         @DisplayName("POST /div -> 500 Internal Server Error")
         void sub_internalError() throws Exception {
             var req = new CalculatorRequest(new BigDecimal("1"), new BigDecimal("2"));
 
-            Mockito.when(calculatorService.division(any(CalculatorBinaryOperands.class)))
+            Mockito.when(calculatorService.tryDivision(any(CalculatorBinaryOperands.class)))
                     .thenThrow(new RuntimeException("boom"));
 
             mockMvc.perform(post(DIV)
@@ -237,4 +375,320 @@ class  CalculatorControllerTest {
                     .andExpect(jsonPath("$.error").value("Internal Server Error"));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("BATCH")
+    class Batch {
+        @Test
+        @DisplayName("POST /batch -> 200 OK with per-item errors")
+        void batch_ok() throws Exception {
+            String body = """
+                        {"items": [
+                            {"operation": "SUM", "firstNumber": 1, "secondNumber": 2},
+                            {"operation": "DIV", "firstNumber": 1, "secondNumber": 0}
+                        ]}
+                    """;
+
+            Mockito.when(calculatorBatchService.evaluate(anyList()))
+                    .thenReturn(List.of(
+                            CalculatorBatchResult.success(new BigDecimal("3")),
+                            CalculatorBatchResult.failure("Arithmetic Error", "Division by 0 is not allowed")
+                    ));
+
+            mockMvc.perform(post(BATCH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.results[0].result").value("3"))
+                    .andExpect(jsonPath("$.results[1].error").value("Arithmetic Error"));
+
+            verify(calculatorProducer).sendAll(argThat(events -> events.size() == 1));
+        }
+
+        @Test
+        @DisplayName("POST /batch -> 400 Bad Request (empty batch)")
+        void batch_badRequest() throws Exception {
+            String body = """
+                        {"items": []}
+                    """;
+
+            mockMvc.perform(post(BATCH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.statusCode").value(400))
+                    .andExpect(jsonPath("$.error").value("Validation Error"));
+        }
+    }
+
+    @Nested
+    @DisplayName("REDUCTIONS")
+    class Reductions {
+        @Test
+        @DisplayName("POST /sum-all -> 200 OK")
+        void sumAll_ok() throws Exception {
+            String body = """
+                        {"operands": [10.5, 5.5, 3]}
+                    """;
+
+            Mockito.when(calculatorService.sumAll(List.of(new BigDecimal("10.5"), new BigDecimal("5.5"), new BigDecimal("3"))))
+                    .thenReturn(new BigDecimal("19.0"));
+
+            mockMvc.perform(post(SUM_ALL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.result").value(19.0));
+        }
+
+        @Test
+        @DisplayName("POST /product-all -> 400 Bad Request (null operand)")
+        void productAll_nullOperand() throws Exception {
+            String body = """
+                        {"operands": [2, null]}
+                    """;
+
+            mockMvc.perform(post(PRODUCT_ALL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Validation Error"))
+                    .andExpect(jsonPath("$.violationList[0].message").value("must not be null"));
+        }
+
+        @Test
+        @DisplayName("POST /sum-all -> 400 Bad Request (no operands)")
+        void sumAll_empty() throws Exception {
+            mockMvc.perform(post(SUM_ALL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"operands\": []}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.violationList[0].fieldName").value("operands"))
+                    .andExpect(jsonPath("$.violationList[0].message").value("must not be empty"));
+        }
+    }
+
+    @Nested
+    @DisplayName("COLUMNS")
+    class Columns {
+        @Test
+        @DisplayName("POST /columns -> 200 OK")
+        void columns_ok() throws Exception {
+            String body = """
+                        {"operation": "MULT", "first": [1.5, 2.5], "second": [2, 2]}
+                    """;
+
+            Mockito.when(calculatorColumnService.evaluate(eq(CalculatorOperation.MULT), any(double[].class), any(double[].class)))
+                    .thenReturn(new double[]{3.0, 5.0});
+
+            mockMvc.perform(post(COLUMNS)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.result[0]").value(3.0))
+                    .andExpect(jsonPath("$.result[1]").value(5.0));
+        }
+
+        @Test
+        @DisplayName("POST /columns -> 400 Bad Request (missing column)")
+        void columns_badRequest() throws Exception {
+            String body = """
+                        {"operation": "SUM", "first": [1, 2]}
+                    """;
+
+            mockMvc.perform(post(COLUMNS)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.statusCode").value(400))
+                    .andExpect(jsonPath("$.error").value("Validation Error"));
+        }
+
+        @Test
+        @DisplayName("POST /columns/long -> 400 Bad Request (DIV rejected)")
+        void longColumns_divBadRequest() throws Exception {
+            String body = """
+                        {"operation": "DIV", "first": [1, 2], "second": [3, 4]}
+                    """;
+
+            Mockito.when(calculatorColumnService.evaluate(eq(CalculatorOperation.DIV), any(long[].class), any(long[].class)))
+                    .thenThrow(new IllegalArgumentException("DIV is not exact on long columns, use double or decimal columns"));
+
+            mockMvc.perform(post(LONG_COLUMNS)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.statusCode").value(400));
+        }
+    }
+
+    @Nested
+    @DisplayName("EVALUATE")
+    class Evaluate {
+        @Test
+        @DisplayName("POST /evaluate -> 200 OK")
+        void evaluate_ok() throws Exception {
+            String body = """
+                        {"expression": "(1 + 2) * 3"}
+                    """;
+
+            Mockito.when(calculatorService.tryEvaluate(anyString()))
+                    .thenReturn(CalculationResult.success(new BigDecimal("9")));
+
+            mockMvc.perform(post(EVALUATE)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.result").value("9"));
+        }
+
+        @Test
+        @DisplayName("POST /evaluate -> 400 Bad Request (invalid expression)")
+        void evaluate_badRequest() throws Exception {
+            String body = """
+                        {"expression": "(1 +"}
+                    """;
+
+            Mockito.when(calculatorService.tryEvaluate(anyString()))
+                    .thenReturn(CalculationResult.invalid("Invalid expression at position 4: missing operand"));
+
+            mockMvc.perform(post(EVALUATE)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.statusCode").value(400))
+                    .andExpect(jsonPath("$.error").value("Bad Request"));
+        }
+
+        @Test
+        @DisplayName("POST /evaluate -> 500 Internal Server Error (division by zero in the expression)")
+        void evaluate_arithmeticError() throws Exception {
+            String body = """
+                        {"expression": "1 / (2 - 2)"}
+                    """;
+
+            Mockito.when(calculatorService.tryEvaluate(anyString()))
+                    .thenReturn(CalculationResult.DIVISION_BY_ZERO);
+
+            mockMvc.perform(post(EVALUATE)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.error").value("Internal Server Error"))
+                    .andExpect(jsonPath("$.message").value("Unexpected error"));
+
+            verify(calculatorProducer, Mockito.never()).send(any(CalculationEvent.class));
+        }
+
+        @Test
+        @DisplayName("GET /evaluate/cache -> 200 OK")
+        void expressionCache_ok() throws Exception {
+            Mockito.when(expressionCache.stats())
+                    .thenReturn(new ExpressionCache.Stats(5, 2, 2, 1024));
+
+            mockMvc.perform(get(EXPRESSION_CACHE))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hits").value(5))
+                    .andExpect(jsonPath("$.misses").value(2));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /cache -> 200 OK (cache disabled)")
+    void resultCache_disabled() throws Exception {
+        mockMvc.perform(get(RESULT_CACHE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(false))
+                .andExpect(jsonPath("$.hits").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /producer -> 200 OK")
+    void producer_ok() throws Exception {
+        Mockito.when(calculatorProducer.stats())
+                .thenReturn(new CalculatorProducer.Stats(10, 1, 2, 3, 4, 1.5, 9.0));
+
+        mockMvc.perform(get(PRODUCER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.published").value(10))
+                .andExpect(jsonPath("$.dropped").value(2))
+                .andExpect(jsonPath("$.rejected").value(3));
+    }
+
+    @Nested
+    @DisplayName("History")
+    class History {
+        @Test
+        @DisplayName("GET /history -> 200 OK, one line per calculation up to the limit")
+        void history_ok() throws Exception {
+            Mockito.when(calculationHistory.enabled()).thenReturn(true);
+            doAnswer(invocation -> {
+                Predicate<AuditRecord> visitor = invocation.getArgument(2);
+                for (int i = 1; i <= 3; i++) {
+                    var calculationEvent = new CalculationEvent("SUM", BigDecimal.ONE, BigDecimal.valueOf(i), BigDecimal.valueOf(i + 1));
+                    if (!visitor.test(new AuditRecord(1_000L * i, AuditLog.CONSUMER, null, calculationEvent, false))) {
+                        break;
+                    }
+                }
+                return null;
+            }).when(calculationHistory).scan(eq(Instant.EPOCH), eq(Instant.ofEpochSecond(10)), any());
+
+            var body = mockMvc.perform(get(HISTORY)
+                            .param("from", "1970-01-01T00:00:00Z")
+                            .param("to", "1970-01-01T00:00:10Z")
+                            .param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            var lines = body.lines().toList();
+            assertEquals(2, lines.size());
+            assertEquals("{\"timestamp\":\"1970-01-01T00:00:01Z\",\"source\":\"consumer\",\"operation\":\"SUM\","
+                    + "\"firstOperand\":1,\"secondOperand\":1,\"result\":2,\"forced\":false}", lines.get(0));
+        }
+
+        @Test
+        @DisplayName("GET /history -> 404 Not Found (history disabled)")
+        void history_disabled() throws Exception {
+            mockMvc.perform(get(HISTORY).param("from", "1970-01-01T00:00:00Z"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("GET /history -> 400 Bad Request (from after to)")
+        void history_invalidRange() throws Exception {
+            Mockito.when(calculationHistory.enabled()).thenReturn(true);
+
+            mockMvc.perform(get(HISTORY)
+                            .param("from", "1970-01-01T00:00:10Z")
+                            .param("to", "1970-01-01T00:00:00Z"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.statusCode").value(400));
+        }
+    }
+
+    @Nested
+    @DisplayName("ADMISSION")
+    class Admission {
+        @Test
+        @DisplayName("POST /sum -> admitted; POST /batch -> not guarded")
+        void admission_guardsTheConfiguredPaths() throws Exception {
+            var req = new CalculatorRequest(new BigDecimal("1"), new BigDecimal("2"));
+            Mockito.when(calculatorService.trySum(any(CalculatorBinaryOperands.class)))
+                    .thenReturn(CalculationResult.success(new BigDecimal("3")));
+            var admitted = meterRegistry.get("calculator.admission.requests").tag("outcome", "admitted").functionCounter();
+            var before = admitted.count();
+
+            mockMvc.perform(post(SUM)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(req)))
+                    .andExpect(status().isOk());
+            mockMvc.perform(post(BATCH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"items\":[]}"));
+
+            assertEquals(before + 1, admitted.count());
+            assertEquals(0.0, meterRegistry.get("calculator.admission.in.flight").gauge().value());
+        }
+    }
+}
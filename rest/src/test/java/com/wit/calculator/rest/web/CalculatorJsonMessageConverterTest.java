@@ -0,0 +1,195 @@
+package com.wit.calculator.rest.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wit.calculator.domain.CalculatorPrecision;
+import com.wit.calculator.rest.dto.CalculatorErrorResponse;
+import com.wit.calculator.rest.dto.CalculatorRequest;
+import com.wit.calculator.rest.dto.CalculatorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculatorJsonMessageConverterTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CalculatorJsonMessageConverter converter = new CalculatorJsonMessageConverter(objectMapper);
+    private final MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+
+    @Test
+    void parseRequest_readsTheUsualShapeAsJackson() throws IOException {
+        var bodies = new String[]{
+                "{\"firstNumber\":10.5,\"secondNumber\":5.5}",
+                " {\n\t\"secondNumber\" : -0.00 , \"firstNumber\" : 0 }\r\n",
+                "{\"firstNumber\":1.50,\"secondNumber\":-123456789012345678}",
+                "{\"firstNumber\":1234567890123456789012345.678,\"secondNumber\":1e3}",
+                "{\"firstNumber\":1.5E-3,\"secondNumber\":-2e+10}",
+                "{\"firstNumber\":1,\"secondNumber\":3,\"precision\":\"DECIMAL64\",\"roundingMode\":\"UP\"}",
+                "{\"roundingMode\":\"HALF_EVEN\",\"precision\":\"DOUBLE\"}",
+                "{\"firstNumber\":1}",
+                "{\"firstNumber\":null,\"secondNumber\":5.5,\"precision\":null,\"roundingMode\":null}",
+                "{}"
+        };
+        for (var body : bodies) {
+            var bytes = body.getBytes(StandardCharsets.UTF_8);
+            var parsed = CalculatorJsonMessageConverter.parseRequest(bytes, 1000);
+
+            assertNotNull(parsed, body);
+            var expected = objectMapper.readValue(bytes, CalculatorRequest.class);
+            assertEquals(expected, parsed, body);
+            assertScale(expected.firstNumber(), parsed.firstNumber());
+            assertScale(expected.secondNumber(), parsed.secondNumber());
+        }
+    }
+
+    @Test
+    void parseRequest_leavesOtherBodiesToJackson() {
+        var bodies = new String[]{
+                "{\"firstNumber\":\"10.5\",\"secondNumber\":5.5}",
+                "{\"first\\u004eumber\":1,\"secondNumber\":5.5}",
+                "{\"firstNumber\":1,\"firstNumber\":2}",
+                "{\"firstNumber\":null,\"firstNumber\":2}",
+                "{\"firstNumber\":nul,\"secondNumber\":2}",
+                "{\"firstNumber\":1,\"secondNumber\":2,\"other\":3}",
+                "{\"firstNumber\":01,\"secondNumber\":2}",
+                "{\"firstNumber\":+1,\"secondNumber\":2}",
+                "{\"firstNumber\":.5,\"secondNumber\":2}",
+                "{\"firstNumber\":1.,\"secondNumber\":2}",
+                "{\"firstNumber\":1e,\"secondNumber\":2}",
+                "{\"firstNumber\":1,\"secondNumber\":2,\"precision\":\"decimal64\"}",
+                "{\"firstNumber\":1,\"secondNumber\":2,\"precision\":1}",
+                "{\"firstNumber\":1,\"secondNumber\":2,}",
+                "{\"firstNumber\":1,\"secondNumber\":2} {}",
+                "{\"firstNumber\":1,\"secondNumber\":2",
+                "[1, 2]",
+                ""
+        };
+        for (var body : bodies) {
+            assertNull(CalculatorJsonMessageConverter.parseRequest(body.getBytes(StandardCharsets.UTF_8), 1000), body);
+        }
+        assertNull(CalculatorJsonMessageConverter.parseRequest(
+                ("{\"firstNumber\":" + "9".repeat(1001) + "}").getBytes(StandardCharsets.UTF_8), 1000));
+    }
+
+    @Test
+    void read_givesTheResultOrErrorOfTheJacksonConverter() throws IOException {
+        var bodies = new String[]{
+                "{\"firstNumber\":10.5,\"secondNumber\":5.5,\"precision\":\"DECIMAL64\"}",
+                "{\"firstNumber\":\"10.5\",\"secondNumber\":5.5}",
+                "{\"firstNumber\":1,\"secondNumber\":2,\"other\":3}",
+                "{\"firstNumber\":1,\"firstNumber\":2}",
+                "{\"firstNumber\":1,\"secondNumber\":2,\"precision\":\"DECIMAL32\"}",
+                "{\"firstNumber\":\"abc\",\"secondNumber\":2}",
+                "{\"firstNumber\":01,\"secondNumber\":2}",
+                "{\"firstNumber\":1,\"secondNumber\":2",
+                "[1, 2]"
+        };
+        for (var body : bodies) {
+            Object expected;
+            try {
+                expected = jacksonConverter.read(CalculatorRequest.class, input(body));
+            } catch (HttpMessageNotReadableException e) {
+                expected = e.getMessage();
+            }
+            Object actual;
+            try {
+                actual = converter.read(CalculatorRequest.class, input(body));
+            } catch (HttpMessageNotReadableException e) {
+                actual = e.getMessage();
+            }
+            assertEquals(expected, actual, body);
+        }
+    }
+
+    @Test
+    void write_givesTheBytesOfJackson() throws IOException {
+        var results = new BigDecimal[]{
+                new BigDecimal("15.5"),
+                new BigDecimal("352733.6831428571428571428571428571"),
+                new BigDecimal("-0.00"),
+                new BigDecimal("1E+3"),
+                new BigDecimal("1.5E-10"),
+                null
+        };
+        for (var result : results) {
+            var response = new CalculatorResponse(result);
+            var output = new MockHttpOutputMessage();
+
+            converter.write(response, MediaType.APPLICATION_JSON, output);
+
+            assertEquals(objectMapper.writeValueAsString(response), output.getBodyAsString(StandardCharsets.UTF_8));
+            assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+            if (result != null) {
+                assertEquals(output.getBodyAsBytes().length, output.getHeaders().getContentLength());
+            }
+        }
+    }
+
+    @Test
+    void read_reusesItsBufferAcrossBodiesOfAnyLength() throws IOException {
+        var padded = "{\"firstNumber\":" + " ".repeat(20_000) + "7,\"secondNumber\":8}";
+
+        assertEquals(new CalculatorRequest(new BigDecimal("7"), new BigDecimal("8")),
+                converter.read(CalculatorRequest.class, input(padded)));
+        assertEquals(new CalculatorRequest(BigDecimal.ONE, BigDecimal.TWO),
+                converter.read(CalculatorRequest.class, input("{\"firstNumber\":1,\"secondNumber\":2}")));
+        assertEquals(new CalculatorRequest(new BigDecimal("3"), null),
+                converter.read(CalculatorRequest.class, input("{\"firstNumber\":3}")));
+    }
+
+    @Test
+    void write_givesTheBytesOfJacksonWithAContentLengthAlreadySet() throws IOException {
+        for (var result : new BigDecimal[]{new BigDecimal("1".repeat(20_000)), new BigDecimal("2.5")}) {
+            var response = new CalculatorResponse(result);
+            var output = new MockHttpOutputMessage();
+            output.getHeaders().setContentLength(objectMapper.writeValueAsBytes(response).length);
+
+            converter.write(response, MediaType.APPLICATION_JSON, output);
+
+            assertEquals(objectMapper.writeValueAsString(response), output.getBodyAsString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void canReadAndWrite_onlyTheCalculatorPayloads() {
+        assertTrue(converter.canRead(CalculatorRequest.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(CalculatorResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(CalculatorResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(CalculatorRequest.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(CalculatorErrorResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(CalculatorRequest.class, MediaType.APPLICATION_XML));
+    }
+
+    @Test
+    void read_parsesRequestsOfOtherCharsetsWithJackson() throws IOException {
+        var input = new MockHttpInputMessage("{\"firstNumber\":1,\"secondNumber\":2}".getBytes(StandardCharsets.UTF_16));
+        input.getHeaders().setContentType(new MediaType("application", "json", StandardCharsets.UTF_16));
+
+        assertEquals(new CalculatorRequest(BigDecimal.ONE, BigDecimal.TWO),
+                converter.read(CalculatorRequest.class, input));
+        assertEquals(new CalculatorRequest(BigDecimal.ONE, new BigDecimal("3"), CalculatorPrecision.DECIMAL64, RoundingMode.UP),
+                converter.read(CalculatorRequest.class,
+                        input("{\"firstNumber\":1,\"secondNumber\":3,\"precision\":\"DECIMAL64\",\"roundingMode\":\"UP\"}")));
+    }
+
+    private static MockHttpInputMessage input(final String body) {
+        var input = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return input;
+    }
+
+    private static void assertScale(final BigDecimal expected, final BigDecimal actual) {
+        if (expected != null) {
+            assertEquals(expected.scale(), actual.scale());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.wit.calculator.rest.web.exception;
+
+import com.wit.calculator.domain.CalculationResult;
+import com.wit.calculator.rest.dto.CalculatorErrorResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationFailureMapperTest {
+    private static final String DIV = "/api/v1/calculator/div";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CalculationFailureMapper calculationFailureMapper = new CalculationFailureMapper(meterRegistry);
+    private final CalculatorGlobalExceptionHandler calculatorGlobalExceptionHandler =
+            new CalculatorGlobalExceptionHandler(meterRegistry);
+    private final MockHttpServletRequest httpServletRequest = new MockHttpServletRequest("POST", DIV);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void toResponse_answersAnInvalidInputAsTheHandlerOfItsException() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpServletRequest));
+
+        ResponseEntity<CalculatorErrorResponse> mapped =
+                calculationFailureMapper.toResponse(CalculationResult.invalid("Malformed"));
+        ResponseEntity<CalculatorErrorResponse> handled = calculatorGlobalExceptionHandler.handleIllegalArgument(
+                new IllegalArgumentException("Malformed"), httpServletRequest);
+
+        assertSameError(handled, mapped);
+        assertEquals(DIV, mapped.getBody().path());
+        assertEquals(2, meterRegistry.get(CalculatorGlobalExceptionHandler.ERRORS)
+                .tags("exception", "IllegalArgumentException", "status", "400")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void toResponse_answersADivisionByZeroAsTheHandlerOfItsException() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpServletRequest));
+
+        ResponseEntity<CalculatorErrorResponse> mapped =
+                calculationFailureMapper.toResponse(CalculationResult.DIVISION_BY_ZERO);
+        ResponseEntity<CalculatorErrorResponse> handled = calculatorGlobalExceptionHandler.handleGeneric(
+                new ArithmeticException("Division by 0 is not allowed"), httpServletRequest);
+
+        assertSameError(handled, mapped);
+        assertEquals(2, meterRegistry.get(CalculatorGlobalExceptionHandler.ERRORS)
+                .tags("exception", "ArithmeticException", "status", "500")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void toResponse_outsideOfARequest_hasNoPath() {
+        ResponseEntity<CalculatorErrorResponse> mapped =
+                calculationFailureMapper.toResponse(CalculationResult.NULL_OPERAND);
+
+        assertEquals(400, mapped.getStatusCode().value());
+        assertNull(mapped.getBody().path());
+    }
+
+    private static void assertSameError(
+            final ResponseEntity<CalculatorErrorResponse> expected,
+            final ResponseEntity<CalculatorErrorResponse> actual
+    ) {
+        assertEquals(expected.getStatusCode(), actual.getStatusCode());
+        assertEquals(expected.getBody().statusCode(), actual.getBody().statusCode());
+        assertEquals(expected.getBody().error(), actual.getBody().error());
+        assertEquals(expected.getBody().message(), actual.getBody().message());
+        assertEquals(expected.getBody().path(), actual.getBody().path());
+        assertEquals(expected.getBody().violationList(), actual.getBody().violationList());
+    }
+}
@@ -1,6 +1,8 @@
 package com.wit.calculator.rest.web.exception;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -8,16 +10,19 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = DummyController.class)
-@Import(CalculatorGlobalExceptionHandler.class)
+@Import({CalculatorGlobalExceptionHandler.class, SimpleMeterRegistry.class})
  class CalculatorGlobalExceptionHandlerTest {
     @Autowired
     MockMvc mockMvc;
     @Autowired
     ObjectMapper objectMapper;
+    @Autowired
+    MeterRegistry meterRegistry;
 
     @Test
     void whenBodyValidationFails_returns400() throws Exception {
@@ -84,4 +89,42 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 .andExpect(jsonPath("$.error").value("Internal Server Error"))
                 .andExpect(jsonPath("$.statusCode").value(500));
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenProducerOverloaded_returns503() throws Exception {
+        mockMvc.perform(post("/test/overloaded"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Service Unavailable"))
+                .andExpect(jsonPath("$.statusCode").value(503));
+    }
+
+    @Test
+    void whenRateLimited_returns429WithRetryAfter() throws Exception {
+        mockMvc.perform(post("/test/throttled"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"))
+                .andExpect(jsonPath("$.message").value("Rate limit of 10.0 requests/s exceeded"))
+                .andExpect(jsonPath("$.statusCode").value(429));
+    }
+
+    @Test
+    void whenShed_returns503WithRetryAfter() throws Exception {
+        mockMvc.perform(post("/test/shed"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"))
+                .andExpect(jsonPath("$.statusCode").value(503));
+    }
+
+    @Test
+    void whenHandled_countsErrorByExceptionType() throws Exception {
+        mockMvc.perform(post("/test/overloaded"))
+                .andExpect(status().isServiceUnavailable());
+
+        assertEquals(1, meterRegistry.get(CalculatorGlobalExceptionHandler.ERRORS)
+                .tags("exception", "CalculatorProducerOverloadedException", "status", "503")
+                .counter()
+                .count());
+    }
+}
@@ -1,5 +1,8 @@
 package com.wit.calculator.rest.web.exception;
 
+import com.wit.calculator.rest.admission.CalculatorOverloadedException;
+import com.wit.calculator.rest.admission.CalculatorRateLimitedException;
+import com.wit.calculator.rest.kafka.CalculatorProducerOverloadedException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -8,6 +11,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @Validated
 @RequestMapping("/test")
@@ -30,6 +35,21 @@ public class DummyController {
         throw new RuntimeException("boom");
     }
 
+    @PostMapping("/overloaded")
+    public ResponseEntity<Void> overloaded() {
+        throw new CalculatorProducerOverloadedException("Producer queue is full");
+    }
+
+    @PostMapping("/throttled")
+    public ResponseEntity<Void> throttled() {
+        throw new CalculatorRateLimitedException("Rate limit of 10.0 requests/s exceeded", Duration.ofMillis(1500));
+    }
+
+    @PostMapping("/shed")
+    public ResponseEntity<Void> shed() {
+        throw new CalculatorOverloadedException("Concurrency limit reached");
+    }
+
     public record Dummy(
             @NotNull
             String firstNumber,